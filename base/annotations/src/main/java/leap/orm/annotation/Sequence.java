@@ -51,4 +51,12 @@ public @interface Sequence {
 	 * (Optional)
 	 */
 	int cache() default Integer.MIN_VALUE;
+
+	/**
+	 * (Optional) the number of ids reserved from the sequence at once and allocated in memory.
+	 *
+	 * <p/>
+	 * The increment of sequence will be the block size if positive, zero disables the pooled allocation.
+	 */
+	int blockSize() default Integer.MIN_VALUE;
 }
\ No newline at end of file
@@ -19,18 +19,20 @@ import leap.core.annotation.Inject;
 import leap.lang.Disposable;
 import leap.lang.Try;
 import leap.lang.annotation.Internal;
-import leap.lang.io.FileChangeMonitor;
 import leap.lang.io.FileChangeObserver;
+import leap.lang.io.FileWatchMonitor;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 
 @Internal
-public class AppFileMonitor extends FileChangeMonitor implements Disposable {
+public class AppFileMonitor extends FileWatchMonitor implements Disposable {
 	
 	private static final Log log = LogFactory.get(AppFileMonitor.class);
 
 	public static final long DEFAULT_INTERVAL = 2000; //2 seconds
 
+	public static final String PROPERTY_WATCH_ENABLED = "app.file-monitor.watch-enabled";
+
     private @Inject AppConfig config;
 	
 	public AppFileMonitor() {
@@ -47,6 +49,7 @@ public class AppFileMonitor extends FileChangeMonitor implements Disposable {
         if(!running) {
             if(config.isReloadEnabled()) {
                 log.trace("Start app file monitor at interval : " + interval);
+                setWatchEnabled(config.getBooleanProperty(PROPERTY_WATCH_ENABLED, true));
                 Try.throwUnchecked(this::start);
             }
         }
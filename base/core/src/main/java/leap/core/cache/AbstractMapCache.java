@@ -23,7 +23,8 @@ import leap.lang.Args;
 
 public abstract class AbstractMapCache<K,V> implements Cache<K, V> {
 	
-	private final Map<K, V> map;
+	private final Map<K, V>  map;
+	private final CacheStats stats = new CacheStats();
 
 	protected AbstractMapCache(Map<K, V> map) {
 		Args.notNull(map,"map");
@@ -32,7 +33,13 @@ public abstract class AbstractMapCache<K,V> implements Cache<K, V> {
 
 	@Override
     public V get(K key) {
-	    return map.get(key);
+	    V value = map.get(key);
+	    if(null == value) {
+	    	stats.recordMiss();
+	    }else{
+	    	stats.recordHit();
+	    }
+	    return value;
     }
 	
 	@Override
@@ -64,4 +71,14 @@ public abstract class AbstractMapCache<K,V> implements Cache<K, V> {
     public void clear() {
 		map.clear();
     }
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
 }
@@ -16,6 +16,7 @@
 package leap.core.cache;
 
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * All implementations must be thread safe.
@@ -30,6 +31,30 @@ public interface Cache<K,V> {
 	 */
 	V get(K key);
 	
+	/**
+	 * Gets an entry mapping to the given key in this cache, or loads and puts it if the entry does not exists.
+	 *
+	 * <p>
+	 * Returns <code>null</code> if the loaded value is <code>null</code>, the <code>null</code> value will not be cached.
+	 */
+	default V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if(null == value) {
+			long start = System.nanoTime();
+			value = loader.apply(key);
+
+			CacheStats stats = getStats();
+			if(null != stats) {
+				stats.recordLoad(System.nanoTime() - start);
+			}
+
+			if(null != value) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+
 	/**
 	 * Returns a new created map contains all the cached items.
 	 */
@@ -74,4 +99,21 @@ public interface Cache<K,V> {
 	 * Clears all entries in this cache. 
 	 */
 	void clear();
+
+	/**
+	 * Returns the number of entries in this cache.
+	 */
+	default int size() {
+		return getAll().size();
+	}
+
+	/**
+	 * Returns the statistics of this cache.
+	 *
+	 * <p>
+	 * Returns <code>null</code> if the statistics is not supported.
+	 */
+	default CacheStats getStats() {
+		return null;
+	}
 }
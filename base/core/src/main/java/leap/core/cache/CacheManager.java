@@ -18,6 +18,8 @@ package leap.core.cache;
 import leap.lang.exception.ObjectExistsException;
 import leap.lang.exception.ObjectNotFoundException;
 
+import java.util.Map;
+
 
 public interface CacheManager {
     
@@ -31,6 +33,29 @@ public interface CacheManager {
 	 */
 	<K,V> Cache<K,V> createSimpleLRUCache(String cacheName) throws ObjectExistsException;
 
+    /**
+     * Creates a concurrent LRU cache, see {@link ConcurrentLRUCache}.
+     */
+    <K,V> Cache<K,V> createConcurrentLRUCache(int maxSize);
+
+    /**
+     * Creates a concurrent LRU cache with expiration, see {@link ConcurrentLRUCache}.
+     *
+     * @param expireAfterWriteMs no expiration after writing if zero or negative.
+     * @param expireAfterAccessMs no expiration after accessing if zero or negative.
+     */
+    <K,V> Cache<K,V> createConcurrentLRUCache(int maxSize, long expireAfterWriteMs, long expireAfterAccessMs);
+
+    /**
+     * Creates a concurrent LRU cache and register it to this manager.
+     */
+    <K,V> Cache<K,V> createConcurrentLRUCache(String cacheName, int maxSize) throws ObjectExistsException;
+
+    /**
+     * Creates a concurrent LRU cache with expiration and register it to this manager.
+     */
+    <K,V> Cache<K,V> createConcurrentLRUCache(String cacheName, int maxSize, long expireAfterWriteMs, long expireAfterAccessMs) throws ObjectExistsException;
+
 	/**
 	 * Looks up a managed {@link Cache} given it's name.
 	 * 
@@ -48,6 +73,19 @@ public interface CacheManager {
 	 * @throws ObjectExistsException if the given cache name aleady exists.
 	 */
 	void registerCache(String name,Cache<?, ?> cache) throws ObjectExistsException;
+
+	/**
+	 * Returns an immutable view of all the managed {@link Cache} (name -> cache).
+	 */
+	Map<String, Cache<?,?>> getCaches();
+
+	/**
+	 * Returns the statistics of all the managed {@link Cache} (name -> stats).
+	 *
+	 * <p>
+	 * The stats contains the entry 'size' and the entries of {@link CacheStats#toMap()} if the cache supports statistics.
+	 */
+	Map<String, Map<String, Object>> getCacheStats();
 	
 	/**
 	 * Clears the cache defined by the given cache name.
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of a {@link Cache}.
+ */
+public class CacheStats {
+
+    private final LongAdder hits        = new LongAdder();
+    private final LongAdder misses      = new LongAdder();
+    private final LongAdder evictions   = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loads       = new LongAdder();
+    private final LongAdder loadNanos   = new LongAdder();
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no cached value.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted for exceeding the max size.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of entries removed for expiration.
+     */
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * Returns the number of values loaded by {@link Cache#get(Object, java.util.function.Function)}.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the total time in nanoseconds spent in loading values.
+     */
+    public long getTotalLoadTimeNanos() {
+        return loadNanos.sum();
+    }
+
+    /**
+     * Returns the average time in milliseconds spent in loading a value, returns 0 if no load.
+     */
+    public double getAverageLoadTimeMs() {
+        long c = getLoads();
+        return c == 0 ? 0 : getTotalLoadTimeNanos() / 1000000d / c;
+    }
+
+    /**
+     * Returns the ratio of hits to lookups, returns 0 if no lookup.
+     */
+    public double getHitRatio() {
+        long h = getHits();
+        long t = h + getMisses();
+        return t == 0 ? 0 : (double)h / t;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordExpiration() {
+        expirations.increment();
+    }
+
+    public void recordLoad(long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+    }
+
+    /**
+     * Clears all the statistics.
+     */
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        expirations.reset();
+        loads.reset();
+        loadNanos.reset();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hits",        getHits());
+        map.put("misses",      getMisses());
+        map.put("hitRatio",    getHitRatio());
+        map.put("evictions",   getEvictions());
+        map.put("expirations", getExpirations());
+        map.put("loads",       getLoads());
+        map.put("avgLoadMs",   getAverageLoadTimeMs());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.cache;
+
+import leap.lang.Args;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe, size and time bounded {@link Cache} with least-recently-used eviction.
+ *
+ * <p/>
+ * The entries are striped into segments by the hash of key, each segment is an access ordered map guarded by its own lock,
+ * so the concurrent lookups of different keys are not blocked by a global lock.
+ *
+ * <p/>
+ * The eviction is done in each segment, so the max size is shared evenly by all the segments.
+ */
+public class ConcurrentLRUCache<K,V> implements Cache<K,V> {
+
+    public static final int DEFAULT_MAX_SIZE = 2048;
+
+    private static final int MAX_SEGMENTS         = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final int        maxSize;
+    private final long       expireAfterWriteMs;
+    private final long       expireAfterAccessMs;
+    private final boolean    expirable;
+    private final Segment[]  segments;
+    private final int        segmentMask;
+    private final CacheStats stats = new CacheStats();
+
+    public ConcurrentLRUCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ConcurrentLRUCache(int maxSize) {
+        this(maxSize, 0, 0);
+    }
+
+    /**
+     * @param maxSize the max number of entries.
+     * @param expireAfterWriteMs the entry expires after the duration since it was put, no expiration if zero or negative.
+     * @param expireAfterAccessMs the entry expires after the duration since it was last read, no expiration if zero or negative.
+     */
+    public ConcurrentLRUCache(int maxSize, long expireAfterWriteMs, long expireAfterAccessMs) {
+        Args.assertTrue(maxSize > 0, "The max size must be positive");
+
+        this.maxSize             = maxSize;
+        this.expireAfterWriteMs  = expireAfterWriteMs;
+        this.expireAfterAccessMs = expireAfterAccessMs;
+        this.expirable           = expireAfterWriteMs > 0 || expireAfterAccessMs > 0;
+
+        int count = 1;
+        while(count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_CAPACITY <= maxSize) {
+            count *= 2;
+        }
+
+        int segmentMaxSize = (maxSize + count - 1) / count;
+
+        this.segments    = newSegments(count);
+        this.segmentMask = count - 1;
+        for(int i=0;i<count;i++) {
+            segments[i] = new Segment(segmentMaxSize);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getExpireAfterWriteMs() {
+        return expireAfterWriteMs;
+    }
+
+    public long getExpireAfterAccessMs() {
+        return expireAfterAccessMs;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the number of cached entries, may include the expired entries not removed yet.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    @Override
+    public Map<K, V> getAll() {
+        Map<K, V> all = new HashMap<>();
+        for(Segment segment : segments) {
+            segment.copyTo(all);
+        }
+        return all;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        segmentFor(key).put(key, value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return segmentFor(key).containsKey(key);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return null != segmentFor(key).remove(key);
+    }
+
+    @Override
+    public V getAndRemove(K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for(Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Segment[] newSegments(int count) {
+        return (Segment[])new ConcurrentLRUCache.Segment[count];
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = null == key ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        if(expireAfterWriteMs > 0 && now - node.writeTime >= expireAfterWriteMs) {
+            return true;
+        }
+        return expireAfterAccessMs > 0 && now - node.accessTime >= expireAfterAccessMs;
+    }
+
+    private long now() {
+        return expirable ? System.currentTimeMillis() : 0L;
+    }
+
+    private static final class Node<V> {
+        final V    value;
+        final long writeTime;
+        long       accessTime;
+
+        Node(V value, long now) {
+            this.value      = value;
+            this.writeTime  = now;
+            this.accessTime = now;
+        }
+    }
+
+    private final class Segment extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedHashMap<K, Node<V>> map;
+
+        Segment(int maxSize) {
+            this.map = new LinkedHashMap<K, Node<V>>(Math.min(maxSize, MIN_SEGMENT_CAPACITY), 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Node<V>> eldest) {
+                    if(size() > maxSize) {
+                        stats.recordEviction();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        V get(K key) {
+            lock();
+            try {
+                Node<V> node = map.get(key);
+                if(null == node) {
+                    stats.recordMiss();
+                    return null;
+                }
+
+                if(expirable) {
+                    long now = now();
+                    if(isExpired(node, now)) {
+                        map.remove(key);
+                        stats.recordExpiration();
+                        stats.recordMiss();
+                        return null;
+                    }
+                    node.accessTime = now;
+                }
+
+                stats.recordHit();
+                return node.value;
+            }finally {
+                unlock();
+            }
+        }
+
+        void put(K key, V value) {
+            lock();
+            try {
+                map.put(key, new Node<>(value, now()));
+            }finally {
+                unlock();
+            }
+        }
+
+        boolean containsKey(K key) {
+            lock();
+            try {
+                Node<V> node = map.get(key);
+                return null != node && (!expirable || !isExpired(node, now()));
+            }finally {
+                unlock();
+            }
+        }
+
+        V remove(K key) {
+            lock();
+            try {
+                Node<V> node = map.remove(key);
+                return null == node ? null : node.value;
+            }finally {
+                unlock();
+            }
+        }
+
+        void copyTo(Map<K, V> all) {
+            lock();
+            try {
+                long now = now();
+                for(Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator(); it.hasNext();) {
+                    Map.Entry<K, Node<V>> entry = it.next();
+                    if(expirable && isExpired(entry.getValue(), now)) {
+                        it.remove();
+                        stats.recordExpiration();
+                    }else{
+                        all.put(entry.getKey(), entry.getValue().value);
+                    }
+                }
+            }finally {
+                unlock();
+            }
+        }
+
+        int size() {
+            lock();
+            try {
+                return map.size();
+            }finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                map.clear();
+            }finally {
+                unlock();
+            }
+        }
+    }
+}
@@ -15,24 +15,52 @@
  */
 package leap.core.cache;
 
+import leap.core.AppContext;
 import leap.core.BeanFactory;
+import leap.core.annotation.ConfigProperty;
+import leap.core.annotation.Configurable;
+import leap.core.annotation.Inject;
+import leap.core.annotation.M;
 import leap.core.ioc.FactoryBean;
 import leap.core.ioc.PostCreateBean;
 import leap.lang.Args;
 import leap.lang.exception.ObjectExistsException;
 import leap.lang.exception.ObjectNotFoundException;
+import leap.lang.jmx.MBeanExporter;
+import leap.lang.jmx.Managed;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
+@Configurable(prefix = "cache")
 public class DefaultCacheManager implements CacheManager, PostCreateBean, FactoryBean {
 	
 	private static final Log log = LogFactory.get(DefaultCacheManager.class);
 	
+	protected @Inject @M AppContext    context;
+	protected @Inject @M MBeanExporter mbeanExporter;
+
 	protected Map<String,Cache<?,?>> caches;
+	protected boolean                exportMBean;
+
+	public boolean isExportMBean() {
+		return exportMBean;
+	}
+
+	/**
+	 * Exports the statistics of all the managed caches as jmx managed beans.
+	 */
+	@ConfigProperty
+	public void setExportMBean(boolean exportMBean) {
+		this.exportMBean = exportMBean;
+	}
 	
     @Override
     public <K, V> Cache<K, V> createSimpleLRUCache(int maxSize) {
@@ -46,6 +74,30 @@ public class DefaultCacheManager implements CacheManager, PostCreateBean, Factor
 	    return cache;
     }
 
+    @Override
+    public <K, V> Cache<K, V> createConcurrentLRUCache(int maxSize) {
+        return new ConcurrentLRUCache<>(maxSize);
+    }
+
+    @Override
+    public <K, V> Cache<K, V> createConcurrentLRUCache(int maxSize, long expireAfterWriteMs, long expireAfterAccessMs) {
+        return new ConcurrentLRUCache<>(maxSize, expireAfterWriteMs, expireAfterAccessMs);
+    }
+
+    @Override
+    public <K, V> Cache<K, V> createConcurrentLRUCache(String cacheName, int maxSize) throws ObjectExistsException {
+        Cache<K, V> cache = new ConcurrentLRUCache<>(maxSize);
+        registerCache(cacheName, cache);
+        return cache;
+    }
+
+    @Override
+    public <K, V> Cache<K, V> createConcurrentLRUCache(String cacheName, int maxSize, long expireAfterWriteMs, long expireAfterAccessMs) throws ObjectExistsException {
+        Cache<K, V> cache = new ConcurrentLRUCache<>(maxSize, expireAfterWriteMs, expireAfterAccessMs);
+        registerCache(cacheName, cache);
+        return cache;
+    }
+
 	@Override
     @SuppressWarnings("unchecked")
 	public <K, V> Cache<K, V> getCache(String cacheName) {
@@ -66,8 +118,26 @@ public class DefaultCacheManager implements CacheManager, PostCreateBean, Factor
 		}
 		
 		caches.put(name, cache);
+
+		if(exportMBean) {
+			exportCacheMBean(name, cache);
+		}
     }
 
+	@Override
+	public Map<String, Cache<?, ?>> getCaches() {
+		return Collections.unmodifiableMap(caches);
+	}
+
+	@Override
+	public Map<String, Map<String, Object>> getCacheStats() {
+		Map<String, Map<String, Object>> all = new LinkedHashMap<>();
+		for(Entry<String, Cache<?,?>> entry : caches.entrySet()){
+			all.put(entry.getKey(), statsOf(entry.getValue()));
+		}
+		return all;
+	}
+
 	@Override
     public void clearCache(String cacheName) throws ObjectNotFoundException {
 		getCache(cacheName).clear();
@@ -90,6 +160,36 @@ public class DefaultCacheManager implements CacheManager, PostCreateBean, Factor
 		this.caches = new ConcurrentHashMap<>();
 		this.caches.putAll((Map)factory.getNamedBeans(Cache.class));
 		log.trace("Found {} managed Cache bean(s)",caches.size());
+
+		if(exportMBean) {
+			for(Entry<String, Cache<?,?>> entry : caches.entrySet()){
+				exportCacheMBean(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	protected void exportCacheMBean(String name, Cache<?,?> cache) {
+		mbeanExporter.export(objectName(name), new CacheMBean(cache));
+	}
+
+	protected ObjectName objectName(String name) {
+		String fullName = "Caches:name=" + ObjectName.quote(context.getName() + "_" + name);
+		try {
+			return new ObjectName(fullName);
+		} catch (MalformedObjectNameException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	protected static Map<String, Object> statsOf(Cache<?,?> cache) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("size", cache.size());
+
+		CacheStats stats = cache.getStats();
+		if(null != stats) {
+			map.putAll(stats.toMap());
+		}
+		return map;
 	}
 
     @Override
@@ -100,4 +200,65 @@ public class DefaultCacheManager implements CacheManager, PostCreateBean, Factor
 		}
 	    return getCache(name);
     }
+
+	protected static class CacheMBean {
+
+		private final Cache<?,?> cache;
+
+		public CacheMBean(Cache<?, ?> cache) {
+			this.cache = cache;
+		}
+
+		@Managed
+		public int getSize() {
+			return cache.size();
+		}
+
+		@Managed
+		public long getHits() {
+			return null == cache.getStats() ? 0 : cache.getStats().getHits();
+		}
+
+		@Managed
+		public long getMisses() {
+			return null == cache.getStats() ? 0 : cache.getStats().getMisses();
+		}
+
+		@Managed
+		public double getHitRatio() {
+			return null == cache.getStats() ? 0 : cache.getStats().getHitRatio();
+		}
+
+		@Managed
+		public long getEvictions() {
+			return null == cache.getStats() ? 0 : cache.getStats().getEvictions();
+		}
+
+		@Managed
+		public long getExpirations() {
+			return null == cache.getStats() ? 0 : cache.getStats().getExpirations();
+		}
+
+		@Managed
+		public long getLoads() {
+			return null == cache.getStats() ? 0 : cache.getStats().getLoads();
+		}
+
+		@Managed
+		public double getAverageLoadTimeMs() {
+			return null == cache.getStats() ? 0 : cache.getStats().getAverageLoadTimeMs();
+		}
+
+		@Managed
+		public void clear() {
+			cache.clear();
+		}
+
+		@Managed
+		public void resetStats() {
+			if(null != cache.getStats()) {
+				cache.getStats().reset();
+			}
+		}
+	}
 }
@@ -21,11 +21,27 @@ public class SimpleLRUCache<K,V> extends AbstractMapCache<K, V> implements Cache
 	
 	public static final int DEFAULT_MAX_SIZE = 2048;
 	
+	private final int maxSize;
+	
 	public SimpleLRUCache(){
 		this(DEFAULT_MAX_SIZE);
 	}
 	
 	public SimpleLRUCache(int maxSize){
 		super(new SimpleLRUMap<K, V>(maxSize));
+		this.maxSize = maxSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		boolean evicting = size() >= maxSize && !containsKey(key);
+		super.put(key, value);
+		if(evicting) {
+			getStats().recordEviction();
+		}
 	}
 }
\ No newline at end of file
@@ -101,6 +101,19 @@ public interface JdbcExecutor {
 	 * @see PreparedStatement#executeBatch()
 	 */
 	int[] executeBatchUpdate(String sql,Object[][] batchArgs,int[] types,BatchPreparedStatementHandler<?> handler) throws NestedSQLException;
+
+	/**
+	 * Executes the insert sql statement for all the data rows, the statement may be rewritten to multi-row <code>VALUES</code>
+	 * if supported by the underlying db platform.
+	 *
+	 * <p/>
+	 * The default implementation executes a batch update.
+	 *
+	 * @see #executeBatchUpdate(String, Object[][], int[])
+	 */
+	default int[] executeBatchInsert(String sql,Object[][] batchArgs,int[] types) throws NestedSQLException {
+		return executeBatchUpdate(sql, batchArgs, types);
+	}
 	
 	/**
 	 * Executes a query and returns the result read by the given {@link ResultSetReader}.
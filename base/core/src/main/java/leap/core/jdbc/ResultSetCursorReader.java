@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A {@link ResultSetReader} reads the rows lazily in cursor (streaming) mode.
+ *
+ * <p/>
+ * The {@link JdbcExecutor} executes the query by the fetch size of the reader, the result set and the underlying connection
+ * are kept opened after reading and must be released by invoking the closer.
+ */
+public interface ResultSetCursorReader<T> extends ResultSetReader<T> {
+
+    /**
+     * Returns the number of rows to fetch from database at one time.
+     */
+    int getFetchSize();
+
+    /**
+     * Reads the opened {@link ResultSet}.
+     *
+     * <p/>
+     * The returned value takes over the result set and must invoke the closer after reading, i.e. when the stream closed.
+     */
+    T read(ResultSet rs, Runnable closer) throws SQLException;
+
+    @Override
+    default T read(ResultSet rs) throws SQLException {
+        throw new IllegalStateException("The cursor reader must be executed in cursor mode");
+    }
+}
@@ -28,6 +28,9 @@ public class DefaultMonitorConfig implements MonitorConfig, ConfigBean {
     protected boolean reportArgs       = true;
     protected boolean reportLineNumber = true;
     protected int     methodThreshold  = DEFAULT_METHOD_THRESHOLD;
+    protected boolean metricsEnabled;
+    protected int     metricsMaxNames  = DEFAULT_METRICS_MAX_NAMES;
+    protected boolean metricsExportMBean;
 
     @Override
     public boolean isEnabled() {
@@ -79,4 +82,34 @@ public class DefaultMonitorConfig implements MonitorConfig, ConfigBean {
         this.methodThreshold = methodThreshold;
     }
 
+    @Override
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    @ConfigProperty
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    @Override
+    public int getMetricsMaxNames() {
+        return metricsMaxNames;
+    }
+
+    @ConfigProperty
+    public void setMetricsMaxNames(int metricsMaxNames) {
+        this.metricsMaxNames = metricsMaxNames;
+    }
+
+    @Override
+    public boolean isMetricsExportMBean() {
+        return metricsExportMBean;
+    }
+
+    @ConfigProperty
+    public void setMetricsExportMBean(boolean metricsExportMBean) {
+        this.metricsExportMBean = metricsExportMBean;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.monitor;
+
+import leap.lang.time.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The execution statistics of a monitored target (a method, a route or a sql).
+ *
+ * <p/>
+ * The latencies are recorded in microseconds.
+ */
+public final class Metric {
+
+    private final String           category;
+    private final String           name;
+    private final LongAdder        errors  = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public Metric(String category, String name) {
+        this.category = category;
+        this.name     = name;
+    }
+
+    /**
+     * Returns the category of metric, i.e. {@link MetricsRegistry#METHOD}.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the name of the monitored target.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of executions.
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Returns the number of failed executions.
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Returns the histogram of the execution latencies in microseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Records an execution.
+     *
+     * @param micros the latency in microseconds.
+     * @param error true if the execution failed.
+     */
+    public void record(long micros, boolean error) {
+        latency.record(micros);
+        if(error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Clears all the statistics.
+     */
+    public void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.putAll(latency.snapshot().toMap());
+        map.put("errors", getErrors());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return category + ":" + name + " " + toMap();
+    }
+}
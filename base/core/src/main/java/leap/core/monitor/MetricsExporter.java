@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.monitor;
+
+import leap.core.AppContext;
+import leap.core.BeanFactory;
+import leap.core.annotation.Inject;
+import leap.core.annotation.M;
+import leap.core.ioc.PostCreateBean;
+import leap.lang.jmx.MBeanExporter;
+import leap.lang.jmx.Managed;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.Map;
+
+/**
+ * Exports the {@link Metric}s of the {@link MetricsRegistry} as jmx managed beans
+ * if the config property <code>app.monitor.metrics-export-mbean</code> is true.
+ */
+public class MetricsExporter implements PostCreateBean {
+
+    private static final Log log = LogFactory.get(MetricsExporter.class);
+
+    protected @Inject @M AppContext      context;
+    protected @Inject    MonitorConfig   config;
+    protected @Inject @M MonitorProvider provider;
+    protected @Inject @M MBeanExporter   mbeanExporter;
+
+    protected MetricsRegistry registry;
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void postCreate(BeanFactory factory) throws Exception {
+        registry = provider.getMetricsRegistry();
+
+        if(registry.isEnabled() && null != config && config.isMetricsExportMBean()) {
+            registry.setListener(this::exportMetricMBean);
+
+            for(String category : new String[]{MetricsRegistry.METHOD, MetricsRegistry.ROUTE, MetricsRegistry.SQL}) {
+                for(Map.Entry<String, Metric> entry : registry.getMetrics(category).entrySet()) {
+                    exportMetricMBean(entry.getValue());
+                }
+            }
+        }
+    }
+
+    protected void exportMetricMBean(Metric metric) {
+        try {
+            mbeanExporter.export(objectName(metric), new MetricMBean(metric));
+        }catch (RuntimeException e) {
+            log.warn("Error exporting mbean of metric '{}', {}", metric.getName(), e.getMessage(), e);
+        }
+    }
+
+    protected ObjectName objectName(Metric metric) {
+        String fullName = "Metrics:app=" + ObjectName.quote(context.getName()) +
+                          ",type=" + metric.getCategory() +
+                          ",name=" + ObjectName.quote(metric.getName());
+        try {
+            return new ObjectName(fullName);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected static class MetricMBean {
+
+        private final Metric metric;
+
+        public MetricMBean(Metric metric) {
+            this.metric = metric;
+        }
+
+        @Managed
+        public long getCount() {
+            return metric.getCount();
+        }
+
+        @Managed
+        public long getErrors() {
+            return metric.getErrors();
+        }
+
+        @Managed
+        public double getMeanMicros() {
+            return metric.getLatency().getMean();
+        }
+
+        @Managed
+        public long getMaxMicros() {
+            return metric.getLatency().getMax();
+        }
+
+        @Managed
+        public long getP50Micros() {
+            return metric.getLatency().getPercentile(50);
+        }
+
+        @Managed
+        public long getP90Micros() {
+            return metric.getLatency().getPercentile(90);
+        }
+
+        @Managed
+        public long getP99Micros() {
+            return metric.getLatency().getPercentile(99);
+        }
+
+        @Managed
+        public long getP999Micros() {
+            return metric.getLatency().getPercentile(99.9);
+        }
+
+        @Managed
+        public void reset() {
+            metric.reset();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.monitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The registry of the {@link Metric}s, grouped by category (method, route and sql).
+ *
+ * <p/>
+ * The number of metrics in a category is bounded by the max names, the executions of the names beyond
+ * the limit are recorded into the metric named {@link #OTHERS}.
+ */
+public class MetricsRegistry {
+
+    public static final String METHOD = "method";
+    public static final String ROUTE  = "route";
+    public static final String SQL    = "sql";
+    public static final String OTHERS = "(others)";
+
+    /**
+     * The disabled registry, records nothing.
+     */
+    public static final MetricsRegistry DISABLED = new MetricsRegistry(0);
+
+    private final int                                                  maxNames;
+    private final ConcurrentMap<String, ConcurrentMap<String, Metric>> categories = new ConcurrentHashMap<>();
+
+    private volatile Consumer<Metric> listener;
+
+    /**
+     * @param maxNames the max number of metrics in a category, disabled if zero or negative.
+     */
+    public MetricsRegistry(int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * Returns false if the registry records nothing.
+     */
+    public boolean isEnabled() {
+        return maxNames > 0;
+    }
+
+    /**
+     * Returns the max number of metrics in a category.
+     */
+    public int getMaxNames() {
+        return maxNames;
+    }
+
+    /**
+     * Sets the listener to be notified when a new metric was created.
+     */
+    public void setListener(Consumer<Metric> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records an execution started at the given {@link System#nanoTime()}.
+     */
+    public void record(String category, String name, long startNanos, boolean error) {
+        if(maxNames > 0) {
+            getMetric(category, name).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), error);
+        }
+    }
+
+    /**
+     * Returns the metric of the given name, creates a new one if not exists.
+     *
+     * <p/>
+     * Returns the metric {@link #OTHERS} if the category is full.
+     */
+    public Metric getMetric(String category, String name) {
+        ConcurrentMap<String, Metric> metrics = categories.get(category);
+        if(null == metrics) {
+            metrics = categories.computeIfAbsent(category, (k) -> new ConcurrentHashMap<>());
+        }
+
+        Metric metric = metrics.get(name);
+        if(null != metric) {
+            return metric;
+        }
+
+        if(metrics.size() >= maxNames) {
+            name = OTHERS;
+            if(null != (metric = metrics.get(name))) {
+                return metric;
+            }
+        }
+
+        Metric created = new Metric(category, name);
+        metric = metrics.putIfAbsent(name, created);
+        if(null == metric) {
+            metric = created;
+
+            Consumer<Metric> listener = this.listener;
+            if(null != listener) {
+                listener.accept(metric);
+            }
+        }
+        return metric;
+    }
+
+    /**
+     * Returns all the metrics of the given category.
+     */
+    public Map<String, Metric> getMetrics(String category) {
+        Map<String, Metric> metrics = categories.get(category);
+        return null == metrics ? Collections.emptyMap() : Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns the statistics of all the metrics as category -> name -> statistics.
+     */
+    public Map<String, Map<String, Map<String, Object>>> getMetricsStats() {
+        Map<String, Map<String, Map<String, Object>>> all = new LinkedHashMap<>();
+        for(Map.Entry<String, ConcurrentMap<String, Metric>> category : categories.entrySet()) {
+            Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+            for(Map.Entry<String, Metric> entry : category.getValue().entrySet()) {
+                stats.put(entry.getKey(), entry.getValue().toMap());
+            }
+            all.put(category.getKey(), stats);
+        }
+        return all;
+    }
+
+    /**
+     * Clears the statistics of all the metrics.
+     */
+    public void reset() {
+        for(ConcurrentMap<String, Metric> metrics : categories.values()) {
+            for(Metric metric : metrics.values()) {
+                metric.reset();
+            }
+        }
+    }
+}
@@ -18,7 +18,8 @@ package leap.core.monitor;
 
 public interface MonitorConfig {
 
-    int DEFAULT_METHOD_THRESHOLD = 50;
+    int DEFAULT_METHOD_THRESHOLD  = 50;
+    int DEFAULT_METRICS_MAX_NAMES = 500;
 
     /**
      * Returns true if monitoring is enabled.
@@ -44,4 +45,25 @@ public interface MonitorConfig {
      * Returns the threshold of milli-seconds for reporting method execution times.
      */
     int getMethodThreshold();
+
+    /**
+     * Returns true if records the latency metrics of the monitored methods, routes and sqls.
+     */
+    default boolean isMetricsEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the max number of metrics in a category (method, route or sql).
+     */
+    default int getMetricsMaxNames() {
+        return DEFAULT_METRICS_MAX_NAMES;
+    }
+
+    /**
+     * Returns true if exports the metrics as jmx managed beans.
+     */
+    default boolean isMetricsExportMBean() {
+        return false;
+    }
 }
@@ -21,4 +21,11 @@ public interface MonitorProvider {
     MethodMonitor startMethodMonitor(String className, String methodDesc);
     MethodMonitor startMethodMonitor(String className, String methodDesc, Object[] args);
 
+    /**
+     * Returns the registry of the latency metrics, returns {@link MetricsRegistry#DISABLED} if metrics disabled.
+     */
+    default MetricsRegistry getMetricsRegistry() {
+        return MetricsRegistry.DISABLED;
+    }
+
 }
\ No newline at end of file
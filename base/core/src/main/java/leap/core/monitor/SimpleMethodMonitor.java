@@ -21,7 +21,11 @@ import leap.lang.Strings;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 
-import java.util.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class SimpleMethodMonitor implements MethodMonitor {
 
@@ -34,15 +38,18 @@ public class SimpleMethodMonitor implements MethodMonitor {
 
     private static final int MAX_DEPTH = 10;
 
-    private final MonitorConfig config;
-    private final String        className;
-    private final String        methodDesc;
-    private final Object[]      args;
+    private final MonitorConfig   config;
+    private final MetricsRegistry metrics;
+    private final String          className;
+    private final String          methodDesc;
+    private final Object[]        args;
 
     private CallStack stack;
     private int       level;
     private long      start;
     private long      duration;
+    private long      startNanos;
+    private boolean   failed;
 
     private String callerClassName;
     private String callerMethodName;
@@ -53,6 +60,7 @@ public class SimpleMethodMonitor implements MethodMonitor {
 
     public SimpleMethodMonitor(SimpleMonitorProvider provider, String className, String methodDesc, Object[] args) {
         this.config     = provider.config;
+        this.metrics    = provider.metrics;
         this.className  = className;
         this.methodDesc = methodDesc;
         this.args       = args;
@@ -89,6 +97,9 @@ public class SimpleMethodMonitor implements MethodMonitor {
     }
 
     protected void start() {
+        if(metrics.isEnabled()) {
+            this.startNanos = System.nanoTime();
+        }
         if(SLOW_LOG.isInfoEnabled()) {
             stack = local.get();
             if(stack == null) {
@@ -106,6 +117,7 @@ public class SimpleMethodMonitor implements MethodMonitor {
 
     @Override
     public void error(Throwable e) {
+        failed = true;
         if(config.isReportError() && isRoot()) {
             if(ERR_LOG.isInfoEnabled()) {
 
@@ -125,7 +137,10 @@ public class SimpleMethodMonitor implements MethodMonitor {
 
     @Override
     public void exit() {
-        if(SLOW_LOG.isInfoEnabled()) {
+        if(metrics.isEnabled()) {
+            metrics.record(MetricsRegistry.METHOD, key, startNanos, failed);
+        }
+        if(null != stack) {
             duration = System.currentTimeMillis() - start;
 
             stack.exit(this);
@@ -141,7 +156,6 @@ public class SimpleMethodMonitor implements MethodMonitor {
                 }
 
                 stack.release();
-                local.set(null);
             }
         }
     }
@@ -152,10 +166,10 @@ public class SimpleMethodMonitor implements MethodMonitor {
     }
 
     protected static final class CallStack {
-        MonitorConfig              config;
-        int                        level   = 0;
-        List<SimpleMethodMonitor>  methods = new ArrayList<>(20);
-        Stack<SimpleMethodMonitor> parents = new Stack<>();
+        MonitorConfig                   config;
+        int                             level   = 0;
+        List<SimpleMethodMonitor>       methods = new ArrayList<>(20);
+        ArrayDeque<SimpleMethodMonitor> parents = new ArrayDeque<>();
 
         CallStack(MonitorConfig config) {
             this.config = config;
@@ -183,7 +197,7 @@ public class SimpleMethodMonitor implements MethodMonitor {
 //                parent.counts.put(method.key, count);
 //            }
 
-            parents.add(method);
+            parents.push(method);
             method.level = level;
             methods.add(method);
             level++;
@@ -196,6 +210,8 @@ public class SimpleMethodMonitor implements MethodMonitor {
 
         void release() {
             methods.clear();
+            parents.clear();
+            level = 0;
         }
 
         private void logExecutions() {
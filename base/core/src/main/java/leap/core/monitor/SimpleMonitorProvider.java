@@ -18,25 +18,83 @@ package leap.core.monitor;
 
 import leap.core.AppConfig;
 import leap.core.AppContextInitializer;
+import leap.core.BeanFactory;
+import leap.core.ioc.PostCreateBean;
 import leap.lang.Arrays2;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 
-public class SimpleMonitorProvider implements MonitorProvider {
+public class SimpleMonitorProvider implements MonitorProvider, PostCreateBean {
 
     private static final Log log = LogFactory.get(SimpleMethodMonitor.class);
 
     private static MethodMonitor NOP_METHOD_MONITOR = new NopMonitorProvider.NopMethodMonitor();
 
-    protected MonitorConfig config;
+    protected MonitorConfig            config;
+    protected volatile MetricsRegistry metrics = MetricsRegistry.DISABLED;
 
+    private boolean metricsAssigned;
+
+    /**
+     * Creates the provider of the instrumented classes (see {@link MonitorInst}) by the initial app config.
+     */
     public SimpleMonitorProvider() {
         AppConfig appConfig = AppContextInitializer.getInitialConfig();
         if(null == appConfig) {
             log.warn("App config not found, monitoring disabled!!!");
         }else{
-            config = appConfig.getExtension(MonitorConfig.class);
+            init(appConfig.getExtension(MonitorConfig.class));
+        }
+    }
+
+    /**
+     * Creates the provider of an app context by the given config.
+     */
+    public SimpleMonitorProvider(MonitorConfig config) {
+        init(config);
+    }
+
+    protected void init(MonitorConfig config) {
+        this.config = config;
+        if(null != config && config.isMetricsEnabled()) {
+            metrics = new MetricsRegistry(config.getMetricsMaxNames());
+        }
+    }
+
+    /**
+     * The instrumented classes are shared by the jvm, records the monitored methods into the registry of this app.
+     *
+     * <p/>
+     * Only the first app with metrics enabled wins if many apps are running in the jvm,
+     * see {@link #setMetricsRegistry(MetricsRegistry)}.
+     */
+    @Override
+    public void postCreate(BeanFactory factory) throws Exception {
+        if(metrics.isEnabled() && MonitorInst.PROVIDER instanceof SimpleMonitorProvider) {
+            if(!((SimpleMonitorProvider)MonitorInst.PROVIDER).setMetricsRegistry(metrics)) {
+                log.warn("The metrics of instrumented classes are recorded by another app, ignore the registry of this app");
+            }
+        }
+    }
+
+    /**
+     * Replaces the registry created by this provider with the given one, only the first assignment takes effect.
+     *
+     * <p/>
+     * Returns false if the registry has been assigned by others.
+     */
+    public synchronized boolean setMetricsRegistry(MetricsRegistry metrics) {
+        if(metricsAssigned) {
+            return this.metrics == metrics;
         }
+        this.metrics = metrics;
+        this.metricsAssigned = true;
+        return true;
+    }
+
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return metrics;
     }
 
     @Override
@@ -26,6 +26,7 @@ public abstract class AbstractJwtSigner extends AbstractTokenSigner implements J
     private String  encodedHeader;
     private boolean encodeHeader = true;
     private boolean encodeTyp    = true;
+    private String  keyId;
 
     public boolean isEncodeHeader() {
         return encodeHeader;
@@ -42,6 +43,18 @@ public abstract class AbstractJwtSigner extends AbstractTokenSigner implements J
     public void setEncodeTyp(boolean encodeTyp) {
         this.encodeTyp = encodeTyp;
     }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * Sets the 'kid' header of the signed tokens.
+     */
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+        this.encodedHeader = null;
+    }
 	
 	@Override
     public String sign(Map<String, Object> claims, Integer expiresInSecond) {
@@ -99,6 +112,10 @@ public abstract class AbstractJwtSigner extends AbstractTokenSigner implements J
             }
 
             w.property("alg", getJwtAlgorithm());
+
+            if (null != keyId && !keyId.isEmpty()) {
+                w.property(JWT.HEADER_KEY_ID, keyId);
+            }
             w.endObject();
 			
 			encodedHeader = JWT.base64UrlEncode(w.toString());
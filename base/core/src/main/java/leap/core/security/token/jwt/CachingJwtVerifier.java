@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.security.token.jwt;
+
+import leap.core.cache.Cache;
+import leap.core.cache.CacheStats;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.core.security.token.TokenExpiredException;
+import leap.core.security.token.TokenVerifyException;
+import leap.lang.Args;
+import leap.lang.codec.Base64;
+import leap.lang.codec.Digests;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link JwtVerifier} caches the claims of the verified tokens.
+ *
+ * <p/>
+ * The cache key is the sha-256 hash of token, so the cached claims are returned only if the same token was verified,
+ * the failed tokens are not cached.
+ *
+ * <p/>
+ * A cached token expires at the 'exp' claim or after the max cached time, which one is earlier.
+ */
+public class CachingJwtVerifier implements JwtVerifier {
+
+    public static final int  DEFAULT_MAX_SIZE      = 1024;
+    public static final long DEFAULT_MAX_CACHED_MS = 5 * 60 * 1000L;
+
+    protected final JwtVerifier                 verifier;
+    protected final Cache<String, VerifiedToken> cache;
+
+    public CachingJwtVerifier(JwtVerifier verifier) {
+        this(verifier, DEFAULT_MAX_SIZE, DEFAULT_MAX_CACHED_MS);
+    }
+
+    /**
+     * @param verifier the underlying verifier.
+     * @param maxSize the max number of the cached tokens.
+     * @param maxCachedMs the max time in milliseconds of a verified token can be cached.
+     */
+    public CachingJwtVerifier(JwtVerifier verifier, int maxSize, long maxCachedMs) {
+        Args.notNull(verifier, "verifier");
+        Args.assertTrue(maxCachedMs > 0, "The max cached ms must be positive");
+        this.verifier = verifier;
+        this.cache    = new ConcurrentLRUCache<>(maxSize, maxCachedMs, 0);
+    }
+
+    public JwtVerifier getVerifier() {
+        return verifier;
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Removes all the cached tokens.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public Map<String, Object> verify(String token) throws TokenVerifyException {
+        Args.notEmpty(token, "token");
+
+        String        key    = key(token);
+        VerifiedToken cached = cache.get(key);
+        if (null != cached) {
+            if (!cached.isExpired()) {
+                return new LinkedHashMap<>(cached.claims);
+            }
+            cache.remove(key);
+            throw new TokenExpiredException("Token expired, exp = " + cached.claims.get(JWT.CLAIM_EXPIRATION_TIME));
+        }
+
+        Map<String, Object> claims = verifier.verify(token);
+        cache.put(key, new VerifiedToken(new LinkedHashMap<>(claims)));
+        return claims;
+    }
+
+    protected String key(String token) {
+        return Base64.encode(Digests.sha256(token));
+    }
+
+    protected static final class VerifiedToken {
+        private final Map<String, Object> claims;
+        private final long                expirationTimeSecond;
+
+        VerifiedToken(Map<String, Object> claims) {
+            this.claims = claims;
+
+            Object exp = claims.get(JWT.CLAIM_EXPIRATION_TIME);
+            this.expirationTimeSecond = exp instanceof Number ? ((Number) exp).longValue() : Long.MAX_VALUE;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() / 1000L >= expirationTimeSecond;
+        }
+    }
+}
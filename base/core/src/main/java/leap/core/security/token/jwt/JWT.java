@@ -17,6 +17,8 @@ package leap.core.security.token.jwt;
 
 import leap.lang.Strings;
 import leap.lang.codec.Base64;
+import leap.lang.json.JSON;
+import leap.lang.json.JsonValue;
 
 public class JWT {
 
@@ -34,6 +36,8 @@ public class JWT {
     public static final String CLAIM_AUDIENCE        = "aud";
     public static final String CLAIM_JWT_ID          = "jti";
 
+    public static final String HEADER_KEY_ID         = "kid";
+
     public static String base64UrlEncode(String data) {
         return base64UrlEncode(Strings.getBytesUtf8(data));
     }
@@ -58,6 +62,30 @@ public class JWT {
     public static String base64UrlDeocodeToString(String encoded) {
         return Strings.newStringUtf8(base64UrlDeocode(encoded));
     }
+
+    /**
+     * Returns the 'kid' header of the token, returns null if the token has no header or no 'kid' in header.
+     *
+     * <p/>
+     * The signature of token is not verified.
+     */
+    public static String getKeyId(String token) {
+        int index = null == token ? -1 : token.indexOf('.');
+        if (index <= 0 || token.indexOf('.', index + 1) < 0) {
+            return null;
+        }
+
+        try {
+            JsonValue header = JSON.parse(base64UrlDeocodeToString(token.substring(0, index)));
+            if (!header.isMap()) {
+                return null;
+            }
+            Object kid = header.asMap().get(HEADER_KEY_ID);
+            return null == kid ? null : kid.toString();
+        } catch (Exception e) {
+            return null;
+        }
+    }
 	
 	protected JWT() {
 		
@@ -25,6 +25,9 @@ public class RsaVerifier extends AbstractJwtVerifier {
     
     protected RSAPublicKey publicKey;
     protected String       rsaAlgorithm;
+
+    //The initialized signature of current thread, it returns to the state after initVerify when verified.
+    private final ThreadLocal<Signature> signatures = new ThreadLocal<>();
     
     public RsaVerifier(RSAPublicKey publicKey) {
         this(publicKey, RsaSigner.ALG_SHA256_WITH_RSA);
@@ -37,17 +40,35 @@ public class RsaVerifier extends AbstractJwtVerifier {
         this.rsaAlgorithm = rsaAlgorithm;
     }
 
+    public RSAPublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    public String getRsaAlgorithm() {
+        return rsaAlgorithm;
+    }
+
     @Override
     protected boolean verifySignature(String content, String signed) {
         try {
             byte[] signedData  = JWT.base64UrlDeocode(signed);
             byte[] contentData = content.getBytes();
-            
-            Signature signature = Signature.getInstance(rsaAlgorithm);
-            signature.initVerify(publicKey);
-            signature.update(contentData);
 
-            return signature.verify(signedData);
+            Signature signature = signatures.get();
+            if (null == signature) {
+                signature = Signature.getInstance(rsaAlgorithm);
+                signature.initVerify(publicKey);
+                signatures.set(signature);
+            }
+
+            try {
+                signature.update(contentData);
+                return signature.verify(signedData);
+            } catch (RuntimeException | GeneralSecurityException e) {
+                //the state of signature is unknown, discards it.
+                signatures.remove();
+                throw e;
+            }
         } catch (GeneralSecurityException e) {
             return false;
         }
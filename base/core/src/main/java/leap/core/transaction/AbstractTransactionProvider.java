@@ -82,6 +82,16 @@ public abstract class AbstractTransactionProvider implements TransactionProvider
         return getTransaction(td).executeWithResult(callback);
     }
 
+    @Override
+    public Connection acquireConnection() {
+        return getConnection();
+    }
+
+    @Override
+    public void releaseConnection(Connection connection) {
+        closeConnection(connection);
+    }
+
     /**
      * Returns a connection from data source.
      */
@@ -77,6 +77,11 @@ public class DefaultTransactionManager implements TransactionManager, DataSource
         return tp;
     }
 
+    @Override
+    public boolean registerSynchronization(DataSource ds, TransactionSynchronization synchronization) {
+        return getProvider(ds).registerSynchronization(synchronization);
+    }
+
     @Override
     public void execute(ConnectionCallback callback) {
         execute(dsm.getDefaultDataSource(), callback);
@@ -22,6 +22,8 @@ import leap.lang.logging.LogFactory;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LocalTransaction extends AbstractTransaction {
     private static final Log log = LogFactory.get(LocalTransaction.class);
@@ -37,6 +39,8 @@ public class LocalTransaction extends AbstractTransaction {
     private boolean originalAutoCommit;
     private int     originalIsolationLevel;
 
+    private List<TransactionSynchronization> synchronizations;
+
     protected LocalTransaction(LocalTransactionProvider tp, TransactionDefinition td) {
         this.tp        = tp;
         this.td        = td;
@@ -89,6 +93,7 @@ public class LocalTransaction extends AbstractTransaction {
         decrease();
 
         if (referenceCount == 0) {
+            boolean committed = false;
             try {
                 //Connection may be null if no database access in transaction.
                 if (null != connection) {
@@ -104,6 +109,7 @@ public class LocalTransaction extends AbstractTransaction {
                         try {
                             log.debug("Commit transaction, referencedCount={}", referenceCount);
                             connection.commit();
+                            committed = true;
                             connection.setAutoCommit(originalAutoCommit);
 
                             if (isolation != TransactionDefinition.Isolation.DEFAULT.getValue() &&
@@ -114,12 +120,18 @@ public class LocalTransaction extends AbstractTransaction {
                             throw new TransactionException("Error commit transaction, " + e.getMessage(), e);
                         }
                     }
+                } else {
+                    committed = !rollbackOnly;
                 }
             } finally {
                 try {
                     tp.removeActiveTransaction();
                 } finally {
-                    tp.closeConnection(connection);
+                    try {
+                        tp.closeConnection(connection);
+                    } finally {
+                        triggerAfterCompletion(committed);
+                    }
                 }
             }
         } else {
@@ -127,6 +139,30 @@ public class LocalTransaction extends AbstractTransaction {
         }
     }
 
+    protected void registerSynchronization(TransactionSynchronization synchronization) {
+        if (null == synchronizations) {
+            synchronizations = new ArrayList<>(2);
+        }
+        synchronizations.add(synchronization);
+    }
+
+    protected void triggerAfterCompletion(boolean committed) {
+        if (null == synchronizations) {
+            return;
+        }
+
+        List<TransactionSynchronization> list = synchronizations;
+        synchronizations = null;
+
+        for (TransactionSynchronization synchronization : list) {
+            try {
+                synchronization.afterCompletion(committed);
+            } catch (Throwable e) {
+                log.warn("Error invoking transaction synchronization, " + e.getMessage(), e);
+            }
+        }
+    }
+
     protected void setConnection(Connection connection) {
         try {
             this.originalAutoCommit = connection.getAutoCommit();
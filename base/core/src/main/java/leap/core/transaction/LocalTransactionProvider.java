@@ -59,6 +59,16 @@ public class LocalTransactionProvider extends AbstractTransactionProvider implem
         return getTransaction(null == td ? getRequiredDefinition() : td).begin();
     }
 
+    @Override
+    public boolean registerSynchronization(TransactionSynchronization synchronization) {
+        LocalTransaction trans = peekActiveTransaction();
+        if(null == trans) {
+            return false;
+        }
+        trans.registerSynchronization(synchronization);
+        return true;
+    }
+
     public void setDefaultPropagation(Propagation defaultPropagation) {
         this.defaultPropagation = defaultPropagation;
     }
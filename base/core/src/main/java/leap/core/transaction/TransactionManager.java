@@ -48,6 +48,14 @@ public interface TransactionManager {
      */
     TransactionProvider getProvider(DataSource ds);
 
+    /**
+     * Registers the synchronization to the currently active transaction of the given datasource.
+     *
+     * <p/>
+     * Returns <code>false</code> if no active transaction, the caller should do the work immediately.
+     */
+    boolean registerSynchronization(DataSource ds, TransactionSynchronization synchronization);
+
     /**
      * Executes the callback with default datasource.
      *
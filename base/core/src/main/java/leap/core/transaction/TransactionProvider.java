@@ -18,6 +18,8 @@ package leap.core.transaction;
 import leap.lang.jdbc.ConnectionCallback;
 import leap.lang.jdbc.ConnectionCallbackWithResult;
 
+import java.sql.Connection;
+
 public interface TransactionProvider {
 
     /**
@@ -46,6 +48,35 @@ public interface TransactionProvider {
      */
     <T> T executeWithResult(ConnectionCallbackWithResult<T> callback);
 
+    /**
+     * Returns a connection for the caller holding it out of a callback, such as a streaming query.
+     *
+     * <p/>
+     * If an active transaction is exists, returns the connection of the transaction.
+     *
+     * <p/>
+     * The returned connection must be released by {@link #releaseConnection(Connection)}.
+     */
+    Connection acquireConnection();
+
+    /**
+     * Releases the connection returned by {@link #acquireConnection()}.
+     *
+     * <p/>
+     * The connection of an active transaction will not be closed.
+     */
+    void releaseConnection(Connection connection);
+
+    /**
+     * Registers the synchronization to the currently active transaction.
+     *
+     * <p/>
+     * Returns <code>false</code> if no active transaction, the caller should do the work immediately.
+     */
+    default boolean registerSynchronization(TransactionSynchronization synchronization) {
+        return false;
+    }
+
 	/**
 	 * Executes the callback in a currently active transaction or a new one if no active transaction.
 	 */
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.core.transaction;
+
+/**
+ * The callback of a transaction which is invoked after the transaction completes.
+ *
+ * @see TransactionProvider#registerSynchronization(TransactionSynchronization)
+ */
+@FunctionalInterface
+public interface TransactionSynchronization {
+
+    /**
+     * Invoked after the transaction was committed or rolled back and the connection was released.
+     *
+     * @param committed <code>true</code> if the transaction was committed.
+     */
+    void afterCompletion(boolean committed);
+
+}
@@ -16,11 +16,17 @@
 package tests.core.cache;
 
 import leap.core.cache.Cache;
+import leap.core.cache.CacheManager;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.core.cache.SimpleLRUCache;
+import leap.lang.Threads;
 import org.junit.Test;
 
 import leap.core.AppContext;
 import leap.core.junit.AppTestBase;
 
+import java.util.Map;
+
 public class CacheTest extends AppTestBase {
 
 	@Test
@@ -28,5 +34,81 @@ public class CacheTest extends AppTestBase {
 		Cache<?,?> cache = AppContext.factory().getBean(Cache.class,"test");
 		assertNotNull(cache);
 	}
+
+	@Test
+	public void testConcurrentLRUCache() {
+		ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(3);
+
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		assertEquals("1", cache.get("a"));
+
+		//evicts the least recently used 'b'
+		cache.put("d", "4");
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a"));
+		assertEquals(3, cache.size());
+		assertEquals(3, cache.getAll().size());
+
+		assertEquals(2, cache.getStats().getHits());
+		assertEquals(1, cache.getStats().getMisses());
+		assertEquals(1, cache.getStats().getEvictions());
+
+		assertEquals("4", cache.getAndRemove("d"));
+		assertFalse(cache.containsKey("d"));
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testConcurrentLRUCacheExpiration() {
+		ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(100, 50, 0);
+
+		cache.put("a", "1");
+		assertEquals("1", cache.get("a"));
+
+		Threads.sleep(100);
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getStats().getExpirations());
+	}
+
+	@Test
+	public void testSimpleLRUCacheStats() {
+		SimpleLRUCache<String, String> cache = new SimpleLRUCache<>(2);
+
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("b", "3");
+		assertEquals(0, cache.getStats().getEvictions());
+
+		cache.put("c", "4");
+		assertEquals(1, cache.getStats().getEvictions());
+		assertEquals(2, cache.size());
+
+		assertNull(cache.get("a"));
+		assertEquals("4", cache.get("c"));
+		assertEquals(1, cache.getStats().getHits());
+		assertEquals(1, cache.getStats().getMisses());
+	}
+
+	@Test
+	public void testLoadAndCacheStats() {
+		CacheManager cm = AppContext.factory().getBean(CacheManager.class);
+
+		Cache<String, String> cache = cm.createConcurrentLRUCache("testLoadAndCacheStats", 10);
+		assertSame(cache, cm.getCaches().get("testLoadAndCacheStats"));
+
+		assertEquals("v1", cache.get("k1", k -> "v1"));
+		assertEquals("v1", cache.get("k1", k -> "v2"));
+		assertNull(cache.get("k2", k -> null));
+		assertFalse(cache.containsKey("k2"));
+
+		Map<String, Object> stats = cm.getCacheStats().get("testLoadAndCacheStats");
+		assertEquals(1,  stats.get("size"));
+		assertEquals(1L, stats.get("hits"));
+		assertEquals(2L, stats.get("misses"));
+		assertEquals(2L, stats.get("loads"));
+	}
 	
 }
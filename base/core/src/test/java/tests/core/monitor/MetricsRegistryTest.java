@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests.core.monitor;
+
+import leap.core.monitor.Metric;
+import leap.core.monitor.MetricsRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class MetricsRegistryTest extends Assert {
+
+    @Test
+    public void testRecord() {
+        MetricsRegistry registry = new MetricsRegistry(10);
+
+        for(int i=1;i<=100;i++) {
+            registry.getMetric(MetricsRegistry.SQL, "select 1").record(i * 1000, i % 10 == 0);
+        }
+
+        Metric metric = registry.getMetric(MetricsRegistry.SQL, "select 1");
+        assertEquals(100, metric.getCount());
+        assertEquals(10, metric.getErrors());
+        assertEquals(100000, metric.getLatency().getMax());
+
+        long p50 = metric.getLatency().getPercentile(50);
+        assertTrue(p50 >= 50000 * 0.875 && p50 <= 50000 * 1.125);
+
+        Map<String, Map<String, Object>> stats = registry.getMetricsStats().get(MetricsRegistry.SQL);
+        assertEquals(100L, stats.get("select 1").get("count"));
+        assertEquals(10L,  stats.get("select 1").get("errors"));
+
+        registry.reset();
+        assertEquals(0, metric.getCount());
+        assertEquals(0, metric.getErrors());
+    }
+
+    @Test
+    public void testMaxNames() {
+        MetricsRegistry registry = new MetricsRegistry(2);
+
+        registry.record(MetricsRegistry.ROUTE, "GET /a", System.nanoTime(), false);
+        registry.record(MetricsRegistry.ROUTE, "GET /b", System.nanoTime(), false);
+        registry.record(MetricsRegistry.ROUTE, "GET /c", System.nanoTime(), false);
+        registry.record(MetricsRegistry.ROUTE, "GET /d", System.nanoTime(), true);
+
+        Map<String, Metric> metrics = registry.getMetrics(MetricsRegistry.ROUTE);
+        assertEquals(3, metrics.size());
+        assertEquals(2, metrics.get(MetricsRegistry.OTHERS).getCount());
+        assertEquals(1, metrics.get(MetricsRegistry.OTHERS).getErrors());
+        assertTrue(registry.getMetrics(MetricsRegistry.SQL).isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        MetricsRegistry.DISABLED.record(MetricsRegistry.METHOD, "a", System.nanoTime(), false);
+        assertTrue(MetricsRegistry.DISABLED.getMetricsStats().isEmpty());
+    }
+}
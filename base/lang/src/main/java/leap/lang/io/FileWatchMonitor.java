@@ -0,0 +1,393 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.lang.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import leap.lang.Exceptions;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+
+/**
+ * A {@link FileChangeMonitor} which uses the native {@link WatchService} instead of polling the whole file tree
+ * at every interval.
+ *
+ * <p/>
+ * The directories of observers are registered recursively, the events are coalesced until no more event arrives
+ * in the debounce time, and then only the changed observers will be checked by {@link FileChangeObserver#checkAndNotify()},
+ * so the {@link FileChangeListener} receives the same events as polling.
+ *
+ * <p/>
+ * The observers of directories which can not be watched (such as the file system not supports watching,
+ * the directory not exists or the limit of watches reached) are polled at the interval.
+ *
+ * <p/>
+ * The {@link WatchService} which is not native (such as the polling implementation of jdk on macOS) is not used,
+ * it polls the whole tree too but with a fixed delay.
+ *
+ * <p/>
+ * If the directory of a watched observer is deleted, the observer is polled until the directory is created again
+ * and then watched again.
+ */
+public class FileWatchMonitor extends FileChangeMonitor {
+
+    private static final Log log = LogFactory.get(FileWatchMonitor.class);
+
+    public static final long DEFAULT_DEBOUNCE = 100;
+
+    @SuppressWarnings("unchecked")
+    private static final WatchEvent.Kind<Path>[] EVENT_KINDS = new WatchEvent.Kind[]{
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY
+    };
+
+    protected long    debounce     = DEFAULT_DEBOUNCE;
+    protected boolean watchEnabled = true;
+
+    protected volatile WatchService watchService;
+
+    private final Map<WatchKey, Path>            watchedDirs = new ConcurrentHashMap<>();
+    private final Map<FileChangeObserver, Path>  watched     = new ConcurrentHashMap<>();
+    private final Set<FileChangeObserver>        polled      = ConcurrentHashMap.newKeySet();
+    private final Set<FileChangeObserver>        changed     = ConcurrentHashMap.newKeySet();
+    private final Set<FileChangeObserver>        lost        = ConcurrentHashMap.newKeySet();
+
+    public FileWatchMonitor() {
+        super();
+    }
+
+    public FileWatchMonitor(long interval) {
+        super(interval);
+    }
+
+    public FileWatchMonitor(long interval, FileChangeObserver... observers) {
+        super(interval, observers);
+    }
+
+    public long getDebounce() {
+        return debounce;
+    }
+
+    /**
+     * Sets the time in milliseconds to wait for more events before notifying the changes.
+     */
+    public void setDebounce(long debounce) {
+        this.debounce = debounce;
+    }
+
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    /**
+     * Enables or disables the native watching, all the observers will be polled if disabled.
+     */
+    public void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+    }
+
+    /**
+     * Returns <code>true</code> if the observer is watched by the native {@link WatchService}.
+     */
+    public boolean isWatching(FileChangeObserver observer) {
+        return watched.containsKey(observer);
+    }
+
+    @Override
+    public void addObserver(FileChangeObserver observer) {
+        super.addObserver(observer);
+        if(null != observer && running) {
+            observer.initialize();
+            register(observer);
+        }
+    }
+
+    @Override
+    public void removeObserver(FileChangeObserver observer) {
+        super.removeObserver(observer);
+        unregister(observer);
+    }
+
+    @Override
+    public synchronized void start() throws Exception {
+        if(watchEnabled) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                if(!isNative(watchService)) {
+                    log.info("The watch service '{}' is not native, fallback to polling", watchService.getClass().getName());
+                    watchService.close();
+                    watchService = null;
+                }
+            } catch (UnsupportedOperationException | IOException e) {
+                log.info("The file system does not support watching, fallback to polling : {}", e.getMessage());
+                watchService = null;
+            }
+        }
+
+        super.start();
+
+        for(FileChangeObserver observer : observers) {
+            register(observer);
+        }
+    }
+
+    @Override
+    public synchronized void stop(long stopInterval) throws Exception {
+        if (!running) {
+            throw new IllegalStateException("Monitor is not running");
+        }
+
+        //closing the watch service wakes up the monitoring thread immediately.
+        WatchService ws = watchService;
+        if(null != ws) {
+            watchService = null;
+            ws.close();
+        }
+
+        super.stop(stopInterval);
+
+        watchedDirs.clear();
+        watched.clear();
+        polled.clear();
+        changed.clear();
+        lost.clear();
+    }
+
+    @Override
+    public void run() {
+        final WatchService ws = watchService;
+
+        long lastPoll = System.currentTimeMillis();
+
+        while (running) {
+            try {
+                if(null != ws) {
+                    WatchKey key = ws.poll(interval, TimeUnit.MILLISECONDS);
+                    if(null != key) {
+                        //coalesce the events until no more event in the debounce time.
+                        long deadline = System.currentTimeMillis() + Math.max(interval, debounce);
+                        do {
+                            processEvents(key);
+                        }while(running &&
+                               System.currentTimeMillis() < deadline &&
+                               null != (key = ws.poll(debounce, TimeUnit.MILLISECONDS)));
+                    }
+                }else{
+                    Thread.sleep(interval);
+                }
+
+                if (!running) {
+                    break;
+                }
+
+                for(FileChangeObserver observer : changed) {
+                    changed.remove(observer);
+                    observer.checkAndNotify();
+                }
+
+                long now = System.currentTimeMillis();
+                if(now - lastPoll >= interval) {
+                    lastPoll = now;
+                    for(FileChangeObserver observer : lost) {
+                        if(observer.getDirectory().isDirectory()) {
+                            rewatch(observer);
+                        }
+                    }
+                    for(FileChangeObserver observer : observers) {
+                        if(polled.contains(observer) || !watched.containsKey(observer)) {
+                            observer.checkAndNotify();
+                        }
+                    }
+                }
+            } catch (ClosedWatchServiceException e) {
+                break;
+            } catch (InterruptedException e) {
+                //ignored.
+            } catch (Throwable e) {
+                if(errorStop){
+                    throw Exceptions.uncheck(e);
+                }else{
+                    log.error("Error invoking observer.checkAndNotify",e);
+                }
+            }
+        }
+    }
+
+    protected synchronized void register(FileChangeObserver observer) {
+        if(watched.containsKey(observer) || polled.contains(observer)) {
+            return;
+        }
+
+        WatchService ws = watchService;
+        File dir = observer.getDirectory();
+        if(null == ws || !dir.isDirectory()) {
+            polled.add(observer);
+            return;
+        }
+
+        Path root = dir.toPath().toAbsolutePath().normalize();
+        try {
+            registerTree(ws, root);
+            watched.put(observer, root);
+            log.debug("Watching directory '{}'", root);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.info("Unable to watch directory '{}', fallback to polling : {}", root, e.getMessage());
+            polled.add(observer);
+        }
+    }
+
+    protected synchronized void unregister(FileChangeObserver observer) {
+        if(null == observer) {
+            return;
+        }
+        polled.remove(observer);
+        changed.remove(observer);
+        lost.remove(observer);
+
+        Path root = watched.remove(observer);
+        if(null != root && !watched.containsValue(root)) {
+            watchedDirs.entrySet().removeIf(entry -> {
+                if(entry.getValue().startsWith(root) && !isWatched(entry.getValue())) {
+                    entry.getKey().cancel();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Moves the observers of the deleted directory to polling, they will be watched again after the directory is created.
+     */
+    protected synchronized void lose(Path root) {
+        watched.forEach((observer, dir) -> {
+            if(dir.equals(root) && watched.remove(observer, dir)) {
+                log.debug("Directory '{}' is not watchable, polling it until created again", root);
+                lost.add(observer);
+                polled.add(observer);
+                changed.add(observer);
+            }
+        });
+    }
+
+    protected synchronized void rewatch(FileChangeObserver observer) {
+        if(!lost.remove(observer) || !polled.remove(observer)) {
+            return;
+        }
+        register(observer);
+        if(watched.containsKey(observer)) {
+            changed.add(observer);
+        }else{
+            lost.add(observer);
+        }
+    }
+
+    /**
+     * Returns <code>false</code> if the watch service is the polling implementation of jdk.
+     */
+    protected boolean isNative(WatchService ws) {
+        return !ws.getClass().getName().endsWith("PollingWatchService");
+    }
+
+    private boolean isWatched(Path dir) {
+        for(Path root : watched.values()) {
+            if(dir.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerTree(WatchService ws, Path start) throws IOException {
+        java.nio.file.Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                watchedDirs.put(dir.register(ws, EVENT_KINDS), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void processEvents(WatchKey key) {
+        Path dir = watchedDirs.get(key);
+        if(null == dir) {
+            key.cancel();
+            return;
+        }
+
+        for(WatchEvent<?> event : key.pollEvents()) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                markChanged(dir);
+                continue;
+            }
+
+            Path child = dir.resolve((Path)event.context());
+            if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE &&
+               java.nio.file.Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                WatchService ws = watchService;
+                if(null != ws) {
+                    try {
+                        registerTree(ws, child);
+                    } catch (IOException e) {
+                        log.info("Unable to watch directory '{}', fallback to polling : {}", child, e.getMessage());
+                        pollObservers(child);
+                    }
+                }
+            }
+            markChanged(child);
+        }
+
+        if(!key.reset()) {
+            watchedDirs.remove(key);
+            if(watched.containsValue(dir)) {
+                lose(dir);
+            }
+        }
+    }
+
+    private void markChanged(Path path) {
+        watched.forEach((observer, root) -> {
+            if(path.startsWith(root)) {
+                changed.add(observer);
+            }
+        });
+    }
+
+    private void pollObservers(Path path) {
+        watched.forEach((observer, root) -> {
+            if(path.startsWith(root)) {
+                polled.add(observer);
+            }
+        });
+    }
+}
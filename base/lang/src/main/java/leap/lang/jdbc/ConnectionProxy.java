@@ -78,7 +78,7 @@ public abstract class ConnectionProxy extends ConnectionWrapper {
 
     @Override
     public final PreparedStatement prepareStatement(String sql) throws SQLException {
-        return proxyOfPreparedStatement(conn.prepareStatement(sql), sql);
+        return proxyOfPreparedStatement(prepareStatementReal(sql), sql);
     }
 
     @Override
@@ -98,7 +98,7 @@ public abstract class ConnectionProxy extends ConnectionWrapper {
 
     @Override
     public final PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        return proxyOfPreparedStatement(conn.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+        return proxyOfPreparedStatement(prepareStatementReal(sql, resultSetType, resultSetConcurrency), sql);
     }
 
     @Override
@@ -121,6 +121,20 @@ public abstract class ConnectionProxy extends ConnectionWrapper {
         return proxyOfCallableStatement(conn.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
     }
 
+    /**
+     * Creates the underlying {@link PreparedStatement} of {@link #prepareStatement(String)}.
+     */
+    protected PreparedStatement prepareStatementReal(String sql) throws SQLException {
+        return conn.prepareStatement(sql);
+    }
+
+    /**
+     * Creates the underlying {@link PreparedStatement} of {@link #prepareStatement(String, int, int)}.
+     */
+    protected PreparedStatement prepareStatementReal(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+    }
+
     /**
      * Test the type of the statement and return the proxy of it.
      */
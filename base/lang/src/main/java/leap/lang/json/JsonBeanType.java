@@ -0,0 +1,136 @@
+package leap.lang.json;
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import leap.lang.beans.BeanProperty;
+import leap.lang.beans.BeanType;
+import leap.lang.naming.NamingStyle;
+import leap.lang.reflect.ReflectField;
+import leap.lang.time.DateFormats;
+
+import java.lang.reflect.Field;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The json serialization metadata of a bean class, resolved once and cached by class.
+ */
+final class JsonBeanType {
+
+    private static final Map<Class<?>, JsonBeanType> cache = new ConcurrentHashMap<>();
+
+    static JsonBeanType of(Class<?> beanClass) {
+        JsonBeanType type = cache.get(beanClass);
+        if(null == type) {
+            type = new JsonBeanType(beanClass);
+            cache.put(beanClass, type);
+        }
+        return type;
+    }
+
+    final BeanType   beanType;
+    final JsonType   superType;
+    final Boolean    ignoreNull;
+    final Property[] properties;
+
+    private JsonBeanType(Class<?> beanClass) {
+        this.beanType = BeanType.of(beanClass);
+
+        Class<?> superClass = beanClass.getSuperclass();
+        this.superType = null == superClass ? null : superClass.getAnnotation(JsonType.class);
+
+        JsonSetting setting = beanClass.getAnnotation(JsonSetting.class);
+        this.ignoreNull = (null != setting && setting.ignoreNull().isPresent()) ? setting.ignoreNull().getValue() : null;
+
+        List<Property> list = new ArrayList<>();
+        for(BeanProperty bp : beanType.getProperties()) {
+            if(bp.isTransient() || !bp.isReadable()) {
+                continue;
+            }
+
+            JsonName named = bp.getAnnotation(JsonName.class);
+            if(!bp.isField() && null == named) {
+                continue;
+            }
+
+            JsonField jsonField = bp.getAnnotation(JsonField.class);
+            if(null == jsonField && bp.isAnnotationPresent(JsonIgnore.class)) {
+                continue;
+            }
+
+            list.add(new Property(bp, named, jsonField));
+        }
+        this.properties = list.toArray(new Property[list.size()]);
+    }
+
+    static final class Property {
+        final BeanProperty      bp;
+        final String            name;
+        final Class<?>          declaringClass;
+        final ReflectField      directField;
+        final boolean           string;
+        final JsonType          valueType;
+        final DateTimeFormatter dateFormatter;
+
+        private volatile Key key;
+
+        Property(BeanProperty bp, JsonName named, JsonField jsonField) {
+            Field field = bp.getField();
+
+            this.bp             = bp;
+            this.name           = null == named ? bp.getName() : named.value();
+            this.declaringClass = null == field ? bp.getDeclaringClass() : field.getDeclaringClass();
+            this.directField    = (null != jsonField && !jsonField.useGetter()) ? bp.getReflectField() : null;
+            this.string         = null != field && field.getType().equals(String.class);
+            this.valueType      = bp.getType().getAnnotation(JsonType.class);
+
+            JsonFormat format = bp.getAnnotation(JsonFormat.class);
+            this.dateFormatter = null == format ? null : DateFormats.getFormatter(format.value());
+        }
+
+        Object getValue(Object bean) {
+            return null != directField ? directField.getValue(bean, false) : bp.getValue(bean);
+        }
+
+        /**
+         * Returns the key of this property in the given naming style, quoted if the <code>quoted</code> is true.
+         */
+        String key(NamingStyle ns, boolean quoted) {
+            Key k = key;
+            if(null == k || k.ns != ns || k.quoted != quoted) {
+                String s = ns.of(name);
+                k = new Key(ns, quoted, quoted ? JsonWriter.DOUBLE_QUOTE + s + JsonWriter.DOUBLE_QUOTE : s);
+                key = k;
+            }
+            return k.value;
+        }
+    }
+
+    private static final class Key {
+        final NamingStyle ns;
+        final boolean     quoted;
+        final String      value;
+
+        Key(NamingStyle ns, boolean quoted, String value) {
+            this.ns     = ns;
+            this.quoted = quoted;
+            this.value  = value;
+        }
+    }
+}
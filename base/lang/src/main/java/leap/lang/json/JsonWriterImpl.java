@@ -26,7 +26,6 @@ import leap.lang.beans.PreSerializable;
 import leap.lang.codec.Base64;
 import leap.lang.html.HTML;
 import leap.lang.naming.NamingStyle;
-import leap.lang.time.DateFormats;
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
@@ -729,6 +728,22 @@ public class JsonWriterImpl implements JsonWriter {
         return this;
     }
 
+    /**
+     * Writes the key which is already converted by naming style and quoted if necessary.
+     */
+    private void encodedKey(String key) {
+        try {
+            if (startProperty) {
+                startProperty = false;
+            } else {
+                out.append(COMMA_CHAR);
+            }
+            out.append(key).append(CLOSE_KEY);
+        } catch (IOException e) {
+            wrapAndThrow(e);
+        }
+    }
+
     @Override
     public JsonWriter keyUseNamingStyle(String key) {
         return key(getNamingStyle().of(key));
@@ -938,11 +953,12 @@ public class JsonWriterImpl implements JsonWriter {
 
     protected JsonWriter properties(Object bean, boolean declaredOnly, JsonType type) {
         try {
-            BeanType beanType = BeanType.of(bean.getClass());
+            JsonBeanType jsonType = JsonBeanType.of(bean.getClass());
+            BeanType     beanType = jsonType.beanType;
 
             //process type metadata.
-            if (null == type && !bean.getClass().isInterface()) {
-                type = bean.getClass().getSuperclass().getAnnotation(JsonType.class);
+            if (null == type) {
+                type = jsonType.superType;
             }
 
             if (null != type) {
@@ -971,86 +987,49 @@ public class JsonWriterImpl implements JsonWriter {
                 }
             }
 
-            JsonSetting jb         = bean.getClass().getAnnotation(JsonSetting.class);
-            boolean     ignoreNull = (null != jb && jb.ignoreNull().isPresent()) ? jb.ignoreNull().getValue() : this.isIgnoreNull();
+            boolean ignoreNull = null != jsonType.ignoreNull ? jsonType.ignoreNull : this.isIgnoreNull();
 
             if (bean instanceof PreSerializable) {
                 ((PreSerializable) bean).preSerialize();
             }
 
-            for (BeanProperty prop : beanType.getProperties()) {
-                if (prop.isTransient()) {
+            final NamingStyle ns = getNamingStyle();
+            final boolean     kq = isKeyQuoted();
+
+            for (JsonBeanType.Property prop : jsonType.properties) {
+                if (declaredOnly && !prop.declaringClass.equals(bean.getClass())) {
                     continue;
                 }
 
-                if (!prop.isReadable()) {
+                if (null != propertyFilter && propertyFilter.test(prop.bp)) {
                     continue;
                 }
 
-                JsonName named = null;
-                if (!prop.isField()) {
-                    named = prop.getAnnotation(JsonName.class);
-                    if (null == named) {
-                        continue;
-                    }
-                }
+                Object propValue = prop.getValue(bean);
 
-                if (declaredOnly && !prop.getField().getDeclaringClass().equals(bean.getClass())) {
+                if (null == propValue && ignoreNull) {
                     continue;
                 }
 
-                if (null != propertyFilter && propertyFilter.test(prop)) {
+                if (isIgnoreEmptyString() && Strings.isNullOrBlank(propValue)) {
                     continue;
                 }
 
-                JsonField jsonField = prop.getAnnotation(JsonField.class);
-
-                if (null != jsonField || !prop.isAnnotationPresent(JsonIgnore.class)) {
-                    String propName = prop.getName();
-
-                    if (null == named) {
-                        named = prop.getAnnotation(JsonName.class);
-                    }
-
-                    if (null != named) {
-                        propName = named.value();
-                    }
-
-                    Object propValue;
-
-                    if (jsonField != null && jsonField.useGetter() == false) {
-                        propValue = prop.getReflectField().getValue(bean, false);
-                    } else {
-                        propValue = prop.getValue(bean);
-                    }
-
-                    if (null == propValue && ignoreNull) {
-                        continue;
-                    }
-
-                    if (isIgnoreEmptyString() && Strings.isNullOrBlank(propValue)) {
-                        continue;
-                    }
-
-                    if (isIgnoreEmptyArray() && isEmptyArray(propValue)) {
-                        continue;
-                    }
+                if (isIgnoreEmptyArray() && null != propValue && isEmptyArray(propValue)) {
+                    continue;
+                }
 
-                    if (null != propValue && null != beanFilter && beanFilter.test(propValue)) {
-                        continue;
-                    }
+                if (null != propValue && null != beanFilter && beanFilter.test(propValue)) {
+                    continue;
+                }
 
-                    if (prop.getField().getType().equals(String.class) && settings.isNullToEmptyString() && null == propValue) {
-                        propValue = "";
-                    }
+                if (prop.string && settings.isNullToEmptyString() && null == propValue) {
+                    propValue = "";
+                }
 
-                    keyUseNamingStyle(propName);
-                    if (!writeDateValue(prop, propValue)) {
-                        //todo : performance
-                        value(propValue, (v) -> {
-                            bean(v, prop.getType().getAnnotation(JsonType.class));
-                        });
-                    }
+                encodedKey(prop.key(ns, kq));
+                if (!writeDateValue(prop.dateFormatter, propValue)) {
+                    value(propValue, null == prop.valueType ? this::bean : (v) -> bean(v, prop.valueType));
                 }
             }
 
@@ -1092,15 +1071,17 @@ public class JsonWriterImpl implements JsonWriter {
         }
     }
 
-    protected boolean writeDateValue(BeanProperty bp, Object value) {
+    /**
+     * Writes the value if it is a {@link Date}, formats it by the formatter of {@link JsonFormat} if not null.
+     *
+     * @return true if the value is a date and written.
+     */
+    protected boolean writeDateValue(DateTimeFormatter formatter, Object value) {
 
         if (value instanceof Date) {
-            JsonFormat a = bp.getAnnotation(JsonFormat.class);
-
-            if (null == a) {
+            if (null == formatter) {
                 value((Date) value);
             } else {
-                DateTimeFormatter formatter = DateFormats.getFormatter(a.value());
                 value(formatter.format(((Date) value).toInstant()));
             }
 
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.lang.time;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, fixed memory histogram of non-negative long values (i.e. latencies).
+ *
+ * <p/>
+ * The values are recorded into log-linear buckets (the same layout as HdrHistogram with 3 significant bits),
+ * so the relative error of the reported percentiles is less than 12.5%.
+ *
+ * <p/>
+ * The unit of the recorded values is decided by the caller, i.e. microseconds.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS    = 3;
+    private static final int SUB_COUNT   = 1 << SUB_BITS;
+    private static final int SUB_MASK    = SUB_COUNT - 1;
+    private static final int BUCKETS     = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong      count  = new AtomicLong();
+    private final AtomicLong      total  = new AtomicLong();
+    private final AtomicLong      max    = new AtomicLong();
+
+    /**
+     * Records a value, the negative value will be recorded as zero.
+     */
+    public void record(long value) {
+        if(value < 0) {
+            value = 0;
+        }
+
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+
+        long current;
+        while(value > (current = max.get())) {
+            if(max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the total count of recorded values.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the max recorded value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of recorded values.
+     */
+    public double getMean() {
+        long c = count.get();
+        return c == 0 ? 0 : (double)total.get() / c;
+    }
+
+    /**
+     * Returns the value at the given percentile (0 ~ 100).
+     */
+    public long getPercentile(double percentile) {
+        return snapshot().getPercentile(percentile);
+    }
+
+    /**
+     * Returns a point-in-time copy of this histogram.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long   sum  = 0;
+        for(int i=0;i<BUCKETS;i++) {
+            copy[i] = counts.get(i);
+            sum += copy[i];
+        }
+        return new Snapshot(copy, sum, total.get(), max.get());
+    }
+
+    /**
+     * Clears all the recorded values.
+     */
+    public void reset() {
+        for(int i=0;i<BUCKETS;i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    static int indexOf(long value) {
+        if(value < SUB_COUNT) {
+            return (int)value;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int)(value >>> (exp - SUB_BITS)) & SUB_MASK;
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long highestValueOf(int index) {
+        if(index < SUB_COUNT) {
+            return index;
+        }
+        int  exp   = index / SUB_COUNT + SUB_BITS - 1;
+        int  sub   = index & SUB_MASK;
+        long width = 1L << (exp - SUB_BITS);
+        long low   = (SUB_COUNT + sub) * width;
+        return low + (width - 1);
+    }
+
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long   count;
+        private final long   total;
+        private final long   max;
+
+        Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count  = count;
+            this.total  = total;
+            this.max    = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double)total / count;
+        }
+
+        /**
+         * Returns the value at the given percentile (0 ~ 100).
+         */
+        public long getPercentile(double percentile) {
+            if(count == 0) {
+                return 0;
+            }
+
+            long rank = (long)Math.ceil(Math.min(100d, Math.max(0d, percentile)) / 100d * count);
+            if(rank < 1) {
+                rank = 1;
+            }
+
+            long sum = 0;
+            for(int i=0;i<counts.length;i++) {
+                sum += counts[i];
+                if(sum >= rank) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Returns the summary (count, mean, max and the common percentiles) as a map.
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("mean",  getMean());
+            map.put("max",   max);
+            map.put("p50",   getPercentile(50));
+            map.put("p90",   getPercentile(90));
+            map.put("p99",   getPercentile(99));
+            map.put("p999",  getPercentile(99.9));
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.lang.io;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * {@link FileWatchMonitor} Test Case.
+ */
+public class FileWatchMonitorTest extends AbstractMonitorTestCase {
+
+    public FileWatchMonitorTest(String name) {
+        super(name);
+        testDirName = "test-watch-monitor";
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        listener = new CollectionFileListener(false);
+        super.setUp();
+    }
+
+    public void testWatch() throws Exception {
+        //the long interval makes sure the changes are not detected by polling.
+        FileWatchMonitor monitor = new FileWatchMonitor(60000, observer);
+        monitor.start();
+        try {
+            assertTrue(monitor.isWatching(observer));
+
+            // Create a File
+            checkCollectionsEmpty("A");
+            File file1 = touch(new File(testDir, "file1.java"));
+            checkFile("Create", file1, listener.getCreatedFiles());
+            listener.clear();
+
+            // Update a file
+            checkCollectionsEmpty("B");
+            file1 = touch(file1);
+            checkFile("Update", file1, listener.getChangedFiles());
+            listener.clear();
+
+            // Create a file in new directory
+            File dir = new File(testDir, "dir1");
+            assertTrue(dir.mkdir());
+            checkFile("Create", dir, listener.getCreatedDirectories());
+            listener.clear();
+
+            File file2 = touch(new File(dir, "file2.java"));
+            checkFile("Create", file2, listener.getCreatedFiles());
+            listener.clear();
+
+            // Delete a file
+            file1.delete();
+            checkFile("Delete", file1, listener.getDeletedFiles());
+            listener.clear();
+        }finally {
+            monitor.stop();
+        }
+    }
+
+    public void testPollingFallback() throws Exception {
+        FileWatchMonitor monitor = new FileWatchMonitor(100, observer);
+        monitor.setWatchEnabled(false);
+        monitor.start();
+        try {
+            assertFalse(monitor.isWatching(observer));
+
+            checkCollectionsEmpty("A");
+            File file1 = touch(new File(testDir, "file1.java"));
+            checkFile("Create", file1, listener.getCreatedFiles());
+            listener.clear();
+        }finally {
+            monitor.stop();
+        }
+    }
+
+    public void testRootRecreated() throws Exception {
+        FileWatchMonitor monitor = new FileWatchMonitor(100, observer);
+        monitor.start();
+        try {
+            assertTrue(monitor.isWatching(observer));
+
+            //the deleted directory is polled.
+            Files.deleteDirectory(testDir);
+            checkWatching(monitor, false);
+
+            //the created directory is watched again.
+            assertTrue(testDir.mkdir());
+            checkWatching(monitor, true);
+            listener.clear();
+
+            File file1 = touch(new File(testDir, "file1.java"));
+            checkFile("Create", file1, listener.getCreatedFiles());
+            listener.clear();
+        }finally {
+            monitor.stop();
+        }
+    }
+
+    private void checkWatching(FileWatchMonitor monitor, boolean watching) {
+        for (int i = 0; i < 20; i++) {
+            if (monitor.isWatching(observer) == watching) {
+                return;
+            }
+            sleepHandleInterruped(pauseTime);
+        }
+        fail("The watching state of observer is not " + watching);
+    }
+
+    private void checkFile(String label, File file, Collection<File> files) {
+        for (int i = 0; i < 20; i++) {
+            if (files.contains(file)) {
+                return; // found, test passes
+            }
+            sleepHandleInterruped(pauseTime);
+        }
+        fail(label + " " + file + " not found");
+    }
+}
@@ -165,6 +165,18 @@ public class JSONEncodeTest extends ConcurrentTestCase {
 		assertEquals(json, encodeUpperCamelStyle(new NamingStyleBean("1","xx")));
 	}
 
+	@Test
+	public void testCachedBeanTypeWithDifferentSettings() {
+		NamingStyleBean bean = new NamingStyleBean("1", "xx");
+		for(int i=0;i<2;i++) {
+			assertEquals("{\"userId\":\"1\",\"userName\":\"xx\"}", encode(bean));
+			assertEquals("{user_id:\"1\",user_name:\"xx\"}",
+					JSON.encode(bean, new JsonSettings.Builder().setKeyQuoted(false).setNamingStyle(NamingStyles.LOWER_UNDERSCORE).build()));
+			assertEquals("{\"user_id\":\"1\",\"user_name\":\"xx\"}", encodeUpperCamelStyle(bean));
+		}
+		assertEquals("{\"id\":\"1\",\"name1\":\"xx\"}", encode(new NamedBean("1", "xx")));
+	}
+
     @Test
     public void testMaxSettingsIgnoreNull() {
         SimpleBean bean = new SimpleBean();
@@ -178,6 +190,16 @@ public class JSONEncodeTest extends ConcurrentTestCase {
         assertContains(json, "\"strProp\":null");
     }
 
+	@Test
+	public void testJsonFormatDate() throws Exception {
+		FormattedDateBean bean = new FormattedDateBean();
+		bean.setDate(new SimpleDateFormat("yyyy-MM-dd").parse("2020-01-02"));
+
+		for(int i=0;i<2;i++) {
+			assertEquals("{\"date\":\"2020-01-02\"}", encode(bean));
+		}
+	}
+
 	private static String encode(Object value){
 		return JSON.encode(value);
 	}
@@ -206,6 +228,19 @@ public class JSONEncodeTest extends ConcurrentTestCase {
         }
 	}
 	
+	static class FormattedDateBean {
+		@JsonFormat("yyyy-MM-dd")
+		private Date date;
+
+		public Date getDate() {
+			return date;
+		}
+
+		public void setDate(Date date) {
+			this.date = date;
+		}
+	}
+
 	static class ParentBean {
 		
 		public static int STATIC_FIELD = 0;
@@ -151,6 +151,14 @@ public interface DbDialect {
      */
     boolean supportsRenameColumn();
 
+    /**
+     * Returns <code>true</code> if this db platform supports inserting multi rows in one statement,
+     * i.e. <code>insert into t(c1,c2) values (?,?),(?,?)</code>.
+     */
+    default boolean supportsMultiRowInsert() {
+        return false;
+    }
+
     /**
      * read the native (physical) default value string for the given type code.
      *
@@ -353,6 +361,32 @@ public interface DbDialect {
      */
     String getSelectCurrentSequenceValueSql(String sequenceName) throws IllegalStateException;
 
+    /**
+     * Returns <code>true</code> if this db platform supports {@link #getUpsertSql(String, String[], String[], String[], String[])}.
+     */
+    default boolean supportsUpsert() {
+        return false;
+    }
+
+    /**
+     * Returns a sql statement to insert a row, or update the existing row which has the same values of the key columns.
+     *
+     * <p/>
+     * The columns must be quoted if necessary, the key columns and the update columns must be in the given columns.
+     *
+     * @param tableName     the table name used in the sql.
+     * @param columns       the inserted columns.
+     * @param values        the value expressions of the inserted columns, i.e. the placeholders.
+     * @param keyColumns    the columns of the primary key or an unique key to detect the existing row.
+     * @param updateColumns the columns to be updated if the row exists, may be empty.
+     *
+     * @throws IllegalStateException if this dialect not supports upsert.
+     */
+    default String getUpsertSql(String tableName, String[] columns, String[] values,
+                                String[] keyColumns, String[] updateColumns) throws IllegalStateException {
+        throw new IllegalStateException("Upsert not supported by '" + getClass().getSimpleName() + "'");
+    }
+
     /**
      * Returns a new {@link List} contains the db commands for applying changes to the underlying db.
      */
@@ -402,6 +436,19 @@ public interface DbDialect {
      */
     PreparedStatement createPreparedStatement(Connection connection, String sql, int autoGeneratedKeys) throws SQLException;
 
+    /**
+     * Creates a new forward only and read only {@link PreparedStatement} for reading a large result set in streaming mode.
+     *
+     * <p>
+     * The rows are fetched from database by the given fetch size instead of loading all the rows into memory.
+     */
+    PreparedStatement createStreamingPreparedStatement(Connection connection, String sql, int fetchSize) throws SQLException;
+
+    /**
+     * Returns true if the streaming query must be executed with auto-commit disabled, i.e. the cursor based fetching of PostgreSQL.
+     */
+    boolean isStreamingRequiresNonAutoCommit();
+
     /**
      * Returns a {@link String} as the page query sql for the underlying db.
      *
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.db.cp;
+
+import leap.lang.time.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The statistics of borrowing connections from pool.
+ *
+ * <p/>
+ * The wait time of borrowing is recorded in microseconds.
+ */
+public final class BorrowStats {
+
+    private final LatencyHistogram waits          = new LatencyHistogram();
+    private final AtomicLong       threadLocalHit = new AtomicLong();
+    private final AtomicLong       queueHit       = new AtomicLong();
+    private final AtomicLong       scanHit        = new AtomicLong();
+    private final AtomicLong       timeouts       = new AtomicLong();
+
+    /**
+     * Returns the histogram of borrowing wait time in microseconds.
+     */
+    public LatencyHistogram getWaits() {
+        return waits;
+    }
+
+    /**
+     * Returns the number of connections borrowed from the connection last returned by the current thread.
+     */
+    public long getThreadLocalHits() {
+        return threadLocalHit.get();
+    }
+
+    /**
+     * Returns the number of connections borrowed from the idle queue.
+     */
+    public long getQueueHits() {
+        return queueHit.get();
+    }
+
+    /**
+     * Returns the number of connections borrowed by scanning all the connections.
+     */
+    public long getScanHits() {
+        return scanHit.get();
+    }
+
+    /**
+     * Returns the number of timeout borrowing.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Clears all the statistics.
+     */
+    public void reset() {
+        waits.reset();
+        threadLocalHit.set(0);
+        queueHit.set(0);
+        scanHit.set(0);
+        timeouts.set(0);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("waits",           waits.snapshot().toMap());
+        map.put("threadLocalHits", getThreadLocalHits());
+        map.put("queueHits",       getQueueHits());
+        map.put("scanHits",        getScanHits());
+        map.put("timeouts",        getTimeouts());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    void recordWait(long nanos) {
+        waits.record(nanos / 1000L);
+    }
+
+    void incrementThreadLocalHit() {
+        threadLocalHit.incrementAndGet();
+    }
+
+    void incrementQueueHit() {
+        queueHit.incrementAndGet();
+    }
+
+    void incrementScanHit() {
+        scanHit.incrementAndGet();
+    }
+
+    void incrementTimeout() {
+        timeouts.incrementAndGet();
+    }
+}
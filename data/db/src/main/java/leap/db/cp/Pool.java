@@ -53,6 +53,8 @@ class Pool {
 	private final long                        maxWait;
 	private final int                         defaultTransactionIsolationLevel;
 	private final SyncPool                    syncPool;
+	private final BorrowStats                 borrowStats;
+	private final StatementCacheStats         statementCacheStats;
 	private final ScheduledThreadPoolExecutor scheduledExecutor;
 	
 	private volatile String  name;
@@ -63,13 +65,15 @@ class Pool {
 		Args.notNull(props,"pool properties");
 		props.validate();
 		
-		this.factory    = new PoolFactory(props);
-		this.config     = factory.getPoolConfig();
-		this.dataSource = factory.getDataSource();
-		this.utils 		= new PoolUtils(this);
-		this.syncPool   = new SyncPool();
-		this.maxWait    = config.getMaxWait();
-        this.initSQL    = Strings.trimToNull(props.getInitSQL());
+		this.factory     = new PoolFactory(props);
+		this.config      = factory.getPoolConfig();
+		this.dataSource  = factory.getDataSource();
+		this.utils 		 = new PoolUtils(this);
+		this.borrowStats = new BorrowStats();
+		this.statementCacheStats = new StatementCacheStats();
+		this.syncPool    = new SyncPool();
+		this.maxWait     = config.getMaxWait();
+        this.initSQL     = Strings.trimToNull(props.getInitSQL());
 		
 		if(config.hasDefaultTransactionIsolation()) {
 			this.defaultTransactionIsolationLevel = config.getDefaultTransactionIsolation().getValue();
@@ -114,6 +118,20 @@ class Pool {
 		return dataSource;
 	}
 
+	/**
+	 * Returns the statistics of borrowing connections.
+	 */
+	public BorrowStats getBorrowStats() {
+		return borrowStats;
+	}
+
+	/**
+	 * Returns the statistics of prepared statement caches.
+	 */
+	public StatementCacheStats getStatementCacheStats() {
+		return statementCacheStats;
+	}
+
     public String getStateInfo() {
         State state = syncPool.state();
 
@@ -144,13 +162,15 @@ class Pool {
 		
 		log.trace("[{}] Borrowing connection...", getName());
 		
-		final long start = System.currentTimeMillis();
+		final long start      = System.currentTimeMillis();
+		final long startNanos = System.nanoTime();
 
         SQLException se = null;
         PooledConnection conn = null;
 		try{
 			conn = syncPool.borrowConnection(maxWait);
 			if(null != conn) {
+				borrowStats.recordWait(System.nanoTime() - startNanos);
 				log.trace("[{}] A connection was borrowed from pool, setup and return.", getName());
 
 				if(initializing) {
@@ -200,6 +220,7 @@ class Pool {
         }
 
 		//Timeout
+        borrowStats.incrementTimeout();
         log.error("[{}] Borrowing connection timeout. [{}]", getName(), getStateInfo());
         printConnections();
 		throw new SQLTimeoutException("Timeout after " + (System.currentTimeMillis() - start) + "ms of borrowing a connection");
@@ -445,11 +466,17 @@ class Pool {
 		private final CopyOnWriteArrayList<PooledConnection> list;
 		private final AbstractQueuedLongSynchronizer         synchronizer;
 		private final AtomicLong 							 syncState;
+		private final boolean                                fastBorrow;
+		private final ThreadLocal<PooledConnection>          lastReturned;
+		private final ConcurrentLinkedQueue<PooledConnection> idleQueue;
 
 		SyncPool() {
 			this.list 		  = new CopyOnWriteArrayList<>();
 			this.synchronizer = new Synchronizer();
 			this.syncState    = new AtomicLong(1); 
+			this.fastBorrow   = config.isFastBorrow();
+			this.lastReturned = fastBorrow ? new ThreadLocal<>() : null;
+			this.idleQueue    = fastBorrow ? new ConcurrentLinkedQueue<>() : null;
 			this.init();
 		}
 		
@@ -503,11 +530,10 @@ class Pool {
 		        do{
 		        	waitingState = syncState.get();
 
-		        	for (final PooledConnection conn : list) {
-		               if (conn.compareStateAndSet(STATE_IDLE, STATE_BUSY)){
-		                  return conn;
-		               }
-		            }
+		        	final PooledConnection conn = tryBorrowConnection();
+		        	if(null != conn) {
+		        		return conn;
+		        	}
 		        	
 		        	//decrease the timeout
 		        	timeout = maxWait - (System.currentTimeMillis() - start);
@@ -536,10 +562,48 @@ class Pool {
 			return null;
 		}
 
+		/**
+		 * Tries to borrow an idle connection without waiting.
+		 *
+		 * <p/>
+		 * If fast borrow enabled, tries the connection last returned by current thread
+		 * and the idle queue before scanning all the connections.
+		 */
+		private PooledConnection tryBorrowConnection() {
+			if(fastBorrow) {
+				PooledConnection conn = lastReturned.get();
+				if(null != conn && conn.compareStateAndSet(STATE_IDLE, STATE_BUSY)) {
+					borrowStats.incrementThreadLocalHit();
+					return conn;
+				}
+
+				//the queue may contains the connections borrowed by other ways, just skip them.
+				while((conn = idleQueue.poll()) != null) {
+					conn.unmarkQueued();
+					if(conn.compareStateAndSet(STATE_IDLE, STATE_BUSY)) {
+						borrowStats.incrementQueueHit();
+						return conn;
+					}
+				}
+			}
+
+			for (final PooledConnection conn : list) {
+				if (conn.compareStateAndSet(STATE_IDLE, STATE_BUSY)){
+					borrowStats.incrementScanHit();
+					return conn;
+				}
+			}
+
+			return null;
+		}
+
 		/**
 		 * Returns the connection to pool.
 		 */
 		public void returnConnection(PooledConnection conn) {
+			if(fastBorrow) {
+				lastReturned.set(conn);
+			}
 			updateToIdleState(conn, STATE_BUSY);
 		}
 		
@@ -549,6 +613,11 @@ class Pool {
 		
 		public void updateToIdleState(PooledConnection conn, int fromState) {
 			if(conn.compareStateAndSet(fromState, STATE_IDLE)) {
+				//hand off the idle connection to the borrowers, the queue holds a connection at most once.
+				if(fastBorrow && conn.markQueued()) {
+					idleQueue.offer(conn);
+				}
+
 				//increase the state,see PoolSynchronizer
 				synchronizer.releaseShared(syncState.incrementAndGet());
 			}else{
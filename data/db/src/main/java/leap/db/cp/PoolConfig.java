@@ -36,8 +36,11 @@ class PoolConfig {
 	private final int                  minIdle;
 	private final int                  healthCheckIntervalMs;
 	private final boolean              healthCheck;
+	private final boolean              fastBorrow;
 	private final long                 idleTimeoutMs;
 	private final int                  statementTimeout;
+	private final int                  statementCacheSize;
+	private final int                  statementCacheMaxSqlLength;
 	private final long                 connectionLeakTimeoutMs;
 	private final boolean			   initializationFailRetry;
 	private final int			   	   initializationFailRetryIntervalMs;
@@ -58,8 +61,11 @@ class PoolConfig {
 		this.minIdle						   = props.getMinIdle();
 		this.healthCheckIntervalMs             = props.getHealthCheckIntervalMs();
 		this.healthCheck					   = props.isHealthCheck();
+		this.fastBorrow                        = props.isFastBorrow();
 		this.idleTimeoutMs					   = props.getIdleTimeoutMs();
 		this.statementTimeout				   = props.getStatementTimeout();
+		this.statementCacheSize                = props.getStatementCacheSize();
+		this.statementCacheMaxSqlLength        = props.getStatementCacheMaxSqlLength();
 		this.connectionLeakTimeoutMs           = props.getConnectionLeakTimeoutMs();
 		this.initializationFailRetry           = props.isInitializationFailRetry();
 		this.initializationFailRetryIntervalMs = 1000 * (props.getInitializationFailRetryInterval() > 0 ?
@@ -146,6 +152,18 @@ class PoolConfig {
 		return statementTimeout;
 	}
 
+	public boolean isStatementCacheEnabled() {
+		return statementCacheSize > 0;
+	}
+
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	public int getStatementCacheMaxSqlLength() {
+		return statementCacheMaxSqlLength;
+	}
+
 	public boolean isDetecteConnectionLeak() {
 		return connectionLeakTimeoutMs > 0;
 	}
@@ -162,6 +180,10 @@ class PoolConfig {
 		return healthCheck;
 	}
 
+	public boolean isFastBorrow() {
+		return fastBorrow;
+	}
+
 	public boolean isInitializationFailRetry() {
 		return initializationFailRetry;
 	}
@@ -32,6 +32,8 @@ public class PoolProperties {
     public static final int DEFAULT_IDLE_TIMEOUT            = 1800; //30 minutes
     public static final int DEFAULT_STATEMENT_TIMEOUT       = -1;
     public static final int DEFAULT_CONNECTION_LEAK_TIMEOUT = 60 * 5 * 1000; //5 minutes.
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE    = 0;    //disabled
+    public static final int DEFAULT_STATEMENT_CACHE_MAX_SQL = 2048;
 
     public static final int MAX_MAX_WAIT              = 10 * 60 * 1000; //10 minutes
     public static final int MIN_MAX_WAIT              = 0;
@@ -69,6 +71,9 @@ public class PoolProperties {
 
     protected int statementTimeout = DEFAULT_STATEMENT_TIMEOUT;
 
+    protected int statementCacheSize         = DEFAULT_STATEMENT_CACHE_SIZE;
+    protected int statementCacheMaxSqlLength = DEFAULT_STATEMENT_CACHE_MAX_SQL;
+
     protected int idleTimeout   = DEFAULT_IDLE_TIMEOUT;
     protected int idleTimeoutMs = -1;
 
@@ -83,6 +88,7 @@ public class PoolProperties {
     protected int healthCheckIntervalMs = -1;
 
     protected boolean healthCheck = true;
+    protected boolean fastBorrow;
     protected boolean initializationFailRetry;
     protected int     initializationFailRetryInterval;
 
@@ -307,6 +313,34 @@ public class PoolProperties {
         this.statementTimeout = statementTimeout;
     }
 
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * The max number of prepared statements cached in each pooled connection.
+     *
+     * <p/>
+     * Default is 0, means the statement cache is disabled.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public int getStatementCacheMaxSqlLength() {
+        return statementCacheMaxSqlLength;
+    }
+
+    /**
+     * The prepared statement will not be cached if the length of sql exceeds the max length.
+     *
+     * <p/>
+     * Default is 2048.
+     */
+    public void setStatementCacheMaxSqlLength(int statementCacheMaxSqlLength) {
+        this.statementCacheMaxSqlLength = statementCacheMaxSqlLength;
+    }
+
     public int getConnectionLeakTimeout() {
         return connectionLeakTimeout;
     }
@@ -350,6 +384,21 @@ public class PoolProperties {
         this.healthCheck = healthCheck;
     }
 
+    public boolean isFastBorrow() {
+        return fastBorrow;
+    }
+
+    /**
+     * If true, the pool tries the connection last returned by the current thread,
+     * then the queue of returned idle connections before scanning all the connections on borrowing.
+     *
+     * <p/>
+     * Default is false.
+     */
+    public void setFastBorrow(boolean fastBorrow) {
+        this.fastBorrow = fastBorrow;
+    }
+
     public boolean isInitializationFailRetry() {
         return initializationFailRetry;
     }
@@ -412,6 +461,7 @@ public class PoolProperties {
         validateRange("healthCheckInterval", healthCheckInterval, MIN_HEALTH_CHECK_INTERVAL, MAX_HEALTH_CHECK_INTERVAL);
         validateRange("validationTimeout", validationTimeout, MIN_VALIDATION_TIMEOUT, MAX_VALIDATION_TIMEOUT);
         validateRange("idleTimeout", idleTimeout, healthCheckInterval, MAX_IDLE_TIMEOUT);
+        validateRange("statementCacheSize", statementCacheSize, 0, Integer.MAX_VALUE);
 
         if (maxIdle >= 0) {
             validateRange("maxIdle", maxIdle, 0, maxActive);
@@ -21,6 +21,7 @@ import leap.lang.logging.LogFactory;
 import leap.lang.logging.StackTraceStringBuilder;
 
 import java.sql.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class PooledConnection extends ConnectionProxy implements Connection {
@@ -38,8 +39,10 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 	private final Pool			 pool;
 	private final PoolConfig     poolConfig;
 	private final AtomicInteger  state;
+	private final AtomicBoolean  queued;
 	private final PoolUtils 	 utils;
 	private final StatementList	 statements = new StatementList();
+	private final StatementCache statementCache;
 
     private boolean   newCreatedConnection;
     private int       transactionState = TRANSACTION_STATE_INIT;
@@ -55,8 +58,13 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 		this.pool       = pool;
 		this.poolConfig = pool.getConfig();
 		this.state      = new AtomicInteger(STATE_IDLE);
+		this.queued     = new AtomicBoolean(false);
 		this.utils      = pool.utils();
         this.statementStackTrace = true;
+        this.statementCache = poolConfig.isStatementCacheEnabled() ?
+                new StatementCache(poolConfig.getStatementCacheSize(),
+                                   poolConfig.getStatementCacheMaxSqlLength(),
+                                   pool.getStatementCacheStats()) : null;
 	}
 	
 	void setupBeforeOnBorrow() {
@@ -198,6 +206,17 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 		return state.compareAndSet(expectState, updateState);
 	}
 
+	/**
+	 * Returns true if the connection was not in the idle queue of pool and marked as queued now.
+	 */
+	boolean markQueued() {
+		return queued.compareAndSet(false, true);
+	}
+
+	void unmarkQueued() {
+		queued.set(false);
+	}
+
     void markLeak() {
         if(state.get() != STATE_LEAK) {
             state.compareAndSet(STATE_BUSY, STATE_LEAK);
@@ -210,6 +229,9 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 	}
 	
 	void closeReal() {
+		if(null != statementCache) {
+			statementCache.clear();
+		}
 		if(null != conn) {
 			JDBC.closeConnection(conn);
 			conn = null;
@@ -240,7 +262,9 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 	
 	void closeStatementOnly(StatementProxy proxy) throws SQLException {
 		try{
-			proxy.wrapped().close();
+			if(null == statementCache || !statementCache.checkin(proxy.wrapped())) {
+				proxy.wrapped().close();
+			}
 			successCloseStatement(proxy);
 		}catch(SQLException e) {
 			errorCloseStatement(proxy, e);
@@ -288,6 +312,38 @@ public class PooledConnection extends ConnectionProxy implements Connection {
 	    super.commit();
     }
 
+    @Override
+    protected PreparedStatement prepareStatementReal(String sql) throws SQLException {
+        if(null == statementCache || !statementCache.isCacheable(sql)) {
+            return conn.prepareStatement(sql);
+        }
+        return prepareCachedStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, false);
+    }
+
+    @Override
+    protected PreparedStatement prepareStatementReal(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        if(null == statementCache || !statementCache.isCacheable(sql)) {
+            return conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return prepareCachedStatement(sql, resultSetType, resultSetConcurrency, true);
+    }
+
+    private PreparedStatement prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency, boolean explicit) throws SQLException {
+        StatementCache.Key key = new StatementCache.Key(sql, resultSetType, resultSetConcurrency);
+
+        PreparedStatement ps = statementCache.checkout(key);
+        if(null == ps) {
+            ps = explicit ? conn.prepareStatement(sql, resultSetType, resultSetConcurrency) : conn.prepareStatement(sql);
+            try {
+                statementCache.checkout(key, ps);
+            }catch (SQLException e) {
+                JDBC.closeStatementOnly(ps);
+                throw e;
+            }
+        }
+        return ps;
+    }
+
     @Override
     protected StatementProxy proxyOfStatement(Statement stmt) {
         setupStatement(stmt);
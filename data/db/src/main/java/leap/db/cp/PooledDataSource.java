@@ -128,6 +128,26 @@ public class PooledDataSource extends PoolProperties implements DataSource, Clos
 		throw new SQLFeatureNotSupportedException("'getParentLogger()' not supported");
 	}
 
+    /**
+     * Returns the statistics of borrowing connections, i.e. the histogram of borrowing wait time.
+     *
+     * <p/>
+     * Returns <code>null</code> if the pool not opened.
+     */
+    public BorrowStats getBorrowStats() {
+        return null == pool ? null : pool.getBorrowStats();
+    }
+
+    /**
+     * Returns the statistics of prepared statement caches, i.e. the hits and misses.
+     *
+     * <p/>
+     * Returns <code>null</code> if the pool not opened.
+     */
+    public StatementCacheStats getStatementCacheStats() {
+        return null == pool ? null : pool.getStatementCacheStats();
+    }
+
     /**
      * Returns the wrapped {@link DataSource}.
      */
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.db.cp;
+
+import leap.lang.jdbc.JDBC;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The LRU cache of the underlying prepared statements of a {@link PooledConnection}.
+ *
+ * <p/>
+ * Not thread safe, a pooled connection is used by one thread at the same time.
+ */
+final class StatementCache {
+
+    private final int                           maxSize;
+    private final int                           maxSqlLength;
+    private final StatementCacheStats           stats;
+    private final LinkedHashMap<Key, Entry>     cache;
+    private final Map<Statement, Entry>         checkedOut = new IdentityHashMap<>();
+
+    StatementCache(int maxSize, int maxSqlLength, StatementCacheStats stats) {
+        this.maxSize      = maxSize;
+        this.maxSqlLength = maxSqlLength;
+        this.stats        = stats;
+        this.cache        = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if(size() > StatementCache.this.maxSize) {
+                    JDBC.closeStatementOnly(eldest.getValue().ps);
+                    StatementCache.this.stats.incrementEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    boolean isCacheable(String sql) {
+        return null != sql && sql.length() <= maxSqlLength;
+    }
+
+    /**
+     * Removes the cached statement from cache and returns it, returns <code>null</code> if not cached.
+     */
+    PreparedStatement checkout(Key key) {
+        Entry entry = cache.remove(key);
+        if(null == entry) {
+            stats.incrementMiss();
+            return null;
+        }
+        stats.incrementHit();
+        checkedOut.put(entry.ps, entry);
+        return entry.ps;
+    }
+
+    /**
+     * Marks the new created statement as a cacheable statement.
+     */
+    void checkout(Key key, PreparedStatement ps) throws SQLException {
+        checkedOut.put(ps, new Entry(key, ps));
+    }
+
+    /**
+     * Puts the statement back to cache, returns false if the statement is not cacheable.
+     */
+    boolean checkin(Statement stmt) throws SQLException {
+        Entry entry = checkedOut.remove(stmt);
+        if(null == entry) {
+            return false;
+        }
+
+        final PreparedStatement ps = entry.ps;
+        try {
+            entry.reset();
+        }catch (SQLException e) {
+            ps.close();
+            throw e;
+        }
+
+        if(cache.containsKey(entry.key)) {
+            //the same sql was prepared twice at the same time.
+            ps.close();
+        }else{
+            cache.put(entry.key, entry);
+        }
+        return true;
+    }
+
+    /**
+     * Closes all the cached statements.
+     */
+    void clear() {
+        for(Iterator<Entry> it = cache.values().iterator(); it.hasNext();) {
+            JDBC.closeStatementOnly(it.next().ps);
+            it.remove();
+        }
+        checkedOut.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    static final class Key {
+        private final String sql;
+        private final int    resultSetType;
+        private final int    resultSetConcurrency;
+        private final int    hash;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency) {
+            this.sql                  = sql;
+            this.resultSetType        = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.hash                 = 31 * (31 * sql.hashCode() + resultSetType) + resultSetConcurrency;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key)o;
+            return resultSetType == k.resultSetType &&
+                   resultSetConcurrency == k.resultSetConcurrency &&
+                   sql.equals(k.sql);
+        }
+    }
+
+    private static final class Entry {
+        private final Key               key;
+        private final PreparedStatement ps;
+        private final int               fetchSize;
+        private final int               maxRows;
+
+        Entry(Key key, PreparedStatement ps) throws SQLException {
+            this.key       = key;
+            this.ps        = ps;
+            this.fetchSize = ps.getFetchSize();
+            this.maxRows   = ps.getMaxRows();
+        }
+
+        void reset() throws SQLException {
+            ResultSet rs = ps.getResultSet();
+            if(null != rs) {
+                rs.close();
+            }
+            ps.clearParameters();
+            ps.clearWarnings();
+
+            if(ps.getFetchSize() != fetchSize) {
+                ps.setFetchSize(fetchSize);
+            }
+            if(ps.getMaxRows() != maxRows) {
+                ps.setMaxRows(maxRows);
+            }
+        }
+    }
+}
@@ -15,7 +15,11 @@
  */
 package leap.db.platform;
 
+import leap.core.AppContext;
+import leap.core.BeanFactory;
 import leap.core.jdbc.*;
+import leap.core.monitor.MetricsRegistry;
+import leap.core.monitor.MonitorProvider;
 import leap.db.*;
 import leap.db.command.*;
 import leap.db.model.*;
@@ -28,16 +32,41 @@ import leap.lang.logging.Log;
 import leap.lang.time.StopWatch;
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class GenericDb extends DbBase {
 
     private static final ThreadLocal<DataSource> CONTEXT_DATA_SOURCE = new ThreadLocal<>();
 
+    //The max number of parameters in a multi-row insert statement (the limit of PostgreSQL is 32767).
+    private static final int     MAX_MULTI_ROW_PARAMETERS = 32767;
+    private static final Pattern INSERT_VALUES            = Pattern.compile("^\\s*insert\\s+.*?\\bvalues\\s*(\\(.*\\))\\s*$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    protected final MetricsRegistry metrics;
+
     private boolean useContextDataSource;
 
     public GenericDb(String name, DataSource dataSource, DatabaseMetaData md,
                      DbPlatform platform, DbMetadata metadata, GenericDbDialect dialect, DbComparator comparator) {
         super(name, dataSource, md, platform, metadata, dialect, comparator);
+        this.metrics = resolveMetricsRegistry();
+    }
+
+    /**
+     * Returns the {@link MetricsRegistry} of the current app context, or the disabled one if no app context.
+     */
+    protected MetricsRegistry resolveMetricsRegistry() {
+        AppContext  context = AppContext.tryGetCurrent();
+        BeanFactory factory = null == context ? null : context.getBeanFactory();
+        if(null == factory) {
+            return MetricsRegistry.DISABLED;
+        }
+        MonitorProvider provider = factory.tryGetBean(MonitorProvider.class);
+        return null == provider ? MetricsRegistry.DISABLED : provider.getMetricsRegistry();
     }
 
     public Log log() {
@@ -318,9 +347,35 @@ public class GenericDb extends DbBase {
         return re;
     }
 
+    @Override
+    public int[] executeBatchInsert(String sql, Object[][] batchArgs, int[] types) throws NestedSQLException {
+        if (batchArgs.length < 2 || !dialect.supportsMultiRowInsert()) {
+            return executeBatchUpdate(sql, batchArgs, types);
+        }
+
+        Matcher m = INSERT_VALUES.matcher(sql);
+        if (!m.matches()) {
+            return executeBatchUpdate(sql, batchArgs, types);
+        }
+
+        String values     = m.group(1);
+        int    parameters = countMultiRowParameters(values);
+        if (parameters <= 0 || parameters != batchArgs[0].length) {
+            return executeBatchUpdate(sql, batchArgs, types);
+        }
+
+        String prefix = sql.substring(0, m.start(1));
+
+        SqlExecutionContext.setup(SqlExcutionType.Write, sql);
+        return executeWithResult((conn) -> doExecuteMultiRowInsert(conn, prefix, values, batchArgs, types));
+    }
+
     @Override
     public <T> T executeQuery(String sql, ResultSetReader<T> reader) throws NestedSQLException {
         SqlExecutionContext.setup(SqlExcutionType.Read, sql);
+        if(reader instanceof ResultSetCursorReader) {
+            return doExecuteCursorQuery(sql, Arrays2.EMPTY_OBJECT_ARRAY, Arrays2.EMPTY_INT_ARRAY, (ResultSetCursorReader<T>)reader);
+        }
         T t = executeWithResult((conn) -> executeQuery(conn, sql, Arrays2.EMPTY_OBJECT_ARRAY, reader));
         return t;
 
@@ -329,6 +384,9 @@ public class GenericDb extends DbBase {
     @Override
     public <T> T executeQuery(String sql, Object[] args, ResultSetReader<T> reader) throws NestedSQLException {
         SqlExecutionContext.setup(SqlExcutionType.Read, sql);
+        if(reader instanceof ResultSetCursorReader) {
+            return doExecuteCursorQuery(sql, args, Arrays2.EMPTY_INT_ARRAY, (ResultSetCursorReader<T>)reader);
+        }
         T t = executeWithResult((conn) -> executeQuery(conn, sql, args, Arrays2.EMPTY_INT_ARRAY, reader));
         return t;
     }
@@ -336,6 +394,9 @@ public class GenericDb extends DbBase {
     @Override
     public <T> T executeQuery(String sql, Object[] args, int[] types, ResultSetReader<T> reader) throws NestedSQLException {
         SqlExecutionContext.setup(SqlExcutionType.Read, sql);
+        if(reader instanceof ResultSetCursorReader) {
+            return doExecuteCursorQuery(sql, args, types, (ResultSetCursorReader<T>)reader);
+        }
         T t = executeWithResult((conn) -> executeQuery(conn, sql, args, types, reader));
         return t;
     }
@@ -360,7 +421,9 @@ public class GenericDb extends DbBase {
     }
 
     protected int doExecuteUpdate(Connection connection, String sql, Object[] args, int[] types, PreparedStatementHandler<Db> handler) throws NestedSQLException {
-        PreparedStatement ps = null;
+        PreparedStatement ps      = null;
+        long              start   = System.nanoTime();
+        boolean           success = false;
 
         try {
             if (log.isDebugEnabled()) {
@@ -403,17 +466,21 @@ public class GenericDb extends DbBase {
                 handler.postExecuteUpdate(this, connection, ps, result);
             }
 
+            success = true;
             return result;
         } catch (SQLException e) {
             throw new NestedSQLException(e, metadata.getProductName());
         } finally {
             JDBC.closeStatementOnly(ps);
+            metrics.record(MetricsRegistry.SQL, sql, start, !success);
         }
     }
 
     protected <T> T doExecuteQuery(Connection connection, String sql, Object[] args, int[] types, ResultSetReader<T> reader) throws NestedSQLException {
-        PreparedStatement ps = null;
-        ResultSet         rs = null;
+        PreparedStatement ps      = null;
+        ResultSet         rs      = null;
+        long              start   = System.nanoTime();
+        boolean           success = false;
         try {
             if (log.isDebugEnabled()) {
                 log.debug("Executing Sql Query -> \n\n SQL  : {}\n ARGS : {}\n", sql, getDisplayString(args, types));
@@ -423,33 +490,109 @@ public class GenericDb extends DbBase {
 
             ps = dialect.createPreparedStatement(connection, sql);
 
-            if (null != args) {
-                if (null != types && types.length > 0) {
-                    for (int i = 0; i < args.length; i++) {
-                        dialect.setParameter(ps, i + 1, args[i], types[i]);
-                    }
-                } else {
-                    for (int i = 0; i < args.length; i++) {
-                        dialect.setParameter(ps, i + 1, args[i]);
-                    }
-                }
-            }
+            setQueryParameters(ps, args, types);
 
             rs = ps.executeQuery();
 
             log.debug("Sql Executed in {}ms", sw.getElapsedMilliseconds());
 
-            return reader.read(rs);
+            T result = reader.read(rs);
+            success = true;
+            return result;
         } catch (SQLException e) {
             throw new NestedSQLException(e, metadata.getProductName());
         } finally {
             JDBC.closeResultSetOnly(rs);
             JDBC.closeStatementOnly(ps);
+            metrics.record(MetricsRegistry.SQL, sql, start, !success);
+        }
+    }
+
+    /**
+     * Executes the query in streaming mode, the connection, statement and result set are released by the closer of cursor reader.
+     */
+    protected <T> T doExecuteCursorQuery(String sql, Object[] args, int[] types, ResultSetCursorReader<T> reader) throws NestedSQLException {
+        Cursor  cursor  = null;
+        long    start   = System.nanoTime();
+        boolean success = false;
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Executing Sql Cursor Query -> \n\n SQL  : {}\n ARGS : {}\n", sql, getDisplayString(args, types));
+            }
+
+            StopWatch sw = StopWatch.startNew();
+
+            cursor = openCursor();
+            cursor.ps = dialect.createStreamingPreparedStatement(cursor.conn, sql, reader.getFetchSize());
+
+            setQueryParameters(cursor.ps, args, types);
+
+            cursor.rs = cursor.ps.executeQuery();
+
+            log.debug("Sql Executed in {}ms", sw.getElapsedMilliseconds());
+
+            T result = reader.read(cursor.rs, cursor);
+            cursor  = null;
+            success = true;
+            return result;
+        } catch (SQLException e) {
+            throw new NestedSQLException(e, metadata.getProductName());
+        } finally {
+            if(null != cursor) {
+                cursor.run();
+            }
+            SqlExecutionContext.clean();
+            metrics.record(MetricsRegistry.SQL, sql, start, !success);
+        }
+    }
+
+    protected Cursor openCursor() throws SQLException {
+        DataSource contextDataSource = getContextDataSource();
+
+        Cursor cursor;
+        if (null == contextDataSource && null != tp) {
+            final Cursor c = new Cursor(tp.acquireConnection(), tp::releaseConnection);
+
+            //The connection of a transaction was released by the transaction, the cursor closed later must not release it again.
+            tp.registerSynchronization(committed -> c.detach());
+
+            cursor = c;
+        } else {
+            DataSource ds = null != contextDataSource ? contextDataSource : dataSource;
+            cursor = new Cursor(ds.getConnection(), JDBC::closeConnection);
+        }
+
+        try {
+            if (dialect.isStreamingRequiresNonAutoCommit() && cursor.conn.getAutoCommit()) {
+                cursor.conn.setAutoCommit(false);
+                cursor.autoCommitChanged = true;
+            }
+        } catch (SQLException e) {
+            cursor.run();
+            throw e;
+        }
+
+        return cursor;
+    }
+
+    protected void setQueryParameters(PreparedStatement ps, Object[] args, int[] types) throws SQLException {
+        if (null != args) {
+            if (null != types && types.length > 0) {
+                for (int i = 0; i < args.length; i++) {
+                    dialect.setParameter(ps, i + 1, args[i], types[i]);
+                }
+            } else {
+                for (int i = 0; i < args.length; i++) {
+                    dialect.setParameter(ps, i + 1, args[i]);
+                }
+            }
         }
     }
 
     protected int[] doExecuteBatchUpdate(Connection connection, String sql, Object[][] batchArgs, int[] types, BatchPreparedStatementHandler<Db> handler) throws NestedSQLException {
-        PreparedStatement ps = null;
+        PreparedStatement ps      = null;
+        long              start   = System.nanoTime();
+        boolean           success = false;
 
         try {
             StopWatch sw = StopWatch.startNew();
@@ -509,6 +652,73 @@ public class GenericDb extends DbBase {
                 handler.ostExecuteBatchUpdate(this, connection, ps, result);
             }
 
+            success = true;
+            return result;
+        } catch (SQLException e) {
+            throw new NestedSQLException(e, metadata.getProductName());
+        } finally {
+            JDBC.closeStatementOnly(ps);
+            metrics.record(MetricsRegistry.SQL, sql, start, !success);
+        }
+    }
+
+    /**
+     * Executes the insert with multi-row <code>VALUES</code>, the rows are split into statements by the max number of parameters.
+     *
+     * <p/>
+     * Returns 1 for each row if the updated count equals to the rows, else returns {@link Statement#SUCCESS_NO_INFO}.
+     */
+    protected int[] doExecuteMultiRowInsert(Connection connection, String prefix, String values, Object[][] batchArgs, int[] types) throws NestedSQLException {
+        final int   columns          = batchArgs[0].length;
+        final int   rowsPerStatement = Math.max(1, MAX_MULTI_ROW_PARAMETERS / columns);
+        final int[] result           = new int[batchArgs.length];
+
+        PreparedStatement ps     = null;
+        int               psRows = 0;
+        try {
+            StopWatch sw = StopWatch.startNew();
+
+            for (int start = 0; start < batchArgs.length; start += rowsPerStatement) {
+                int rows = Math.min(rowsPerStatement, batchArgs.length - start);
+
+                if (rows != psRows) {
+                    JDBC.closeStatementOnly(ps);
+
+                    StringBuilder sql = new StringBuilder(prefix.length() + (values.length() + 1) * rows).append(prefix);
+                    for (int i = 0; i < rows; i++) {
+                        if (i > 0) {
+                            sql.append(',');
+                        }
+                        sql.append(values);
+                    }
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("Executing Multi-Row Sql Insert -> \n\n SQL  : {}{}\n ROWS : {}", prefix, values, rows);
+                    }
+
+                    ps     = dialect.createPreparedStatement(connection, sql.toString());
+                    psRows = rows;
+                }
+
+                int index = 1;
+                for (int r = 0; r < rows; r++) {
+                    Object[] args = batchArgs[start + r];
+                    for (int i = 0; i < args.length; i++) {
+                        Object arg = args[i];
+                        if (null == types || types.length == 0 || (types[i] == Types.NULL && null != arg)) {
+                            dialect.setParameter(ps, index++, arg);
+                        } else {
+                            dialect.setParameter(ps, index++, arg, types[i]);
+                        }
+                    }
+                }
+
+                int count = ps.executeUpdate();
+                Arrays.fill(result, start, start + rows, count == rows ? 1 : Statement.SUCCESS_NO_INFO);
+            }
+
+            log.debug("Sql Multi-Row Insert Executed in {}ms", sw.getElapsedMilliseconds());
+
             return result;
         } catch (SQLException e) {
             throw new NestedSQLException(e, metadata.getProductName());
@@ -517,6 +727,33 @@ public class GenericDb extends DbBase {
         }
     }
 
+    /**
+     * Returns the number of parameters in the values group, returns -1 if the values is not a single parenthesized group.
+     */
+    protected int countMultiRowParameters(String values) {
+        int     count  = 0;
+        int     depth  = 0;
+        boolean quoted = false;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                    if (depth == 0 && i < values.length() - 1) {
+                        return -1;
+                    }
+                } else if (c == '?') {
+                    count++;
+                }
+            }
+        }
+        return depth == 0 && !quoted ? count : -1;
+    }
+
     protected GenericSchemaChanges createSchemaChanges() {
         return new GenericSchemaChanges(this);
     }
@@ -560,4 +797,51 @@ public class GenericDb extends DbBase {
 
         return sb.toString();
     }
+
+    /**
+     * The opened resources of a streaming query, released when running it.
+     */
+    protected final class Cursor implements Runnable {
+        private final Connection           conn;
+        private final Consumer<Connection> release;
+        private final AtomicBoolean        closed = new AtomicBoolean();
+
+        private PreparedStatement ps;
+        private ResultSet         rs;
+        private boolean           autoCommitChanged;
+
+        Cursor(Connection conn, Consumer<Connection> release) {
+            this.conn    = conn;
+            this.release = release;
+        }
+
+        /**
+         * Marks the cursor as closed without touching the connection, which was released by its transaction.
+         */
+        void detach() {
+            if(closed.compareAndSet(false, true)) {
+                log.debug("The transaction of cursor completed, the cursor is detached from the connection");
+            }
+        }
+
+        @Override
+        public void run() {
+            if(!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            JDBC.closeResultSetOnly(rs);
+            JDBC.closeStatementOnly(ps);
+
+            try {
+                if(autoCommitChanged) {
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                log.warn("Error restoring the auto-commit of connection : {}", e.getMessage(), e);
+            } finally {
+                release.accept(conn);
+            }
+        }
+    }
 }
\ No newline at end of file
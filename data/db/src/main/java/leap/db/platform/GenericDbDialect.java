@@ -768,6 +768,20 @@ public abstract class GenericDbDialect extends GenericDbDialectBase implements D
         return connection.prepareStatement(sql, autoGeneratedKeys);
     }
 
+    @Override
+    public PreparedStatement createStreamingPreparedStatement(Connection connection, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if(fetchSize > 0) {
+            ps.setFetchSize(fetchSize);
+        }
+        return ps;
+    }
+
+    @Override
+    public boolean isStreamingRequiresNonAutoCommit() {
+        return false;
+    }
+
     @Override
     public String getLimitQuerySql(DbLimitQuery query) {
         throw new UnsupportedOperationException("This dialect '" + db.getDescription() + "' not implements page query");
@@ -1381,6 +1395,61 @@ public abstract class GenericDbDialect extends GenericDbDialectBase implements D
         return sb.toString();
     }
 
+    /**
+     * Returns the upsert sql of 'merge into ... using dual'.
+     *
+     * <p/>
+     * The values are not selected in the 'using' clause, because the sequence can't be used in a subquery.
+     *
+     * @param qualifyUpdateColumns qualifies the updated columns by the table alias 't' if true.
+     */
+    protected String getMergeUsingDualSql(String tableName, String[] columns, String[] values,
+                                          String[] keyColumns, String[] updateColumns,
+                                          boolean qualifyUpdateColumns) throws IllegalStateException {
+        StringBuilder sql = new StringBuilder();
+
+        sql.append("merge into ").append(tableName).append(" t using dual on (");
+        for(int i=0;i<keyColumns.length;i++) {
+            if(i > 0) {
+                sql.append(" and ");
+            }
+            sql.append("t.").append(keyColumns[i]).append(" = ").append(getUpsertValue(columns, values, keyColumns[i]));
+        }
+        sql.append(")");
+
+        if(updateColumns.length > 0) {
+            sql.append(" when matched then update set ");
+            for(int i=0;i<updateColumns.length;i++) {
+                if(i > 0) {
+                    sql.append(",");
+                }
+                if(qualifyUpdateColumns) {
+                    sql.append("t.");
+                }
+                sql.append(updateColumns[i]).append(" = ").append(getUpsertValue(columns, values, updateColumns[i]));
+            }
+        }
+
+        sql.append(" when not matched then insert (").append(Strings.join(columns, ',')).append(")")
+           .append(" values (").append(Strings.join(values, ',')).append(")");
+
+        return sql.toString();
+    }
+
+    /**
+     * Returns the inserted value of the given column.
+     *
+     * @throws IllegalStateException if the column not exists in the inserted columns.
+     */
+    protected static String getUpsertValue(String[] columns, String[] values, String column) throws IllegalStateException {
+        for(int i=0;i<columns.length;i++) {
+            if(columns[i].equals(column)) {
+                return values[i];
+            }
+        }
+        throw new IllegalStateException("Column '" + column + "' not exists in the inserted columns");
+    }
+
     protected String getForeignKeyDefinition(DbForeignKey fk) {
         StringBuilder definition = new StringBuilder();
 
@@ -60,6 +60,11 @@ public class H2Dialect extends GenericDbDialect {
 		return true;
 	}
 
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return true;
+	}
+
     @Override
     protected void defColumnAfterName(DbColumn column, StringBuilder definition) {
         defColumnType(column, definition);
@@ -128,6 +133,18 @@ public class H2Dialect extends GenericDbDialect {
 	    return "select currval('" + quoteIdentifier(sequenceName) + "') from dual";
     }
 
+	@Override
+	public boolean supportsUpsert() {
+		//the 'merge into ... key(..)' updates all the columns, so only 'merge into ... using' can be used.
+		return version.ge(1, 4, 198);
+	}
+
+	@Override
+	public String getUpsertSql(String tableName, String[] columns, String[] values,
+							   String[] keyColumns, String[] updateColumns) throws IllegalStateException {
+		return getMergeUsingDualSql(tableName, columns, values, keyColumns, updateColumns, false);
+	}
+
 	@Override
 	public String getLimitQuerySql(DbLimitQuery query) {
 		Limit limit = query.getLimit();
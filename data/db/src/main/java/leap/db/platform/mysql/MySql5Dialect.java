@@ -69,6 +69,22 @@ public class MySql5Dialect extends GenericDbDialect {
 
     }
 
+    /**
+     * The MySQL driver streams the result set row by row only if the fetch size is {@link Integer#MIN_VALUE},
+     * other fetch size values are ignored and all the rows will be loaded into memory.
+     */
+    @Override
+    public PreparedStatement createStreamingPreparedStatement(Connection connection, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
     @Override
     protected void registerMetadata(DbMetadata metadata) {
         super.registerMetadata(metadata);
@@ -85,6 +101,39 @@ public class MySql5Dialect extends GenericDbDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsUpsert() {
+        return true;
+    }
+
+    /**
+     * The existing row is detected by any primary key or unique key, the given key columns are ignored.
+     */
+    @Override
+    public String getUpsertSql(String tableName, String[] columns, String[] values,
+                               String[] keyColumns, String[] updateColumns) throws IllegalStateException {
+        StringBuilder sql = new StringBuilder();
+
+        sql.append("insert into ").append(tableName)
+           .append("(").append(Strings.join(columns, ',')).append(")")
+           .append(" values (").append(Strings.join(values, ',')).append(")")
+           .append(" on duplicate key update ");
+
+        if(updateColumns.length == 0) {
+            //do nothing.
+            sql.append(keyColumns[0]).append(" = ").append(keyColumns[0]);
+        }else{
+            for(int i=0;i<updateColumns.length;i++) {
+                if(i > 0) {
+                    sql.append(",");
+                }
+                sql.append(updateColumns[i]).append(" = values(").append(updateColumns[i]).append(")");
+            }
+        }
+
+        return sql.toString();
+    }
+
     @Override
     protected String getAutoIncrementColumnDefinitionEnd(DbColumn column) {
         return "AUTO_INCREMENT";
@@ -168,6 +168,17 @@ public class Oracle10Dialect extends GenericDbDialect {
 		return "select " + quoteIdentifier(sequenceName) + ".currval from dual";
 	}
 
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public String getUpsertSql(String tableName, String[] columns, String[] values,
+							   String[] keyColumns, String[] updateColumns) throws IllegalStateException {
+		return getMergeUsingDualSql(tableName, columns, values, keyColumns, updateColumns, true);
+	}
+
 	@Override
     public List<String> getDropSequenceSqls(DbSchemaObjectName sequenceName) throws IllegalStateException {
 		return New.arrayList("DROP SEQUENCE " + qualifySchemaObjectName(sequenceName));
@@ -49,6 +49,19 @@ public class PostgreSQL9Dialect extends GenericDbDialect {
 	public PostgreSQL9Dialect() {
 	
 	}
+
+    /**
+     * The PostgreSQL driver uses a cursor to fetch the rows only if the connection is not in auto-commit mode.
+     */
+    @Override
+    public boolean isStreamingRequiresNonAutoCommit() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
 	
 	@Override
     protected void registerSQLKeyWords() {
@@ -165,6 +178,37 @@ public class PostgreSQL9Dialect extends GenericDbDialect {
 		return "select currval('" + quoteIdentifier(sequenceName) + "')";
 	}
 
+	@Override
+	public boolean supportsUpsert() {
+		//insert ... on conflict starts from 9.5
+		return version.ge(9, 5);
+	}
+
+	@Override
+	public String getUpsertSql(String tableName, String[] columns, String[] values,
+							   String[] keyColumns, String[] updateColumns) throws IllegalStateException {
+		StringBuilder sql = new StringBuilder();
+
+		sql.append("insert into ").append(tableName)
+		   .append("(").append(Strings.join(columns, ',')).append(")")
+		   .append(" values (").append(Strings.join(values, ',')).append(")")
+		   .append(" on conflict (").append(Strings.join(keyColumns, ',')).append(")");
+
+		if(updateColumns.length == 0) {
+			sql.append(" do nothing");
+		}else{
+			sql.append(" do update set ");
+			for(int i=0;i<updateColumns.length;i++) {
+				if(i > 0) {
+					sql.append(",");
+				}
+				sql.append(updateColumns[i]).append(" = excluded.").append(updateColumns[i]);
+			}
+		}
+
+		return sql.toString();
+	}
+
 	@Override
     public List<String> getDropSequenceSqls(DbSchemaObjectName sequenceName) throws IllegalStateException {
 		return New.arrayList("DROP SEQUENCE IF EXISTS " + qualifySchemaObjectName(sequenceName));
@@ -0,0 +1,91 @@
+/*
+ *  Copyright 2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package leap.db.platform;
+
+import leap.db.DbDialect;
+import leap.db.platform.h2.H2Dialect;
+import leap.db.platform.mysql.MySql5Dialect;
+import leap.db.platform.oracle.Oracle10Dialect;
+import leap.db.platform.postgresql.PostgreSQL9Dialect;
+import leap.junit.TestBase;
+import org.junit.Test;
+
+public class UpsertSqlTest extends TestBase {
+
+    private static final String[] COLUMNS = new String[]{"id", "code", "name"};
+    private static final String[] VALUES  = new String[]{"#id#", "#code#", "#name#"};
+
+    @Test
+    public void testPostgreSQL() {
+        DbDialect dialect = new PostgreSQL9Dialect();
+
+        assertEquals("insert into t(id,code,name) values (#id#,#code#,#name#) on conflict (code) " +
+                     "do update set name = excluded.name",
+                     upsert(dialect, new String[]{"code"}, new String[]{"name"}));
+
+        assertEquals("insert into t(id,code,name) values (#id#,#code#,#name#) on conflict (id) do nothing",
+                     upsert(dialect, new String[]{"id"}, new String[0]));
+    }
+
+    @Test
+    public void testMySQL() {
+        DbDialect dialect = new MySql5Dialect(){};
+
+        assertEquals("insert into t(id,code,name) values (#id#,#code#,#name#) " +
+                     "on duplicate key update name = values(name)",
+                     upsert(dialect, new String[]{"code"}, new String[]{"name"}));
+
+        assertEquals("insert into t(id,code,name) values (#id#,#code#,#name#) " +
+                     "on duplicate key update id = id",
+                     upsert(dialect, new String[]{"id"}, new String[0]));
+    }
+
+    @Test
+    public void testOracle() {
+        DbDialect dialect = new Oracle10Dialect();
+
+        assertEquals("merge into t t using dual on (t.code = #code#) " +
+                     "when matched then update set t.name = #name# " +
+                     "when not matched then insert (id,code,name) values (#id#,#code#,#name#)",
+                     upsert(dialect, new String[]{"code"}, new String[]{"name"}));
+
+        assertEquals("merge into t t using dual on (t.id = #id#) " +
+                     "when not matched then insert (id,code,name) values (#id#,#code#,#name#)",
+                     upsert(dialect, new String[]{"id"}, new String[0]));
+    }
+
+    @Test
+    public void testH2() {
+        DbDialect dialect = new H2Dialect(){};
+
+        assertEquals("merge into t t using dual on (t.code = #code#) " +
+                     "when matched then update set name = #name# " +
+                     "when not matched then insert (id,code,name) values (#id#,#code#,#name#)",
+                     upsert(dialect, new String[]{"code"}, new String[]{"name"}));
+
+        try {
+            upsert(dialect, new String[]{"code"}, new String[]{"none"});
+            fail("Should throw IllegalStateException");
+        }catch (IllegalStateException e) {
+            assertContains(e.getMessage(), "none");
+        }
+    }
+
+    private static String upsert(DbDialect dialect, String[] keyColumns, String[] updateColumns) {
+        return dialect.getUpsertSql("t", COLUMNS, VALUES, keyColumns, updateColumns);
+    }
+}
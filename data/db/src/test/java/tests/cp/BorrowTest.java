@@ -22,6 +22,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
 
+import leap.db.cp.BorrowStats;
 import leap.db.cp.PoolProperties;
 import leap.db.cp.PooledDataSource;
 import leap.lang.Randoms;
@@ -205,6 +206,35 @@ public class BorrowTest extends PoolTestBase {
         try(Connection conn = ds.getConnection()) {}
     }
 
+    @Test
+    public void testFastBorrow() throws SQLException {
+        ds.setMaxActive(10);
+        ds.setFastBorrow(true);
+
+        Connection wrapped;
+        try(Connection conn = ds.getConnection()){
+            wrapped = conn.unwrap(MockConnection.class);
+        }
+
+        for(int i=0;i<5;i++) {
+            try(Connection conn = ds.getConnection()){
+                assertSame(wrapped, conn.unwrap(MockConnection.class));
+            }
+        }
+
+        BorrowStats stats = ds.getBorrowStats();
+        assertEquals(6, stats.getWaits().getCount());
+        assertEquals(5, stats.getThreadLocalHits());
+        assertEquals(1, stats.getScanHits());
+
+        try(Connection conn1 = ds.getConnection()) {
+            try(Connection conn2 = ds.getConnection()) {
+                assertNotSame(conn1, conn2);
+            }
+        }
+        assertEquals(0, stats.getTimeouts());
+    }
+
     @Test
     public void testBorrowReal() throws SQLException {
         PoolProperties pp = new PoolProperties();
@@ -17,6 +17,7 @@
  */
 package tests.cp;
 
+import leap.db.cp.StatementCacheStats;
 import leap.lang.jdbc.JDBC;
 import org.junit.Test;
 import tests.cp.mock.MockConnection;
@@ -88,4 +89,40 @@ public class StatementTest extends PoolTestBase {
 
         assertEquals(0, mc.getOpeningStatements());
     }
+
+    @Test
+    public void testStatementCache() throws SQLException {
+        ds.setStatementCacheSize(2);
+        ds.setStatementCacheMaxSqlLength(20);
+
+        MockConnection mc;
+        try(Connection conn = ds.getConnection()) {
+            mc = conn.unwrap(MockConnection.class);
+
+            conn.prepareStatement("select 1").close();
+            assertEquals(1, mc.getOpeningStatements());
+
+            try(PreparedStatement ps = conn.prepareStatement("select 1")) {
+                try(PreparedStatement ps1 = conn.prepareStatement("select 1")) {
+                    assertEquals(2, mc.getOpeningStatements());
+                }
+            }
+            assertEquals(1, mc.getOpeningStatements());
+
+            conn.prepareStatement("select 2").close();
+            conn.prepareStatement("select 3").close();
+            assertEquals(2, mc.getOpeningStatements());
+
+            conn.prepareStatement("select 1 from dual where 1 = 1").close();
+            assertEquals(2, mc.getOpeningStatements());
+        }
+
+        StatementCacheStats stats = ds.getStatementCacheStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+
+        ds.close();
+        assertEquals(0, mc.getOpeningStatements());
+    }
 }
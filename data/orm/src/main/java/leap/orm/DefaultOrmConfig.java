@@ -31,6 +31,7 @@ import leap.orm.config.OrmConfigExtension;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,6 +64,7 @@ public class DefaultOrmConfig implements OrmConfig, PostConfigureBean, BeanFacto
     protected FilterColumnConfig    filterColumnConfig    = new DefaultFilterColumnConfig();
     protected QueryFilterConfig     queryFilterConfig     = new DefaultQueryFilterConfig();
     protected EmbeddingColumnConfig embeddingColumnConfig = new DefaultEmbeddingConfig();
+    protected CacheConfig           cacheConfig           = new DefaultCacheConfig();
 
     protected BeanFactory beanFactory;
 
@@ -197,6 +199,12 @@ public class DefaultOrmConfig implements OrmConfig, PostConfigureBean, BeanFacto
         return embeddingColumnConfig;
     }
 
+    @Override
+    @Configurable.Nested
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
 	public void setAutoGenerateOptimisticLock(boolean autoGenerateOptimisticLockField) {
 		this.autoGenerateOptimisticLock = autoGenerateOptimisticLockField;
 	}
@@ -363,6 +371,65 @@ public class DefaultOrmConfig implements OrmConfig, PostConfigureBean, BeanFacto
         }
     }
 
+    protected class DefaultCacheConfig implements CacheConfig {
+
+        protected Set<String> entities      = new HashSet<>();
+        protected int         maxSize       = 1024;
+        protected int         expireSeconds = 0;
+        protected boolean     queryEnabled  = false;
+        protected int         queryMaxSize  = 256;
+
+        @Override
+        public Set<String> getEntities() {
+            return entities;
+        }
+
+        @ConfigProperty
+        public void setEntities(Set<String> entities) {
+            this.entities = null == entities ? new HashSet<>() : entities;
+        }
+
+        @Override
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        @ConfigProperty
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int getExpireSeconds() {
+            return expireSeconds;
+        }
+
+        @ConfigProperty
+        public void setExpireSeconds(int expireSeconds) {
+            this.expireSeconds = expireSeconds;
+        }
+
+        @Override
+        public boolean isQueryEnabled() {
+            return queryEnabled;
+        }
+
+        @ConfigProperty
+        public void setQueryEnabled(boolean queryEnabled) {
+            this.queryEnabled = queryEnabled;
+        }
+
+        @Override
+        public int getQueryMaxSize() {
+            return queryMaxSize;
+        }
+
+        @ConfigProperty
+        public void setQueryMaxSize(int queryMaxSize) {
+            this.queryMaxSize = queryMaxSize;
+        }
+    }
+
     protected class DefaultEmbeddingConfig implements EmbeddingColumnConfig {
         protected String  name = "x_cols";
         protected String  type = "clob";
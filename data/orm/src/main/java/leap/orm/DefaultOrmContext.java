@@ -27,6 +27,7 @@ import leap.db.Db;
 import leap.db.DbFactory;
 import leap.lang.Assert;
 import leap.lang.Readonly;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.command.CommandFactory;
 import leap.orm.dao.Dao;
 import leap.orm.dao.DefaultDao;
@@ -69,6 +70,7 @@ public class DefaultOrmContext implements OrmContext,BeanPrimaryAware,PostCreate
     protected @Inject @M SqlMappings        sqlMappings;
     protected @Inject @M EntityValidator    entityValidator;
     protected @Inject @M EntityEventHandler entityEventHandler;
+    protected @Inject @M EntityCacheManager entityCacheManager;
 
     protected String name;
     protected Dao    dao;
@@ -214,6 +216,11 @@ public class DefaultOrmContext implements OrmContext,BeanPrimaryAware,PostCreate
         return entityEventHandler;
     }
 
+    @Override
+    public EntityCacheManager getEntityCacheManager() {
+        return entityCacheManager;
+    }
+
     @Override
     public void preInject(BeanFactory factory) {
 		Assert.notNull(db,"The 'db' field must not be null");
@@ -148,6 +148,11 @@ public interface OrmConfig {
      */
     EmbeddingColumnConfig getEmbeddingColumnConfig();
 
+    /**
+     * Returns the {@link CacheConfig}.
+     */
+    CacheConfig getCacheConfig();
+
     /**
      * zero means no limitation.
      */
@@ -248,6 +253,38 @@ public interface OrmConfig {
 
     }
 
+    /**
+     * The config of second-level entity cache and query cache.
+     */
+    interface CacheConfig {
+
+        /**
+         * Returns the names of entities enables the second-level cache, in addition to the entities annotated by
+         * {@link leap.orm.annotation.Cacheable}.
+         */
+        Set<String> getEntities();
+
+        /**
+         * Returns the max number of cached records of an entity.
+         */
+        int getMaxSize();
+
+        /**
+         * Returns the seconds a cached record expires after it was put, no expiration if zero.
+         */
+        int getExpireSeconds();
+
+        /**
+         * Returns true if the results of cacheable criteria queries can be cached.
+         */
+        boolean isQueryEnabled();
+
+        /**
+         * Returns the max number of cached query results.
+         */
+        int getQueryMaxSize();
+    }
+
     interface EmbeddingColumnConfig {
 
         /**
@@ -19,6 +19,7 @@ import leap.lang.Named;
 import leap.orm.command.CommandFactory;
 import leap.orm.dao.Dao;
 import leap.orm.dmo.Dmo;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.event.EntityEventHandler;
 import leap.orm.metadata.MetadataContext;
 import leap.orm.parameter.ParameterStrategy;
@@ -97,4 +98,9 @@ public interface OrmContext extends MetadataContext, Named {
      */
     EntityEventHandler getEntityEventHandler();
 
+    /**
+     * Required.
+     */
+    EntityCacheManager getEntityCacheManager();
+
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.annotation.Inject;
+import leap.core.cache.CacheManager;
+import leap.core.cache.CacheStats;
+import leap.core.transaction.TransactionManager;
+import leap.lang.Strings;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+import leap.orm.OrmConfig;
+import leap.orm.OrmContext;
+import leap.orm.mapping.EntityMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DefaultEntityCacheManager implements EntityCacheManager {
+
+    private static final Log log = LogFactory.get(DefaultEntityCacheManager.class);
+
+    private static final QueryCache DISABLED = new QueryCache("disabled", 1, 0);
+
+    protected @Inject CacheManager       cacheManager;
+    protected @Inject TransactionManager transactionManager;
+
+    private final Map<String, EntityCache> entityCaches = new ConcurrentHashMap<>();
+    private final Map<String, QueryCache>  queryCaches  = new ConcurrentHashMap<>();
+
+    //The tables changed by the active transactions of current thread (table -> count of pending synchronizations).
+    private final ThreadLocal<Map<String, Integer>> changedTables = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public EntityCache getEntityCache(OrmContext context, EntityMapping em) {
+        EntityCache cache = em.getExtension(EntityCache.class);
+        if(null != cache) {
+            return cache;
+        }
+
+        if(!isCacheable(context, em)) {
+            return null;
+        }
+
+        String name = "orm." + context.getName() + ".entities." + em.getEntityName();
+        synchronized (entityCaches) {
+            cache = entityCaches.get(name);
+            if(null == cache) {
+                cache = createEntityCache(context, em, name);
+                register(name, cache.getCache());
+                entityCaches.put(name, cache);
+            }else if(cache.getEntityMapping() != em) {
+                //The metadata was reloaded.
+                cache.reset(em);
+            }
+            em.setExtension(EntityCache.class, cache);
+        }
+        return cache;
+    }
+
+    @Override
+    public QueryCache getQueryCache(OrmContext context) {
+        QueryCache cache = queryCaches.get(context.getName());
+        if(null == cache) {
+            cache = queryCaches.computeIfAbsent(context.getName(), (n) -> createQueryCache(context));
+        }
+        return cache == DISABLED ? null : cache;
+    }
+
+    @Override
+    public void evict(OrmContext context, EntityMapping em, Object id) {
+        EntityCache ec = getEntityCache(context, em);
+        if(null == ec) {
+            doEvict(context, em, null);
+            return;
+        }
+
+        Object key = ec.keyOf(context, id);
+        if(null == key) {
+            doEvict(context, em, ec::clear);
+        }else{
+            doEvict(context, em, () -> ec.evict(key));
+        }
+    }
+
+    @Override
+    public void evictAll(OrmContext context, EntityMapping em) {
+        EntityCache ec = getEntityCache(context, em);
+        doEvict(context, em, null == ec ? null : ec::clear);
+    }
+
+    @Override
+    public void evictQueries(OrmContext context, EntityMapping em) {
+        doEvict(context, em, null);
+    }
+
+    @Override
+    public boolean isChangedInTransaction(OrmContext context, String... tables) {
+        Map<String, Integer> changed = changedTables.get();
+        if(changed.isEmpty()) {
+            return false;
+        }
+        for(String table : tables) {
+            if(changed.containsKey(changedKey(context, table))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        entityCaches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        queryCaches.values().forEach(cache -> {
+            if(cache != DISABLED) {
+                stats.put(cache.getName(), cache.getStats());
+            }
+        });
+        return stats;
+    }
+
+    protected boolean isCacheable(OrmContext context, EntityMapping em) {
+        if(!em.isCacheable() && !isConfigured(context.getConfig().getCacheConfig(), em)) {
+            return false;
+        }
+
+        //The find sql of these entities depends on the runtime context.
+        if(em.isRemote() || em.isDynamicEnabled() || null != em.getFindInterceptor()) {
+            return false;
+        }
+        if(em.hasFilterFields() && context.getConfig().isFilterColumnEnabled()) {
+            return false;
+        }
+        if(em.isQueryFilterEnabled() && context.getConfig().isQueryFilterEnabled()) {
+            return false;
+        }
+        return em.getKeyFieldMappings().length > 0;
+    }
+
+    protected boolean isConfigured(OrmConfig.CacheConfig config, EntityMapping em) {
+        for(String name : config.getEntities()) {
+            if(Strings.equalsIgnoreCase(name, em.getEntityName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected EntityCache createEntityCache(OrmContext context, EntityMapping em, String name) {
+        OrmConfig.CacheConfig config = context.getConfig().getCacheConfig();
+        log.info("Create second-level cache '{}', max size {}", name, config.getMaxSize());
+        return new EntityCache(name, em, config.getMaxSize(), config.getExpireSeconds() * 1000L);
+    }
+
+    protected QueryCache createQueryCache(OrmContext context) {
+        OrmConfig.CacheConfig config = context.getConfig().getCacheConfig();
+        if(!config.isQueryEnabled()) {
+            return DISABLED;
+        }
+
+        String     name  = "orm." + context.getName() + ".queries";
+        QueryCache cache = new QueryCache(name, config.getQueryMaxSize(), config.getExpireSeconds() * 1000L);
+        register(name, cache.getCache());
+        return cache;
+    }
+
+    protected void register(String name, leap.core.cache.Cache<?, ?> cache) {
+        if(null != cacheManager && !cacheManager.getCaches().containsKey(name)) {
+            cacheManager.registerCache(name, cache);
+        }
+    }
+
+    protected void doEvict(OrmContext context, EntityMapping em, Runnable evictEntity) {
+        QueryCache qc = getQueryCache(context);
+        if(null == evictEntity && null == qc) {
+            return;
+        }
+
+        Runnable evict = () -> {
+            if(null != evictEntity) {
+                evictEntity.run();
+            }
+            if(null != qc) {
+                qc.invalidate(em);
+            }
+        };
+
+        evict.run();
+
+        //The records read by other transactions before commit may be cached, evicts them again.
+        if(null != transactionManager) {
+            String[] tables = em.hasSecondaryTable() ?
+                    new String[]{em.getTableName(), em.getSecondaryTableName()} : new String[]{em.getTableName()};
+
+            if(transactionManager.registerSynchronization(context.getDataSource(), (committed) -> {
+                unmarkChanged(context, tables);
+                evict.run();
+            })) {
+                markChanged(context, tables);
+            }
+        }
+    }
+
+    protected void markChanged(OrmContext context, String[] tables) {
+        Map<String, Integer> changed = changedTables.get();
+        for(String table : tables) {
+            changed.merge(changedKey(context, table), 1, Integer::sum);
+        }
+    }
+
+    protected void unmarkChanged(OrmContext context, String[] tables) {
+        Map<String, Integer> changed = changedTables.get();
+        for(String table : tables) {
+            changed.computeIfPresent(changedKey(context, table), (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static String changedKey(OrmContext context, String table) {
+        return context.getName() + ":" + Strings.lowerCase(table);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.cache.CacheStats;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.lang.convert.Converts;
+import leap.lang.params.Params;
+import leap.orm.OrmContext;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.mapping.FieldMapping;
+import leap.orm.value.EntityWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The second-level cache of an entity, caches the records by primary key.
+ *
+ * <p/>
+ * The cached record is a copy of the fields, a new result object is created for each lookup.
+ *
+ * <p/>
+ * Only the records of the entity class, {@link leap.orm.model.Model} or map are cached,
+ * the records of other classes (such as dto) may not contain all the fields.
+ */
+public class EntityCache {
+
+    private final String                                          name;
+    private final ConcurrentLRUCache<Object, Map<String, Object>> cache;
+
+    private volatile EntityMapping  em;
+    private volatile FieldMapping[] keys;
+    private volatile long           version;
+
+    public EntityCache(String name, EntityMapping em, int maxSize, long expireAfterWriteMs) {
+        this.name  = name;
+        this.em    = em;
+        this.keys  = em.getKeyFieldMappings();
+        this.cache = new ConcurrentLRUCache<>(maxSize, expireAfterWriteMs, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EntityMapping getEntityMapping() {
+        return em;
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    ConcurrentLRUCache<Object, Map<String, Object>> getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns true if the result object of the given class can be cached.
+     */
+    public boolean isSupported(Class<?> resultClass) {
+        return EntitySnapshots.isSupported(resultClass);
+    }
+
+    /**
+     * Returns the cache key of the given id, returns <code>null</code> if the id is not a valid key.
+     *
+     * <p/>
+     * The key values are converted to the types of key fields, so the id <code>"1"</code> and <code>1L</code> are the same key.
+     */
+    public Object keyOf(OrmContext context, Object id) {
+        if(null == id) {
+            return null;
+        }
+
+        Params params;
+        try {
+            params = context.getParameterStrategy().createIdParameters(context, em, id);
+        }catch (RuntimeException e) {
+            return null;
+        }
+
+        if(keys.length == 1) {
+            return keyValue(keys[0], params.isIndexed() ? params.get(0) : params.get(keys[0].getFieldName()));
+        }
+
+        List<Object> key = new ArrayList<>(keys.length);
+        for(int i=0;i<keys.length;i++) {
+            Object v = keyValue(keys[i], params.isIndexed() ? params.get(i) : params.get(keys[i].getFieldName()));
+            if(null == v) {
+                return null;
+            }
+            key.add(v);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the cache key of the given record.
+     */
+    public Object keyOfRecord(OrmContext context, Object record) {
+        EntityWrapper wrapper = EntityWrapper.wrap(context, em, record);
+        if(keys.length == 1) {
+            return keyValue(keys[0], wrapper.get(keys[0].getFieldName()));
+        }
+
+        List<Object> key = new ArrayList<>(keys.length);
+        for(FieldMapping fm : keys) {
+            Object v = keyValue(fm, wrapper.get(fm.getFieldName()));
+            if(null == v) {
+                return null;
+            }
+            key.add(v);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the current version, must be read before loading the record which will be put to cache.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns a new result object of the cached record, or <code>null</code> if not cached.
+     */
+    public <T> T get(OrmContext context, Object key, Class<T> resultClass) {
+        Map<String, Object> fields = cache.get(key);
+        return null == fields ? null : EntitySnapshots.restore(context, em, resultClass, fields);
+    }
+
+    /**
+     * Puts the loaded record to cache.
+     *
+     * <p/>
+     * The record will not be cached if the entity was changed after the given version was read,
+     * or the record does not contain all the fields of the entity.
+     */
+    public synchronized void put(OrmContext context, Object key, Object record, long loadedVersion) {
+        if(null != key && null != record && version == loadedVersion && EntitySnapshots.isFull(em, record)) {
+            cache.put(key, EntitySnapshots.snapshot(context, em, record));
+        }
+    }
+
+    /**
+     * Removes the cached record of the given key.
+     */
+    public synchronized void evict(Object key) {
+        version++;
+        cache.remove(key);
+    }
+
+    /**
+     * Binds the cache to the reloaded mapping of the entity and removes all the cached records.
+     */
+    public synchronized void reset(EntityMapping em) {
+        this.em   = em;
+        this.keys = em.getKeyFieldMappings();
+        clear();
+    }
+
+    /**
+     * Removes all the cached records.
+     */
+    public synchronized void clear() {
+        version++;
+        cache.clear();
+    }
+
+    private static Object keyValue(FieldMapping fm, Object v) {
+        if(null == v) {
+            return null;
+        }
+        try {
+            return Converts.convert(v, fm.getJavaType());
+        }catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.cache.CacheStats;
+import leap.orm.OrmContext;
+import leap.orm.mapping.EntityMapping;
+
+import java.util.Map;
+
+/**
+ * Manages the second-level entity caches and the query caches.
+ */
+public interface EntityCacheManager {
+
+    /**
+     * Returns the cache of the entity, or <code>null</code> if the entity is not cacheable.
+     */
+    EntityCache getEntityCache(OrmContext context, EntityMapping em);
+
+    /**
+     * Returns the query cache of the context, or <code>null</code> if the query cache is disabled.
+     */
+    QueryCache getQueryCache(OrmContext context);
+
+    /**
+     * Evicts the cached record of the id and the cached query results of the entity.
+     *
+     * <p/>
+     * If in an active transaction, evicts again after the transaction completes.
+     */
+    void evict(OrmContext context, EntityMapping em, Object id);
+
+    /**
+     * Evicts all the cached records and the cached query results of the entity.
+     *
+     * <p/>
+     * If in an active transaction, evicts again after the transaction completes.
+     */
+    void evictAll(OrmContext context, EntityMapping em);
+
+    /**
+     * Evicts the cached query results of the entity only, such as inserting new records.
+     *
+     * <p/>
+     * If in an active transaction, evicts again after the transaction completes.
+     */
+    void evictQueries(OrmContext context, EntityMapping em);
+
+    /**
+     * Returns true if any of the tables was changed in the active transaction of current thread.
+     *
+     * <p/>
+     * The changes are not committed yet, so the records read in the transaction must not be read from or put to the caches.
+     */
+    boolean isChangedInTransaction(OrmContext context, String... tables);
+
+    /**
+     * Returns true if the tables of the entity was changed in the active transaction of current thread.
+     *
+     * @see #isChangedInTransaction(OrmContext, String...)
+     */
+    default boolean isChangedInTransaction(OrmContext context, EntityMapping em) {
+        return em.hasSecondaryTable() ?
+                isChangedInTransaction(context, em.getTableName(), em.getSecondaryTableName()) :
+                isChangedInTransaction(context, em.getTableName());
+    }
+
+    /**
+     * Returns the statistics of all the caches (cache name -> stats).
+     */
+    Map<String, CacheStats> getStats();
+
+}
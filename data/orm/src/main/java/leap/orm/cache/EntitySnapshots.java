@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.value.Record;
+import leap.core.value.SimpleRecord;
+import leap.lang.beans.BeanType;
+import leap.lang.beans.DynaBean;
+import leap.lang.params.Params;
+import leap.lang.reflect.Reflection;
+import leap.orm.OrmContext;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.model.Model;
+import leap.orm.value.Entity;
+import leap.orm.value.EntityBase;
+import leap.orm.value.EntityWrapper;
+
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copies the cached records from and to the result objects, so the callers can not change the cached values.
+ *
+ * <p/>
+ * The copy is shallow, the field values are shared by the cached record and the result objects.
+ */
+final class EntitySnapshots {
+
+    /**
+     * Returns true if the result object of the given class can be copied.
+     */
+    static boolean isSupported(Class<?> resultClass) {
+        if(Record.class.equals(resultClass) || Map.class.equals(resultClass) ||
+           Entity.class.equals(resultClass) || EntityBase.class.equals(resultClass)) {
+            return true;
+        }
+
+        if(resultClass.isInterface() || resultClass.isArray() || Modifier.isAbstract(resultClass.getModifiers())) {
+            return false;
+        }
+
+        if(Model.class.isAssignableFrom(resultClass)) {
+            return true;
+        }
+
+        return !Map.class.isAssignableFrom(resultClass) &&
+               !DynaBean.class.isAssignableFrom(resultClass) &&
+               !Params.class.isAssignableFrom(resultClass);
+    }
+
+    /**
+     * Returns true if the result object contains all the fields of the entity.
+     *
+     * <p/>
+     * The other beans (such as dto) contains part of the fields, can not be restored as the entity.
+     */
+    static boolean isFull(EntityMapping em, Object result) {
+        return result instanceof Map || result instanceof Model || result.getClass().equals(em.getEntityClass());
+    }
+
+    /**
+     * Returns the copied fields of the result object.
+     */
+    static Map<String, Object> snapshot(OrmContext context, EntityMapping em, Object result) {
+        return new LinkedHashMap<>(EntityWrapper.wrap(context, em, result).toMap());
+    }
+
+    /**
+     * Creates a new result object from the cached fields.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T restore(OrmContext context, EntityMapping em, Class<T> resultClass, Map<String, Object> fields) {
+        if(Record.class.equals(resultClass)) {
+            return (T)new SimpleRecord(fields);
+        }
+
+        if(Map.class.equals(resultClass)) {
+            return (T)new LinkedHashMap<>(fields);
+        }
+
+        if(Entity.class.equals(resultClass) || EntityBase.class.equals(resultClass)) {
+            return (T)new Entity(em.getEntityName(), fields);
+        }
+
+        if(Model.class.isAssignableFrom(resultClass)) {
+            Model model = (Model)Reflection.newInstance(resultClass);
+            model.init(context, em);
+            fields.forEach(model::set);
+            return (T)model;
+        }
+
+        T bean = BeanType.of(resultClass).newInstance();
+        EntityWrapper.wrap(context, em, bean).setAll(fields);
+        return bean;
+    }
+
+    private EntitySnapshots() {
+
+    }
+}
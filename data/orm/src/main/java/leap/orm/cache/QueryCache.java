@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.cache.CacheStats;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.lang.Strings;
+import leap.orm.OrmContext;
+import leap.orm.mapping.EntityMapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache of query results, keyed by the sql, the arguments and the versions of the queried tables.
+ *
+ * <p/>
+ * Changing a table increases its version, so all the cached results of the table will not be hit any more
+ * and will be evicted by lru.
+ */
+public class QueryCache {
+
+    private final String                                             name;
+    private final ConcurrentLRUCache<Key, List<Map<String, Object>>> cache;
+    private final ConcurrentMap<String, AtomicLong>                  versions = new ConcurrentHashMap<>();
+
+    public QueryCache(String name, int maxSize, long expireAfterWriteMs) {
+        this.name  = name;
+        this.cache = new ConcurrentLRUCache<>(maxSize, expireAfterWriteMs, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    ConcurrentLRUCache<Key, List<Map<String, Object>>> getCache() {
+        return cache;
+    }
+
+    /**
+     * Returns true if the result object of the given class can be cached.
+     */
+    public boolean isSupported(Class<?> resultClass) {
+        return EntitySnapshots.isSupported(resultClass);
+    }
+
+    /**
+     * Returns the key of the query, must be created before executing the query which results will be put to cache.
+     */
+    public Key key(String sql, Object[] args, Class<?> resultClass, String[] tables) {
+        long[] tableVersions = new long[tables.length];
+        for(int i=0;i<tables.length;i++) {
+            tableVersions[i] = versionOf(tables[i]).get();
+        }
+        return new Key(sql, args, resultClass, tables, tableVersions);
+    }
+
+    /**
+     * Returns the new result objects of the cached query results, or <code>null</code> if not cached.
+     */
+    public <T> List<T> get(OrmContext context, EntityMapping em, Key key, Class<T> resultClass) {
+        List<Map<String, Object>> rows = cache.get(key);
+        if(null == rows) {
+            return null;
+        }
+
+        List<T> list = new ArrayList<>(rows.size());
+        for(Map<String, Object> row : rows) {
+            list.add(EntitySnapshots.restore(context, em, resultClass, row));
+        }
+        return list;
+    }
+
+    /**
+     * Puts the results of query to cache.
+     */
+    public void put(OrmContext context, EntityMapping em, Key key, List<?> list) {
+        List<Map<String, Object>> rows = new ArrayList<>(list.size());
+        for(Object item : list) {
+            rows.add(EntitySnapshots.snapshot(context, em, item));
+        }
+        cache.put(key, rows);
+    }
+
+    /**
+     * Invalidates the cached results of queries which read the tables of the given entity.
+     */
+    public void invalidate(EntityMapping em) {
+        invalidate(em.getTableName());
+        if(em.hasSecondaryTable()) {
+            invalidate(em.getSecondaryTableName());
+        }
+    }
+
+    /**
+     * Invalidates the cached results of queries which read the given table.
+     */
+    public void invalidate(String table) {
+        versionOf(table).incrementAndGet();
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private AtomicLong versionOf(String table) {
+        String key = Strings.lowerCase(table);
+        AtomicLong version = versions.get(key);
+        if(null == version) {
+            version = versions.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        return version;
+    }
+
+    public static final class Key {
+        private final String   sql;
+        private final Object[] args;
+        private final Class<?> resultClass;
+        private final String[] tables;
+        private final long[]   versions;
+        private final int      hash;
+
+        Key(String sql, Object[] args, Class<?> resultClass, String[] tables, long[] versions) {
+            this.sql         = sql;
+            this.args        = null == args ? new Object[0] : args;
+            this.resultClass = resultClass;
+            this.tables      = tables;
+            this.versions    = versions;
+
+            int h = sql.hashCode();
+            h = 31 * h + Arrays.deepHashCode(this.args);
+            h = 31 * h + resultClass.hashCode();
+            h = 31 * h + Arrays.hashCode(versions);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key)o;
+            return hash == k.hash &&
+                   resultClass.equals(k.resultClass) &&
+                   sql.equals(k.sql) &&
+                   Arrays.equals(versions, k.versions) &&
+                   Arrays.equals(tables, k.tables) &&
+                   Arrays.deepEquals(args, k.args);
+        }
+    }
+}
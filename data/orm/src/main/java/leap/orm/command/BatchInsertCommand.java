@@ -17,6 +17,11 @@ package leap.orm.command;
 
 public interface BatchInsertCommand {
 
+	/**
+	 * Sets to <code>true</code> to rewrite the insert to multi-row values if supported by db.
+	 */
+	BatchInsertCommand withMultiRowValues(boolean multiRowValues);
+
 	int[] execute();
 	
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+/**
+ * A command to insert or update the records of entity in batch.
+ *
+ * @see UpsertCommand
+ */
+public interface BatchUpsertCommand extends BatchInsertCommand {
+
+    /**
+     * Detects the existing records by the given unique key(index) of table instead of the primary key.
+     */
+    BatchUpsertCommand withUniqueKey(String name);
+
+}
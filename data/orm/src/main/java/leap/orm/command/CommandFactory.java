@@ -22,6 +22,8 @@ import leap.orm.mapping.EntityMapping;
 public interface CommandFactory {
 	
 	InsertCommand newInsertCommand(Dao dao,EntityMapping em);
+
+	UpsertCommand newUpsertCommand(Dao dao,EntityMapping em);
 	
 	UpdateCommand newUpdateCommand(Dao dao,EntityMapping em);
 
@@ -55,6 +57,8 @@ public interface CommandFactory {
 	
 	BatchInsertCommand newBatchInsertCommand(Dao dao,EntityMapping em, Object[] records);
 
+	BatchUpsertCommand newBatchUpsertCommand(Dao dao,EntityMapping em, Object[] records);
+
 	BatchUpdateCommand newBatchUpdateCommand(Dao dao, EntityMapping em, Object[] records);
 
 	BatchDeleteCommand newBatchDeleteCommand(Dao dao,EntityMapping em, Object[] ids);
@@ -37,6 +37,14 @@ public class DefaultBatchDeleteCommand extends AbstractEntityDaoCommand implemen
 
 	@Override
 	public int[] execute() {
+        int[] result = doExecute();
+
+        context.getEntityCacheManager().evictAll(context, em);
+
+        return result;
+    }
+
+    protected int[] doExecute() {
         final SqlCommand primaryCommand = metadata.getSqlCommand(em.getEntityName(), SqlCommand.DELETE_COMMAND_NAME);
         final SqlCommand secondaryCommand =
                 em.hasSecondaryTable() ? context.getSqlFactory().createDeleteCommand(context, em, true) : null;
@@ -20,6 +20,7 @@ import leap.lang.Strings;
 import leap.lang.expression.Expression;
 import leap.lang.value.SimpleEntry;
 import leap.orm.dao.Dao;
+import leap.orm.generator.BatchValueGenerator;
 import leap.orm.mapping.EntityMapping;
 import leap.orm.mapping.FieldMapping;
 import leap.orm.sql.SqlCommand;
@@ -31,6 +32,8 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
 
     protected final List<Map.Entry<EntityWrapper, Map<String, Object>>> entities = new ArrayList<>();
 
+    protected boolean multiRowValues;
+
 	public DefaultBatchInsertCommand(Dao dao,EntityMapping em, Object[] records) {
 	    super(dao,em);
 
@@ -39,6 +42,12 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
         }
     }
 
+    @Override
+    public BatchInsertCommand withMultiRowValues(boolean multiRowValues) {
+        this.multiRowValues = multiRowValues;
+        return this;
+    }
+
 	@Override
 	public int[] execute() {
         if(entities.isEmpty()) {
@@ -47,32 +56,48 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
 
         prepare();
 
+        int[] result = doExecute();
+
+        context.getEntityCacheManager().evictQueries(context, em);
+
+        return result;
+    }
+
+    protected int[] doExecute() {
         String[] fields = entities.get(0).getKey().getFieldNames().toArray(Arrays2.EMPTY_STRING_ARRAY);
         if(fields.length == 0) {
             throw new IllegalStateException("No insert fields");
         }
 
-        final SqlCommand primaryCommand   = context.getSqlFactory().createInsertCommand(context, em, fields);
+        final SqlCommand primaryCommand   = createPrimaryCommand(fields);
         final SqlCommand secondaryCommand =
                 em.hasSecondaryTable() ? context.getSqlFactory().createInsertCommand(context, em, fields, true) : null;
 
         Map[] records = toRecords();
 
         if(null == secondaryCommand) {
-            return primaryCommand.executeBatchUpdate(this, records);
+            return executeBatch(primaryCommand, records);
         }
 
         if(null == primaryCommand) {
-            return secondaryCommand.executeBatchUpdate(this, records);
+            return executeBatch(secondaryCommand, records);
         }
 
         return dao.doTransaction((s) -> {
-            int[] result = primaryCommand.executeBatchUpdate(this, records);
-            secondaryCommand.executeBatchUpdate(this, records);
+            int[] result = executeBatch(primaryCommand, records);
+            executeBatch(secondaryCommand, records);
             return result;
         });
 	}
 
+    protected SqlCommand createPrimaryCommand(String[] fields) {
+        return context.getSqlFactory().createInsertCommand(context, em, fields);
+    }
+
+    protected int[] executeBatch(SqlCommand command, Map[] records) {
+        return multiRowValues ? command.executeBatchInsert(this, records) : command.executeBatchUpdate(this, records);
+    }
+
 	protected Map[] toRecords() {
 	    List<Map> records = new ArrayList<>();
 	    entities.forEach(entry -> {
@@ -90,6 +115,8 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
     }
 
     protected void prepare(){
+        Map<String, Iterator<Object>> generated = generateBatchValues();
+
         for(Map.Entry entry : entities) {
             EntityWrapper entity = (EntityWrapper)entry.getKey();
             for(FieldMapping fm : em.getFieldMappings()){
@@ -108,6 +135,12 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
                         continue;
                     }
 
+                    Iterator<Object> it = null == generated ? null : generated.get(fm.getFieldName());
+                    if(null != it) {
+                        entity.set(fm.getFieldName(), it.next());
+                        continue;
+                    }
+
                     Expression expression = fm.getInsertValue();
                     if (null != expression) {
                         value = expression.getValue(entity);
@@ -124,4 +157,35 @@ public class DefaultBatchInsertCommand extends AbstractEntityDaoCommand implemen
             }
         }
     }
+
+    /**
+     * Generates the values of all the records at once for the fields using {@link BatchValueGenerator},
+     * such as the pooled ids, returns <code>null</code> if no such field.
+     */
+    protected Map<String, Iterator<Object>> generateBatchValues() {
+        Map<String, Iterator<Object>> generated = null;
+
+        for(FieldMapping fm : em.getFieldMappings()) {
+            if(!(fm.getInsertValue() instanceof BatchValueGenerator) || !Strings.isEmpty(fm.getSequenceName())) {
+                continue;
+            }
+
+            int count = 0;
+            for(Map.Entry<EntityWrapper, Map<String, Object>> entry : entities) {
+                if(null == entry.getKey().get(fm.getFieldName())) {
+                    count++;
+                }
+            }
+
+            if(count > 0) {
+                if(null == generated) {
+                    generated = new HashMap<>();
+                }
+                Object[] values = ((BatchValueGenerator)fm.getInsertValue()).generate(count);
+                generated.put(fm.getFieldName(), Arrays.asList(values).iterator());
+            }
+        }
+
+        return generated;
+    }
 }
\ No newline at end of file
@@ -46,6 +46,14 @@ public class DefaultBatchUpdateCommand extends AbstractEntityDaoCommand implemen
 
         prepare();
 
+        int[] result = doExecute();
+
+        context.getEntityCacheManager().evictAll(context, em);
+
+        return result;
+    }
+
+    protected int[] doExecute() {
         String[] fields = entities.get(0).getFieldNames().toArray(Arrays2.EMPTY_STRING_ARRAY);
         if(fields.length == 0) {
             throw new IllegalStateException("No update fields");
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+import leap.orm.dao.Dao;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.sql.SqlCommand;
+import leap.orm.value.EntityWrapper;
+
+import java.util.Map;
+
+/**
+ * Executes the native upsert sql in batch if supported by db, or else upserts the records one by one in a transaction.
+ */
+public class DefaultBatchUpsertCommand extends DefaultBatchInsertCommand implements BatchUpsertCommand {
+
+    protected String   uniqueKey;
+    protected String[] keyFields;
+
+    public DefaultBatchUpsertCommand(Dao dao, EntityMapping em, Object[] records) {
+        super(dao, em, records);
+    }
+
+    @Override
+    public BatchUpsertCommand withUniqueKey(String name) {
+        this.uniqueKey = name;
+        this.keyFields = null == name ? null : DefaultUpsertCommand.resolveUniqueKeyFields(em, name);
+        return this;
+    }
+
+    @Override
+    public BatchInsertCommand withMultiRowValues(boolean multiRowValues) {
+        //the multi-row values not supported by upsert.
+        return this;
+    }
+
+    @Override
+    public int[] execute() {
+        if (entities.isEmpty()) {
+            return new int[0];
+        }
+
+        prepare();
+
+        int[] result;
+        if (DefaultUpsertCommand.isNativeUpsert(db, em) && !hasMissingKey() && !hasSequenceValues()) {
+            result = doExecute();
+        } else {
+            result = dao.doTransaction((s) -> {
+                return doExecuteFallback();
+            });
+        }
+
+        context.getEntityCacheManager().evictAll(context, em);
+
+        return result;
+    }
+
+    @Override
+    protected SqlCommand createPrimaryCommand(String[] fields) {
+        return context.getSqlFactory().createUpsertCommand(context, em, fields, keyFields);
+    }
+
+    /**
+     * Returns true if the primary key of any record is missing, such as auto increment id.
+     */
+    protected boolean hasMissingKey() {
+        if (null != keyFields) {
+            return false;
+        }
+        for (Map.Entry<EntityWrapper, Map<String, Object>> entry : entities) {
+            for (String name : em.getKeyFieldNames()) {
+                if (null == entry.getKey().get(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if any record uses the next value of sequence, which can't be bound as a batch parameter.
+     */
+    protected boolean hasSequenceValues() {
+        for (Map.Entry<EntityWrapper, Map<String, Object>> entry : entities) {
+            if (null != entry.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected int[] doExecuteFallback() {
+        int[] result = new int[entities.size()];
+        for (int i = 0; i < result.length; i++) {
+            Map.Entry<EntityWrapper, Map<String, Object>> entry = entities.get(i);
+
+            result[i] = new DefaultUpsertCommand(dao, em).withUniqueKey(uniqueKey).from(entry.getKey().raw()).execute();
+        }
+        return result;
+    }
+}
@@ -25,6 +25,11 @@ public class DefaultCommandFactory implements CommandFactory {
     public InsertCommand newInsertCommand(Dao dao, EntityMapping em) {
 	    return new DefaultInsertCommand(dao, em);
     }
+
+    @Override
+    public UpsertCommand newUpsertCommand(Dao dao, EntityMapping em) {
+        return new DefaultUpsertCommand(dao, em);
+    }
 	
 	@Override
     public UpdateCommand newUpdateCommand(Dao dao, EntityMapping em) {
@@ -107,6 +112,11 @@ public class DefaultCommandFactory implements CommandFactory {
 	    return new DefaultBatchInsertCommand(dao, em, records);
     }
 
+    @Override
+    public BatchUpsertCommand newBatchUpsertCommand(Dao dao, EntityMapping em, Object[] records) {
+        return new DefaultBatchUpsertCommand(dao, em, records);
+    }
+
     @Override
     public BatchUpdateCommand newBatchUpdateCommand(Dao dao, EntityMapping em, Object[] records) {
         return new DefaultBatchUpdateCommand(dao, em , records);
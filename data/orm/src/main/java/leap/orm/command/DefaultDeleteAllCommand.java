@@ -33,7 +33,11 @@ public class DefaultDeleteAllCommand extends AbstractEntityDaoCommand implements
         if(em.hasSecondaryTable()) {
             context.getSqlFactory().createDeleteAllCommand(context, em, true).executeUpdate(this, null);
         }
-		return primaryCommand.executeUpdate(this,null);
+		int result = primaryCommand.executeUpdate(this,null);
+
+		context.getEntityCacheManager().evictAll(context, em);
+
+		return result;
 	}
 
 }
\ No newline at end of file
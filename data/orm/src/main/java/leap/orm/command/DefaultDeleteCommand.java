@@ -87,7 +87,11 @@ public class DefaultDeleteCommand extends AbstractEntityDaoCommand implements De
             context.getSqlFactory().createDeleteCommand(context, em, true).executeUpdate(this, idParameter);
         }
 
-        return handler.handleDelete(this, idParameter, () -> primaryCommand.executeUpdate(this, idParameter));
+        int result = handler.handleDelete(this, idParameter, () -> primaryCommand.executeUpdate(this, idParameter));
+
+        context.getEntityCacheManager().evict(context, em, id);
+
+        return result;
     }
 
 }
@@ -17,10 +17,11 @@ package leap.orm.command;
 
 import leap.core.exception.RecordNotFoundException;
 import leap.core.exception.TooManyRecordsException;
-import leap.core.jdbc.ResultSetReader;
 import leap.lang.New;
 import leap.lang.params.Params;
 import leap.lang.value.Limit;
+import leap.orm.cache.EntityCache;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.dao.Dao;
 import leap.orm.event.EntityEventHandler;
 import leap.orm.event.LoadEntityEventImpl;
@@ -64,15 +65,20 @@ public class DefaultFindCommand<T> extends AbstractEntityDaoCommand implements F
 
     @Override
     public T execute() throws TooManyRecordsException {
-        ResultSetReader<T> reader = ResultSetReaders.forSingleEntity(context, this, em, resultClass);
+        EntityCache cache = getEntityCache();
+        Object      key   = null == cache || !cache.isSupported(resultClass) ? null : cache.keyOf(context, id);
 
         T result;
 
-        if(em.hasDynamicFields()) {
-            result = dao.createCriteriaQuery(em, resultClass).whereById(id).firstOrNull();
+        if(null != key) {
+            result = cache.get(context, key, resultClass);
+            if(null == result) {
+                long version = cache.version();
+                result = doExecute();
+                cache.put(context, key, result, version);
+            }
         }else {
-            final Params idParams = context.getParameterStrategy().createIdParameters(context, em, id);
-            result = sqlCommand.executeQuery(this, idParams, reader);
+            result = doExecute();
         }
 
         if (null == result && checkNotFound) {
@@ -86,4 +92,22 @@ public class DefaultFindCommand<T> extends AbstractEntityDaoCommand implements F
 
         return result;
     }
+
+    /**
+     * Returns the cache of entity, or <code>null</code> if not cacheable or changed in current transaction.
+     */
+    protected EntityCache getEntityCache() {
+        EntityCacheManager ecm   = context.getEntityCacheManager();
+        EntityCache        cache = ecm.getEntityCache(context, em);
+        return null == cache || ecm.isChangedInTransaction(context, em) ? null : cache;
+    }
+
+    protected T doExecute() {
+        if(em.hasDynamicFields()) {
+            return dao.createCriteriaQuery(em, resultClass).whereById(id).firstOrNull();
+        }else {
+            final Params idParams = context.getParameterStrategy().createIdParameters(context, em, id);
+            return sqlCommand.executeQuery(this, idParams, ResultSetReaders.forSingleEntity(context, this, em, resultClass));
+        }
+    }
 }
\ No newline at end of file
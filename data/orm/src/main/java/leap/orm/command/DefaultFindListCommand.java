@@ -16,7 +16,11 @@
 package leap.orm.command;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import leap.core.exception.RecordNotFoundException;
 import leap.core.exception.TooManyRecordsException;
@@ -26,6 +30,8 @@ import leap.db.model.DbTable;
 import leap.lang.params.MapParams;
 import leap.lang.params.Params;
 import leap.lang.value.Limit;
+import leap.orm.cache.EntityCache;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.dao.Dao;
 import leap.orm.mapping.EntityMapping;
 import leap.orm.mapping.FieldMapping;
@@ -71,8 +77,15 @@ public class DefaultFindListCommand<T> extends AbstractEntityDaoCommand implemen
 
 	@Override
     public List<T> execute() throws TooManyRecordsException,RecordNotFoundException {
-		ResultSetReader<List<T>> reader = ResultSetReaders.forListEntity(context, this, em, elementType, resultClass);
-	    List<T> list = sqlCommand.executeQuery(this, idParameters, reader);
+		EntityCacheManager ecm   = context.getEntityCacheManager();
+		EntityCache        cache = ecm.getEntityCache(context, em);
+
+		List<T> list;
+		if(null != cache && cache.isSupported(resultClass) && !ecm.isChangedInTransaction(context, em)) {
+			list = executeWithCache(cache);
+		}else{
+			list = executeQuery(sqlCommand, idParameters);
+		}
 	    
 	    if(list.size() > ids.length) {
 	        throw new TooManyRecordsException("Returns " + list.size() + " records, exceeds the given id array's size " + ids.length);
@@ -85,6 +98,63 @@ public class DefaultFindListCommand<T> extends AbstractEntityDaoCommand implemen
 	    return list;
     }
 	
+	protected List<T> executeWithCache(EntityCache cache) {
+		Map<Object, T> found   = new LinkedHashMap<>();
+		Set<Object>    keys    = new HashSet<>();
+		List<Object>   missing = new ArrayList<>();
+
+		for(Object id : ids) {
+			Object key = cache.keyOf(context, id);
+			if(null == key) {
+				return executeQuery(sqlCommand, idParameters);
+			}
+			if(!keys.add(key)) {
+				continue;
+			}
+
+			T result = cache.get(context, key, resultClass);
+			if(null == result) {
+				missing.add(id);
+			}else{
+				found.put(key, result);
+			}
+		}
+
+		if(missing.isEmpty()) {
+			return new ArrayList<>(found.values());
+		}
+
+		long version = cache.version();
+
+		List<T> loaded;
+		if(missing.size() == ids.length || em.isCompositeKey()) {
+			loaded = executeQuery(sqlCommand, idParameters);
+		}else{
+			MapParams p = new MapParams();
+			p.set(em.getKeyFieldNames()[0], missing.toArray());
+			loaded = executeQuery(sqlCommand, p);
+		}
+
+		List<T> list = new ArrayList<>(found.size() + loaded.size());
+		for(T result : loaded) {
+			Object key = cache.keyOfRecord(context, result);
+			if(null == key) {
+				list.add(result);
+			}else{
+				cache.put(context, key, result, version);
+				found.put(key, result);
+			}
+		}
+		list.addAll(found.values());
+
+		return list;
+	}
+
+	protected List<T> executeQuery(SqlCommand command, Object params) {
+		ResultSetReader<List<T>> reader = ResultSetReaders.forListEntity(context, this, em, elementType, resultClass);
+		return command.executeQuery(this, params, reader);
+	}
+	
 	/*
 	 
 	 select * from t where (k1 = :k1_0 and k2 = :k2_0) or (k1 = :k1_1 and k2 = :k2_1) ...
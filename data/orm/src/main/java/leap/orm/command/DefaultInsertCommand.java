@@ -194,7 +194,7 @@ public class DefaultInsertCommand extends AbstractEntityDaoCommand implements In
         //Executes
         int result = handler.handleInsert(this, map, () -> {
             String[]   fields         = map.keySet().toArray(Arrays2.EMPTY_STRING_ARRAY);
-            SqlCommand primaryCommand = sf.createInsertCommand(context, em, fields);
+            SqlCommand primaryCommand = createPrimaryCommand(fields);
             return primaryCommand.executeUpdate(this, withEmbeddingColumn(map), psHandler);
         });
 
@@ -206,9 +206,15 @@ public class DefaultInsertCommand extends AbstractEntityDaoCommand implements In
             }
         }
 
+        context.getEntityCacheManager().evictQueries(context, em);
+
         return result;
     }
 
+    protected SqlCommand createPrimaryCommand(String[] fields) {
+        return sf.createInsertCommand(context, em, fields);
+    }
+
     protected Map<String, Object> withGeneratedId(Map<String, Object> map) {
         if (null != generatedId) {
             map.put(em.getKeyColumnNames()[0], generatedId);
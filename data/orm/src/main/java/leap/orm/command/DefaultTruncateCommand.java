@@ -46,7 +46,11 @@ public class DefaultTruncateCommand extends AbstractDmoCommand implements Trunca
 		
 		execution.addAll(db.getDialect().getTruncateTableSqls(em.getTable()));
 		
-		return execution.setRefreshSchema(false).execute();
+		boolean success = execution.setRefreshSchema(false).execute();
+
+		context.getEntityCacheManager().evictAll(context, em);
+
+		return success;
 	}
 
 }
\ No newline at end of file
@@ -206,6 +206,8 @@ public class DefaultUpdateCommand extends AbstractEntityDaoCommand implements Up
             }
         }
 
+        context.getEntityCacheManager().evict(context, em, map);
+
         if (null != result && em.hasOptimisticLock()) {
             if (result < 1) {
                 String id = Mappings.getIdToString(em, map);
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+import leap.db.Db;
+import leap.db.model.DbIndex;
+import leap.lang.Arrays2;
+import leap.orm.dao.Dao;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.mapping.FieldMapping;
+import leap.orm.sql.SqlCommand;
+import leap.orm.value.EntityWrapper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Executes the native upsert sql if supported by db, or else updates the record and inserts it if not exists.
+ *
+ * <p/>
+ * The entity events are not fired by upsert.
+ */
+public class DefaultUpsertCommand extends DefaultInsertCommand implements UpsertCommand {
+
+    protected String[] keyFields;
+    protected boolean  nativeUpsert;
+
+    public DefaultUpsertCommand(Dao dao, EntityMapping em) {
+        super(dao, em);
+    }
+
+    @Override
+    public UpsertCommand withUniqueKey(String name) {
+        this.keyFields = null == name ? null : resolveUniqueKeyFields(em, name);
+        return this;
+    }
+
+    @Override
+    public UpsertCommand withId(Object id) {
+        super.withId(id);
+        return this;
+    }
+
+    @Override
+    public UpsertCommand from(Object record) {
+        super.from(record);
+        return this;
+    }
+
+    @Override
+    public int execute() {
+        prepare();
+
+        nativeUpsert = isNativeUpsert(db, em);
+
+        int result;
+        if (null == keyFields && null == id()) {
+            //no id to detect the existing record, such as auto increment id.
+            nativeUpsert = false;
+            result = doExecuteUpdate();
+        } else if (nativeUpsert) {
+            result = doExecuteUpdate();
+        } else {
+            result = dao.doTransaction((s) -> {
+                return doExecuteFallback();
+            });
+        }
+
+        if (null == keyFields) {
+            context.getEntityCacheManager().evict(context, em, id());
+        } else {
+            context.getEntityCacheManager().evictAll(context, em);
+        }
+
+        return result;
+    }
+
+    @Override
+    protected SqlCommand createPrimaryCommand(String[] fields) {
+        if (!nativeUpsert) {
+            return super.createPrimaryCommand(fields);
+        }
+
+        //the sequence values generated by prepare() are sql expressions, must not be bound as parameters.
+        if (null != values) {
+            fields = Arrays.stream(fields).filter(f -> !values.containsKey(f)).toArray(String[]::new);
+        }
+        return sf.createUpsertCommand(context, em, fields, keyFields);
+    }
+
+    protected int doExecuteFallback() {
+        int affected = null == keyFields ? updateById(dao, em, entity, id) : updateByKey(dao, em, entity, keyFields);
+        return affected > 0 ? affected : doExecuteUpdate();
+    }
+
+    static boolean isNativeUpsert(Db db, EntityMapping em) {
+        return db.getDialect().supportsUpsert() && !em.hasSecondaryTable();
+    }
+
+    static int updateById(Dao dao, EntityMapping em, EntityWrapper entity, Object id) {
+        if (em.hasSecondaryTable()) {
+            UpdateCommand update = dao.cmdUpdate(em).from(entity.raw());
+            if (null != id) {
+                update.withId(id);
+            }
+            return update.execute();
+        }
+
+        if (null != id) {
+            String[] keyNames = em.getKeyFieldNames();
+            if (keyNames.length == 1) {
+                entity.set(keyNames[0], id);
+            } else if (id instanceof Map) {
+                for (String name : keyNames) {
+                    entity.set(name, ((Map) id).get(name));
+                }
+            }
+        }
+        return updateByKey(dao, em, entity, em.getKeyFieldNames());
+    }
+
+    /**
+     * Updates the fields except the key fields, same as the native upsert the optimistic lock is not checked
+     * and no update event is fired.
+     */
+    static int updateByKey(Dao dao, EntityMapping em, EntityWrapper entity, String[] keyFields) {
+        Map<String, Object> key    = new LinkedHashMap<>();
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        for (String name : entity.getFieldNames()) {
+            FieldMapping fm = em.tryGetFieldMapping(name);
+            if (null == fm) {
+                continue;
+            }
+            if (Arrays2.contains(keyFields, fm.getFieldName())) {
+                key.put(fm.getFieldName(), entity.get(name));
+            } else if (fm.isUpdate() && !fm.isPrimaryKey() && !fm.isOptimisticLock()) {
+                fields.put(fm.getFieldName(), entity.get(name));
+            }
+        }
+
+        if (fields.isEmpty()) {
+            return dao.createCriteriaQuery(em).where(key).count() > 0 ? 1 : 0;
+        }
+        return dao.createCriteriaQuery(em).where(key).update(fields);
+    }
+
+    /**
+     * Returns the field names of the unique key in table.
+     *
+     * <p/>
+     * The name is the name of unique index, or the name of {@link leap.orm.annotation.Unique}.
+     *
+     * @throws IllegalArgumentException if the unique key not exists.
+     */
+    static String[] resolveUniqueKeyFields(EntityMapping em, String name) {
+        for (DbIndex index : em.getTable().getIndexes()) {
+            if (!index.isUnique()) {
+                continue;
+            }
+            if (index.getName().equalsIgnoreCase(name) || index.getName().equalsIgnoreCase("key_" + name)) {
+                String[] fields = new String[index.getColumnNames().length];
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = em.getFieldMappingByColumn(index.getColumnNames()[i]).getFieldName();
+                }
+                return fields;
+            }
+        }
+        throw new IllegalArgumentException("Unique key '" + name + "' not exists in entity '" + em.getEntityName() + "'");
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+/**
+ * A command to insert a new record of entity, or update the existing one if the key already exists.
+ *
+ * <p/>
+ * The existing record is detected by the primary key, or the unique key set by {@link #withUniqueKey(String)}.
+ */
+public interface UpsertCommand extends InsertCommand {
+
+    /**
+     * Detects the existing record by the given unique key(index) of table instead of the primary key.
+     */
+    UpsertCommand withUniqueKey(String name);
+
+    @Override
+    UpsertCommand withId(Object id);
+
+    @Override
+    UpsertCommand from(Object record);
+
+    /**
+     * Inserts or updates the record and returns the affected rows.
+     *
+     * <p/>
+     * The affected rows returned by db may be greater than 1 if the record was updated, such as mysql.
+     */
+    @Override
+    int execute();
+
+}
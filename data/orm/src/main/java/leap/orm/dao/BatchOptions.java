@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.dao;
+
+import leap.lang.Args;
+
+import java.util.function.Consumer;
+
+/**
+ * The options of the chunked batch insert and update, see {@link Dao#batchInsert(leap.orm.mapping.EntityMapping, Iterable, BatchOptions)}.
+ *
+ * <p/>
+ * The records are flushed to db in chunks, a chunk is flushed when the number of rows or the estimated bytes exceeds the limit.
+ */
+public class BatchOptions {
+
+    public static final int  DEFAULT_CHUNK_ROWS  = 1000;
+    public static final long DEFAULT_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    private int                     chunkRows      = DEFAULT_CHUNK_ROWS;
+    private long                    chunkBytes     = DEFAULT_CHUNK_BYTES;
+    private boolean                 multiRowValues = true;
+    private Consumer<BatchProgress> progress;
+
+    /**
+     * Returns the max number of rows in a chunk.
+     */
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public BatchOptions setChunkRows(int chunkRows) {
+        Args.assertTrue(chunkRows > 0, "The chunk rows must be positive");
+        this.chunkRows = chunkRows;
+        return this;
+    }
+
+    /**
+     * Returns the max estimated bytes of the values in a chunk, zero or negative means no limit.
+     */
+    public long getChunkBytes() {
+        return chunkBytes;
+    }
+
+    public BatchOptions setChunkBytes(long chunkBytes) {
+        this.chunkBytes = chunkBytes;
+        return this;
+    }
+
+    /**
+     * Returns true if the inserts will be rewritten to multi-row values if supported by db.
+     *
+     * <p/>
+     * Default is true.
+     */
+    public boolean isMultiRowValues() {
+        return multiRowValues;
+    }
+
+    public BatchOptions setMultiRowValues(boolean multiRowValues) {
+        this.multiRowValues = multiRowValues;
+        return this;
+    }
+
+    /**
+     * Returns the listener notified after each chunk flushed, may be null.
+     */
+    public Consumer<BatchProgress> getProgress() {
+        return progress;
+    }
+
+    public BatchOptions setProgress(Consumer<BatchProgress> progress) {
+        this.progress = progress;
+        return this;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.dao;
+
+/**
+ * The progress of a chunked batch after a chunk flushed.
+ */
+public final class BatchProgress {
+
+    private final int  chunk;
+    private final int  rows;
+    private final long bytes;
+    private final long affected;
+    private final long totalRows;
+    private final long durationMs;
+
+    public BatchProgress(int chunk, int rows, long bytes, long affected, long totalRows, long durationMs) {
+        this.chunk      = chunk;
+        this.rows       = rows;
+        this.bytes      = bytes;
+        this.affected   = affected;
+        this.totalRows  = totalRows;
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * Returns the 0-based index of the chunk.
+     */
+    public int getChunk() {
+        return chunk;
+    }
+
+    /**
+     * Returns the number of rows in the chunk.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the estimated bytes of the values in the chunk.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the affected rows of the chunk.
+     */
+    public long getAffected() {
+        return affected;
+    }
+
+    /**
+     * Returns the total number of rows flushed including this chunk.
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Returns the duration in milliseconds of flushing the chunk.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchProgress[chunk=" + chunk + ",rows=" + rows + ",totalRows=" + totalRows + ",durationMs=" + durationMs + "]";
+    }
+}
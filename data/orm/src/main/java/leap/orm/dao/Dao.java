@@ -45,6 +45,7 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Dao means Data Access Object.
@@ -324,6 +325,45 @@ public abstract class Dao implements JdbcExecutor {
      */
     public abstract int insert(EntityMapping em, Object entity, Object id);
 
+    //----------------------------upsert--------------------------------
+
+    /**
+     * Inserts a new entity, or updates the existing one if the primary key already exists.
+     *
+     * <p/>
+     * Executes the native upsert sql if supported by db, such as <code>on conflict do update</code> in postgresql.
+     *
+     * @return The affected row(s).
+     * @throws MappingNotFoundException if cannot resolve a {@link EntityMapping} from the given object.
+     */
+    public abstract int upsert(Object entity) throws MappingNotFoundException;
+
+    /**
+     * Inserts or updates the entity.
+     *
+     * @see #upsert(Object)
+     */
+    public int upsert(Class<?> entityClass, Object entity) throws MappingNotFoundException {
+        return upsert(getOrmContext().getMetadata().getEntityMapping(entityClass), entity, null);
+    }
+
+    /**
+     * Inserts or updates the entity.
+     *
+     * @see #upsert(Object)
+     */
+    public int upsert(String entityName, Object entity) throws MappingNotFoundException {
+        return upsert(getEntityMapping(entityName), entity, null);
+    }
+
+    /**
+     * Inserts a new entity, or updates the existing one if the given unique key already exists.
+     *
+     * <p/>
+     * Uses the primary key if the unique key is <code>null</code>.
+     */
+    public abstract int upsert(EntityMapping em, Object entity, String uniqueKey);
+
     //----------------------------update--------------------------------
 
     /**
@@ -1022,6 +1062,115 @@ public abstract class Dao implements JdbcExecutor {
      */
     public abstract int[] batchUpdate(EntityMapping em, Object[] records);
 
+    /**
+     * Batch inserts or updates all the records.
+     *
+     * @see #upsert(Object)
+     */
+    public abstract int[] batchUpsert(List<?> entities);
+
+    /**
+     * Batch inserts or updates all the records.
+     */
+    public int[] batchUpsert(Class<?> entityClass, List<?> records) {
+        return batchUpsert(getOrmContext().getMetadata().getEntityMapping(entityClass), records.toArray(), null);
+    }
+
+    /**
+     * Batch inserts or updates all the records.
+     */
+    public int[] batchUpsert(String entityName, List<?> records) {
+        return batchUpsert(getEntityMapping(entityName), records.toArray(), null);
+    }
+
+    /**
+     * Batch inserts or updates all the records, the existing records are detected by the given unique key.
+     *
+     * <p/>
+     * Uses the primary key if the unique key is <code>null</code>.
+     */
+    public abstract int[] batchUpsert(EntityMapping em, Object[] records, String uniqueKey);
+
+    /**
+     * Batch inserts the records in chunks, the records are iterated lazily and flushed to db every chunk.
+     *
+     * <p/>
+     * Each chunk is executed in its own transaction unless there is an active transaction.
+     *
+     * @return the total affected rows.
+     */
+    public abstract long batchInsert(EntityMapping em, Iterable<?> records, BatchOptions options);
+
+    /**
+     * Batch updates the records in chunks, the records are iterated lazily and flushed to db every chunk.
+     *
+     * @return the total affected rows.
+     *
+     * @see #batchInsert(EntityMapping, Iterable, BatchOptions)
+     */
+    public abstract long batchUpdate(EntityMapping em, Iterable<?> records, BatchOptions options);
+
+    /**
+     * @see #batchInsert(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchInsert(Class<?> entityClass, Iterable<?> records, BatchOptions options) {
+        return batchInsert(getOrmContext().getMetadata().getEntityMapping(entityClass), records, options);
+    }
+
+    /**
+     * @see #batchInsert(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchInsert(String entityName, Iterable<?> records, BatchOptions options) {
+        return batchInsert(getEntityMapping(entityName), records, options);
+    }
+
+    /**
+     * @see #batchInsert(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchInsert(Class<?> entityClass, Stream<?> records, BatchOptions options) {
+        return batchInsert(entityClass, iterable(records), options);
+    }
+
+    /**
+     * @see #batchInsert(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchInsert(String entityName, Stream<?> records, BatchOptions options) {
+        return batchInsert(entityName, iterable(records), options);
+    }
+
+    /**
+     * @see #batchUpdate(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchUpdate(Class<?> entityClass, Iterable<?> records, BatchOptions options) {
+        return batchUpdate(getOrmContext().getMetadata().getEntityMapping(entityClass), records, options);
+    }
+
+    /**
+     * @see #batchUpdate(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchUpdate(String entityName, Iterable<?> records, BatchOptions options) {
+        return batchUpdate(getEntityMapping(entityName), records, options);
+    }
+
+    /**
+     * @see #batchUpdate(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchUpdate(Class<?> entityClass, Stream<?> records, BatchOptions options) {
+        return batchUpdate(entityClass, iterable(records), options);
+    }
+
+    /**
+     * @see #batchUpdate(EntityMapping, Iterable, BatchOptions)
+     */
+    public long batchUpdate(String entityName, Stream<?> records, BatchOptions options) {
+        return batchUpdate(entityName, iterable(records), options);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<Object> iterable(Stream<?> records) {
+        return ((Stream<Object>) records)::iterator;
+    }
+
     /**
      * Batch deletes all the records which id in the given arrays of the given entity.
      */
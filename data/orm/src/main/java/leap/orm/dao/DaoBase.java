@@ -124,6 +124,11 @@ public abstract class DaoBase extends Dao implements PostCreateBean, PostInjectB
         return jdbcExecutor.executeBatchUpdate(sql, batchArgs, types, handler);
     }
 
+    @Override
+    public int[] executeBatchInsert(String sql, Object[][] batchArgs, int[] types) throws NestedSQLException {
+        return jdbcExecutor.executeBatchInsert(sql, batchArgs, types);
+    }
+
     @Override
     public <T> T executeQuery(String sql, ResultSetReader<T> reader) throws NestedSQLException {
         return jdbcExecutor.executeQuery(sql, reader);
@@ -161,6 +161,26 @@ public abstract class DaoWrapper extends Dao {
         return dao().insert(em, entity, id);
     }
 
+    @Override
+    public int upsert(Object entity) throws MappingNotFoundException {
+        return dao().upsert(entity);
+    }
+
+    @Override
+    public int upsert(EntityMapping em, Object entity, String uniqueKey) {
+        return dao().upsert(em, entity, uniqueKey);
+    }
+
+    @Override
+    public int[] batchUpsert(List<?> entities) {
+        return dao().batchUpsert(entities);
+    }
+
+    @Override
+    public int[] batchUpsert(EntityMapping em, Object[] records, String uniqueKey) {
+        return dao().batchUpsert(em, records, uniqueKey);
+    }
+
     @Override
     public int update(Object entity) throws MappingNotFoundException {
         return dao().update(entity);
@@ -616,6 +636,16 @@ public abstract class DaoWrapper extends Dao {
         return dao().batchInsert(em, records);
     }
 
+    @Override
+    public long batchInsert(EntityMapping em, Iterable<?> records, BatchOptions options) {
+        return dao().batchInsert(em, records, options);
+    }
+
+    @Override
+    public long batchUpdate(EntityMapping em, Iterable<?> records, BatchOptions options) {
+        return dao().batchUpdate(em, records, options);
+    }
+
     @Override
     public int[] batchUpdate(List<?> entities) {
         return dao().batchUpdate(entities);
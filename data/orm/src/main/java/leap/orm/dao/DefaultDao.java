@@ -36,6 +36,7 @@ import leap.orm.command.InsertCommand;
 import leap.orm.command.UpdateCommand;
 import leap.orm.enums.RemoteType;
 import leap.orm.mapping.EntityMapping;
+import leap.orm.mapping.FieldMapping;
 import leap.orm.mapping.MappingNotFoundException;
 import leap.orm.mapping.Mappings;
 import leap.orm.query.CriteriaQuery;
@@ -51,9 +52,12 @@ import leap.orm.value.Entity;
 import leap.orm.value.EntityBase;
 import leap.orm.value.EntityWrapper;
 
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -140,6 +144,21 @@ public class DefaultDao extends DaoBase implements PreInjectBean {
         });
     }
 
+    @Override
+    public int upsert(Object entity) {
+        Args.notNull(entity, "entity");
+        return upsert(emForObject(entity), entity, null);
+    }
+
+    @Override
+    public int upsert(EntityMapping em, Object entity, String uniqueKey) {
+        Args.notNull(entity, "entity");
+        return runInWrapperContext(em, (context) -> {
+            return commandFactory().newUpsertCommand(context.getDao(), context.getEntityMapping())
+                    .withUniqueKey(uniqueKey).from(entity).execute();
+        });
+    }
+
     @Override
     public int insert(String entityName, Object entity) {
         return insert(em(entityName), entity, null);
@@ -915,6 +934,27 @@ public class DefaultDao extends DaoBase implements PreInjectBean {
         return doBatchInsert(emForObject(entities.get(0)), entities.toArray());
     }
 
+    @Override
+    public int[] batchUpsert(List<?> entities) {
+        if (null == entities || entities.isEmpty()) {
+            return Arrays2.EMPTY_INT_ARRAY;
+        }
+        return batchUpsert(emForObject(entities.get(0)), entities.toArray(), null);
+    }
+
+    @Override
+    public int[] batchUpsert(EntityMapping em, Object[] records, String uniqueKey) {
+        Args.notNull(em, "entity mapping");
+
+        if (null == records || records.length == 0) {
+            return Arrays2.EMPTY_INT_ARRAY;
+        }
+        return runInWrapperContext(em, (context) -> {
+            return commandFactory().newBatchUpsertCommand(context.getDao(), context.getEntityMapping(), records)
+                    .withUniqueKey(uniqueKey).execute();
+        });
+    }
+
     @Override
     public int[] batchInsert(Object[] entities) {
         if (null == entities || entities.length == 0) {
@@ -1041,6 +1081,27 @@ public class DefaultDao extends DaoBase implements PreInjectBean {
         return doBatchUpdate(em, records);
     }
 
+    @Override
+    public long batchInsert(EntityMapping em, Iterable<?> records, BatchOptions options) {
+        Args.notNull(em, "entity mapping");
+        Args.notNull(records, "records");
+
+        final BatchOptions o = null == options ? new BatchOptions() : options;
+        return doBatchInChunks(em, records, o, chunk -> runInWrapperContext(em, (context) -> {
+            return commandFactory().newBatchInsertCommand(context.getDao(), context.getEntityMapping(), chunk)
+                                   .withMultiRowValues(o.isMultiRowValues())
+                                   .execute();
+        }));
+    }
+
+    @Override
+    public long batchUpdate(EntityMapping em, Iterable<?> records, BatchOptions options) {
+        Args.notNull(em, "entity mapping");
+        Args.notNull(records, "records");
+
+        return doBatchInChunks(em, records, null == options ? new BatchOptions() : options, chunk -> doBatchUpdate(em, chunk));
+    }
+
     @Override
     public int[] batchDelete(String entityName, List<?> ids) {
         if (null == ids || ids.size() == 0) {
@@ -1107,6 +1168,98 @@ public class DefaultDao extends DaoBase implements PreInjectBean {
         });
     }
 
+    protected long doBatchInChunks(EntityMapping em, Iterable<?> records, BatchOptions options, Function<Object[], int[]> executor) {
+        final int                     maxRows  = options.getChunkRows();
+        final long                    maxBytes = options.getChunkBytes();
+        final Consumer<BatchProgress> progress = options.getProgress();
+
+        List<Object> chunk      = new ArrayList<>(Math.min(maxRows, 1024));
+        long         chunkBytes = 0;
+        int          chunkIndex = 0;
+        long         totalRows  = 0;
+        long         affected   = 0;
+
+        for (Object record : records) {
+            chunk.add(record);
+            if (maxBytes > 0) {
+                chunkBytes += estimateBytes(em, record);
+            }
+
+            if (chunk.size() >= maxRows || (maxBytes > 0 && chunkBytes >= maxBytes)) {
+                long start = System.currentTimeMillis();
+                long count = affectedRows(executeChunk(executor, chunk.toArray()));
+
+                totalRows += chunk.size();
+                affected  += count;
+                if (null != progress) {
+                    progress.accept(new BatchProgress(chunkIndex, chunk.size(), chunkBytes, count, totalRows, System.currentTimeMillis() - start));
+                }
+
+                chunk.clear();
+                chunkBytes = 0;
+                chunkIndex++;
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            long start = System.currentTimeMillis();
+            long count = affectedRows(executeChunk(executor, chunk.toArray()));
+
+            totalRows += chunk.size();
+            affected  += count;
+            if (null != progress) {
+                progress.accept(new BatchProgress(chunkIndex, chunk.size(), chunkBytes, count, totalRows, System.currentTimeMillis() - start));
+            }
+        }
+
+        return affected;
+    }
+
+    /**
+     * Executes the chunk in a new transaction, or in the active transaction if exists.
+     */
+    protected int[] executeChunk(Function<Object[], int[]> executor, Object[] chunk) {
+        return doTransaction((s) -> {
+            return executor.apply(chunk);
+        });
+    }
+
+    /**
+     * Returns the estimated bytes of the field values in the record.
+     */
+    protected long estimateBytes(EntityMapping em, Object record) {
+        EntityWrapper wrapper = EntityWrapper.wrap(getOrmContext(), em, record);
+
+        long bytes = 0;
+        for (FieldMapping fm : em.getFieldMappings()) {
+            Object v = wrapper.get(fm.getFieldName());
+            if (null == v) {
+                bytes += 1;
+            } else if (v instanceof CharSequence) {
+                bytes += ((CharSequence) v).length();
+            } else if (v instanceof byte[]) {
+                bytes += ((byte[]) v).length;
+            } else if (v instanceof Number || v instanceof Boolean || v instanceof Date) {
+                bytes += 8;
+            } else {
+                bytes += 16;
+            }
+        }
+        return bytes;
+    }
+
+    private static long affectedRows(int[] result) {
+        long count = 0;
+        for (int r : result) {
+            if (r > 0) {
+                count += r;
+            } else if (r == Statement.SUCCESS_NO_INFO) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     protected int[] doBatchDelete(EntityMapping em, Object[] ids) {
         return runInWrapperContext(em, (context) -> {
             return commandFactory().newBatchDeleteCommand(context.getDao(), context.getEntityMapping(), ids).execute();
@@ -27,6 +27,7 @@ import leap.orm.OrmConfig;
 import leap.orm.OrmContext;
 import leap.orm.OrmMetadata;
 import leap.orm.OrmRegistry;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.command.CommandFactory;
 import leap.orm.dao.Dao;
 import leap.orm.dao.DefaultDao;
@@ -66,6 +67,7 @@ public class DefaultDynaOrmFactory implements DynaOrmFactory {
     protected @Inject RowReader          rowReader;
     protected @Inject EntityValidator    entityValidator;
     protected @Inject EntityEventHandler eventHandler;
+    protected @Inject EntityCacheManager cacheManager;
 
     @Override
     public DynaOrmContext createDynaContext(DataSource ds) {
@@ -105,6 +107,7 @@ public class DefaultDynaOrmFactory implements DynaOrmFactory {
         context.setRowReader(rowReader);
         context.setEntityValidator(entityValidator);
         context.setEventHandler(eventHandler);
+        context.setCacheManager(cacheManager);
 
         Dao dao = bf.inject(new DefaultDao(context));
         context.setDao(dao);
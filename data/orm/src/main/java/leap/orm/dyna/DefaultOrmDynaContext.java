@@ -20,6 +20,7 @@ import leap.core.AppContext;
 import leap.db.Db;
 import leap.orm.OrmConfig;
 import leap.orm.OrmMetadata;
+import leap.orm.cache.EntityCacheManager;
 import leap.orm.command.CommandFactory;
 import leap.orm.dao.Dao;
 import leap.orm.dmo.Dmo;
@@ -60,6 +61,7 @@ public class DefaultOrmDynaContext implements DynaOrmContext {
     protected RowReader          rowReader;
     protected EntityValidator    entityValidator;
     protected EntityEventHandler eventHandler;
+    protected EntityCacheManager cacheManager;
 
     public DefaultOrmDynaContext(String name, Db db, OrmMetadata md) {
         this.name     = name;
@@ -175,6 +177,11 @@ public class DefaultOrmDynaContext implements DynaOrmContext {
         return eventHandler;
     }
 
+    @Override
+    public EntityCacheManager getEntityCacheManager() {
+        return cacheManager;
+    }
+
     public void setAppContext(AppContext appContext) {
         this.appContext = appContext;
     }
@@ -238,4 +245,8 @@ public class DefaultOrmDynaContext implements DynaOrmContext {
     public void setEventHandler(EntityEventHandler eventHandler) {
         this.eventHandler = eventHandler;
     }
+
+    public void setCacheManager(EntityCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
 }
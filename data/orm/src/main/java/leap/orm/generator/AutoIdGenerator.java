@@ -17,6 +17,8 @@ package leap.orm.generator;
 
 import java.sql.Types;
 
+import leap.core.annotation.ConfigProperty;
+import leap.core.annotation.Configurable;
 import leap.core.annotation.Inject;
 import leap.core.validation.annotations.NotNull;
 import leap.db.Db;
@@ -30,14 +32,21 @@ import leap.orm.mapping.FieldMappingBuilder;
 import leap.orm.mapping.SequenceMappingBuilder;
 import leap.orm.metadata.MetadataContext;
 
+@Configurable(prefix="orm.autoid")
 public class AutoIdGenerator implements IdGenerator {
 	
 	private static final Log log = LogFactory.get(AutoIdGenerator.class);
+
+	public static final int    DEFAULT_BLOCK_SIZE     = 50;
+	public static final String DEFAULT_SEQUENCE_TABLE = "leap_sequences";
 	
 	protected @NotNull ValueGenerator uuidGenerator;
 	
 	protected int uuidLength = 38;
 	protected int minUuidLength = 36;
+
+	protected int    blockSize     = 0;
+	protected String sequenceTable = DEFAULT_SEQUENCE_TABLE;
 	
 	@Inject(name="uuid")
 	public void setUuidGenerator(ValueGenerator uuidGenerator) {
@@ -48,6 +57,29 @@ public class AutoIdGenerator implements IdGenerator {
 		this.uuidLength = uuidLength;
 	}
 
+	/**
+	 * Sets the default number of ids reserved from sequence at once, zero disables the pooled allocation.
+	 *
+	 * <p/>
+	 * Can be overridden by {@link Sequence#blockSize()} of the id field.
+	 *
+	 * <p/>
+	 * Not applied to the databases supports auto increment, the identity columns are changed to pooled ids
+	 * only by {@link Sequence#blockSize()}.
+	 */
+	@ConfigProperty
+	public void setBlockSize(int blockSize) {
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Sets the name of table used as sequences by the databases not supports sequence.
+	 */
+	@ConfigProperty
+	public void setSequenceTable(String sequenceTable) {
+		this.sequenceTable = sequenceTable;
+	}
+
     @Override
     public Integer getDefaultColumnLength() {
         return uuidLength;
@@ -62,14 +94,19 @@ public class AutoIdGenerator implements IdGenerator {
 		
 		//smallint, integer or big integer type for sequence , identity or table generator 
 		if(isIntegerType(fmb)){
-			
-			if(db.getDialect().supportsAutoIncrement()){
+			//the identity columns are changed to pooled ids only if the block size is specified by the field.
+			int blockSize = db.getDialect().supportsAutoIncrement() ? getFieldBlockSize(fmb) : getBlockSize(fmb);
+
+			if(blockSize > 0 && db.getDialect().supportsSequence()){
+				mappingPooledSequence(context, emb, fmb, blockSize);
+			}else if(blockSize > 0){
+				mappingTableSequence(context, emb, fmb, blockSize);
+			}else if(db.getDialect().supportsAutoIncrement()){
 				mappingAutoIncrement(context, emb, fmb);
 			}else if(db.getDialect().supportsSequence()){
 				mappingSequence(context, emb, fmb);
 			}else{
-				//TODO : table sequence generator
-				throw new IllegalStateException("db '" + db.getDescription() + "' not supports identity and sequence, can not use autoid");
+				mappingTableSequence(context, emb, fmb, DEFAULT_BLOCK_SIZE);
 			}
 			
 			return ;
@@ -100,11 +137,7 @@ public class AutoIdGenerator implements IdGenerator {
 		
 		fmb.setSequenceName(seq.getName());
 		
-		if(null == context.getMetadata().tryGetSequenceMapping(seq.getName())){
-			context.getMetadata().addSequenceMapping(seq.build());
-		}else{
-			log.info("Sequence '{}' already exists, skip adding it into the metadata",seq.getName());
-		}
+		addSequenceMapping(context, seq);
 		
 		emb.setInsertInterceptor(context1 -> {
             if(!context1.isReturnGeneratedId()){
@@ -116,6 +149,69 @@ public class AutoIdGenerator implements IdGenerator {
         });
 	}
 	
+	/**
+	 * Reserves the blocks of ids from the sequence, the increment of sequence is the block size.
+	 */
+	public void mappingPooledSequence(MetadataContext context, EntityMappingBuilder emb, FieldMappingBuilder fmb, int blockSize){
+		SequenceMappingBuilder seq = new SequenceMappingBuilder();
+
+		setSequenceProperties(context, emb, fmb, seq);
+
+		Integer increment = seq.getSequence().getIncrement();
+		if(null != increment && increment != blockSize) {
+			throw new IllegalStateException("The increment of sequence '" + seq.getName() + "' must be the block size " + blockSize);
+		}
+		seq.setIncrement(blockSize);
+
+		addSequenceMapping(context, seq);
+
+		SequenceIdBlockSource source = new SequenceIdBlockSource(context.getDb(), seq.getName(), blockSize,
+																 emb.getTableName(), fmb.getColumn().getName());
+
+		fmb.setInsertValue(new PooledIdGenerator(source, fmb.getJavaType()));
+	}
+
+	/**
+	 * Reserves the blocks of ids from the sequence table.
+	 */
+	public void mappingTableSequence(MetadataContext context, EntityMappingBuilder emb, FieldMappingBuilder fmb, int blockSize){
+		SequenceMappingBuilder seq = new SequenceMappingBuilder();
+
+		setSequenceProperties(context, emb, fmb, seq);
+
+		Long start = seq.getSequence().getStart();
+
+		TableIdBlockSource source =
+				new TableIdBlockSource(context.getDb(), sequenceTable, seq.getName(), blockSize, null == start ? 1 : start,
+									   emb.getTableName(), fmb.getColumn().getName());
+
+		fmb.setInsertValue(new PooledIdGenerator(source, fmb.getJavaType()));
+	}
+
+	protected void addSequenceMapping(MetadataContext context, SequenceMappingBuilder seq) {
+		if(null == context.getMetadata().tryGetSequenceMapping(seq.getName())){
+			context.getMetadata().addSequenceMapping(seq.build());
+		}else{
+			log.info("Sequence '{}' already exists, skip adding it into the metadata",seq.getName());
+		}
+	}
+
+	protected int getBlockSize(FieldMappingBuilder fmb) {
+		Sequence a = fmb.getBeanProperty() != null ? fmb.getBeanProperty().getAnnotation(Sequence.class) : null;
+		if(null != a && a.blockSize() != Integer.MIN_VALUE){
+			return a.blockSize();
+		}
+		return blockSize;
+	}
+
+	/**
+	 * Returns the block size specified by {@link Sequence#blockSize()} of the field, or zero if not specified.
+	 */
+	protected int getFieldBlockSize(FieldMappingBuilder fmb) {
+		Sequence a = fmb.getBeanProperty() != null ? fmb.getBeanProperty().getAnnotation(Sequence.class) : null;
+		return null != a && a.blockSize() != Integer.MIN_VALUE ? a.blockSize() : 0;
+	}
+	
 	protected void mappingUUID(MetadataContext context, EntityMappingBuilder emb, FieldMappingBuilder fmb){
 		fmb.setInsertValue(uuidGenerator);
 		int length = fmb.getColumn().getLength() == null? uuidLength : fmb.getColumn().getLength();
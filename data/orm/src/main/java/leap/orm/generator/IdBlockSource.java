@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+/**
+ * The source of the id blocks used by {@link PooledIdGenerator}.
+ */
+public interface IdBlockSource {
+
+    /**
+     * Returns the number of ids in a block.
+     */
+    int getBlockSize();
+
+    /**
+     * Reserves a new block and returns the first id of it.
+     *
+     * <p/>
+     * The ids from the returned value (inclusive) to the returned value plus block size (exclusive) are reserved.
+     */
+    long reserve();
+
+}
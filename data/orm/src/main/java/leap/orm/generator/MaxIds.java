@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.db.Db;
+import leap.lang.Strings;
+
+/**
+ * Queries the max id of a table, the ids reserved from a new sequence must be greater than it.
+ */
+final class MaxIds {
+
+    /**
+     * Returns the max value of the id column, or <code>null</code> if the table is empty or not given.
+     */
+    static Long query(Db db, String table, String column) {
+        if(Strings.isEmpty(table) || Strings.isEmpty(column) || !db.checkTableExists(table)) {
+            return null;
+        }
+        return db.queryForScalar(Long.class, "select max(" + db.getDialect().quoteIdentifier(column) + ") from " +
+                                             db.getDialect().quoteIdentifier(table));
+    }
+
+    private MaxIds() {
+
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.lang.Args;
+import leap.lang.convert.Converts;
+import leap.lang.expression.AbstractExpression;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the ids from the blocks reserved by {@link IdBlockSource}.
+ *
+ * <p/>
+ * The ids of the current block are allocated by an atomic counter without locking,
+ * the lock is only used for reserving a new block after the current block was used up.
+ */
+public class PooledIdGenerator extends AbstractExpression implements BatchValueGenerator {
+
+    protected final IdBlockSource source;
+    protected final Class<?>      type;
+
+    private volatile Block block = new Block(0, 0);
+
+    public PooledIdGenerator(IdBlockSource source) {
+        this(source, null);
+    }
+
+    /**
+     * @param type the java type of the generated ids, returns long values if null.
+     */
+    public PooledIdGenerator(IdBlockSource source, Class<?> type) {
+        Args.notNull(source, "id block source");
+        this.source = source;
+        this.type   = null == type || type == Long.class || type == Long.TYPE ? null : type;
+    }
+
+    public IdBlockSource getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the next id.
+     */
+    public long next() {
+        for(;;) {
+            Block b = this.block;
+
+            long id = b.next.getAndIncrement();
+            if(id < b.end) {
+                return id;
+            }
+
+            reserve(b);
+        }
+    }
+
+    /**
+     * Returns the given number of ids, the ids may not be continuous if they are allocated from more than one block.
+     */
+    public long[] next(int count) {
+        long[] ids = new long[count];
+
+        int i = 0;
+        while(i < count) {
+            Block b = this.block;
+
+            long first = b.next.getAndAdd(count - i);
+            if(first < b.end) {
+                long last = Math.min(first + count - i, b.end);
+                for(long id = first; id < last; id++) {
+                    ids[i++] = id;
+                }
+            }else{
+                reserve(b);
+            }
+        }
+
+        return ids;
+    }
+
+    @Override
+    public Object[] generate(int count) {
+        long[]   ids    = next(count);
+        Object[] values = new Object[count];
+        for(int i=0;i<count;i++) {
+            values[i] = convert(ids[i]);
+        }
+        return values;
+    }
+
+    @Override
+    protected Object eval(Object context, Map<String, Object> vars) {
+        return convert(next());
+    }
+
+    protected Object convert(long id) {
+        return null == type ? id : Converts.convert(id, type);
+    }
+
+    private synchronized void reserve(Block used) {
+        if(this.block == used) {
+            long first = source.reserve();
+            this.block = new Block(first, first + source.getBlockSize());
+        }
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long       end;
+
+        Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end  = end;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.db.Db;
+import leap.db.model.DbSequence;
+import leap.lang.Args;
+
+/**
+ * Reserves the id blocks from a database sequence, the increment of the sequence must be the block size.
+ *
+ * <p/>
+ * The increment of the existing sequence and the first reserved value are checked before the first block is used,
+ * so a sequence created for another allocation (such as increment 1) can not generate duplicated ids.
+ */
+public class SequenceIdBlockSource implements IdBlockSource {
+
+    protected final Db     db;
+    protected final String sequenceName;
+    protected final int    blockSize;
+    protected final String sql;
+    protected final String idTable;
+    protected final String idColumn;
+
+    private volatile boolean checked;
+
+    public SequenceIdBlockSource(Db db, String sequenceName, int blockSize) {
+        this(db, sequenceName, blockSize, null, null);
+    }
+
+    /**
+     * @param idTable  the table of the ids, the first reserved value must be greater than the max id in it.
+     * @param idColumn the id column of the table.
+     */
+    public SequenceIdBlockSource(Db db, String sequenceName, int blockSize, String idTable, String idColumn) {
+        Args.notNull(db, "db");
+        Args.notEmpty(sequenceName, "sequence name");
+        Args.assertTrue(blockSize > 0, "The block size must be positive");
+
+        this.db           = db;
+        this.sequenceName = sequenceName;
+        this.blockSize    = blockSize;
+        this.sql          = db.getDialect().getSelectNextSequenceValueSql(sequenceName);
+        this.idTable      = idTable;
+        this.idColumn     = idColumn;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public long reserve() {
+        if(!checked) {
+            return checkAndReserve();
+        }
+        return nextValue();
+    }
+
+    protected synchronized long checkAndReserve() {
+        if(checked) {
+            return nextValue();
+        }
+
+        DbSequence sequence = db.getMetadata().getSchema().findSequence(sequenceName);
+        if(null != sequence && null != sequence.getIncrement() && sequence.getIncrement() != blockSize) {
+            throw new IllegalStateException("The increment of sequence '" + sequenceName + "' is " +
+                                            sequence.getIncrement() + ", must be the block size " + blockSize);
+        }
+
+        long value = nextValue();
+
+        Long max = MaxIds.query(db, idTable, idColumn);
+        if(null != max && value <= max) {
+            throw new IllegalStateException("The value " + value + " of sequence '" + sequenceName +
+                                            "' is not greater than the max id " + max + " of table '" + idTable +
+                                            "', restart the sequence with a greater value");
+        }
+
+        checked = true;
+        return value;
+    }
+
+    protected long nextValue() {
+        Long value = db.queryForScalar(Long.class, sql);
+        if(null == value) {
+            throw new IllegalStateException("No value returned by sequence '" + sequenceName + "'");
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.db.Db;
+import leap.db.model.DbColumnBuilder;
+import leap.db.model.DbTableBuilder;
+import leap.lang.Args;
+import leap.lang.exception.NestedSQLException;
+import leap.lang.jdbc.JDBC;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reserves the id blocks from a sequence table, for the databases which not supports sequence.
+ *
+ * <p/>
+ * Each row of the table holds the next value of a named sequence. A block is reserved by a conditional update
+ * in an independent connection, so the reserved blocks will not be rolled back with the current transaction.
+ *
+ * <p/>
+ * The row of a new sequence starts from the value greater than the max id of the table, if the table is given.
+ */
+public class TableIdBlockSource implements IdBlockSource {
+
+    private static final Log log = LogFactory.get(TableIdBlockSource.class);
+
+    public static final String NAME_COLUMN  = "seq_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    protected static final int MAX_TRIES = 100;
+
+    protected final Db     db;
+    protected final String tableName;
+    protected final String sequenceName;
+    protected final int    blockSize;
+    protected final long   start;
+    protected final String idTable;
+    protected final String idColumn;
+
+    private volatile boolean tableChecked;
+
+    public TableIdBlockSource(Db db, String tableName, String sequenceName, int blockSize) {
+        this(db, tableName, sequenceName, blockSize, 1);
+    }
+
+    public TableIdBlockSource(Db db, String tableName, String sequenceName, int blockSize, long start) {
+        this(db, tableName, sequenceName, blockSize, start, null, null);
+    }
+
+    /**
+     * @param idTable  the table of the ids, the new sequence starts from the value greater than the max id in it.
+     * @param idColumn the id column of the table.
+     */
+    public TableIdBlockSource(Db db, String tableName, String sequenceName, int blockSize, long start,
+                              String idTable, String idColumn) {
+        Args.notNull(db, "db");
+        Args.notEmpty(tableName, "table name");
+        Args.notEmpty(sequenceName, "sequence name");
+        Args.assertTrue(blockSize > 0, "The block size must be positive");
+
+        this.db           = db;
+        this.tableName    = tableName;
+        this.sequenceName = sequenceName;
+        this.blockSize    = blockSize;
+        this.start        = start;
+        this.idTable      = idTable;
+        this.idColumn     = idColumn;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public long reserve() {
+        if(!tableChecked) {
+            checkTable();
+        }
+
+        final String selectSql = "select " + VALUE_COLUMN + " from " + tableName + " where " + NAME_COLUMN + " = ?";
+        final String updateSql = "update " + tableName + " set " + VALUE_COLUMN + " = ? where " +
+                                 NAME_COLUMN + " = ? and " + VALUE_COLUMN + " = ?";
+        final String insertSql = "insert into " + tableName + "(" + NAME_COLUMN + "," + VALUE_COLUMN + ") values(?,?)";
+
+        Connection conn = null;
+        try {
+            conn = db.getDataSource().getConnection();
+
+            boolean autoCommit = conn.getAutoCommit();
+            if(!autoCommit) {
+                conn.setAutoCommit(true);
+            }
+
+            try {
+                for(int i=0;i<MAX_TRIES;i++) {
+                    Long value = db.queryForScalar(Long.class, conn, selectSql, new Object[]{sequenceName});
+
+                    if(null == value) {
+                        Long max   = MaxIds.query(db, idTable, idColumn);
+                        long first = null == max ? start : Math.max(start, max + 1);
+                        try {
+                            db.executeUpdate(conn, insertSql, new Object[]{sequenceName, first + blockSize});
+                            return first;
+                        }catch (NestedSQLException e) {
+                            //the row may be inserted by others at the same time.
+                            log.debug("Insert sequence '{}' failed, try again : {}", sequenceName, e.getMessage());
+                            continue;
+                        }
+                    }
+
+                    if(db.executeUpdate(conn, updateSql, new Object[]{value + blockSize, sequenceName, value}) == 1) {
+                        return value;
+                    }
+                }
+            }finally {
+                if(!autoCommit) {
+                    conn.setAutoCommit(false);
+                }
+            }
+        }catch (SQLException e) {
+            throw new NestedSQLException(e);
+        }finally {
+            JDBC.closeConnection(conn);
+        }
+
+        throw new IllegalStateException("Can't reserve ids of sequence '" + sequenceName + "' from table '" +
+                                        tableName + "' after " + MAX_TRIES + " tries");
+    }
+
+    protected synchronized void checkTable() {
+        if(tableChecked) {
+            return;
+        }
+
+        if(!db.checkTableExists(tableName)) {
+            log.info("Create sequence table '{}'", tableName);
+
+            DbTableBuilder table = new DbTableBuilder(tableName);
+            table.addPrimaryKey(DbColumnBuilder.varchar(NAME_COLUMN, 100));
+            table.addColumn(DbColumnBuilder.bigint(VALUE_COLUMN).notNull());
+
+            db.cmdCreateTable(table.build()).execute();
+
+            //the table may be created by others at the same time.
+            if(!db.checkTableExists(tableName)) {
+                throw new IllegalStateException("Can't create the sequence table '" + tableName + "'");
+            }
+        }
+
+        tableChecked = true;
+    }
+}
@@ -93,6 +93,11 @@ public class DefaultJdbcExecutor implements JdbcExecutor {
 	    return db.executeBatchUpdate(sql,batchArgs,types,handler);
     }
 
+	@Override
+	public int[] executeBatchInsert(String sql, Object[][] batchArgs, int[] types) throws NestedSQLException {
+		return db.executeBatchInsert(sql, batchArgs, types);
+	}
+
 	@Override
     public <T> T executeQuery(String sql, ResultSetReader<T> reader) throws NestedSQLException {
 	    return db.executeQuery(sql, reader);
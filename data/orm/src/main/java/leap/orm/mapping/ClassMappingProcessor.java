@@ -75,6 +75,7 @@ public class ClassMappingProcessor extends MappingProcessorAdapter implements Ma
 			mappingEntityByAnnotation(context, emb, sourceClass.getAnnotation(Table.class));
             mappingEntityByAnnotation(context, emb, sourceClass.getAnnotation(AutoCreateTable.class));
             mappingEntityByAnnotation(context, emb, sourceClass.getAnnotation(AutoGenerateColumns.class));
+            mappingEntityByAnnotation(context, emb, sourceClass.getAnnotation(Cacheable.class));
             mappingListenerByAnnotations(context, emb, sourceClass.getDeclaredAnnotationsByType(Entity.Listener.class));
 			mappingManyToOneByClassAnnotation(context, emb, sourceClass.getDeclaredAnnotationsByType(ManyToOne.class));
 			mappingManyToManyByClassAnnotation(context, emb, sourceClass.getDeclaredAnnotationsByType(ManyToMany.class));
@@ -289,6 +290,12 @@ public class ClassMappingProcessor extends MappingProcessorAdapter implements Ma
         }
     }
 
+    protected void mappingEntityByAnnotation(MetadataContext context, EntityMappingBuilder emb, Cacheable a){
+        if(null != a){
+            emb.setCacheable(a.value());
+        }
+    }
+
     protected void mappingEntityByAnnotation(MetadataContext context, EntityMappingBuilder emb, AutoGenerateColumns a){
         if(null != a){
             emb.setAutoGenerateColumns(a.value());
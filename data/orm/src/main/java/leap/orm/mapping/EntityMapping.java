@@ -155,6 +155,7 @@ public class EntityMapping extends ExtensibleBase {
     protected final RelationMapping[]   relationMappings;
     protected final RelationProperty[]  relationProperties;
     protected final boolean             autoCreateTable;
+    protected final boolean             cacheable;
     protected final boolean             selfReferencing;
     protected final RelationMapping[]   selfReferencingRelations;
     protected final EntityListeners     listeners;
@@ -193,7 +194,7 @@ public class EntityMapping extends ExtensibleBase {
                          List<EntityValidator> validators,
                          List<RelationMapping> relationMappings,
                          RelationProperty[] relationProperties,
-                         boolean autoCreateTable, QueryConfig queryConfig, boolean queryFilterEnabled, boolean autoValidate,
+                         boolean autoCreateTable, boolean cacheable, QueryConfig queryConfig, boolean queryFilterEnabled, boolean autoValidate,
                          boolean dynamicEnabled, Dynamic dynamic,
                          boolean logical, boolean remote, RemoteSettings remoteSettings, UnionSettings unionSettings,
                          Map<String, String> groupByExprs, Map<String, String> selectExprs, Map<String, String> orderByExprs,
@@ -257,6 +258,7 @@ public class EntityMapping extends ExtensibleBase {
         this.autoIncrementKeyField = autoIncrementKey ? keyFieldMappings[0] : null;
         this.optimisticLockField = findOptimisticLockField();
         this.autoCreateTable = autoCreateTable;
+        this.cacheable = cacheable;
         this.queryConfig = queryConfig;
         this.queryFilterEnabled = queryFilterEnabled;
         this.autoValidate = autoValidate;
@@ -602,6 +604,13 @@ public class EntityMapping extends ExtensibleBase {
         return autoCreateTable;
     }
 
+    /**
+     * Returns true if the second-level cache is enabled by the entity.
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
     /**
      * Returns the query config.
      */
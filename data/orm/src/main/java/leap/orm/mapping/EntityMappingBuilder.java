@@ -51,6 +51,7 @@ public class EntityMappingBuilder extends ExtensibleBase implements Buildable<En
     protected boolean             idDeclared;
     protected boolean             autoCreateTable;
     protected boolean             autoGenerateColumns;
+    protected boolean             cacheable;
     protected QueryConfig         queryConfig;
     protected Boolean             queryFilterEnabled;
     protected boolean             autoValidate;
@@ -234,6 +235,15 @@ public class EntityMappingBuilder extends ExtensibleBase implements Buildable<En
         return this;
     }
 
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public EntityMappingBuilder setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+        return this;
+    }
+
     public boolean isAutoGenerateColumns() {
         return autoGenerateColumns;
     }
@@ -744,7 +754,7 @@ public class EntityMappingBuilder extends ExtensibleBase implements Buildable<En
                             insertInterceptor, updateInterceptor, deleteInterceptor, findInterceptor,
                             modelClass, validators, builtData.getRelations(),
                             Builders.buildArray(relationProperties, new RelationProperty[0]),
-                            autoCreateTable, queryConfig, queryFilterEnabled == null ? false : queryFilterEnabled, autoValidate,
+                            autoCreateTable, cacheable, queryConfig, queryFilterEnabled == null ? false : queryFilterEnabled, autoValidate,
                             dynamicEnabled, dynamic, logical, remote, remoteSettings, unionSettings,
                             groupByExprs, selectExprs, orderByExprs, filtersExprs, aggregatesExprs,
                             listeners.build());
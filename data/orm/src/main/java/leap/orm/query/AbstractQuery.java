@@ -33,11 +33,16 @@ import leap.orm.dao.Dao;
 import leap.orm.event.EntityEventHandler;
 import leap.orm.event.LoadEntityEventImpl;
 import leap.orm.mapping.EntityMapping;
+import leap.orm.reader.ResultSetReaders;
 import leap.orm.sql.Sql;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public abstract class AbstractQuery<T> implements Query<T>, QueryContext {
 
@@ -264,6 +269,35 @@ public abstract class AbstractQuery<T> implements Query<T>, QueryContext {
         return executeQuery(this, reader);
     }
 
+    @Override
+    public Stream<T> stream(int fetchSize) {
+        Args.assertTrue(fetchSize > 0, "The fetch size must be positive");
+        return executeStream(this, fetchSize);
+    }
+
+    @Override
+    public void forEach(int batchSize, Consumer<List<T>> consumer) {
+        Args.assertTrue(batchSize > 0, "The batch size must be positive");
+        Args.notNull(consumer, "consumer");
+
+        try (Stream<T> stream = executeStream(this, batchSize)) {
+            Iterator<T> it    = stream.iterator();
+            List<T>     batch = new ArrayList<>(batchSize);
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == batchSize) {
+                    handleLoadEvents(batch);
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                handleLoadEvents(batch);
+                consumer.accept(batch);
+            }
+        }
+    }
+
     protected QueryResult<T> executeResult(Limit limit) {
         QueryResult result = null == limit ? executeQuery(this) : executeQuery(new LimitQueryContext(limit));
 
@@ -273,15 +307,19 @@ public abstract class AbstractQuery<T> implements Query<T>, QueryContext {
     }
 
     protected void handleLoadEvents(QueryResult result) {
+        handleLoadEvents(result.list());
+    }
+
+    protected void handleLoadEvents(List list) {
         if (null == em || !eventHandler.isHandleLoadEvent(context, em)) {
             return;
         }
 
         boolean isFind = null != id;
-        if (isFind && result.isEmpty()) {
+        if (isFind && list.isEmpty()) {
             return;
         }
-        LoadEntityEventImpl event = new LoadEntityEventImpl(this, em, result.list(), null != id);
+        LoadEntityEventImpl event = new LoadEntityEventImpl(this, em, list, null != id);
         eventHandler.postLoadEntityNoTrans(context, em, event);
     }
 
@@ -316,6 +354,16 @@ public abstract class AbstractQuery<T> implements Query<T>, QueryContext {
 
     protected abstract <R> R executeQuery(QueryContext context, ResultSetReader<R> reader);
 
+    /**
+     * Executes the query in cursor mode, the rows are mapped by the {@link leap.orm.mapping.ResultSetMapping} of primary entity.
+     */
+    protected Stream<T> executeStream(QueryContext qc, int fetchSize) {
+        if (null == em) {
+            throw new IllegalStateException("Cursor mode requires the entity mapping of query, cannot stream '" + targetType.getName() + "'");
+        }
+        return executeQuery(qc, ResultSetReaders.forStreamEntity(context, qc, em, targetType, fetchSize));
+    }
+
     protected abstract Scalar executeQueryForScalar(QueryContext context) throws TooManyRecordsException;
 
     protected abstract Scalars executeQueryForScalars(QueryContext context) throws TooManyRecordsException;
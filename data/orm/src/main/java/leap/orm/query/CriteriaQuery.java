@@ -31,6 +31,7 @@ import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 
 public interface CriteriaQuery<T> extends Query<T> {
@@ -523,6 +524,17 @@ public interface CriteriaQuery<T> extends Query<T> {
      */
     CriteriaQuery<T> forUpdate();
 
+    /**
+     * Caches the query results in the query cache of orm context.
+     *
+     * <p/>
+     * The cached results are invalidated after the tables of the entity or the joined entities changed by orm.
+     *
+     * <p/>
+     * Does nothing if the query cache is not enabled.
+     */
+    CriteriaQuery<T> cacheable();
+
     /**
      * Sets the order by expression in descending order of createdAt column.
      */
@@ -551,6 +563,39 @@ public interface CriteriaQuery<T> extends Query<T> {
         return lastUpdated().limit(limit);
     }
 
+    /**
+     * Executes the query with keyset (seek) pagination and returns the page after the given cursor.
+     *
+     * <p/>
+     * The pages are ordered by the order by expression (or the primary key if no order by), the next page is seeked by
+     * the ordering values of the last row if the ordering is unique (contains all the primary key fields, and all the
+     * other fields are not nullable), otherwise it falls back to read by offset.
+     *
+     * <p/>
+     * This method changes the where and limit of this query, so the query can not be reused.
+     *
+     * @param cursor the cursor returned by {@link KeysetResult#getNextCursor()}, <code>null</code> or empty for the first page.
+     * @param size the max size of the page.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    KeysetResult<T> keysetResult(String cursor, int size) throws IllegalArgumentException;
+
+    /**
+     * Prepares the count(*) statement of this query and returns a supplier to execute it.
+     *
+     * <p/>
+     * The supplier returned by the default implementation calls {@link #count()} of this query when executed,
+     * so the query must not be changed or executed concurrently until then.
+     *
+     * <p/>
+     * The implementations which build the statement up front return a supplier which does not share any state with this query,
+     * so it can be executed in another thread while this query is fetching the records.
+     */
+    default Supplier<Long> prepareCount() {
+        return this::count;
+    }
+
     /**
      * Executes query and use the given {@link leap.orm.reader.RecordSetReader} to read the result.
      */
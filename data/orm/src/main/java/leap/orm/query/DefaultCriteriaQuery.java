@@ -22,17 +22,23 @@ import leap.core.value.Scalars;
 import leap.db.DbDialect;
 import leap.db.support.JsonColumnSupport;
 import leap.lang.*;
+import leap.lang.accessor.Getter;
+import leap.lang.beans.BeanProperty;
+import leap.lang.beans.BeanType;
 import leap.lang.beans.DynaBean;
+import leap.lang.convert.Converts;
 import leap.lang.params.ArrayParams;
 import leap.lang.params.MapArrayParams;
 import leap.lang.params.Params;
 import leap.lang.value.Limit;
 import leap.orm.OrmContext;
+import leap.orm.cache.QueryCache;
 import leap.orm.dao.Dao;
 import leap.orm.mapping.*;
 import leap.orm.reader.RecordSetReader;
 import leap.orm.reader.Result2RecordSetReader;
 import leap.orm.reader.ResultSetReaders;
+import leap.orm.sql.DefaultSqlStatement;
 import leap.orm.sql.SqlClause;
 import leap.orm.sql.SqlFactory;
 import leap.orm.sql.SqlStatement;
@@ -46,10 +52,14 @@ import java.util.Map.Entry;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements CriteriaQuery<T>, QueryContext {
 
+    private static final Pattern KEYSET_ORDER_ITEM = Pattern.compile("^(?:(\\w+)\\.)?(\\w+)(?:\\s+(asc|desc))?$", Pattern.CASE_INSENSITIVE);
+
     protected SqlBuilder               builder;
     protected String                   sqlView;
     protected List<JoinBuilder>        joins = new ArrayList<>(1);
@@ -64,6 +74,7 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
     protected String                   groupBy;
     protected String                   having;
     protected Function<String, String> sqlWrapper;
+    protected boolean                  cacheable;
 
     public DefaultCriteriaQuery(Dao dao, EntityMapping em, Class<T> targetType) {
         super(dao, targetType, em);
@@ -838,6 +849,12 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
         return (CriteriaQuery<T>) super.forUpdate();
     }
 
+    @Override
+    public CriteriaQuery<T> cacheable() {
+        this.cacheable = true;
+        return this;
+    }
+
     @Override
     public long count() {
         String       sql       = builder.buildCountSql();
@@ -845,8 +862,23 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
         return statement.executeQuery(ResultSetReaders.forScalarValue(Long.class, false));
     }
 
+    @Override
+    public Supplier<Long> prepareCount() {
+        String       sql       = builder.buildCountSql();
+        SqlStatement statement = createQueryStatement(new LimitQueryContext(null), sql, true);
+        return () -> statement.executeQuery(ResultSetReaders.forScalarValue(Long.class, false));
+    }
+
     @Override
     public int delete() {
+        int result = doDelete();
+
+        context.getEntityCacheManager().evictAll(context, em);
+
+        return result;
+    }
+
+    protected int doDelete() {
         if (em.hasSecondaryTable()) {
             String secondarySql = builder.buildSecondaryDeleteSql(true);
             String primarySql   = builder.buildSecondaryDeleteSql(false);
@@ -864,6 +896,15 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
     public int update(Map<String, Object> fields) {
         Args.notEmpty(fields, "update fields");
 
+        int result = doUpdate(fields);
+
+        context.getEntityCacheManager().evictAll(context, em);
+
+        return result;
+    }
+
+    protected int doUpdate(Map<String, Object> fields) {
+
         if (em.hasSecondaryTable()) {
             Map<String, Object> params = paramsMap();
 
@@ -907,7 +948,53 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
 
         ResultSetReader<List<T>> reader = ResultSetReaders.forListEntity(dao.getOrmContext(), qc, em, targetType, targetType);
 
-        return new DefaultQueryResult<T>(sql, statement.executeQuery(reader));
+        QueryCache     cache = cacheable && !forUpdate ? context.getEntityCacheManager().getQueryCache(context) : null;
+        QueryCache.Key key  = null;
+        if (null != cache && cache.isSupported(targetType) && statement instanceof DefaultSqlStatement) {
+            String[] tables = resolveCacheTables();
+            if (null != tables && !context.getEntityCacheManager().isChangedInTransaction(context, tables)) {
+                key = cache.key(sql, ((DefaultSqlStatement) statement).getArgs(), targetType, tables);
+
+                List<T> list = cache.get(context, em, key, targetType);
+                if (null != list) {
+                    return new DefaultQueryResult<T>(sql, list);
+                }
+            }
+        }
+
+        List<T> list = statement.executeQuery(reader);
+        if (null != key) {
+            cache.put(context, em, key, list);
+        }
+        return new DefaultQueryResult<T>(sql, list);
+    }
+
+    /**
+     * Returns the tables read by this query, returns <code>null</code> if the tables can't be resolved.
+     */
+    protected String[] resolveCacheTables() {
+        if (null != sqlView) {
+            return null;
+        }
+
+        List<String> tables = new ArrayList<>();
+        tables.add(em.getTableName());
+        if (em.hasSecondaryTable()) {
+            tables.add(em.getSecondaryTableName());
+        }
+
+        for (JoinBuilder join : joins) {
+            if (!(join instanceof RelationJoinImpl) || null != ((RelationJoinImpl) join).union) {
+                return null;
+            }
+            EntityMapping target = ((RelationJoinImpl) join).target;
+            tables.add(target.getTableName());
+            if (target.hasSecondaryTable()) {
+                tables.add(target.getSecondaryTableName());
+            }
+        }
+
+        return tables.toArray(new String[tables.size()]);
     }
 
     @Override
@@ -915,6 +1002,150 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
         return executeQuery(this, new Result2RecordSetReader<>(this, em, reader));
     }
 
+    @Override
+    public KeysetResult<T> keysetResult(String cursor, int size) throws IllegalArgumentException {
+        Args.assertTrue(size > 0, "The size must be positive");
+
+        if (Strings.isEmpty(orderBy)) {
+            orderByIdAsc();
+        }
+
+        final KeysetCursor current = Strings.isEmpty(cursor) ? null : KeysetCursor.decode(cursor, orderBy);
+        final KeysetItem[] items   = resolveKeysetItems();
+        final int          offset  = null == current ? 0 : current.getOffset();
+
+        List<T> list;
+        if (null != current && null != current.getValues()) {
+            if (null == items || items.length != current.getValues().length) {
+                throw new IllegalArgumentException("The cursor does not match the order by '" + orderBy + "'");
+            }
+            whereAnd(buildKeysetWhere(items), buildKeysetArgs(items, current.getValues()));
+            list = limit(1, size + 1).list();
+        } else {
+            list = limit(offset + 1, offset + size + 1).list();
+        }
+
+        String  next   = null;
+        boolean keyset = null != items;
+        if (list.size() > size) {
+            list = new ArrayList<>(list.subList(0, size));
+
+            Object[] values = keyset ? readKeysetValues(items, list.get(size - 1)) : null;
+            if (null == values) {
+                //The ordering values are not selected, the next page is read by offset.
+                keyset = false;
+            }
+            next = new KeysetCursor(offset + size, values, orderBy).encode();
+        }
+
+        return new DefaultKeysetResult<>(list, next, keyset);
+    }
+
+    /**
+     * Returns the resolved order by items if the ordering is unique and can be seeked by the values of last row,
+     * returns <code>null</code> if the query must be paged by offset.
+     */
+    protected KeysetItem[] resolveKeysetItems() {
+        if (null != sqlView || params() instanceof Params || em.getKeyFieldNames().length == 0) {
+            return null;
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (String name : em.getKeyFieldNames()) {
+            keys.add(name.toLowerCase());
+        }
+
+        String[]     parts = Strings.split(orderBy, ',');
+        KeysetItem[] items = new KeysetItem[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Matcher m = KEYSET_ORDER_ITEM.matcher(parts[i].trim());
+            if (!m.matches()) {
+                return null;
+            }
+
+            String alias = m.group(1);
+            if (null != alias && !alias.equalsIgnoreCase(builder.alias)) {
+                return null;
+            }
+
+            FieldMapping fm = em.tryGetFieldMapping(m.group(2));
+            if (null == fm) {
+                fm = em.tryGetFieldMappingByColumn(m.group(2));
+            }
+
+            //the rows with null values can't be seeked by comparison.
+            if (null == fm || fm.isSecondary() || (fm.isNullable() && !fm.isPrimaryKey())) {
+                return null;
+            }
+
+            keys.remove(fm.getFieldName().toLowerCase());
+            items[i] = new KeysetItem(fm, "desc".equalsIgnoreCase(m.group(3)));
+        }
+
+        return keys.isEmpty() ? items : null;
+    }
+
+    /**
+     * (c1 > ?) or (c1 = ? and c2 > ?) or ...
+     */
+    protected String buildKeysetWhere(KeysetItem[] items) {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < items.length; i++) {
+            if (i > 0) {
+                s.append(" or ");
+            }
+            s.append('(');
+            for (int j = 0; j < i; j++) {
+                s.append(builder.alias).append('.').append(items[j].field.getColumnName()).append(" = ? and ");
+            }
+            s.append(builder.alias).append('.').append(items[i].field.getColumnName())
+                    .append(items[i].desc ? " < ?" : " > ?");
+            s.append(')');
+        }
+        return s.toString();
+    }
+
+    protected Object[] buildKeysetArgs(KeysetItem[] items, Object[] values) {
+        Object[] converted = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            converted[i] = Converts.convert(values[i], items[i].field.getJavaType());
+        }
+
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                args.add(converted[j]);
+            }
+        }
+        return args.toArray();
+    }
+
+    /**
+     * Returns the ordering values of the row, returns <code>null</code> if any value is null (not selected).
+     */
+    protected Object[] readKeysetValues(KeysetItem[] items, Object row) {
+        Object[] values = new Object[items.length];
+        for (int i = 0; i < items.length; i++) {
+            String name = items[i].field.getFieldName();
+
+            Object v;
+            if (row instanceof Map) {
+                v = ((Map) row).get(name);
+            } else if (row instanceof Getter) {
+                v = ((Getter) row).get(name);
+            } else {
+                BeanProperty bp = BeanType.of(row.getClass()).tryGetProperty(name, true);
+                v = null == bp ? null : bp.getValue(row);
+            }
+
+            if (null == v) {
+                return null;
+            }
+            values[i] = v;
+        }
+        return values;
+    }
+
     @Override
     protected <R> R executeQuery(QueryContext context, ResultSetReader<R> reader) {
         String       sql       = builder.buildSelectSql();
@@ -1027,6 +1258,16 @@ public class DefaultCriteriaQuery<T> extends AbstractQuery<T> implements Criteri
         return null == fm ? field : fm.getColumnName();
     }
 
+    protected static final class KeysetItem {
+        protected final FieldMapping field;
+        protected final boolean      desc;
+
+        protected KeysetItem(FieldMapping field, boolean desc) {
+            this.field = field;
+            this.desc  = desc;
+        }
+    }
+
     protected static class RelationJoinImpl implements RelationJoin, JoinBuilder {
         final RelationJoin                     joined;
         final RelationMapping                  relation;
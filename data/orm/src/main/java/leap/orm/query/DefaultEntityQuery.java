@@ -28,6 +28,7 @@ import leap.orm.sql.SqlClause;
 import leap.orm.sql.SqlCommand;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public class DefaultEntityQuery<T> extends AbstractQuery<T> implements EntityQuery<T> {
 
@@ -66,6 +67,11 @@ public class DefaultEntityQuery<T> extends AbstractQuery<T> implements EntityQue
 		return command.executeQuery(context, params(), reader);
 	}
 
+	@Override
+	protected Stream<T> executeStream(QueryContext qc, int fetchSize) {
+		return executeQuery(qc, ResultSetReaders.forStreamEntity(dao.getOrmContext(), qc, em, resultClass, fetchSize));
+	}
+
 	@Override
     protected Scalar executeQueryForScalar(QueryContext context) throws TooManyRecordsException {
 	    return command.executeQuery(context, params(), ResultSetReaders.forScalar(context.getOrmContext()));
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.query;
+
+import java.util.List;
+
+public class DefaultKeysetResult<T> implements KeysetResult<T> {
+
+    protected final List<T> list;
+    protected final String  nextCursor;
+    protected final boolean keyset;
+
+    public DefaultKeysetResult(List<T> list, String nextCursor, boolean keyset) {
+        this.list       = list;
+        this.nextCursor = nextCursor;
+        this.keyset     = keyset;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public List<T> list() {
+        return list;
+    }
+
+    @Override
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean isKeyset() {
+        return keyset;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.query;
+
+import leap.lang.Strings;
+import leap.lang.codec.Base64;
+import leap.lang.json.JSON;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The opaque cursor of {@link KeysetResult}.
+ *
+ * <p/>
+ * The token is the base64url encoded json of the offset, the ordering values of the last row (if keyset)
+ * and the hash of the order by expression, so a cursor can not be used with another ordering.
+ */
+public class KeysetCursor {
+
+    private final int      offset;
+    private final Object[] values;
+    private final int      hash;
+
+    public KeysetCursor(int offset, Object[] values, String orderBy) {
+        this(offset, values, orderBy.hashCode());
+    }
+
+    protected KeysetCursor(int offset, Object[] values, int hash) {
+        this.offset = offset;
+        this.values = values;
+        this.hash   = hash;
+    }
+
+    /**
+     * Decodes the cursor token.
+     *
+     * @throws IllegalArgumentException if the token is invalid or not created by the given order by expression.
+     */
+    public static KeysetCursor decode(String token, String orderBy) throws IllegalArgumentException {
+        Map<String, Object> map;
+        try {
+            map = JSON.decode(Strings.newStringUtf8(Base64.urlDecodeToBytes(Strings.getBytesUtf8(token))));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + token + "'", e);
+        }
+
+        Object o = map.get("o");
+        Object h = map.get("h");
+        Object k = map.get("k");
+        if (!(o instanceof Number) || !(h instanceof Number) || (null != k && !(k instanceof List))) {
+            throw new IllegalArgumentException("Invalid cursor '" + token + "'");
+        }
+
+        if (((Number) h).intValue() != orderBy.hashCode()) {
+            throw new IllegalArgumentException("The cursor does not match the order by '" + orderBy + "'");
+        }
+
+        return new KeysetCursor(((Number) o).intValue(), null == k ? null : ((List) k).toArray(), orderBy);
+    }
+
+    /**
+     * Returns the number of records read before the cursor.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the ordering values of the last row read, or <code>null</code> if the next page must be read by offset.
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * Encodes the cursor to an url safe token.
+     */
+    public String encode() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("o", offset);
+        map.put("h", hash);
+        if (null != values) {
+            Object[] encoded = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                Object v = values[i];
+                encoded[i] = v instanceof Date ? ((Date) v).getTime() : v;
+            }
+            map.put("k", encoded);
+        }
+        return Base64.urlEncode(JSON.encode(map));
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.query;
+
+import leap.lang.Emptiable;
+
+import java.util.List;
+
+/**
+ * The result of a keyset (seek) pagination query.
+ *
+ * @see CriteriaQuery#keysetResult(String, int)
+ */
+public interface KeysetResult<T> extends Emptiable {
+
+    /**
+     * Returns the size of result records.
+     */
+    int size();
+
+    /**
+     * Returns the records.
+     */
+    List<T> list();
+
+    /**
+     * Returns the opaque cursor for reading the next page, returns <code>null</code> if no more records.
+     */
+    String getNextCursor();
+
+    /**
+     * Returns true if there are more records after this page.
+     */
+    default boolean hasNext() {
+        return null != getNextCursor();
+    }
+
+    /**
+     * Returns true if the ordering is unique and the next page is seeked by the key values of ordering.
+     *
+     * <p/>
+     * Returns false if the next page is read by offset, i.e. the ordering is not unique or the ordering values are not selected.
+     */
+    boolean isKeyset();
+
+}
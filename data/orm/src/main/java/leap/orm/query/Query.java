@@ -24,10 +24,18 @@ import leap.lang.value.Limit;
 import leap.lang.value.Page;
 import leap.orm.model.Model;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface Query<T> extends QueryBase<T> {
 
+    /**
+     * The default number of rows fetched from database at one time in cursor mode.
+     */
+    int DEFAULT_FETCH_SIZE = 500;
+
     /**
      * Returns the {@link QueryValidator}.
      */
@@ -165,6 +173,45 @@ public interface Query<T> extends QueryBase<T> {
      */
     <R> R executeQuery(ResultSetReader<R> reader);
 
+    /**
+     * Executes this query in cursor mode and returns a lazy {@link Stream} of the rows.
+     *
+     * @see #stream(int)
+     */
+    default Stream<T> stream() {
+        return stream(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Executes this query in cursor mode and returns a lazy {@link Stream} of the rows.
+     *
+     * <p>
+     * The rows are fetched from database by the given fetch size and mapped when iterating to them.
+     *
+     * <p>
+     * The underlying connection is held until the stream closed, so the stream must be closed after reading,
+     * i.e. <code>try(Stream&lt;T&gt; s = query.stream()) { ... }</code>.
+     *
+     * <p>
+     * If executed in a transaction, the stream uses the connection of the transaction and must be read and closed before
+     * the transaction completes, closing it after that does not release the connection again.
+     *
+     * <p>
+     * The load entity events are not fired for the streaming rows, use {@link #forEach(int, Consumer)} if required.
+     */
+    Stream<T> stream(int fetchSize);
+
+    /**
+     * Reads all the rows in cursor mode, the consumer accepts at most the given batch size of rows each time.
+     *
+     * <p>
+     * Unlike {@link #stream(int)}, the load entity events are fired for each batch before the consumer accepts it.
+     *
+     * <p>
+     * The underlying connection is released after all the rows consumed.
+     */
+    void forEach(int batchSize, Consumer<List<T>> consumer);
+
     /**
      * Executes a count(*) query and returns the total count of records.
      */
@@ -24,6 +24,7 @@ import leap.lang.beans.BeanProperty;
 import leap.lang.beans.BeanType;
 import leap.lang.beans.DynaProps;
 import leap.lang.convert.Converts;
+import leap.lang.exception.NestedSQLException;
 import leap.lang.jdbc.JdbcTypes;
 import leap.lang.json.JSON;
 import leap.lang.logging.Log;
@@ -40,9 +41,11 @@ import leap.orm.value.EntityBase;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultEntityReader implements EntityReader {
@@ -94,6 +97,11 @@ public class DefaultEntityReader implements EntityReader {
 		
 		return list;
     }
+
+	@Override
+	public <T> Iterator<T> readIterator(OrmContext context, SqlContext sqlContext, ResultSet rs, EntityMapping em, Class<? extends T> resultClass) {
+		return new RowIterator<>(context, sqlContext, rs, em, resultClass);
+	}
 	
 	@SuppressWarnings("unchecked")
     protected <T> T readCurrentRow(OrmContext context, ResultSet rs,ResultSetMapping rsm,Class<T> resultClass) throws SQLException {
@@ -363,4 +371,52 @@ public class DefaultEntityReader implements EntityReader {
 		mappings.put(columnName, Null.VALUE);
 		return null;
 	}
+
+	protected class RowIterator<T> implements Iterator<T> {
+
+		private final OrmContext         context;
+		private final SqlContext         sqlContext;
+		private final ResultSet          rs;
+		private final EntityMapping      em;
+		private final Class<? extends T> resultClass;
+
+		private ResultSetMapping rsm;
+		private Boolean          hasNext;
+
+		public RowIterator(OrmContext context, SqlContext sqlContext, ResultSet rs, EntityMapping em, Class<? extends T> resultClass) {
+			this.context     = context;
+			this.sqlContext  = sqlContext;
+			this.rs          = rs;
+			this.em          = em;
+			this.resultClass = resultClass;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(null == hasNext) {
+				try {
+					hasNext = rs.next();
+					if(hasNext && null == rsm) {
+						rsm = createResultSetMapping(context, sqlContext, rs, em);
+					}
+				} catch (SQLException e) {
+					throw new NestedSQLException(e);
+				}
+			}
+			return hasNext;
+		}
+
+		@Override
+		public T next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			hasNext = null;
+			try {
+				return readCurrentRow(context, rs, rsm, resultClass);
+			} catch (SQLException e) {
+				throw new NestedSQLException(e);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ package leap.orm.reader;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
 
 import leap.core.exception.TooManyRecordsException;
@@ -32,5 +33,10 @@ public interface EntityReader {
 	<T> T readSingle(OrmContext context, SqlContext sqlContext, ResultSet rs, EntityMapping em, Class<T> resultClass) throws SQLException, TooManyRecordsException;
 	
 	<T> List<T> readList(OrmContext context, SqlContext sqlContext, ResultSet rs,EntityMapping em,Class<T> elementType, Class<? extends T> resultClass) throws SQLException;
+
+	/**
+	 * Returns an {@link Iterator} reads the rows of the result set lazily, one row is read when iterating to it.
+	 */
+	<T> Iterator<T> readIterator(OrmContext context, SqlContext sqlContext, ResultSet rs, EntityMapping em, Class<? extends T> resultClass);
 	
 }
\ No newline at end of file
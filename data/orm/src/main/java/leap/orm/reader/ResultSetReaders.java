@@ -18,6 +18,7 @@ package leap.orm.reader;
 import leap.core.exception.EmptyRecordsException;
 import leap.core.exception.TooManyRecordsException;
 import leap.core.jdbc.RawScalarReader;
+import leap.core.jdbc.ResultSetCursorReader;
 import leap.core.jdbc.ResultSetReader;
 import leap.core.value.Scalar;
 import leap.core.value.Scalars;
@@ -27,7 +28,13 @@ import leap.orm.sql.SqlCommand;
 import leap.orm.sql.SqlContext;
 import leap.orm.sql.SqlResultSetReader;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ResultSetReaders {
 
@@ -65,6 +72,28 @@ public class ResultSetReaders {
         return rs -> context.getEntityReader().readList(context, sqlContext, rs, em, elementType, resultClass);
     }
 
+    /**
+     * Returns a reader reads the rows lazily as a {@link Stream} in cursor mode, the stream must be closed after reading.
+     */
+    public static <T> ResultSetCursorReader<Stream<T>> forStreamEntity(final OrmContext context, final SqlContext sqlContext, final EntityMapping em,
+                                                                       final Class<? extends T> resultClass, final int fetchSize) {
+        return new ResultSetCursorReader<Stream<T>>() {
+            @Override
+            public int getFetchSize() {
+                return fetchSize;
+            }
+
+            @Override
+            public Stream<T> read(ResultSet rs, Runnable closer) throws SQLException {
+                Spliterator<T> spliterator =
+                        Spliterators.spliteratorUnknownSize(context.getEntityReader().readIterator(context, sqlContext, rs, em, resultClass),
+                                                            Spliterator.ORDERED | Spliterator.NONNULL);
+
+                return StreamSupport.stream(spliterator, false).onClose(closer);
+            }
+        };
+    }
+
     public static <T> SqlResultSetReader<T> forFirstRow(final OrmContext context, final Class<T> resultClass, final SqlCommand command) {
         return (c, rs) -> context.getRowReader().readFirst(c, rs, resultClass, command);
     }
@@ -25,4 +25,13 @@ public interface BatchSqlStatement {
 	
 	int[] executeBatchUpdate(BatchPreparedStatementHandler<Db> handler) throws NestedSQLException;
 
+	/**
+	 * Executes the batch as insert, the insert may be rewritten to multi-row values if supported by db.
+	 *
+	 * @see leap.core.jdbc.JdbcExecutor#executeBatchInsert(String, Object[][], int[])
+	 */
+	default int[] executeBatchInsert() throws NestedSQLException {
+		return executeBatchUpdate();
+	}
+
 }
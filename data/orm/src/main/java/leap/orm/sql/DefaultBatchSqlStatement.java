@@ -57,4 +57,20 @@ public class DefaultBatchSqlStatement implements BatchSqlStatement {
         });
         return Arrays2.toIntArray(results);
     }
+
+    @Override
+    public int[] executeBatchInsert() throws NestedSQLException {
+        List<Integer> results = new ArrayList<>();
+        context.getOrmContext().getDao().doTransaction(t -> {
+            for (String sqlString : sqlParamMap.keySet()) {
+
+                Object[][] params = sqlParamMap.get(sqlString);
+
+                int[] result = context.getJdbcExecutor().executeBatchInsert(sqlString, params, null);
+
+                results.addAll(Arrays.stream(result).boxed().collect(Collectors.toList()));
+            }
+        });
+        return Arrays2.toIntArray(results);
+    }
 }
@@ -127,4 +127,16 @@ public class DefaultSqlCommand extends AbstractSqlCommand {
 		}
 	}
 
+	@Override
+	public int[] executeBatchInsert(SqlContext context, Object[] batchParams) throws IllegalStateException, NestedSQLException {
+		log.debug("Executing sql batch insert: '{}'", desc());
+		mustPrepare(context);
+
+		if(clauses.length == 1){
+			return clauses[0].createBatchStatement(context, batchParams).executeBatchInsert();
+		}else{
+			throw new IllegalStateException("Two or more sql statements in a sql command not supported now");
+		}
+	}
+
 }
\ No newline at end of file
@@ -44,6 +44,9 @@ public class DefaultSqlFactory implements SqlFactory {
     @Inject("jdbc")
     protected SqlLanguage jdbcSqlLanguage;
 
+    //The max number of cached insert or update commands of the different field sets per entity.
+    protected int fieldsCommandCacheSize = 64;
+
     @Override
     public SqlCommand createSqlCommand(MetadataContext context, String sql) {
         return createCommand(context, null, null, sql);
@@ -65,7 +68,9 @@ public class DefaultSqlFactory implements SqlFactory {
         if (null == fields || fields.length == 0) {
             return createInsertCommand(context, em, secondary);
         } else {
-            return createCommand(context, em, null, getInsertSql(context, em, fields, secondary));
+            return FieldsSqlCommands.of(em, fieldsCommandCacheSize)
+                    .get(context, secondary ? FieldsSqlCommands.INSERT_SECONDARY : FieldsSqlCommands.INSERT, fields,
+                            () -> createCommand(context, em, null, getInsertSql(context, em, fields, secondary)));
         }
     }
 
@@ -80,8 +85,11 @@ public class DefaultSqlFactory implements SqlFactory {
             return createUpdateCommand(context, em, secondary);
         }
 
-        String sql = getUpdateSql(context, em, fields, secondary);
-        return null == sql ? null : createCommand(context, em, null, sql);
+        return FieldsSqlCommands.of(em, fieldsCommandCacheSize)
+                .get(context, secondary ? FieldsSqlCommands.UPDATE_SECONDARY : FieldsSqlCommands.UPDATE, fields, () -> {
+                    String sql = getUpdateSql(context, em, fields, secondary);
+                    return null == sql ? null : createCommand(context, em, null, sql);
+                });
     }
 
     @Override
@@ -119,6 +127,17 @@ public class DefaultSqlFactory implements SqlFactory {
         return createCommand(context, em, null, getFindAllSql(context, em));
     }
 
+    @Override
+    public SqlCommand createUpsertCommand(MetadataContext context, EntityMapping em, String[] fields, String[] keyFields) {
+        if (null == keyFields) {
+            return FieldsSqlCommands.of(em, fieldsCommandCacheSize)
+                    .get(context, FieldsSqlCommands.UPSERT, fields,
+                            () -> createCommand(context, em, null, getUpsertSql(context, em, fields, null)));
+        } else {
+            return createCommand(context, em, null, getUpsertSql(context, em, fields, keyFields));
+        }
+    }
+
     protected SqlCommand createCommand(MetadataContext context, @Nullable EntityMapping em, String source, String sql) {
         return createCommand(context, em, source, sql, defaultSqlLanguage);
     }
@@ -241,6 +260,92 @@ public class DefaultSqlFactory implements SqlFactory {
         return sql.toString();
     }
 
+    protected String getUpsertSql(MetadataContext context, EntityMapping em, String[] fields, String[] keyFields) {
+        DbDialect dialect = context.getDb().getDialect();
+        if (!dialect.supportsUpsert()) {
+            throw new IllegalStateException("Upsert not supported by db '" + context.getDb().getDescription() + "'");
+        }
+        if (em.hasSecondaryTable()) {
+            throw new IllegalStateException("Upsert not supported by entity '" + em.getEntityName() + "' with secondary table");
+        }
+        return getUpsertSql(dialect, em, fields, keyFields);
+    }
+
+    protected String getUpsertSql(DbDialect dialect, EntityMapping em, String[] fields, String[] keyFields) {
+        if (null == keyFields) {
+            keyFields = em.getKeyFieldNames();
+        }
+
+        final List<String>       columns  = new ArrayList<>();
+        final List<String>       values   = new ArrayList<>();
+        final List<String>       updates  = new ArrayList<>();
+        final List<FieldMapping> embedded = new ArrayList<>();
+
+        for (FieldMapping fm : em.getFieldMappings()) {
+            if (!fm.isInsert()) {
+                continue;
+            }
+
+            if (fm.isEmbedded()) {
+                embedded.add(fm);
+                continue;
+            }
+
+            final boolean supplied = Arrays2.containsIgnoreCase(fields, fm.getFieldName());
+            if (!supplied && !fm.isAutoGenerateValue()) {
+                continue;
+            }
+
+            String column = dialect.quoteIdentifier(fm.getColumnName());
+            columns.add(column);
+
+            //the next value of sequence is used only if the value is not supplied.
+            if (!supplied && !Strings.isEmpty(fm.getSequenceName())) {
+                values.add(dialect.getNextSequenceValueSqlString(fm.getSequenceName()));
+                continue;
+            }
+            values.add("#" + fm.getFieldName() + "#");
+
+            //the optimistic lock field is not updated, upsert do not check it.
+            if (fm.isUpdate() && !fm.isPrimaryKey() && !fm.isOptimisticLock() &&
+                    !Arrays2.containsIgnoreCase(keyFields, fm.getFieldName())) {
+                updates.add(column);
+            }
+        }
+
+        if (!embedded.isEmpty()) {
+            final String   column = em.getEmbeddingColumn().getName();
+            final String[] names  = embedded.stream().map(f -> f.getFieldName()).toArray(String[]::new);
+
+            final JsonColumnSupport jcs = dialect.getJsonColumnSupport();
+            if (null != jcs) {
+                jcs.applyInsertExpr(column, names, (n) -> "#" + n + "#", (item, val) -> {
+                    columns.add(item);
+                    values.add(val);
+                    updates.add(item);
+                });
+            } else {
+                columns.add(column);
+                values.add("#" + column + "#");
+                updates.add(column);
+            }
+        }
+
+        String[] keyColumns = new String[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            keyColumns[i] = dialect.quoteIdentifier(em.getFieldMapping(keyFields[i]).getColumnName());
+            if (!Arrays2.containsIgnoreCase(fields, keyFields[i])) {
+                throw new IllegalStateException("The key field '" + keyFields[i] + "' must be supplied for upsert");
+            }
+        }
+
+        return dialect.getUpsertSql(dialect.qualifySchemaObjectName(em.getTable()),
+                columns.toArray(Arrays2.EMPTY_STRING_ARRAY),
+                values.toArray(Arrays2.EMPTY_STRING_ARRAY),
+                keyColumns,
+                updates.toArray(Arrays2.EMPTY_STRING_ARRAY));
+    }
+
     protected void parseFieldInsertSql(StringBuilder sql, StringBuilder values, FieldMapping fm, MetadataContext context) {
         DbDialect dialect = context.getDb().getDialect();
 
@@ -102,6 +102,11 @@ public class DefaultSqlStatement implements SqlStatement,BatchSqlStatement,SqlEx
 	    return context.getJdbcExecutor().executeBatchUpdate(sqlString, batchArgs, argTypes, psHandler);
     }
 
+	@Override
+	public int[] executeBatchInsert() throws NestedSQLException {
+		return context.getJdbcExecutor().executeBatchInsert(sqlString, batchArgs, argTypes);
+	}
+
 	@Override
     public <T> T executeQuery(ResultSetReader<T> reader) throws NestedSQLException {
         context.setQuerySql(sql);
@@ -119,4 +124,8 @@ public class DefaultSqlStatement implements SqlStatement,BatchSqlStatement,SqlEx
     public String getSqlString() {
 	    return this.sqlString;
     }
+
+    public Object[] getArgs() {
+        return this.args;
+    }
 }
\ No newline at end of file
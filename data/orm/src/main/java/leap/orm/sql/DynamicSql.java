@@ -19,6 +19,17 @@ package leap.orm.sql;
 import leap.lang.Try;
 import leap.lang.params.Params;
 import leap.orm.metadata.MetadataContext;
+import leap.orm.sql.ast.AstNode;
+import leap.orm.sql.ast.AstNodeContainer;
+import leap.orm.sql.ast.DynamicClause;
+import leap.orm.sql.ast.ExprParamReplacement;
+import leap.orm.sql.ast.ParamReplacement;
+import leap.orm.sql.ast.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DynamicSql {
 
@@ -27,6 +38,7 @@ public class DynamicSql {
     private final Sql                 sql;
     private final ExecutionSqls       sqls;
     private final SqlLanguage.Options options;
+    private final ExecutionPlans      plans;
 
     public DynamicSql(DynamicSqlLanguage lang, MetadataContext context, Sql sql, SqlLanguage.Options options) {
         this.lang = lang;
@@ -35,9 +47,11 @@ public class DynamicSql {
         this.options = options;
 
         if(!sql.isDynamic()) {
-            sqls = lang.parseExecutionSqls(context, sql.toSql(), options);
+            sqls  = lang.parseExecutionSqls(context, sql.toSql(), options);
+            plans = null;
         }else{
-            sqls = null;
+            sqls  = null;
+            plans = lang.getExecutionPlans(sql);
         }
     }
 
@@ -58,6 +72,21 @@ public class DynamicSql {
             return sqls;
         }
 
+        if(!plans.isEnabled()) {
+            return resolveDynamicExecutionSqls(sc, params);
+        }
+
+        Long shape = plans.shapeOf(params);
+
+        ExecutionSqls plan = plans.get(shape);
+        if(null == plan) {
+            plan = resolveDynamicExecutionSqls(sc, params);
+            plans.put(shape, plan);
+        }
+        return plan;
+    }
+
+    protected ExecutionSqls resolveDynamicExecutionSqls(SqlContext sc, Params params) {
         return Try.throwUncheckedWithResult(() -> {
             String text = sql.resolveDynamicSql(sc, params);
 
@@ -87,4 +116,76 @@ public class DynamicSql {
         }
     }
 
+    /**
+     * The cached {@link ExecutionSqls} of a dynamic {@link Sql}, keyed by the shape (a bitset) of the active dynamic clauses.
+     *
+     * <p/>
+     * The resolved sql text of a dynamic sql is decided by the active clauses only if it does not contain replacement
+     * parameters or tags, so the executions with the same shape reuse the same {@link ExecutionSqls}
+     * without building and parsing the text again.
+     */
+    static final class ExecutionPlans {
+
+        //The max number of cached shapes of a dynamic sql.
+        private static final int MAX_PLANS = 64;
+
+        private final DynamicClause[]          clauses;
+        private final Map<Long, ExecutionSqls> plans;
+
+        ExecutionPlans(Sql sql) {
+            List<DynamicClause> list = new ArrayList<>();
+            if(collectClauses(sql.nodes(), list) && list.size() <= Long.SIZE) {
+                this.clauses = list.toArray(new DynamicClause[list.size()]);
+                this.plans   = new ConcurrentHashMap<>();
+            }else{
+                this.clauses = null;
+                this.plans   = null;
+            }
+        }
+
+        /**
+         * Returns false if the sql text can't be decided by the active clauses.
+         */
+        boolean isEnabled() {
+            return null != clauses;
+        }
+
+        Long shapeOf(Params params) {
+            long shape = 0;
+            for(int i=0;i<clauses.length;i++) {
+                if(clauses[i].test(params)) {
+                    shape |= 1L << i;
+                }
+            }
+            return shape;
+        }
+
+        ExecutionSqls get(Long shape) {
+            return plans.get(shape);
+        }
+
+        void put(Long shape, ExecutionSqls sqls) {
+            if(plans.size() < MAX_PLANS) {
+                plans.put(shape, sqls);
+            }
+        }
+
+        private static boolean collectClauses(AstNode[] nodes, List<DynamicClause> clauses) {
+            for(AstNode node : nodes) {
+                if(node instanceof ParamReplacement || node instanceof ExprParamReplacement || node instanceof Tag) {
+                    return false;
+                }
+
+                if(node instanceof DynamicClause) {
+                    clauses.add((DynamicClause)node);
+                }
+
+                if(node instanceof AstNodeContainer && !collectClauses(((AstNodeContainer) node).getNodes(), clauses)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
\ No newline at end of file
@@ -16,12 +16,16 @@
 package leap.orm.sql;
 
 import leap.core.AppReloadListener;
+import leap.core.BeanFactory;
 import leap.core.annotation.ConfigProperty;
 import leap.core.annotation.Configurable;
 import leap.core.annotation.Inject;
 import leap.core.cache.Cache;
-import leap.core.cache.SimpleLRUCache;
+import leap.core.cache.CacheManager;
+import leap.core.cache.ConcurrentLRUCache;
 import leap.core.el.ExpressionLanguage;
+import leap.core.ioc.BeanNameAware;
+import leap.core.ioc.PostCreateBean;
 import leap.lang.Strings;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
@@ -34,23 +38,42 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Configurable(prefix = "orm.dynamicSQL")
-public class DynamicSqlLanguage implements SqlLanguage, AppReloadListener {
+public class DynamicSqlLanguage implements SqlLanguage, AppReloadListener, BeanNameAware, PostCreateBean {
 
     private static final Log log = LogFactory.get(DynamicSqlLanguage.class);
 
     protected         Boolean            smart;
     protected @Inject ExpressionLanguage expressionLanguage;
     protected @Inject SqlInterceptor[]   sqlInterceptors;
+    protected @Inject CacheManager       cacheManager;
+    protected         String             beanName;
 
-    private Cache<String, List<Sql>> cache = new SimpleLRUCache<>();
+    private Cache<String, List<Sql>> cache = new ConcurrentLRUCache<>();
 
-    private Cache<String, List<DynamicSql.ExecutionSqls>> executionCache = new SimpleLRUCache<>();
+    private Cache<String, List<DynamicSql.ExecutionSqls>> executionCache = new ConcurrentLRUCache<>();
+
+    private Cache<Sql, DynamicSql.ExecutionPlans> planCache = new ConcurrentLRUCache<>();
+
+    @Override
+    public void setBeanName(String name) {
+        this.beanName = name;
+    }
+
+    @Override
+    public void postCreate(BeanFactory factory) throws Throwable {
+        if(null != cacheManager && null != beanName) {
+            cacheManager.registerCache("orm.sql." + beanName + ".sqls", cache);
+            cacheManager.registerCache("orm.sql." + beanName + ".executionSqls", executionCache);
+            cacheManager.registerCache("orm.sql." + beanName + ".executionPlans", planCache);
+        }
+    }
 
     @Override
     public void postAppReload() {
         log.info("App reload, clear all cache");
         cache.clear();
         executionCache.clear();
+        planCache.clear();
     }
 
     @ConfigProperty
@@ -105,6 +128,18 @@ public class DynamicSqlLanguage implements SqlLanguage, AppReloadListener {
         return sqls.get(0);
     }
 
+    /**
+     * Returns the cached execution plans of the parsed dynamic sql.
+     */
+    DynamicSql.ExecutionPlans getExecutionPlans(Sql sql) {
+        DynamicSql.ExecutionPlans plans = planCache.get(sql);
+        if(null == plans) {
+            plans = new DynamicSql.ExecutionPlans(sql);
+            planCache.put(sql, plans);
+        }
+        return plans;
+    }
+
     protected List<DynamicSql.ExecutionSqls> doParseExecutionSqls(MetadataContext context, String text, Options options) {
         String key = context.getName() + "___" + text;
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.sql;
+
+import leap.core.cache.Cache;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.mapping.FieldMapping;
+import leap.orm.metadata.MetadataContext;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * The cached insert, update and upsert {@link SqlCommand}s of an entity, keyed by the bitset of the supplied field indexes.
+ *
+ * <p/>
+ * Saved as an extension of the {@link EntityMapping}.
+ */
+final class FieldsSqlCommands {
+
+    static final int INSERT           = 0;
+    static final int INSERT_SECONDARY = 1;
+    static final int UPDATE           = 2;
+    static final int UPDATE_SECONDARY = 3;
+    static final int UPSERT           = 4;
+
+    static FieldsSqlCommands of(EntityMapping em, int maxSize) {
+        FieldsSqlCommands commands = em.getExtension(FieldsSqlCommands.class);
+        if(null == commands) {
+            commands = new FieldsSqlCommands(em, maxSize);
+            em.setExtension(FieldsSqlCommands.class, commands);
+        }
+        return commands;
+    }
+
+    private final Map<String, int[]>          indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Cache<BitSet, SqlCommand>[] caches;
+
+    @SuppressWarnings("unchecked")
+    private FieldsSqlCommands(EntityMapping em, int maxSize) {
+        FieldMapping[] fms = em.getFieldMappings();
+        for(int i=0;i<fms.length;i++) {
+            int[] old = indexes.get(fms[i].getFieldName());
+            if(null == old) {
+                indexes.put(fms[i].getFieldName(), new int[]{i});
+            }else{
+                int[] a = new int[old.length + 1];
+                System.arraycopy(old, 0, a, 0, old.length);
+                a[old.length] = i;
+                indexes.put(fms[i].getFieldName(), a);
+            }
+        }
+
+        this.caches = new Cache[5];
+        for(int i=0;i<caches.length;i++) {
+            caches[i] = new ConcurrentLRUCache<>(maxSize);
+        }
+    }
+
+    /**
+     * Returns the cached command of the given fields, creates a new one by the creator if not cached.
+     *
+     * <p/>
+     * The created command will be prepared before caching, returns <code>null</code> if the creator returns <code>null</code>.
+     */
+    SqlCommand get(MetadataContext context, int type, String[] fields, Supplier<SqlCommand> creator) {
+        BitSet key = new BitSet(indexes.size());
+        for(String field : fields) {
+            if(null == field) {
+                continue;
+            }
+            int[] a = indexes.get(field);
+            if(null != a) {
+                for(int i : a) {
+                    key.set(i);
+                }
+            }
+        }
+
+        Cache<BitSet, SqlCommand> cache = caches[type];
+
+        SqlCommand command = cache.get(key);
+        if(null == command) {
+            command = creator.get();
+            if(null != command) {
+                command.prepare(context);
+                cache.put(key, command);
+            }
+        }
+        return command;
+    }
+}
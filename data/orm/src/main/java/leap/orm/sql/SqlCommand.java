@@ -133,4 +133,14 @@ public interface SqlCommand extends Sourced {
 	 */
 	int[] executeBatchUpdate(SqlContext context,Object[] batchParams,BatchPreparedStatementHandler<Db> preparedStatementHandler) throws IllegalStateException, NestedSQLException;
 
+	/**
+	 * Executes batch insert and returns the affected rows, the insert may be rewritten to multi-row values if supported by db.
+	 *
+	 * <p/>
+	 * The default implementation executes batch update.
+	 */
+	default int[] executeBatchInsert(SqlContext context,Object[] batchParams) throws IllegalStateException, NestedSQLException {
+		return executeBatchUpdate(context, batchParams);
+	}
+
 }
\ No newline at end of file
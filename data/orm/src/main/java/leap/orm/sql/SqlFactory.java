@@ -56,6 +56,18 @@ public interface SqlFactory {
      */
     SqlCommand createInsertCommand(MetadataContext context,EntityMapping em,String[] fields, boolean secondary);
 
+    /**
+     * Creates an upsert {@link SqlCommand} with the fields in primary table of the given entity.
+     *
+     * <p/>
+     * The existing record is detected by the given key fields, or the primary key if the key fields is <code>null</code>.
+     * The next value of sequence is used only if the field is not in the given fields,
+     * and the optimistic lock field is not updated.
+     *
+     * @throws IllegalStateException if the db not supports upsert or the entity has secondary table.
+     */
+    SqlCommand createUpsertCommand(MetadataContext context,EntityMapping em,String[] fields,String[] keyFields);
+
     /**
      * Creates an update {@link SqlCommand} with all the fields in primary table of the given entity.
      */
@@ -118,7 +118,10 @@ public class DynamicClause extends DynamicNode implements AstNodeContainer {
 		buf.append("}");
     }
 
-	protected boolean test(Params params) {
+	/**
+	 * Returns true if all the parameters in this clause are present.
+	 */
+	public boolean test(Params params) {
 		for(NamedParamNode n : paramNodes) {
 		    if(nullable) {
 		        if(!params.contains(n.getName())) {
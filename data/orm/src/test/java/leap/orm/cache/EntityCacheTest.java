@@ -0,0 +1,308 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.cache;
+
+import leap.core.transaction.TransactionManager;
+import leap.lang.New;
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.tested.model.cache.CachedModel;
+import leap.orm.tested.model.cache.CachedModelDto;
+import leap.orm.tested.model.cache.ConfigCachedModel;
+import leap.orm.tested.model.petclinic.Owner;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class EntityCacheTest extends OrmTestCase {
+
+    @Test
+    public void testNotCacheableByDefault() {
+        EntityMapping em = metadata.getEntityMapping(Owner.class);
+        assertNull(context.getEntityCacheManager().getEntityCache(context, em));
+    }
+
+    @Test
+    public void testEntityCache() {
+        deleteAll(Owner.class);
+
+        Object id = new Owner().setFullName("a", "b").save().id();
+
+        EntityMapping em    = metadata.getEntityMapping(Owner.class);
+        EntityCache   cache = new EntityCache("test", em, 10, 0);
+        Object        key   = cache.keyOf(context, id);
+
+        assertNotNull(key);
+        assertNull(cache.get(context, key, Owner.class));
+
+        long  version = cache.version();
+        Owner owner   = dao.find(Owner.class, id);
+        cache.put(context, key, owner, version);
+
+        Owner cached = cache.get(context, key, Owner.class);
+        assertNotNull(cached);
+        assertNotSame(owner, cached);
+        assertEquals("a", cached.getFirstName());
+
+        //the returned record is a copy.
+        cached.setFirstName("c");
+        assertEquals("a", cache.get(context, key, Owner.class).getFirstName());
+
+        //the record loaded before eviction must not be cached.
+        version = cache.version();
+        cache.evict(key);
+        cache.put(context, key, owner, version);
+        assertNull(cache.get(context, key, Owner.class));
+
+        assertEquals(2, cache.getStats().getHits());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    public void testQueryCache() {
+        deleteAll(Owner.class);
+
+        new Owner().setFullName("a", "b").save();
+        new Owner().setFullName("c", "d").save();
+
+        EntityMapping  em     = metadata.getEntityMapping(Owner.class);
+        QueryCache     cache  = new QueryCache("test", 10, 0);
+        String[]       tables = new String[]{em.getTableName()};
+        String         sql    = "select * from " + em.getTableName();
+        QueryCache.Key key    = cache.key(sql, new Object[0], Owner.class, tables);
+
+        assertNull(cache.get(context, em, key, Owner.class));
+
+        List<Owner> list = dao.createCriteriaQuery(Owner.class).list();
+        cache.put(context, em, key, list);
+
+        List<Owner> cached = cache.get(context, em, cache.key(sql, new Object[0], Owner.class, tables), Owner.class);
+        assertNotNull(cached);
+        assertEquals(2, cached.size());
+
+        //changes the table.
+        cache.invalidate(em);
+        assertNull(cache.get(context, em, cache.key(sql, new Object[0], Owner.class, tables), Owner.class));
+    }
+
+    @Test
+    public void testCacheableByAnnotationAndConfig() {
+        assertNotNull(entityCache(CachedModel.class));
+        assertNotNull(entityCache(ConfigCachedModel.class));
+        assertNotNull(context.getEntityCacheManager().getQueryCache(context));
+    }
+
+    @Test
+    public void testFindHit() {
+        EntityCache cache = prepare();
+        long        hits  = cache.getStats().getHits();
+
+        assertEquals("a", dao.find(CachedModel.class, "1").getName());
+        assertEquals(1, cache.size());
+
+        //changes the record bypass the orm commands, the cached record is returned.
+        rawUpdateName("1", "x");
+        assertEquals("a", dao.find(CachedModel.class, "1").getName());
+        assertEquals("a", dao.find(CachedModel.class, 1).getName());
+        assertEquals(hits + 2, cache.getStats().getHits());
+    }
+
+    @Test
+    public void testFindListHit() {
+        EntityCache cache = prepare();
+
+        dao.find(CachedModel.class, "1");
+        rawUpdateName("1", "x");
+
+        //"1" is cached, "2" is loaded from db.
+        List<CachedModel> list = dao.findList(CachedModel.class, new Object[]{"1", "2"});
+        assertEquals(2, list.size());
+        assertEquals("a", byId(list, "1").getName());
+        assertEquals("b", byId(list, "2").getName());
+        assertEquals(2, cache.size());
+
+        rawUpdateName("2", "y");
+        assertEquals("b", byId(dao.findList(CachedModel.class, new Object[]{"1", "2"}), "2").getName());
+    }
+
+    @Test
+    public void testPartialResultNotCached() {
+        EntityCache cache = prepare();
+
+        CachedModelDto dto = dao.find(CachedModel.class, CachedModelDto.class, "1");
+        assertEquals("a", dto.getName());
+        assertEquals(0, cache.size());
+
+        dao.findList(CachedModel.class.getSimpleName(), CachedModelDto.class, new Object[]{"1", "2"});
+        assertEquals(0, cache.size());
+
+        //the full record is cached, and the dto can be restored from it.
+        CachedModel model = dao.find(CachedModel.class, "1");
+        assertEquals("r1", model.getRemark());
+        assertEquals(1, cache.size());
+        assertEquals("a", dao.find(CachedModel.class, CachedModelDto.class, "1").getName());
+        assertEquals("r1", dao.find(CachedModel.class, "1").getRemark());
+    }
+
+    @Test
+    public void testEvictByUpdateAndDelete() {
+        EntityCache cache = prepare();
+
+        CachedModel m = dao.find(CachedModel.class, "1");
+        m.setName("c");
+        dao.update(m);
+        assertEquals(0, cache.size());
+        assertEquals("c", dao.find(CachedModel.class, "1").getName());
+
+        dao.delete(CachedModel.class, "1");
+        assertNull(dao.findOrNull(CachedModel.class, "1"));
+    }
+
+    @Test
+    public void testEvictByBatch() {
+        EntityCache cache = prepare();
+
+        List<CachedModel> list = dao.findList(CachedModel.class, new Object[]{"1", "2"});
+        assertEquals(2, cache.size());
+
+        list.forEach(m -> m.setName("c"));
+        dao.batchUpdate(list);
+        assertEquals(0, cache.size());
+        assertEquals("c", dao.find(CachedModel.class, "1").getName());
+
+        dao.batchDelete(CachedModel.class, new Object[]{"1", "2"});
+        assertEquals(0, cache.size());
+        assertNull(dao.findOrNull(CachedModel.class, "1"));
+    }
+
+    @Test
+    public void testEvictByCriteriaUpdate() {
+        EntityCache cache = prepare();
+
+        dao.find(CachedModel.class, "1");
+        dao.createCriteriaQuery(CachedModel.class).whereById("1").update(New.<String, Object>hashMap("name", "c"));
+        assertEquals(0, cache.size());
+        assertEquals("c", dao.find(CachedModel.class, "1").getName());
+
+        dao.createCriteriaQuery(CachedModel.class).whereById("1").delete();
+        assertNull(dao.findOrNull(CachedModel.class, "1"));
+    }
+
+    @Test
+    public void testCacheableQuery() {
+        prepare();
+
+        assertEquals(2, dao.createCriteriaQuery(CachedModel.class).cacheable().list().size());
+
+        //the cached results are returned.
+        rawUpdateName("1", "x");
+        List<CachedModel> list = dao.createCriteriaQuery(CachedModel.class).cacheable().list();
+        assertEquals("a", byId(list, "1").getName());
+
+        //the non-cacheable query is not affected.
+        assertEquals("x", byId(dao.createCriteriaQuery(CachedModel.class).list(), "1").getName());
+
+        //inserting a record invalidates the cached results.
+        new CachedModel("3", "c", "r3").create();
+        list = dao.createCriteriaQuery(CachedModel.class).cacheable().list();
+        assertEquals(3, list.size());
+        assertEquals("x", byId(list, "1").getName());
+    }
+
+    @Test
+    public void testNotCachedInChangedTransaction() {
+        EntityCache cache = prepare();
+        EntityMapping em  = metadata.getEntityMapping(CachedModel.class);
+
+        dao.doTransaction((s) -> {
+            dao.update(new CachedModel("1", "c", "r1"));
+            assertTrue(context.getEntityCacheManager().isChangedInTransaction(context, em));
+
+            //the uncommitted record is visible in transaction, but not cached.
+            assertEquals("c", dao.find(CachedModel.class, "1").getName());
+            assertEquals("c", byId(dao.createCriteriaQuery(CachedModel.class).cacheable().list(), "1").getName());
+            assertEquals(0, cache.size());
+        });
+
+        assertFalse(context.getEntityCacheManager().isChangedInTransaction(context, em));
+        assertEquals("c", dao.find(CachedModel.class, "1").getName());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testNotCachedInRollbackTransaction() {
+        EntityCache cache = prepare();
+
+        assertEquals("a", dao.find(CachedModel.class, "1").getName());
+        assertEquals("a", byId(dao.createCriteriaQuery(CachedModel.class).cacheable().list(), "1").getName());
+
+        dao.doTransaction((s) -> {
+            dao.update(new CachedModel("1", "c", "r1"));
+            assertEquals("c", dao.find(CachedModel.class, "1").getName());
+            assertEquals("c", byId(dao.createCriteriaQuery(CachedModel.class).cacheable().list(), "1").getName());
+            s.setRollbackOnly();
+        });
+
+        assertEquals(0, cache.size());
+        assertEquals("a", dao.find(CachedModel.class, "1").getName());
+        assertEquals("a", byId(dao.createCriteriaQuery(CachedModel.class).cacheable().list(), "1").getName());
+    }
+
+    @Test
+    public void testTransactionSynchronization() {
+        TransactionManager tm = beanFactory.getBean(TransactionManager.class);
+
+        assertFalse(tm.registerSynchronization(context.getDataSource(), (committed) -> fail("Should not be invoked")));
+
+        AtomicReference<Boolean> result = new AtomicReference<>();
+        dao.doTransaction((s) -> {
+            assertTrue(tm.registerSynchronization(context.getDataSource(), result::set));
+            assertNull(result.get());
+        });
+        assertEquals(Boolean.TRUE, result.get());
+
+        result.set(null);
+        dao.doTransaction((s) -> {
+            assertTrue(tm.registerSynchronization(context.getDataSource(), result::set));
+            s.setRollbackOnly();
+        });
+        assertEquals(Boolean.FALSE, result.get());
+    }
+
+    private EntityCache prepare() {
+        deleteAll(CachedModel.class);
+        new CachedModel("1", "a", "r1").create();
+        new CachedModel("2", "b", "r2").create();
+
+        EntityCache cache = entityCache(CachedModel.class);
+        cache.clear();
+        return cache;
+    }
+
+    private EntityCache entityCache(Class<?> entityClass) {
+        return context.getEntityCacheManager().getEntityCache(context, metadata.getEntityMapping(entityClass));
+    }
+
+    private void rawUpdateName(String id, String name) {
+        String table = metadata.getEntityMapping(CachedModel.class).getTableName();
+        dao.executeUpdate("update " + table + " set name = :name where id = :id", New.hashMap("id", id, "name", name));
+    }
+
+    private static CachedModel byId(List<CachedModel> list, String id) {
+        return list.stream().filter(m -> m.getId().equals(id)).findFirst().get();
+    }
+}
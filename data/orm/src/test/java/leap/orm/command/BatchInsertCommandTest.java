@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+import leap.junit.contexual.Contextual;
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.tested.model.PooledIdModel;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BatchInsertCommandTest extends OrmTestCase {
+
+    @Test
+    @Contextual("h2")
+    public void testGenerateBatchValues() {
+        EntityMapping em = metadata.getEntityMapping(PooledIdModel.class);
+
+        PooledIdModel m1 = new PooledIdModel("a");
+        PooledIdModel m2 = new PooledIdModel("b");
+        PooledIdModel m3 = new PooledIdModel("c");
+        m2.setId(-1L);
+
+        Map<String, Iterator<Object>> generated =
+                new DefaultBatchInsertCommand(dao, em, new Object[]{m1, m2, m3}).generateBatchValues();
+
+        //only generates the ids of the records without id.
+        assertNotNull(generated);
+        assertEquals(1, generated.size());
+
+        Iterator<Object> it  = generated.get("id");
+        Set<Object>      ids = new HashSet<>();
+        while(it.hasNext()) {
+            Object id = it.next();
+            assertTrue(id instanceof Long);
+            ids.add(id);
+        }
+        assertEquals(2, ids.size());
+
+        m1.setId(-2L);
+        m3.setId(-3L);
+        assertNull(new DefaultBatchInsertCommand(dao, em, new Object[]{m1, m2, m3}).generateBatchValues());
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testBatchInsertPooledIds() {
+        deleteAll(PooledIdModel.class);
+
+        Object[] records = new Object[25];
+        for(int i=0;i<records.length;i++) {
+            records[i] = new PooledIdModel("n" + i);
+        }
+
+        assertEquals(25, dao.batchInsert(PooledIdModel.class, records).length);
+
+        List<PooledIdModel> list = dao.createCriteriaQuery(PooledIdModel.class).list();
+        Set<Long>           ids  = new HashSet<>();
+        list.forEach(m -> ids.add(m.getId()));
+        assertEquals(25, ids.size());
+
+        deleteAll(PooledIdModel.class);
+    }
+}
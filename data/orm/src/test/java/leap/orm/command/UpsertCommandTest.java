@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.command;
+
+import leap.junit.contexual.Contextual;
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.tested.model.UpsertModel;
+import org.junit.Test;
+
+public class UpsertCommandTest extends OrmTestCase {
+
+    @Test
+    public void testResolveUniqueKeyFields() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+
+        assertArrayEquals(new String[]{"code"}, DefaultUpsertCommand.resolveUniqueKeyFields(em, "code"));
+        assertArrayEquals(new String[]{"code"}, DefaultUpsertCommand.resolveUniqueKeyFields(em, "key_code"));
+
+        try {
+            DefaultUpsertCommand.resolveUniqueKeyFields(em, "name");
+            fail("Should throw IllegalArgumentException");
+        }catch (IllegalArgumentException e) {
+            assertContains(e.getMessage(), "name");
+        }
+    }
+
+    @Test
+    public void testHasMissingKey() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+
+        UpsertModel m1 = new UpsertModel("c1", "a");
+        m1.setId(1L);
+        UpsertModel m2 = new UpsertModel("c2", "b");
+
+        assertFalse(new DefaultBatchUpsertCommand(dao, em, new Object[]{m1}).hasMissingKey());
+        assertTrue(new DefaultBatchUpsertCommand(dao, em, new Object[]{m1, m2}).hasMissingKey());
+
+        DefaultBatchUpsertCommand command = new DefaultBatchUpsertCommand(dao, em, new Object[]{m1, m2});
+        command.withUniqueKey("code");
+        assertFalse(command.hasMissingKey());
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testHasSequenceValues() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+
+        UpsertModel m1 = new UpsertModel("c1", "a");
+        m1.setId(1L);
+
+        DefaultBatchUpsertCommand command = new DefaultBatchUpsertCommand(dao, em, new Object[]{m1});
+        command.prepare();
+        assertFalse(command.hasSequenceValues());
+
+        command = new DefaultBatchUpsertCommand(dao, em, new Object[]{m1, new UpsertModel("c2", "b")});
+        command.prepare();
+        assertTrue(command.hasSequenceValues());
+    }
+}
@@ -22,7 +22,9 @@ import leap.orm.tested.model.petclinic.Owner;
 import org.junit.Test;
 
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class BatchTest extends OrmTestCase {
 	
@@ -77,6 +79,71 @@ public class BatchTest extends OrmTestCase {
 		assertTrue(Statement.SUCCESS_NO_INFO == results[1] || 1 == results[1]);
 	}
 
+	@Test
+	public void testChunkedBatchInsert() {
+		deleteAll(Owner.class);
+
+		List<BatchProgress> chunks  = new ArrayList<>();
+		BatchOptions        options = new BatchOptions().setChunkRows(10).setProgress(chunks::add);
+
+		long affected = dao.batchInsert(Owner.class, IntStream.range(0, 25).mapToObj(i -> {
+			Owner o = new Owner();
+			o.setFirstName("f" + i);
+			o.setLastName("l" + i);
+			return o;
+		}), options);
+
+		assertEquals(25, affected);
+		assertEquals(25, Owner.count());
+		assertEquals(3, chunks.size());
+		assertEquals(10, chunks.get(0).getRows());
+		assertEquals(5, chunks.get(2).getRows());
+		assertEquals(25, chunks.get(2).getTotalRows());
+
+		chunks.clear();
+		options.setMultiRowValues(false).setChunkRows(100).setChunkBytes(1);
+		affected = dao.batchUpdate(Owner.class, Owner.<Owner>all(), options);
+		assertEquals(25, affected);
+		assertEquals(25, chunks.size());
+	}
+
+	@Test
+	public void testChunkedBatchInsertTransaction() {
+		deleteAll(Owner.class);
+
+		BatchOptions options = new BatchOptions().setChunkRows(10);
+
+		//the flushed chunks are committed.
+		try {
+			dao.batchInsert(Owner.class, IntStream.range(0, 25).mapToObj(i -> newChunkOwner(i, 15)), options);
+			fail("Should throw exception");
+		}catch (IllegalStateException e) {
+			assertEquals(10, Owner.count());
+		}
+
+		deleteAll(Owner.class);
+
+		//the chunks join the active transaction.
+		try {
+			dao.doTransaction((s) -> {
+				dao.batchInsert(Owner.class, IntStream.range(0, 25).mapToObj(i -> newChunkOwner(i, 15)), options);
+			});
+			fail("Should throw exception");
+		}catch (IllegalStateException e) {
+			assertEquals(0, Owner.count());
+		}
+	}
+
+	private static Owner newChunkOwner(int i, int failAt) {
+		if(i == failAt) {
+			throw new IllegalStateException("Fail at " + i);
+		}
+		Owner o = new Owner();
+		o.setFirstName("f" + i);
+		o.setLastName("l" + i);
+		return o;
+	}
+
 	@Test
 	public void testBatchInsertWithNullValueAtFirstRow() {
 		deleteAll(Owner.class);
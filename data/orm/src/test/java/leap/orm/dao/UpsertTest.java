@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.dao;
+
+import leap.lang.New;
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.tested.model.UpsertModel;
+import leap.orm.tested.model.petclinic.Owner;
+import org.junit.Test;
+
+public class UpsertTest extends OrmTestCase {
+
+    @Test
+    public void testUpsert() {
+        deleteAll(Owner.class);
+
+        Owner o = new Owner();
+        o.setFirstName("a");
+        o.setLastName("b");
+        o.create();
+
+        o.setFirstName("c");
+        assertTrue(dao.upsert(o) > 0);
+        assertEquals(1, Owner.count());
+        assertEquals("c", Owner.<Owner>find(o.id()).getFirstName());
+
+        Owner o1 = new Owner();
+        o1.setFirstName("d");
+        o1.setLastName("e");
+        assertTrue(dao.upsert(o1) > 0);
+        assertEquals(2, Owner.count());
+    }
+
+    @Test
+    public void testBatchUpsert() {
+        deleteAll(Owner.class);
+
+        Owner o1 = new Owner();
+        o1.setFirstName("a");
+        o1.setLastName("b");
+        o1.create();
+
+        Owner o2 = new Owner();
+        o2.setFirstName("c");
+        o2.setLastName("d");
+        o2.create();
+
+        o1.setFirstName("x");
+        o2.setFirstName("y");
+        assertEquals(2, dao.batchUpsert(New.arrayList(o1, o2)).length);
+        assertEquals(2, Owner.count());
+        assertEquals("x", Owner.<Owner>find(o1.id()).getFirstName());
+        assertEquals("y", Owner.<Owner>find(o2.id()).getFirstName());
+    }
+
+    @Test
+    public void testUpsertSequenceId() {
+        deleteAll(UpsertModel.class);
+
+        UpsertModel m = new UpsertModel("c1", "a");
+        m.setCreatedBy("u1");
+        assertTrue(dao.upsert(m) > 0);
+        assertEquals(1, UpsertModel.count());
+
+        UpsertModel saved = findByCode("c1");
+        assertNotNull(saved.getId());
+
+        UpsertModel m1 = new UpsertModel("c1", "b");
+        m1.setId(saved.getId());
+        m1.setCreatedBy("u2");
+        m1.setLockVersion(100);
+        assertTrue(dao.upsert(m1) > 0);
+        assertEquals(1, UpsertModel.count());
+
+        UpsertModel updated = findByCode("c1");
+        assertEquals(saved.getId(), updated.getId());
+        assertEquals("b",  updated.getName());
+        assertEquals("u1", updated.getCreatedBy());
+        assertEquals(saved.getLockVersion(), updated.getLockVersion());
+    }
+
+    @Test
+    public void testUpsertWithUniqueKey() {
+        deleteAll(UpsertModel.class);
+
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+
+        assertTrue(dao.upsert(em, new UpsertModel("c1", "a"), "code") > 0);
+        assertTrue(dao.upsert(em, new UpsertModel("c2", "b"), "code") > 0);
+        assertEquals(2, UpsertModel.count());
+
+        Long id = findByCode("c1").getId();
+
+        assertTrue(dao.upsert(em, new UpsertModel("c1", "x"), "code") > 0);
+        assertEquals(2, UpsertModel.count());
+        assertEquals("x", findByCode("c1").getName());
+        assertEquals(id,  findByCode("c1").getId());
+        assertEquals("b", findByCode("c2").getName());
+
+        try {
+            dao.upsert(em, new UpsertModel("c1", "x"), "none");
+            fail("Should throw IllegalArgumentException");
+        }catch (IllegalArgumentException e) {
+            assertContains(e.getMessage(), "none");
+        }
+    }
+
+    @Test
+    public void testBatchUpsertWithUniqueKey() {
+        deleteAll(UpsertModel.class);
+
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+
+        new UpsertModel("c1", "a").create();
+
+        int[] result = dao.batchUpsert(em, new Object[]{new UpsertModel("c1", "x"), new UpsertModel("c2", "y")}, "code");
+        assertEquals(2, result.length);
+        assertEquals(2, UpsertModel.count());
+        assertEquals("x", findByCode("c1").getName());
+        assertEquals("y", findByCode("c2").getName());
+    }
+
+    @Test
+    public void testBatchUpsertMissingKey() {
+        deleteAll(UpsertModel.class);
+
+        UpsertModel m = new UpsertModel("c1", "a");
+        m.create();
+        m.setName("x");
+
+        //the id of second record is missing, it must be inserted.
+        int[] result = dao.batchUpsert(New.arrayList(m, new UpsertModel("c2", "y")));
+        assertEquals(2, result.length);
+        assertEquals(2, UpsertModel.count());
+        assertEquals("x", findByCode("c1").getName());
+        assertEquals("y", findByCode("c2").getName());
+    }
+
+    private UpsertModel findByCode(String code) {
+        return dao.createCriteriaQuery(UpsertModel.class).where("code = ?", code).single();
+    }
+
+}
@@ -15,13 +15,19 @@
  */
 package leap.orm.dao.query;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import leap.core.value.Record;
 import leap.junit.contexual.Contextual;
 import leap.lang.New;
 import leap.orm.mapping.EntityMapping;
+import leap.orm.query.CriteriaQuery;
+import leap.orm.query.KeysetResult;
 import leap.orm.sql.SqlFragment;
 import leap.orm.tested.model.api.*;
 import leap.orm.tested.model.file.Directory;
@@ -95,6 +101,123 @@ public class CriteriaQueryTest extends OrmTestCase {
 		assertEquals("b 0",owners.get(1).getFullName());		
 	}
 	
+	@Test
+	public void testStreamAndForEach() {
+		deleteAll(Owner.class);
+
+		for(int i=0;i<5;i++) {
+			new Owner().setFullName("a" + i, "0").save();
+		}
+
+		try(Stream<Owner> stream = Owner.<Owner>query().orderBy("firstName asc").stream(2)) {
+			List<String> names = stream.map(Owner::getFullName).collect(Collectors.toList());
+			assertEquals(5, names.size());
+			assertEquals("a0 0", names.get(0));
+			assertEquals("a4 0", names.get(4));
+		}
+
+		try(Stream<Owner> stream = Owner.<Owner>query().where("firstName = ?", new Object[]{"x"}).stream()) {
+			assertEquals(0, stream.count());
+		}
+
+		List<Integer> batches = new ArrayList<>();
+		Owner.<Owner>query().forEach(2, list -> batches.add(list.size()));
+		assertEquals(3, batches.size());
+		assertEquals(2, batches.get(0).intValue());
+		assertEquals(1, batches.get(2).intValue());
+	}
+
+	@Test
+	public void testStreamClosedAfterTransaction() {
+		deleteAll(Owner.class);
+		new Owner().setFullName("a", "0").save();
+
+		Stream<Owner> stream = dao.doTransaction((s) -> {
+			return Owner.<Owner>query().stream();
+		});
+
+		//the connection was released by the transaction.
+		stream.close();
+		stream.close();
+
+		dao.doTransaction((s) -> {
+			assertEquals(1, Owner.count());
+			stream.close();
+			assertEquals(1, Owner.count());
+		});
+		assertEquals(1, Owner.count());
+	}
+
+	@Test
+	public void testKeysetResult() {
+		deleteAll(Owner.class);
+
+		for(int i=0;i<5;i++) {
+			new Owner().setFullName("a" + i, "0").save();
+		}
+
+		List<String> names  = new ArrayList<>();
+		String       cursor = null;
+		int          pages  = 0;
+		do {
+			KeysetResult<Owner> result = Owner.<Owner>query().keysetResult(cursor, 2);
+			assertTrue(result.isKeyset());
+			result.list().forEach(o -> names.add(o.getFullName()));
+			cursor = result.getNextCursor();
+			pages++;
+		}while(null != cursor);
+
+		assertEquals(3, pages);
+		assertEquals(5, names.size());
+		assertEquals("a0 0", names.get(0));
+		assertEquals("a4 0", names.get(4));
+
+		KeysetResult<Owner> first = Owner.<Owner>query().orderBy("id desc").keysetResult(null, 3);
+		assertTrue(first.isKeyset());
+		assertEquals("a4 0", first.list().get(0).getFullName());
+		KeysetResult<Owner> second = Owner.<Owner>query().orderBy("id desc").keysetResult(first.getNextCursor(), 3);
+		assertTrue(second.isKeyset());
+		assertEquals(2, second.size());
+		assertEquals("a0 0", second.list().get(1).getFullName());
+		assertFalse(second.hasNext());
+
+		//the ordering is not unique, falls back to offset.
+		assertFalse(Owner.<Owner>query().orderBy("firstName desc").keysetResult(null, 3).isKeyset());
+
+		try {
+			Owner.<Owner>query().orderBy("lastName asc").keysetResult(first.getNextCursor(), 3);
+			fail("Should throw IllegalArgumentException");
+		}catch (IllegalArgumentException e) {
+
+		}
+
+		//the ordering values are not selected, falls back to offset.
+		KeysetResult<Owner> offset = Owner.<Owner>query().select("firstName").keysetResult(null, 3);
+		assertFalse(offset.isKeyset());
+		assertTrue(offset.hasNext());
+		KeysetResult<Owner> next = Owner.<Owner>query().select("firstName").keysetResult(offset.getNextCursor(), 3);
+		assertEquals(2, next.size());
+		assertFalse(next.hasNext());
+	}
+
+	@Test
+	public void testPrepareCount() {
+		deleteAll(Owner.class);
+
+		for(int i=0;i<3;i++) {
+			new Owner().setFullName("a" + i, "0").save();
+		}
+
+		CriteriaQuery<Owner> query = Owner.<Owner>query().where("firstName <> ?", "a0").orderBy("firstName desc");
+		Supplier<Long> counter = query.prepareCount();
+
+		//the prepared count is not affected by the later changes of query.
+		query.where("firstName = ?", "a1");
+
+		assertEquals(1, query.list().size());
+		assertEquals(new Long(2), counter.get());
+	}
+
 	@Test
 	public void testEqualsToIsNull() {
 		deleteAll(Owner.class);
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.junit.contexual.Contextual;
+import leap.lang.beans.BeanType;
+import leap.orm.OrmTestCase;
+import leap.orm.annotation.Sequence;
+import leap.orm.mapping.EntityMappingBuilder;
+import leap.orm.mapping.FieldMappingBuilder;
+import leap.orm.tested.model.PooledIdModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+public class AutoIdGeneratorTest extends OrmTestCase {
+
+    private static final String SEQ_TABLE = "test_id_sequences";
+
+    @Test
+    @Contextual("h2")
+    public void testIdentityNotChangedByGlobalBlockSize() {
+        AutoIdGenerator g = new AutoIdGenerator();
+        g.setBlockSize(20);
+
+        FieldMappingBuilder fmb = mapping(g, "t_autoid_identity", Identity.class);
+        assertTrue(fmb.getColumn().isAutoIncrement());
+        assertNull(fmb.getInsertValue());
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testPooledByFieldBlockSize() {
+        FieldMappingBuilder fmb = mapping(new AutoIdGenerator(), "t_autoid_pooled", Pooled.class);
+        assertFalse(fmb.getColumn().isAutoIncrement());
+        assertTrue(fmb.getInsertValue() instanceof PooledIdGenerator);
+
+        IdBlockSource source = ((PooledIdGenerator) fmb.getInsertValue()).getSource();
+        assertTrue(source instanceof SequenceIdBlockSource);
+        assertEquals(10, source.getBlockSize());
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testFieldBlockSizeDisablesPooled() {
+        AutoIdGenerator g = new AutoIdGenerator();
+        g.setBlockSize(20);
+
+        FieldMappingBuilder fmb = mapping(g, "t_autoid_disabled", Disabled.class);
+        assertTrue(fmb.getColumn().isAutoIncrement());
+        assertNull(fmb.getInsertValue());
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testTableIdBlockSource() {
+        dropSequenceTable();
+
+        TableIdBlockSource source = new TableIdBlockSource(db, SEQ_TABLE, "s1", 10);
+        assertFalse(db.checkTableExists(SEQ_TABLE));
+
+        //creates the table and the row of sequence.
+        assertEquals(1, source.reserve());
+        assertTrue(db.checkTableExists(SEQ_TABLE));
+        assertEquals(Long.valueOf(11), nextValue("s1"));
+
+        assertEquals(11, source.reserve());
+        assertEquals(Long.valueOf(21), nextValue("s1"));
+
+        //the value changed by others is used.
+        db.executeUpdate("update " + SEQ_TABLE + " set next_val = 100 where seq_name = 's1'");
+        assertEquals(100, source.reserve());
+        assertEquals(Long.valueOf(110), nextValue("s1"));
+
+        //another sequence in the same table.
+        assertEquals(5, new TableIdBlockSource(db, SEQ_TABLE, "s2", 3, 5).reserve());
+        assertEquals(Long.valueOf(8), nextValue("s2"));
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testTableIdBlockSourceStartsAboveMaxId() {
+        dropSequenceTable();
+        deleteAll(PooledIdModel.class);
+
+        String table = metadata.getEntityMapping(PooledIdModel.class).getTableName();
+        db.executeUpdate("insert into " + table + "(id,name) values (35,'a')");
+
+        TableIdBlockSource source = new TableIdBlockSource(db, SEQ_TABLE, "s3", 10, 1, table, "id");
+        assertEquals(36, source.reserve());
+        assertEquals(46, source.reserve());
+
+        deleteAll(PooledIdModel.class);
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testTableIdBlockSourceConcurrentReserve() throws Exception {
+        dropSequenceTable();
+
+        final int threads = 8;
+        final int count   = 20;
+
+        TableIdBlockSource source = new TableIdBlockSource(db, SEQ_TABLE, "s4", 5);
+        Set<Long>          values = ConcurrentHashMap.newKeySet();
+        List<Throwable>    errors = new ArrayList<>();
+        CountDownLatch     cdl    = new CountDownLatch(threads);
+
+        for(int i=0;i<threads;i++) {
+            new Thread(() -> {
+                try {
+                    for(int j=0;j<count;j++) {
+                        values.add(source.reserve());
+                    }
+                }catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }finally {
+                    cdl.countDown();
+                }
+            }).start();
+        }
+
+        cdl.await();
+        assertTrue(errors.isEmpty());
+        assertEquals(threads * count, values.size());
+        assertEquals(Long.valueOf(1 + threads * count * 5), nextValue("s4"));
+    }
+
+    private FieldMappingBuilder mapping(AutoIdGenerator g, String table, Class<?> beanClass) {
+        EntityMappingBuilder emb = new EntityMappingBuilder();
+        emb.setTableName(table);
+
+        FieldMappingBuilder fmb = new FieldMappingBuilder("id", Long.class);
+        fmb.setBeanProperty(BeanType.of(beanClass).getProperty("id"));
+        fmb.getColumn().setName("id");
+
+        g.mapping(context, emb, fmb);
+        return fmb;
+    }
+
+    private Long nextValue(String name) {
+        return db.queryForScalar(Long.class, "select next_val from " + SEQ_TABLE + " where seq_name = '" + name + "'");
+    }
+
+    private void dropSequenceTable() {
+        if(db.checkTableExists(SEQ_TABLE)) {
+            db.executeUpdate("drop table " + SEQ_TABLE);
+        }
+    }
+
+    public static class Identity {
+        protected Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class Pooled {
+        @Sequence(blockSize = 10)
+        protected Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class Disabled {
+        @Sequence(blockSize = 0)
+        protected Long id;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.generator;
+
+import leap.junit.TestBase;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PooledIdGeneratorTest extends TestBase {
+
+    @Test
+    public void testNext() {
+        MockSource        source = new MockSource(10);
+        PooledIdGenerator g      = new PooledIdGenerator(source);
+
+        for(long i=1;i<=25;i++) {
+            assertEquals(i, g.next());
+        }
+        assertEquals(3, source.reserves.get());
+    }
+
+    @Test
+    public void testNextBatch() {
+        MockSource        source = new MockSource(10);
+        PooledIdGenerator g      = new PooledIdGenerator(source);
+
+        assertEquals(1, g.next());
+
+        long[] ids = g.next(25);
+        assertEquals(25, ids.length);
+        for(int i=0;i<ids.length;i++) {
+            assertEquals(i + 2, ids[i]);
+        }
+        assertEquals(3, source.reserves.get());
+
+        assertEquals(27, g.next());
+    }
+
+    @Test
+    public void testGenerateWithType() {
+        PooledIdGenerator g = new PooledIdGenerator(new MockSource(5), Integer.class);
+
+        assertEquals(Integer.valueOf(1), g.getValue());
+
+        Object[] values = g.generate(2);
+        assertEquals(Integer.valueOf(2), values[0]);
+        assertEquals(Integer.valueOf(3), values[1]);
+    }
+
+    @Test
+    public void testConcurrentNext() throws Exception {
+        final int threads = 8;
+        final int count   = 1000;
+
+        PooledIdGenerator    g   = new PooledIdGenerator(new MockSource(7));
+        Set<Long>            ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch       cdl = new CountDownLatch(threads);
+
+        for(int i=0;i<threads;i++) {
+            new Thread(() -> {
+                try {
+                    for(int j=0;j<count;j++) {
+                        ids.add(j % 2 == 0 ? g.next() : g.next(2)[1]);
+                    }
+                }finally {
+                    cdl.countDown();
+                }
+            }).start();
+        }
+
+        cdl.await();
+        assertEquals(threads * count, ids.size());
+    }
+
+    static final class MockSource implements IdBlockSource {
+        final int           blockSize;
+        final AtomicLong    value    = new AtomicLong(1);
+        final AtomicInteger reserves = new AtomicInteger();
+
+        MockSource(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        @Override
+        public long reserve() {
+            reserves.incrementAndGet();
+            return value.getAndAdd(blockSize);
+        }
+    }
+}
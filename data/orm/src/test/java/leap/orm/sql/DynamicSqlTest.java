@@ -68,6 +68,26 @@ public class DynamicSqlTest extends OrmTestCase {
         query = dao.createSqlQuery("select * from owners where 1=1 {?and last_name = #lastName# ; nullable:true}");
         assertEquals(0, query.param("lastName", null).count());
 	}
+	@Test
+	public void testDynamicClauseShapes() {
+		deleteAll(Owner.class);
+
+		new Owner().setFullName("a", "0").save();
+		new Owner().setFullName("b", "1").save();
+
+		String sql = "select * from owners where 1=1 {?and first_name = #firstName#} {?and last_name = #lastName#}";
+
+		//the same shape of the active dynamic clauses should reuse the same execution plan.
+		for(int i=0;i<3;i++) {
+			assertEquals(2, dao.createSqlQuery(sql).count());
+			assertEquals(1, dao.createSqlQuery(sql).param("firstName", "a").count());
+			assertEquals(1, dao.createSqlQuery(sql).param("firstName", "b").count());
+			assertEquals(1, dao.createSqlQuery(sql).param("lastName", "1").count());
+			assertEquals(0, dao.createSqlQuery(sql).param("firstName", "a").param("lastName", "1").count());
+			assertEquals(1, dao.createSqlQuery(sql).param("firstName", "b").param("lastName", "1").count());
+		}
+	}
+
 	@Test
 	public void testIfClauseDynamicSql(){
 		deleteAll(Owner.class);
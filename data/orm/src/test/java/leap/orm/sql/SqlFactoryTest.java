@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.sql;
+
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.tested.model.petclinic.Owner;
+import org.junit.Test;
+
+public class SqlFactoryTest extends OrmTestCase {
+
+    @Test
+    public void testCachedFieldsCommands() {
+        SqlFactory    sf = context.getSqlFactory();
+        EntityMapping em = context.getMetadata().getEntityMapping(Owner.class);
+
+        SqlCommand insert = sf.createInsertCommand(context, em, new String[]{"firstName", "lastName"});
+        assertSame(insert, sf.createInsertCommand(context, em, new String[]{"LASTNAME", "firstName", "notExists"}));
+        assertNotSame(insert, sf.createInsertCommand(context, em, new String[]{"firstName"}));
+
+        SqlCommand update = sf.createUpdateCommand(context, em, new String[]{"id", "city"});
+        assertSame(update, sf.createUpdateCommand(context, em, new String[]{"city", "id"}));
+        assertNotSame(update, sf.createUpdateCommand(context, em, new String[]{"id", "address"}));
+    }
+
+}
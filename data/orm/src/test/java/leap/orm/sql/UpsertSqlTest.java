@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.sql;
+
+import leap.db.DbDialect;
+import leap.db.platform.postgresql.PostgreSQL9Dialect;
+import leap.junit.contexual.Contextual;
+import leap.orm.OrmTestCase;
+import leap.orm.mapping.EntityMapping;
+import leap.orm.mapping.FieldMapping;
+import leap.orm.tested.model.UpsertModel;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+public class UpsertSqlTest extends OrmTestCase {
+
+    private final DefaultSqlFactory sf = new DefaultSqlFactory();
+
+    @Test
+    @Contextual("h2")
+    public void testSuppliedSequenceId() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+        FieldMapping  id = em.getFieldMapping("id");
+        assertNotEmpty(id.getSequenceName());
+
+        String sql = sf.getUpsertSql(upsertDialect(), em, new String[]{"id", "code", "name"}, null);
+        assertContains(sql, "#id#");
+        assertFalse(sql.contains(dialect().getNextSequenceValueSqlString(id.getSequenceName())));
+        assertContains(sql, "on conflict (" + column(em, "id") + ")");
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testMissingSequenceId() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+        FieldMapping  id = em.getFieldMapping("id");
+
+        String sql = sf.getUpsertSql(upsertDialect(), em, new String[]{"code", "name"}, new String[]{"code"});
+        assertContains(sql, dialect().getNextSequenceValueSqlString(id.getSequenceName()));
+        assertFalse(sql.contains("#id#"));
+        assertFalse(sql.contains(column(em, "id") + " = excluded"));
+
+        try {
+            sf.getUpsertSql(upsertDialect(), em, new String[]{"code", "name"}, null);
+            fail("Should throw IllegalStateException");
+        }catch (IllegalStateException e) {
+            assertContains(e.getMessage(), "id");
+        }
+    }
+
+    @Test
+    @Contextual("h2")
+    public void testUpdateColumns() {
+        EntityMapping em = metadata.getEntityMapping(UpsertModel.class);
+        assertTrue(em.getFieldMapping("lockVersion").isOptimisticLock());
+
+        String sql = sf.getUpsertSql(upsertDialect(), em,
+                                     new String[]{"id", "code", "name", "createdBy", "lockVersion"}, new String[]{"code"});
+
+        assertContains(sql, "on conflict (" + column(em, "code") + ")");
+        assertContains(sql, column(em, "name") + " = excluded." + column(em, "name"));
+        assertFalse(sql.contains(column(em, "code") + " = excluded"));
+        assertFalse(sql.contains(column(em, "id") + " = excluded"));
+        assertFalse(sql.contains(column(em, "createdBy") + " = excluded"));
+        assertFalse(sql.contains(column(em, "lockVersion") + " = excluded"));
+    }
+
+    private DbDialect dialect() {
+        return db.getDialect();
+    }
+
+    private String column(EntityMapping em, String field) {
+        return dialect().quoteIdentifier(em.getFieldMapping(field).getColumnName());
+    }
+
+    /**
+     * Returns the dialect of current db, but generates the upsert sql of postgresql.
+     */
+    private DbDialect upsertDialect() {
+        final DbDialect          dialect = dialect();
+        final PostgreSQL9Dialect pg      = new PostgreSQL9Dialect();
+        return (DbDialect) Proxy.newProxyInstance(DbDialect.class.getClassLoader(), new Class[]{DbDialect.class}, (proxy, m, args) -> {
+            try {
+                if(m.getName().equals("getUpsertSql")) {
+                    return m.invoke(pg, args);
+                }
+                return m.invoke(dialect, args);
+            }catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.tested.generator;
+
+import leap.orm.generator.AutoIdGenerator;
+import leap.orm.mapping.EntityMappingBuilder;
+import leap.orm.mapping.FieldMappingBuilder;
+import leap.orm.metadata.MetadataContext;
+
+/**
+ * Maps the id to a sequence if supported by db, even if the db supports auto increment.
+ */
+public class SequenceIdGenerator extends AutoIdGenerator {
+
+    @Override
+    public void mapping(MetadataContext context, EntityMappingBuilder emb, FieldMappingBuilder fmb) {
+        if(null != context.getDb() && context.getDb().getDialect().supportsSequence()) {
+            mappingSequence(context, emb, fmb);
+        }else{
+            super.mapping(context, emb, fmb);
+        }
+    }
+
+}
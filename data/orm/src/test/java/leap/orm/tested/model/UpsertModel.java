@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.tested.model;
+
+import leap.lang.enums.Bool;
+import leap.orm.annotation.Column;
+import leap.orm.annotation.Id;
+import leap.orm.annotation.Unique;
+import leap.orm.model.Model;
+
+public class UpsertModel extends Model {
+
+    @Id(generator = "test_sequence")
+    protected Long id;
+
+    @Unique("code")
+    @Column(length = 50)
+    protected String code;
+
+    @Column(length = 50)
+    protected String name;
+
+    @Column(length = 50, update = Bool.FALSE)
+    protected String createdBy;
+
+    @Column
+    protected Integer lockVersion;
+
+    public UpsertModel() {
+
+    }
+
+    public UpsertModel(String code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Integer getLockVersion() {
+        return lockVersion;
+    }
+
+    public void setLockVersion(Integer lockVersion) {
+        this.lockVersion = lockVersion;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.orm.tested.model.cache;
+
+import leap.orm.annotation.Cacheable;
+import leap.orm.annotation.Column;
+import leap.orm.annotation.Id;
+import leap.orm.model.Model;
+
+@Cacheable
+public class CachedModel extends Model {
+
+    @Id
+    @Column(length = 50)
+    protected String id;
+
+    @Column(length = 50)
+    protected String name;
+
+    @Column(length = 50)
+    protected String remark;
+
+    public CachedModel() {
+
+    }
+
+    public CachedModel(String id, String name, String remark) {
+        this.id = id;
+        this.name = name;
+        this.remark = remark;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRemark() {
+        return remark;
+    }
+
+    public void setRemark(String remark) {
+        this.remark = remark;
+    }
+}
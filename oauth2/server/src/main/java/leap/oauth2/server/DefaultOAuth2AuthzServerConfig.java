@@ -26,6 +26,7 @@ import leap.core.security.token.jwt.JwtVerifier;
 import leap.core.security.token.jwt.RsaVerifier;
 import leap.core.store.JdbcStore;
 import leap.lang.Args;
+import leap.lang.Disposable;
 import leap.lang.Try;
 import leap.lang.Strings;
 import leap.lang.security.RSA;
@@ -33,6 +34,8 @@ import leap.oauth2.server.client.AuthzClientStore;
 import leap.oauth2.server.code.AuthzCodeStore;
 import leap.oauth2.server.sso.AuthzSSOStore;
 import leap.oauth2.server.store.AuthzInMemoryStore;
+import leap.oauth2.server.store.CachingAuthzTokenStore;
+import leap.oauth2.server.store.DefaultJdbcAuthzTokenStore;
 import leap.oauth2.server.token.AuthzTokenStore;
 import leap.web.App;
 import leap.web.AppInitializable;
@@ -43,7 +46,7 @@ import java.security.PublicKey;
 import java.security.interfaces.RSAPublicKey;
 
 @Configurable(prefix="oauth2.as")
-public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig, OAuth2AuthzServerConfigurator, AppInitializable {
+public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig, OAuth2AuthzServerConfigurator, AppInitializable, Disposable {
 
     protected @Inject                AppConfig            appConfig;
     protected @Inject                SecurityConfigurator sc;
@@ -63,6 +66,12 @@ public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig,
     protected boolean    httpsOnly                       = true;
     protected boolean    cleanupEnabled                  = true;
     protected int        cleanupInterval                 = DEFAULT_CLEANUP_INTERVAL;
+    protected int        cleanupChunkSize                = 1000;
+    protected boolean    tokenCacheEnabled               = false;
+    protected int        tokenCacheSize                  = CachingAuthzTokenStore.DEFAULT_CACHE_SIZE;
+    protected int        tokenCacheExpires               = (int)(CachingAuthzTokenStore.DEFAULT_CACHE_EXPIRES_MS / 1000);
+    protected boolean    tokenWriteBehindEnabled         = false;
+    protected int        tokenWriteBehindInterval        = 1000;
     protected boolean    singleLoginEnabled              = true;
     protected boolean    singleLogoutEnabled             = true;
     protected boolean    passwordCredentialsEnabled      = true;
@@ -154,6 +163,54 @@ public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig,
         return this;
     }
 
+    /**
+     * Sets the max number of expired tokens deleted by one statement in cleanup.
+     */
+    @ConfigProperty
+    public void setCleanupChunkSize(int cleanupChunkSize) {
+        this.cleanupChunkSize = cleanupChunkSize;
+    }
+
+    /**
+     * Enables caching the loaded tokens of jdbc token store, disabled by default.
+     *
+     * <p/>
+     * A token removed in other server may still be valid until the cache expires.
+     */
+    @ConfigProperty
+    public void setTokenCacheEnabled(boolean tokenCacheEnabled) {
+        this.tokenCacheEnabled = tokenCacheEnabled;
+    }
+
+    @ConfigProperty
+    public void setTokenCacheSize(int tokenCacheSize) {
+        this.tokenCacheSize = tokenCacheSize;
+    }
+
+    /**
+     * Sets the max seconds of a token can be cached.
+     */
+    @ConfigProperty
+    public void setTokenCacheExpires(int seconds) {
+        this.tokenCacheExpires = seconds;
+    }
+
+    /**
+     * Enables writing the saved and removed tokens in batches in background, requires token cache enabled.
+     */
+    @ConfigProperty
+    public void setTokenWriteBehindEnabled(boolean tokenWriteBehindEnabled) {
+        this.tokenWriteBehindEnabled = tokenWriteBehindEnabled;
+    }
+
+    /**
+     * Sets the interval in milliseconds of writing the pending tokens in write-behind mode.
+     */
+    @ConfigProperty
+    public void setTokenWriteBehindInterval(int ms) {
+        this.tokenWriteBehindInterval = ms;
+    }
+
     @Override
     public boolean isCleanupEnabled() {
         return cleanupEnabled;
@@ -597,6 +654,14 @@ public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig,
             if(hasDataSources) {
                 String dataSourceName = Strings.firstNotEmpty(jdbcDataSourceName, DataSourceManager.DEFAULT_DATASOURCE_NAME);
 
+                if(jdbcTokenStore instanceof DefaultJdbcAuthzTokenStore) {
+                    ((DefaultJdbcAuthzTokenStore) jdbcTokenStore).setCleanupChunkSize(cleanupChunkSize);
+                }
+
+                if(tokenCacheEnabled && getTokenStore() != inMemoryStore && !(getTokenStore() instanceof CachingAuthzTokenStore)) {
+                    tokenStore = createCachingTokenStore(getTokenStore());
+                }
+
                 if(getTokenStore() instanceof JdbcStore) {
                     ((JdbcStore) getTokenStore()).setDataSourceName(dataSourceName);
                 }
@@ -627,6 +692,27 @@ public class DefaultOAuth2AuthzServerConfig implements OAuth2AuthzServerConfig,
         }
     }
 
+    protected CachingAuthzTokenStore createCachingTokenStore(AuthzTokenStore store) {
+        CachingAuthzTokenStore cachingStore =
+                new CachingAuthzTokenStore(store, tokenCacheSize, tokenCacheExpires * 1000L, CachingAuthzTokenStore.DEFAULT_NEGATIVE_EXPIRES_MS);
+
+        if(tokenWriteBehindEnabled) {
+            cachingStore.setWriteBehind(true);
+            schedulerManager
+                    .newFixedThreadPoolScheduler("auth-token-writer")
+                    .scheduleAtFixedRate(() -> Try.catchAll(cachingStore::flush), tokenWriteBehindInterval);
+        }
+
+        return cachingStore;
+    }
+
+    @Override
+    public void dispose() throws Throwable {
+        if(tokenStore instanceof CachingAuthzTokenStore) {
+            ((CachingAuthzTokenStore) tokenStore).dispose();
+        }
+    }
+
     protected void cleanup() {
         Try.catchAll(() -> getCodeStore().cleanupAuthorizationCodes());
         Try.catchAll(() -> getTokenStore().cleanupTokens());
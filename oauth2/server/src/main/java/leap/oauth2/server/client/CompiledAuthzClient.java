@@ -0,0 +1,277 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.oauth2.server.client;
+
+import leap.lang.Args;
+import leap.lang.Strings;
+import leap.lang.net.Urls;
+import leap.lang.path.PathPattern;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of {@link AuthzClient} compiled once, can be shared by all the requests.
+ *
+ * <p/>
+ * The authentication state is not stored in the shared snapshot, use {@link #authenticated()} to get
+ * the authenticated snapshot of the client.
+ */
+public final class CompiledAuthzClient implements AuthzClient {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int ALLOW_AUTHORIZATION_CODE = 1;
+    private static final int ALLOW_REFRESH_TOKEN      = 1 << 1;
+    private static final int ALLOW_LOGIN_TOKEN        = 1 << 2;
+    private static final int ENABLED                  = 1 << 3;
+
+    /**
+     * Returns the compiled snapshot of the client, returns the client itself if it is compiled already.
+     */
+    public static CompiledAuthzClient of(AuthzClient client) {
+        Args.notNull(client, "client");
+        if(client instanceof CompiledAuthzClient) {
+            return (CompiledAuthzClient)client;
+        }
+        return new CompiledAuthzClient(client);
+    }
+
+    private final String      id;
+    private final String      secret;
+    private final String      redirectUri;
+    private final PathPattern redirectUriPattern;
+    private final boolean     acceptsAnyRedirectUri;
+    private final String      logoutUri;
+    private final PathPattern logoutUriPattern;
+    private final Integer     accessTokenExpires;
+    private final Integer     refreshTokenExpires;
+    private final String      grantedScope;
+    private final Set<String> grantedScopes;
+    private final int         flags;
+    private final boolean     authenticated;
+
+    private final CompiledAuthzClient authenticatedClient;
+
+    private CompiledAuthzClient(AuthzClient c) {
+        this.id                  = c.getId();
+        this.secret              = c.getSecret();
+        this.redirectUri         = c.getRedirectUri();
+        this.logoutUri           = c.getLogoutUri();
+        this.accessTokenExpires  = c.getAccessTokenExpires();
+        this.refreshTokenExpires = c.getRefreshTokenExpires();
+        this.grantedScope        = c.getGrantedScope();
+        this.grantedScopes       = parseScopes(grantedScope);
+        this.authenticated       = false;
+
+        if(c instanceof SimpleAuthzClient) {
+            this.redirectUriPattern = ((SimpleAuthzClient) c).getRedirectUriPattern();
+            this.logoutUriPattern   = ((SimpleAuthzClient) c).getLogoutUriPattern();
+        }else{
+            this.redirectUriPattern = null;
+            this.logoutUriPattern   = null;
+        }
+
+        //a bare '*' or '**' pattern matches any redirect uri, skip the path matching for it.
+        this.acceptsAnyRedirectUri = null != redirectUriPattern &&
+                                     (redirectUriPattern.pattern().equals("*") || redirectUriPattern.pattern().equals("**"));
+
+        int flags = 0;
+        if(c.isAllowAuthorizationCode()) {
+            flags |= ALLOW_AUTHORIZATION_CODE;
+        }
+        if(c.isAllowRefreshToken()) {
+            flags |= ALLOW_REFRESH_TOKEN;
+        }
+        if(c.isAllowLoginToken()) {
+            flags |= ALLOW_LOGIN_TOKEN;
+        }
+        if(c.isEnabled()) {
+            flags |= ENABLED;
+        }
+        this.flags = flags;
+
+        this.authenticatedClient = new CompiledAuthzClient(this);
+    }
+
+    private CompiledAuthzClient(CompiledAuthzClient c) {
+        this.id                    = c.id;
+        this.secret                = c.secret;
+        this.redirectUri           = c.redirectUri;
+        this.redirectUriPattern    = c.redirectUriPattern;
+        this.acceptsAnyRedirectUri = c.acceptsAnyRedirectUri;
+        this.logoutUri             = c.logoutUri;
+        this.logoutUriPattern      = c.logoutUriPattern;
+        this.accessTokenExpires    = c.accessTokenExpires;
+        this.refreshTokenExpires   = c.refreshTokenExpires;
+        this.grantedScope          = c.grantedScope;
+        this.grantedScopes         = c.grantedScopes;
+        this.flags                 = c.flags;
+        this.authenticated         = true;
+        this.authenticatedClient   = this;
+    }
+
+    /**
+     * Returns the authenticated snapshot of this client.
+     */
+    public CompiledAuthzClient authenticated() {
+        return authenticatedClient;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getSecret() {
+        return secret;
+    }
+
+    @Override
+    public Integer getAccessTokenExpires() {
+        return accessTokenExpires;
+    }
+
+    @Override
+    public Integer getRefreshTokenExpires() {
+        return refreshTokenExpires;
+    }
+
+    @Override
+    public String getRedirectUri() {
+        return redirectUri;
+    }
+
+    public PathPattern getRedirectUriPattern() {
+        return redirectUriPattern;
+    }
+
+    @Override
+    public String getLogoutUri() {
+        return logoutUri;
+    }
+
+    public PathPattern getLogoutUriPattern() {
+        return logoutUriPattern;
+    }
+
+    @Override
+    public String getGrantedScope() {
+        return grantedScope;
+    }
+
+    /**
+     * Returns the granted scopes as an immutable set.
+     */
+    public Set<String> getGrantedScopes() {
+        return grantedScopes;
+    }
+
+    /**
+     * Returns true if the given scope is granted to this client.
+     */
+    public boolean isGrantedScope(String scope) {
+        return grantedScopes.contains(scope);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return (flags & ENABLED) != 0;
+    }
+
+    @Override
+    public boolean isAllowAuthorizationCode() {
+        return (flags & ALLOW_AUTHORIZATION_CODE) != 0;
+    }
+
+    @Override
+    public boolean isAllowRefreshToken() {
+        return (flags & ALLOW_REFRESH_TOKEN) != 0;
+    }
+
+    @Override
+    public boolean isAllowLoginToken() {
+        return (flags & ALLOW_LOGIN_TOKEN) != 0;
+    }
+
+    @Override
+    public boolean acceptsRedirectUri(String uri) {
+        if(null == uri) {
+            return false;
+        }
+
+        if(null != redirectUri && uri.startsWith(redirectUri)) {
+            return true;
+        }
+
+        if(null != redirectUriPattern) {
+            return acceptsAnyRedirectUri || redirectUriPattern.matches(Urls.removeQueryString(uri));
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean acceptsLogoutUri(String uri) {
+        if(null == uri) {
+            return false;
+        }
+
+        if(null != logoutUri && uri.startsWith(logoutUri)) {
+            return true;
+        }
+
+        if(null != logoutUriPattern) {
+            return logoutUriPattern.matches(Urls.removeQueryString(uri));
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean acceptsSecret(String secret) {
+        return Strings.equals(secret, this.secret);
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    /**
+     * The snapshot is immutable, use {@link #authenticated()} to get the authenticated snapshot.
+     *
+     * @throws UnsupportedOperationException if the given state is not the state of this snapshot.
+     */
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if(authenticated != this.authenticated) {
+            throw new UnsupportedOperationException("The compiled client '" + id +
+                                                    "' is immutable, use authenticated() instead");
+        }
+    }
+
+    private static Set<String> parseScopes(String scope) {
+        if(Strings.isEmpty(scope)) {
+            return Collections.emptySet();
+        }
+        Set<String> scopes = new LinkedHashSet<>();
+        Collections.addAll(scopes, Strings.split(scope, ',', ' '));
+        return Collections.unmodifiableSet(scopes);
+    }
+}
@@ -36,7 +36,10 @@ public class DefaultAuthzClientAuthenticator implements AuthzClientAuthenticator
             return false;
         }
 
-        client.setAuthenticated(Boolean.TRUE);
+        //the compiled client is immutable, the authenticated snapshot is returned by the manager.
+        if(!(client instanceof CompiledAuthzClient)) {
+            client.setAuthenticated(Boolean.TRUE);
+        }
         return true;
     }
 
@@ -43,7 +43,7 @@ public class DefaultAuthzClientManager implements AuthzClientManager {
         }
         for(AuthzClientAuthenticator a : authenticators) {
             if(a.authenticate(credentials, client)) {
-                return client;
+                return client instanceof CompiledAuthzClient ? ((CompiledAuthzClient) client).authenticated() : client;
             }
         }
         context.addError(INVALID_REQUEST_INVALID_CLIENT_SECRET,ERROR_INCORRECT_SECRET,"client_secret invalid");
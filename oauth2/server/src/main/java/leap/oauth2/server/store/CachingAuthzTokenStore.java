@@ -0,0 +1,354 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.oauth2.server.store;
+
+import leap.core.cache.Cache;
+import leap.core.cache.CacheStats;
+import leap.core.cache.ConcurrentLRUCache;
+import leap.core.store.JdbcStore;
+import leap.lang.Args;
+import leap.lang.Disposable;
+import leap.lang.expirable.TimeExpirable;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+import leap.oauth2.server.token.AuthzAccessToken;
+import leap.oauth2.server.token.AuthzRefreshToken;
+import leap.oauth2.server.token.AuthzTokenStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@link AuthzTokenStore} caches the loaded tokens of the underlying store.
+ *
+ * <p/>
+ * The not found tokens are cached in a shorter time (negative caching), a cached token never lives longer than
+ * the expiration of the token.
+ *
+ * <p/>
+ * In write-behind mode, the saved and removed tokens are written to the underlying store in batches by {@link #flush()},
+ * the pending tokens are visible to the loading methods before flushed, and the removed tokens are never loaded
+ * from the underlying store until the removals are written.
+ */
+public class CachingAuthzTokenStore implements AuthzTokenStore, JdbcStore, Disposable {
+
+    private static final Log log = LogFactory.get(CachingAuthzTokenStore.class);
+
+    public static final int  DEFAULT_CACHE_SIZE          = 10000;
+    public static final long DEFAULT_CACHE_EXPIRES_MS    = 60 * 1000L;
+    public static final long DEFAULT_NEGATIVE_EXPIRES_MS = 5 * 1000L;
+    public static final int  DEFAULT_MAX_PENDING_WRITES  = 10000;
+
+    protected final AuthzTokenStore            store;
+    protected final Cache<String, CachedToken> accessTokens;
+    protected final Cache<String, CachedToken> refreshTokens;
+    protected final long                       expiresMs;
+    protected final long                       negativeExpiresMs;
+
+    protected boolean writeBehind;
+    protected int     maxPendingWrites = DEFAULT_MAX_PENDING_WRITES;
+
+    //the pending writes of write-behind mode.
+    private final Map<String, AuthzAccessToken>  pendingAccessTokens  = new ConcurrentHashMap<>();
+    private final Map<String, AuthzRefreshToken> pendingRefreshTokens = new ConcurrentHashMap<>();
+    private final Set<String>                    removedAccessTokens  = ConcurrentHashMap.newKeySet();
+    private final Set<String>                    removedRefreshTokens = ConcurrentHashMap.newKeySet();
+
+    public CachingAuthzTokenStore(AuthzTokenStore store) {
+        this(store, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_EXPIRES_MS, DEFAULT_NEGATIVE_EXPIRES_MS);
+    }
+
+    /**
+     * @param store the underlying store.
+     * @param cacheSize the max number of the cached access tokens (and refresh tokens).
+     * @param expiresMs the max time in milliseconds of a found token can be cached.
+     * @param negativeExpiresMs the max time in milliseconds of a not found token can be cached, zero disables negative caching.
+     */
+    public CachingAuthzTokenStore(AuthzTokenStore store, int cacheSize, long expiresMs, long negativeExpiresMs) {
+        Args.notNull(store, "store");
+        Args.assertTrue(expiresMs > 0, "The expires ms must be positive");
+        this.store             = store;
+        this.expiresMs         = expiresMs;
+        this.negativeExpiresMs = negativeExpiresMs;
+        this.accessTokens      = new ConcurrentLRUCache<>(cacheSize, expiresMs, 0);
+        this.refreshTokens     = new ConcurrentLRUCache<>(cacheSize, expiresMs, 0);
+    }
+
+    public AuthzTokenStore getStore() {
+        return store;
+    }
+
+    public CacheStats getAccessTokenStats() {
+        return accessTokens.getStats();
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Enables or disables the write-behind mode, the {@link #flush()} must be invoked periodically in write-behind mode.
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Sets the max number of pending writes, the tokens will be written synchronously if exceeds.
+     */
+    public void setMaxPendingWrites(int maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    @Override
+    public void setDataSourceName(String name) {
+        if(store instanceof JdbcStore) {
+            ((JdbcStore) store).setDataSourceName(name);
+        }
+    }
+
+    @Override
+    public void saveAccessToken(AuthzAccessToken token) {
+        if(isWriteBehind(pendingAccessTokens)) {
+            removedAccessTokens.remove(token.getToken());
+            pendingAccessTokens.put(token.getToken(), token);
+        }else{
+            store.saveAccessToken(token);
+        }
+        accessTokens.put(token.getToken(), cached(token));
+    }
+
+    @Override
+    public void saveRefreshToken(AuthzRefreshToken token) {
+        if(isWriteBehind(pendingRefreshTokens)) {
+            removedRefreshTokens.remove(token.getToken());
+            pendingRefreshTokens.put(token.getToken(), token);
+        }else{
+            store.saveRefreshToken(token);
+        }
+        refreshTokens.put(token.getToken(), cached(token));
+    }
+
+    @Override
+    public AuthzAccessToken loadAccessToken(String accessToken) {
+        CachedToken cached = accessTokens.get(accessToken);
+        if(null != cached && !cached.isExpired()) {
+            return (AuthzAccessToken)cached.token;
+        }
+
+        if(removedAccessTokens.contains(accessToken)) {
+            return null;
+        }
+
+        AuthzAccessToken token = pendingAccessTokens.get(accessToken);
+        if(null == token) {
+            token = store.loadAccessToken(accessToken);
+        }
+        if(null != token) {
+            accessTokens.put(accessToken, cached(token));
+
+            //the token may be removed while loading.
+            if(removedAccessTokens.contains(accessToken)) {
+                accessTokens.remove(accessToken);
+                return null;
+            }
+        }else if(negativeExpiresMs > 0) {
+            accessTokens.put(accessToken, notFound());
+        }
+        return token;
+    }
+
+    @Override
+    public AuthzRefreshToken loadRefreshToken(String refreshToken) {
+        CachedToken cached = refreshTokens.get(refreshToken);
+        if(null != cached && !cached.isExpired()) {
+            return (AuthzRefreshToken)cached.token;
+        }
+
+        if(removedRefreshTokens.contains(refreshToken)) {
+            return null;
+        }
+
+        AuthzRefreshToken token = pendingRefreshTokens.get(refreshToken);
+        if(null == token) {
+            token = store.loadRefreshToken(refreshToken);
+        }
+        if(null != token) {
+            refreshTokens.put(refreshToken, cached(token));
+
+            //the token may be removed while loading.
+            if(removedRefreshTokens.contains(refreshToken)) {
+                refreshTokens.remove(refreshToken);
+                return null;
+            }
+        }else if(negativeExpiresMs > 0) {
+            refreshTokens.put(refreshToken, notFound());
+        }
+        return token;
+    }
+
+    @Override
+    public void removeAccessToken(String accessToken) {
+        if(writeBehind) {
+            removedAccessTokens.add(accessToken);
+            pendingAccessTokens.remove(accessToken);
+            accessTokens.remove(accessToken);
+        }else{
+            //deletes from the store before evicting, a concurrent loading can not cache the removed token again.
+            removedAccessTokens.add(accessToken);
+            try {
+                store.removeAccessToken(accessToken);
+            }finally {
+                accessTokens.remove(accessToken);
+                removedAccessTokens.remove(accessToken);
+            }
+        }
+    }
+
+    @Override
+    public void removeRefreshToken(String refreshToken) {
+        if(writeBehind) {
+            removedRefreshTokens.add(refreshToken);
+            pendingRefreshTokens.remove(refreshToken);
+            refreshTokens.remove(refreshToken);
+        }else{
+            //deletes from the store before evicting, a concurrent loading can not cache the removed token again.
+            removedRefreshTokens.add(refreshToken);
+            try {
+                store.removeRefreshToken(refreshToken);
+            }finally {
+                refreshTokens.remove(refreshToken);
+                removedRefreshTokens.remove(refreshToken);
+            }
+        }
+    }
+
+    @Override
+    public void cleanupTokens() {
+        store.cleanupTokens();
+    }
+
+    /**
+     * Writes all the pending tokens to the underlying store.
+     *
+     * <p/>
+     * The saved tokens are written before the removed tokens, so a token removed while flushing will be removed
+     * from the underlying store by this or next flush.
+     *
+     * <p/>
+     * The removed tokens failed to write are kept and retried by next flush.
+     */
+    public synchronized void flush() {
+        flushSaved(pendingAccessTokens, store::saveAccessTokens, store::saveAccessToken);
+        flushSaved(pendingRefreshTokens, store::saveRefreshTokens, store::saveRefreshToken);
+        flushRemoved(removedAccessTokens, store::removeAccessTokens, store::removeAccessToken);
+        flushRemoved(removedRefreshTokens, store::removeRefreshTokens, store::removeRefreshToken);
+    }
+
+    @Override
+    public void dispose() throws Throwable {
+        flush();
+    }
+
+    protected <T> void flushSaved(Map<String, T> pending, Consumer<Collection<T>> batch, Consumer<T> single) {
+        if(pending.isEmpty()) {
+            return;
+        }
+
+        //keeps the pending tokens visible until written.
+        List<Map.Entry<String, T>> entries = new ArrayList<>(pending.entrySet());
+        List<T> tokens = new ArrayList<>(entries.size());
+        for(Map.Entry<String, T> entry : entries) {
+            tokens.add(entry.getValue());
+        }
+
+        try {
+            batch.accept(tokens);
+        }catch (Exception e) {
+            log.error("Error saving {} tokens in batch, save one by one, {}", tokens.size(), e.getMessage(), e);
+            for(T token : tokens) {
+                try {
+                    single.accept(token);
+                }catch (Exception e1) {
+                    log.error("Error saving token, {}", e1.getMessage(), e1);
+                }
+            }
+        }
+
+        for(Map.Entry<String, T> entry : entries) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    protected void flushRemoved(Set<String> removed, Consumer<Collection<String>> batch, Consumer<String> single) {
+        if(removed.isEmpty()) {
+            return;
+        }
+
+        //keeps the removed tokens invisible until written.
+        List<String> tokens = new ArrayList<>(removed);
+
+        try {
+            batch.accept(tokens);
+            removed.removeAll(tokens);
+        }catch (Exception e) {
+            log.error("Error removing {} tokens in batch, remove one by one, {}", tokens.size(), e.getMessage(), e);
+            for(String token : tokens) {
+                try {
+                    single.accept(token);
+                    removed.remove(token);
+                }catch (Exception e1) {
+                    log.error("Error removing token, retry in next flush, {}", e1.getMessage(), e1);
+                }
+            }
+        }
+    }
+
+    private boolean isWriteBehind(Map<String, ?> pending) {
+        return writeBehind && pending.size() < maxPendingWrites;
+    }
+
+    private CachedToken cached(TimeExpirable token) {
+        long expiresAt = System.currentTimeMillis() + expiresMs;
+        if(token.getExpiresIn() > 0) {
+            expiresAt = Math.min(expiresAt, token.getCreated() + token.getExpiresIn() * 1000L);
+        }
+        return new CachedToken(token, expiresAt);
+    }
+
+    private CachedToken notFound() {
+        return new CachedToken(null, System.currentTimeMillis() + Math.min(negativeExpiresMs, expiresMs));
+    }
+
+    protected static final class CachedToken {
+        private final TimeExpirable token;
+        private final long          expiresAt;
+
+        CachedToken(TimeExpirable token, long expiresAt) {
+            this.token     = token;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
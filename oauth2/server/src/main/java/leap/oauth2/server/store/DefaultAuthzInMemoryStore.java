@@ -16,11 +16,11 @@
 package leap.oauth2.server.store;
 
 import leap.lang.Args;
-import leap.lang.Beans;
 import leap.lang.Strings;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 import leap.oauth2.server.client.AuthzClient;
+import leap.oauth2.server.client.CompiledAuthzClient;
 import leap.oauth2.server.client.SimpleAuthzClient;
 import leap.oauth2.server.code.AuthzCode;
 import leap.oauth2.server.sso.AuthzSSOLogin;
@@ -48,15 +48,12 @@ public class DefaultAuthzInMemoryStore implements AuthzInMemoryStore {
 
     @Override
     public AuthzClient loadClient(String clientId) {
-        AuthzClient authzClient = clients.get(clientId);
-        SimpleAuthzClient client = new SimpleAuthzClient();
-        Beans.copyProperties(authzClient,client);
-        return  client;
+        return clients.get(clientId);
     }
 
     @Override
     public AuthzInMemoryStore addClient(AuthzClient client) {
-        clients.put(client.getId(), client);
+        clients.put(client.getId(), CompiledAuthzClient.of(client));
         return this;
     }
     
@@ -16,10 +16,15 @@
 package leap.oauth2.server.store;
 
 import leap.core.AppConfig;
+import leap.core.annotation.ConfigProperty;
+import leap.core.annotation.Configurable;
+import leap.core.cache.Cache;
+import leap.core.cache.ConcurrentLRUCache;
 import leap.lang.Strings;
 import leap.lang.path.AntPathPattern;
 import leap.oauth2.server.client.AuthzClient;
 import leap.oauth2.server.client.AuthzClientStore;
+import leap.oauth2.server.client.CompiledAuthzClient;
 import leap.oauth2.server.client.SimpleAuthzClient;
 import leap.oauth2.server.entity.AuthzClientEntity;
 import leap.orm.OrmMetadata;
@@ -28,17 +33,61 @@ import leap.orm.dao.Dao;
 import leap.orm.dmo.Dmo;
 import leap.orm.sql.SqlCommand;
 
+@Configurable(prefix = "oauth2.as.clients")
 public class DefaultJdbcAuthzClientStore extends AbstractJdbcAuthzStore implements AuthzClientStore {
 
     public static final String LOAD_CLIENT_SQL_KEY = "oauth2.as.loadClient";
 
     protected SqlCommand loadClientCommand;
+    protected int        cacheSize      = 1024;
+    protected long       cacheExpiresMs = 0;
+
+    private Cache<String, CompiledAuthzClient> cache;
+
+    @ConfigProperty
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Sets the max milliseconds of a loaded client can be cached, zero (the default) disables the cache.
+     *
+     * <p/>
+     * The changes of a cached client are not visible until expired, unless {@link #evict(String)} is invoked.
+     */
+    @ConfigProperty
+    public void setCacheExpiresMs(long cacheExpiresMs) {
+        this.cacheExpiresMs = cacheExpiresMs;
+    }
+
+    /**
+     * Removes the cached client, should be invoked after the client was changed.
+     */
+    public void evict(String clientId) {
+        if(null != cache) {
+            cache.remove(clientId);
+        }
+    }
 
     @Override
     public AuthzClient loadClient(String clientId) {
+        if(null != cache) {
+            CompiledAuthzClient client = cache.get(clientId);
+            if(null != client) {
+                return client;
+            }
+        }
+
     	AuthzClientEntity entity=loadAuthzClientEntity(clientId);
+        if(null == entity) {
+            return null;
+        }
 
-        return null == entity ? null : createAuthzClientFromEntity(entity);
+        CompiledAuthzClient client = CompiledAuthzClient.of(createAuthzClientFromEntity(entity));
+        if(null != cache) {
+            cache.put(clientId, client);
+        }
+        return client;
     }
 
     protected AuthzClientEntity loadAuthzClientEntity(String clientId){
@@ -83,6 +132,10 @@ public class DefaultJdbcAuthzClientStore extends AbstractJdbcAuthzStore implemen
     protected void init(AppConfig config) {
         createEntityMapping(dmo, config.isDebug());
         resolveSqlCommands(dao, dao.getOrmContext().getMetadata());
+
+        if(cacheExpiresMs > 0 && cacheSize > 0) {
+            cache = new ConcurrentLRUCache<>(cacheSize, cacheExpiresMs, 0);
+        }
     }
 
     protected void createEntityMapping(Dmo dmo, boolean debug) {
@@ -19,6 +19,7 @@ import leap.core.AppConfig;
 import leap.lang.New;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
+import leap.oauth2.server.OAuth2ExpirableEntity;
 import leap.oauth2.server.entity.AuthzAccessTokenEntity;
 import leap.oauth2.server.entity.AuthzLoginTokenEntity;
 import leap.oauth2.server.entity.AuthzRefreshTokenEntity;
@@ -31,7 +32,10 @@ import leap.orm.sql.SqlCommand;
 import leap.web.security.user.UserDetails;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 public class DefaultJdbcAuthzTokenStore extends AbstractJdbcAuthzStore implements AuthzTokenStore {
 
@@ -42,6 +46,14 @@ public class DefaultJdbcAuthzTokenStore extends AbstractJdbcAuthzStore implement
 
     protected SqlCommand cleanupAccessTokensCommand;
     protected SqlCommand cleanupRefreshTokensCommand;
+    protected int        cleanupChunkSize = 1000;
+
+    /**
+     * Sets the max number of the expired tokens deleted by one statement in {@link #cleanupTokens()}.
+     */
+    public void setCleanupChunkSize(int cleanupChunkSize) {
+        this.cleanupChunkSize = cleanupChunkSize;
+    }
 
     @Override
     public void saveAccessToken(AuthzAccessToken token) {
@@ -77,6 +89,34 @@ public class DefaultJdbcAuthzTokenStore extends AbstractJdbcAuthzStore implement
         dao.delete(AuthzRefreshTokenEntity.class, refreshToken);
     }
 
+    @Override
+    public void saveAccessTokens(Collection<AuthzAccessToken> tokens) {
+        List<AuthzAccessTokenEntity> entities = new ArrayList<>(tokens.size());
+        for(AuthzAccessToken token : tokens) {
+            entities.add(createEntityFromAccessToken(token));
+        }
+        dao.batchInsert(AuthzAccessTokenEntity.class, entities);
+    }
+
+    @Override
+    public void saveRefreshTokens(Collection<AuthzRefreshToken> tokens) {
+        List<AuthzRefreshTokenEntity> entities = new ArrayList<>(tokens.size());
+        for(AuthzRefreshToken token : tokens) {
+            entities.add(createEnttiyFromRefreshToken(token));
+        }
+        dao.batchInsert(AuthzRefreshTokenEntity.class, entities);
+    }
+
+    @Override
+    public void removeAccessTokens(Collection<String> accessTokens) {
+        dao.batchDelete(AuthzAccessTokenEntity.class, new ArrayList<>(accessTokens));
+    }
+
+    @Override
+    public void removeRefreshTokens(Collection<String> refreshTokens) {
+        dao.batchDelete(AuthzRefreshTokenEntity.class, new ArrayList<>(refreshTokens));
+    }
+
     @Override
     public void cleanupTokens() {
         Date now = new Date();
@@ -90,7 +130,7 @@ public class DefaultJdbcAuthzTokenStore extends AbstractJdbcAuthzStore implement
         if(null != cleanupAccessTokensCommand) {
             result = dao.executeUpdate(cleanupAccessTokensCommand, New.hashMap("now",now));
         }else{
-            result = dao.createCriteriaQuery(AuthzAccessTokenEntity.class).where("expiration <= :now",now).delete();
+            result = cleanupExpired(AuthzAccessTokenEntity.class, now);
         }
         log.info("Cleanup {} expired access tokens", result);
     }
@@ -100,11 +140,42 @@ public class DefaultJdbcAuthzTokenStore extends AbstractJdbcAuthzStore implement
         if(null != cleanupRefreshTokensCommand) {
             result = dao.executeUpdate(cleanupRefreshTokensCommand, New.hashMap("now",now));
         }else{
-            result = dao.createCriteriaQuery(AuthzRefreshTokenEntity.class).where("expiration <= :now",now).delete();
+            result = cleanupExpired(AuthzRefreshTokenEntity.class, now);
         }
         log.info("Cleanup {} expired refresh tokens", result);
     }
 
+    /**
+     * Deletes the expired tokens in chunks of {@link #cleanupChunkSize}, so a large number of expired tokens
+     * will not be deleted by one long running statement.
+     */
+    protected int cleanupExpired(Class<? extends OAuth2ExpirableEntity> entityClass, Date now) {
+        if(cleanupChunkSize <= 0) {
+            return dao.createCriteriaQuery(entityClass).where("expiration <= :now",now).delete();
+        }
+
+        int total = 0;
+        for(;;) {
+            List<Object> ids = dao.createCriteriaQuery(entityClass)
+                                  .select("token")
+                                  .where("expiration <= :now",now)
+                                  .limit(cleanupChunkSize)
+                                  .scalars().list();
+            if(ids.isEmpty()) {
+                break;
+            }
+
+            for(int result : dao.batchDelete(entityClass, ids)) {
+                total += result > 0 ? result : 0;
+            }
+
+            if(ids.size() < cleanupChunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
     protected AuthzAccessTokenEntity createEntityFromAccessToken(AuthzAccessToken token) {
         AuthzAccessTokenEntity entity = new AuthzAccessTokenEntity();
 
@@ -15,6 +15,7 @@
  */
 package leap.oauth2.server.token;
 
+import java.util.Collection;
 
 public interface AuthzTokenStore {
     
@@ -53,5 +54,33 @@ public interface AuthzTokenStore {
      * Cleanup expired tokens (access token & refresh token).
      */
     void cleanupTokens();
+
+    /**
+     * Saves all the {@link AuthzAccessToken}s in store.
+     */
+    default void saveAccessTokens(Collection<AuthzAccessToken> tokens) {
+        tokens.forEach(this::saveAccessToken);
+    }
+
+    /**
+     * Saves all the {@link AuthzRefreshToken}s in store.
+     */
+    default void saveRefreshTokens(Collection<AuthzRefreshToken> tokens) {
+        tokens.forEach(this::saveRefreshToken);
+    }
+
+    /**
+     * Removes all the access tokens.
+     */
+    default void removeAccessTokens(Collection<String> accessTokens) {
+        accessTokens.forEach(this::removeAccessToken);
+    }
+
+    /**
+     * Removes all the refresh tokens.
+     */
+    default void removeRefreshTokens(Collection<String> refreshTokens) {
+        refreshTokens.forEach(this::removeRefreshToken);
+    }
     
 }
\ No newline at end of file
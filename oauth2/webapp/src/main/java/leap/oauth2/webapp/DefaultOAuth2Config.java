@@ -62,6 +62,7 @@ public class DefaultOAuth2Config implements OAuth2Config, OAuth2Configurator, Ap
     protected String  logoutView;
     protected Boolean cacheTokenEnabled;
     protected Integer cacheTokenExpiresInMs;
+    protected int     verifiedJwtCacheSize = 1024;
 
     private List<RequestIgnore> ignoresList = new ArrayList<>();
     private RequestIgnore[] ignoresArray = new RequestIgnore[] {};
@@ -378,6 +379,16 @@ public class DefaultOAuth2Config implements OAuth2Config, OAuth2Configurator, Ap
         this.cacheTokenExpiresInMs = cacheTokenExpiresInMs;
     }
 
+    @Override
+    public int getVerifiedJwtCacheSize() {
+        return verifiedJwtCacheSize;
+    }
+
+    @ConfigProperty
+    public void setVerifiedJwtCacheSize(int verifiedJwtCacheSize) {
+        this.verifiedJwtCacheSize = verifiedJwtCacheSize;
+    }
+
     @Override
     public void postAppInit(App app) throws Throwable {
         if(enabled) {
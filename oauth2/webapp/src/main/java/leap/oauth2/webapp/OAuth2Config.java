@@ -126,6 +126,16 @@ public interface OAuth2Config extends OAuth2ConfigBase {
         return "oauth2_authorize_server_public_key";
     };
 
+    /**
+     * Returns the max number of the verified jwt tokens cached by jwt token verifier, zero disables the cache.
+     *
+     * <p/>
+     * Default is 1024.
+     */
+    default int getVerifiedJwtCacheSize() {
+        return 1024;
+    }
+
     /**
      * Returns true if enable cache token.
      *
@@ -70,7 +70,8 @@ public class DefaultOAuth2Authenticator implements OAuth2Authenticator, PostCrea
     public void postCreate(BeanFactory factory) throws Throwable {
         setCacheExpiresInMs(config.getCacheTokenExpiresInMs());
 
-        cache = cacheManager.createSimpleLRUCache(cacheSize);
+        //the expiration of each cached authentication is checked by CachedAuthentication, no global expiration.
+        cache = cacheManager.createConcurrentLRUCache("oauth2.authentications", cacheSize, 0, 0);
         typedAccessTokenVerifiers = factory.getNamedBeans(TokenVerifier.class);
     }
 
@@ -17,8 +17,12 @@
 package leap.oauth2.webapp.token.jwt;
 
 import leap.core.AppConfigException;
+import leap.core.BeanFactory;
 import leap.core.annotation.Inject;
+import leap.core.ioc.PostCreateBean;
+import leap.core.security.token.TokenExpiredException;
 import leap.core.security.token.TokenVerifyException;
+import leap.core.security.token.jwt.CachingJwtVerifier;
 import leap.core.security.token.jwt.JWT;
 import leap.core.security.token.jwt.JwtVerifier;
 import leap.core.security.token.jwt.RsaVerifier;
@@ -39,13 +43,14 @@ import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.lang.JoseException;
 import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.jose4j.jwk.JsonWebKey.*;
 
-public class JwtTokenVerifier implements TokenVerifier {
+public class JwtTokenVerifier implements TokenVerifier, PostCreateBean {
 
     private static final Log log = LogFactory.get(JwtTokenVerifier.class);
 
@@ -56,20 +61,75 @@ public class JwtTokenVerifier implements TokenVerifier {
     
     protected @Inject @Nullable JwksSelector selector;
 
-    private volatile JwtVerifier verifier;
+    private volatile JwtVerifier              verifier;
+    private volatile Map<String, RsaVerifier> keyVerifiers = Collections.emptyMap();
+
+    //Verifies the token by the key of 'kid', the cached tokens are kept after refreshing the keys.
+    private final JwtVerifier keyedVerifier = this::verifyByKeyId;
+    private JwtVerifier       cachedVerifier;
+
+    @Override
+    public void postCreate(BeanFactory factory) throws Throwable {
+        int cacheSize = config.getVerifiedJwtCacheSize();
+        if (cacheSize > 0) {
+            cachedVerifier = new CachingJwtVerifier(keyedVerifier, cacheSize, CachingJwtVerifier.DEFAULT_MAX_CACHED_MS);
+        } else {
+            cachedVerifier = keyedVerifier;
+        }
+    }
 
     @Override
     public TokenInfo verifyToken(Token token) throws TokenVerifyException {
         if (config.isDecryptJwt()) {
+            return verify(null == cachedVerifier ? keyedVerifier : cachedVerifier, token.getToken());
+        }
+        return tokenInfoLookup.lookupByAccessToken(token.getToken());
+    }
+
+    /**
+     * Verifies the token by the verifier of the 'kid' in token's header, or the default verifier if no 'kid'.
+     *
+     * <p/>
+     * Refreshes the keys only if the key is unknown or the token can not be verified by current key.
+     */
+    protected Map<String, Object> verifyByKeyId(String token) throws TokenVerifyException {
+        String      kid      = JWT.getKeyId(token);
+        JwtVerifier verifier = selectVerifier(kid);
+
+        if (null == verifier) {
+            refreshJwtVerifier(token);
+            verifier = selectVerifier(kid);
             if (null == verifier) {
-                refreshJwtVerifier(token.getToken());
+                throw new TokenVerifyException(TokenVerifyException.ErrorCode.INVALID_TOKEN, "No public key for jwt token, kid '" + kid + "'");
             }
-            return verify(verifier, token.getToken());
+            return verifier.verify(token);
+        }
+
+        try {
+            return verifier.verify(token);
+        } catch (TokenExpiredException e) {
+            throw e;
+        } catch (TokenVerifyException e) {
+            refreshJwtVerifier(token);
+            verifier = selectVerifier(kid);
+            if (null == verifier) {
+                throw e;
+            }
+            return verifier.verify(token);
         }
-        return tokenInfoLookup.lookupByAccessToken(token.getToken());
     }
 
-    protected void refreshJwtVerifier(String token) {
+    protected JwtVerifier selectVerifier(String kid) {
+        if (null != kid) {
+            JwtVerifier keyVerifier = keyVerifiers.get(kid);
+            if (null != keyVerifier) {
+                return keyVerifier;
+            }
+        }
+        return verifier;
+    }
+
+    protected synchronized void refreshJwtVerifier(String token) {
         if (!Strings.isEmpty(config.getJwksUrl())) {
             refreshJwtVerifierFromJwks(token, config.getJwksUrl());
         } else {
@@ -85,7 +145,9 @@ public class JwtTokenVerifier implements TokenVerifier {
 
             String encoded = response.getString();
             RSAPublicKey publicKey = RSA.decodePublicKey(encoded);
-            verifier = new RsaVerifier(publicKey);
+            if (!(verifier instanceof RsaVerifier) || !((RsaVerifier) verifier).getPublicKey().equals(publicKey)) {
+                verifier = new RsaVerifier(publicKey);
+            }
         }
     }
 
@@ -99,6 +161,22 @@ public class JwtTokenVerifier implements TokenVerifier {
         try {
             JsonWebKey jwk = null;
             final List<JsonWebKey> jwks = new JsonWebKeySet(response.getString()).getJsonWebKeys();
+
+            //all the rsa keys with 'kid', the verifier of an unchanged key is reused.
+            Map<String, RsaVerifier> oldKeyVerifiers = this.keyVerifiers;
+            Map<String, RsaVerifier> newKeyVerifiers = New.hashMap();
+            for (JsonWebKey key : jwks) {
+                if (Strings.isEmpty(key.getKeyId()) || !(key.getKey() instanceof RSAPublicKey)) {
+                    continue;
+                }
+                RsaVerifier keyVerifier = oldKeyVerifiers.get(key.getKeyId());
+                if (null == keyVerifier || !keyVerifier.getPublicKey().equals(key.getKey())) {
+                    keyVerifier = new RsaVerifier((RSAPublicKey) key.getKey());
+                }
+                newKeyVerifiers.put(key.getKeyId(), keyVerifier);
+            }
+            this.keyVerifiers = newKeyVerifiers;
+
             if (jwks.size() != 1) {
                 if (Strings.isNotEmpty(config.getJwksKeyId())){
                     Optional<JsonWebKey> optional = jwks.stream().filter(jsonWebKey -> Strings.equals(config.getJwksKeyId(),jsonWebKey.getKeyId())).findAny();
@@ -115,6 +193,11 @@ public class JwtTokenVerifier implements TokenVerifier {
                     }
                 }
                 if (null == jwk){
+                    if (!newKeyVerifiers.isEmpty()) {
+                        //the tokens must be verified by 'kid'.
+                        verifier = null;
+                        return;
+                    }
                     throw new OAuth2InternalServerException("server response multi jwks, but jwt verifier can not select ensure one.");
                 }
             }else {
@@ -125,7 +208,8 @@ public class JwtTokenVerifier implements TokenVerifier {
                 throw new OAuth2InternalServerException("Non RSA public key '" + jwk.getKey() + "' not supported");
             }
 
-            verifier = new RsaVerifier((RSAPublicKey) jwk.getKey());
+            RsaVerifier keyVerifier = Strings.isEmpty(jwk.getKeyId()) ? null : newKeyVerifiers.get(jwk.getKeyId());
+            verifier = null != keyVerifier ? keyVerifier : new RsaVerifier((RSAPublicKey) jwk.getKey());
         } catch (JoseException e) {
             throw new OAuth2InternalServerException("Invalid jwks : " + e.getMessage());
         }
@@ -145,12 +229,7 @@ public class JwtTokenVerifier implements TokenVerifier {
     protected TokenInfo verify(JwtVerifier verifier, String token) throws TokenVerifyException {
         Map<String, Object> jwtDetail;
 
-        try {
-            jwtDetail = verifier.verify(token);
-        } catch (TokenVerifyException e) {
-            refreshJwtVerifier(token);
-            jwtDetail = verifier.verify(token);
-        }
+        jwtDetail = verifier.verify(token);
 
         return createTokenInfo(jwtDetail);
     }
@@ -20,6 +20,7 @@ package tests.as;
 
 import com.sun.jna.platform.win32.WinBase;
 import leap.core.annotation.Inject;
+import leap.lang.Beans;
 import leap.lang.Threads;
 import leap.lang.http.QueryString;
 import leap.oauth2.server.QueryOAuth2Params;
@@ -57,7 +58,9 @@ public class TokenInfoEndpointTest extends OAuth2TestBase {
         THttpResponse resp = get(uri);
         resp.assert401();
 
-        SimpleAuthzClient client = (SimpleAuthzClient)clientManager.loadClientById(TEST_CLIENT_ID);
+        //the loaded client is a shared immutable snapshot, copies it.
+        SimpleAuthzClient client = new SimpleAuthzClient();
+        Beans.copyProperties(clientManager.loadClientById(TEST_CLIENT_ID), client);
         client.setAccessTokenExpires(1);
         UserDetails ud = (UserDetails)userManager.createAuthenticationByUsername(USER_ADMIN).get().getUser();
         SimpleAuthzAuthentication authc = new SimpleAuthzAuthentication(new QueryOAuth2Params(QueryString.EMPTY),client,ud);
@@ -0,0 +1,134 @@
+/*
+ *
+ *  * Copyright 2013 the original author or authors.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  
+ */
+package tests.as.client;
+
+import leap.junit.TestBase;
+import leap.lang.New;
+import leap.lang.path.AntPathPattern;
+import leap.oauth2.server.client.CompiledAuthzClient;
+import leap.oauth2.server.client.SimpleAuthzClient;
+import org.junit.Test;
+
+public class CompiledAuthzClientTest extends TestBase {
+
+    @Test
+    public void testRedirectUri() {
+        SimpleAuthzClient c = client();
+        c.setRedirectUri("http://localhost/app1/");
+        c.setRedirectUriPattern(new AntPathPattern("http://*.example.com/**"));
+
+        CompiledAuthzClient client = CompiledAuthzClient.of(c);
+        assertTrue(client.acceptsRedirectUri("http://localhost/app1/callback"));
+        assertTrue(client.acceptsRedirectUri("http://app.example.com/callback?code=1"));
+        assertFalse(client.acceptsRedirectUri("http://localhost/app2/callback"));
+        assertFalse(client.acceptsRedirectUri("http://example.org/callback"));
+        assertFalse(client.acceptsRedirectUri(null));
+
+        c = client();
+        c.setRedirectUriPattern(new AntPathPattern("**"));
+        assertTrue(CompiledAuthzClient.of(c).acceptsRedirectUri("http://any.host/any/path"));
+
+        assertFalse(CompiledAuthzClient.of(client()).acceptsRedirectUri("http://localhost/"));
+    }
+
+    @Test
+    public void testLogoutUri() {
+        SimpleAuthzClient c = client();
+        c.setLogoutUri("http://localhost/app1/logout");
+        c.setLogoutUriPattern(new AntPathPattern("http://localhost/app2/**"));
+
+        CompiledAuthzClient client = CompiledAuthzClient.of(c);
+        assertTrue(client.acceptsLogoutUri("http://localhost/app1/logout?from=1"));
+        assertTrue(client.acceptsLogoutUri("http://localhost/app2/logout?from=1"));
+        assertFalse(client.acceptsLogoutUri("http://localhost/app3/logout"));
+    }
+
+    @Test
+    public void testFlags() {
+        SimpleAuthzClient c = client();
+        c.setAllowAuthorizationCode(true);
+        c.setAllowRefreshToken(false);
+        c.setAllowLoginToken(true);
+        c.setEnabled(false);
+
+        CompiledAuthzClient client = CompiledAuthzClient.of(c);
+        assertTrue(client.isAllowAuthorizationCode());
+        assertFalse(client.isAllowRefreshToken());
+        assertTrue(client.isAllowLoginToken());
+        assertFalse(client.isEnabled());
+
+        c.setAllowRefreshToken(true);
+        c.setEnabled(true);
+        client = CompiledAuthzClient.of(c);
+        assertTrue(client.isAllowRefreshToken());
+        assertTrue(client.isEnabled());
+
+        assertEquals("c1", client.getId());
+        assertTrue(client.acceptsSecret("s1"));
+        assertFalse(client.acceptsSecret("s2"));
+        assertSame(client, CompiledAuthzClient.of(client));
+    }
+
+    @Test
+    public void testScopes() {
+        SimpleAuthzClient c = client();
+        c.setGrantedScope("read, write profile");
+
+        CompiledAuthzClient client = CompiledAuthzClient.of(c);
+        assertEquals(New.linkedHashSet("read", "write", "profile"), client.getGrantedScopes());
+        assertTrue(client.isGrantedScope("write"));
+        assertFalse(client.isGrantedScope("admin"));
+
+        try {
+            client.getGrantedScopes().add("admin");
+            fail("Should throw UnsupportedOperationException");
+        }catch (UnsupportedOperationException e) {
+
+        }
+
+        assertTrue(CompiledAuthzClient.of(client()).getGrantedScopes().isEmpty());
+    }
+
+    @Test
+    public void testAuthenticated() {
+        CompiledAuthzClient client = CompiledAuthzClient.of(client());
+        assertFalse(client.isAuthenticated());
+
+        CompiledAuthzClient authenticated = client.authenticated();
+        assertNotSame(client, authenticated);
+        assertTrue(authenticated.isAuthenticated());
+        assertSame(authenticated, authenticated.authenticated());
+        assertEquals(client.getId(), authenticated.getId());
+
+        //the shared snapshot can not be changed.
+        client.setAuthenticated(false);
+        try {
+            client.setAuthenticated(true);
+            fail("Should throw UnsupportedOperationException");
+        }catch (UnsupportedOperationException e) {
+            assertFalse(client.isAuthenticated());
+        }
+    }
+
+    private static SimpleAuthzClient client() {
+        SimpleAuthzClient c = new SimpleAuthzClient();
+        c.setId("c1");
+        c.setSecret("s1");
+        return c;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ *
+ *  * Copyright 2013 the original author or authors.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  
+ */
+package tests.as.store;
+
+import leap.junit.TestBase;
+import leap.oauth2.server.store.CachingAuthzTokenStore;
+import leap.oauth2.server.token.AuthzAccessToken;
+import leap.oauth2.server.token.AuthzRefreshToken;
+import leap.oauth2.server.token.AuthzTokenStore;
+import leap.oauth2.server.token.SimpleAuthzAccessToken;
+import leap.oauth2.server.token.SimpleAuthzRefreshToken;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingAuthzTokenStoreTest extends TestBase {
+
+    private MockStore              store;
+    private CachingAuthzTokenStore cachingStore;
+
+    @Before
+    public void setUp() {
+        store        = new MockStore();
+        cachingStore = new CachingAuthzTokenStore(store);
+    }
+
+    @Test
+    public void testCacheLoadedToken() {
+        store.accessTokens.put("t1", accessToken("t1"));
+
+        assertNotNull(cachingStore.loadAccessToken("t1"));
+        assertNotNull(cachingStore.loadAccessToken("t1"));
+        assertEquals(1, store.loads.get());
+
+        assertNull(cachingStore.loadAccessToken("t2"));
+        assertNull(cachingStore.loadAccessToken("t2"));
+        assertEquals(2, store.loads.get());
+    }
+
+    @Test
+    public void testLoadWhileRemoving() {
+        store.accessTokens.put("t1", accessToken("t1"));
+        store.refreshTokens.put("r1", refreshToken("r1"));
+
+        //loads the token concurrently before the store deletes it.
+        store.beforeRemove = () -> assertNull(cachingStore.loadAccessToken("t1"));
+        cachingStore.removeAccessToken("t1");
+
+        store.beforeRemove = () -> assertNull(cachingStore.loadRefreshToken("r1"));
+        cachingStore.removeRefreshToken("r1");
+
+        store.beforeRemove = null;
+        assertNull(cachingStore.loadAccessToken("t1"));
+        assertNull(cachingStore.loadRefreshToken("r1"));
+    }
+
+    @Test
+    public void testWriteBehindFlush() {
+        cachingStore.setWriteBehind(true);
+
+        cachingStore.saveAccessToken(accessToken("t1"));
+        cachingStore.saveRefreshToken(refreshToken("r1"));
+        assertTrue(store.accessTokens.isEmpty());
+        assertTrue(store.refreshTokens.isEmpty());
+
+        cachingStore.flush();
+        assertNotNull(store.accessTokens.get("t1"));
+        assertNotNull(store.refreshTokens.get("r1"));
+        assertEquals(1, store.batchSaves.get());
+
+        cachingStore.removeAccessToken("t1");
+        cachingStore.removeRefreshToken("r1");
+        assertNotNull(store.accessTokens.get("t1"));
+
+        cachingStore.flush();
+        assertNull(store.accessTokens.get("t1"));
+        assertNull(store.refreshTokens.get("r1"));
+    }
+
+    @Test
+    public void testPendingTokenVisibleBeforeFlush() {
+        cachingStore.setWriteBehind(true);
+
+        AuthzAccessToken token = accessToken("t1");
+        cachingStore.saveAccessToken(token);
+        assertSame(token, cachingStore.loadAccessToken("t1"));
+        assertEquals(0, store.loads.get());
+    }
+
+    @Test
+    public void testRemoveThenLoadBeforeFlush() {
+        store.accessTokens.put("t1", accessToken("t1"));
+        store.refreshTokens.put("r1", refreshToken("r1"));
+        cachingStore.setWriteBehind(true);
+
+        assertNotNull(cachingStore.loadAccessToken("t1"));
+        assertNotNull(cachingStore.loadRefreshToken("r1"));
+
+        cachingStore.removeAccessToken("t1");
+        cachingStore.removeRefreshToken("r1");
+
+        //the tokens still exist in the underlying store, but must not be loaded and cached again.
+        assertNull(cachingStore.loadAccessToken("t1"));
+        assertNull(cachingStore.loadRefreshToken("r1"));
+
+        cachingStore.flush();
+        assertNull(cachingStore.loadAccessToken("t1"));
+        assertNull(cachingStore.loadRefreshToken("r1"));
+        assertFalse(store.accessTokens.containsKey("t1"));
+        assertFalse(store.refreshTokens.containsKey("r1"));
+    }
+
+    @Test
+    public void testFlushRemovedFailure() {
+        store.accessTokens.put("t1", accessToken("t1"));
+        cachingStore.setWriteBehind(true);
+
+        cachingStore.removeAccessToken("t1");
+
+        store.removeError = true;
+        cachingStore.flush();
+        assertTrue(store.accessTokens.containsKey("t1"));
+        assertNull(cachingStore.loadAccessToken("t1"));
+
+        //retry by next flush.
+        store.removeError = false;
+        cachingStore.flush();
+        assertFalse(store.accessTokens.containsKey("t1"));
+        assertNull(cachingStore.loadAccessToken("t1"));
+    }
+
+    @Test
+    public void testFlushSavedBatchFailure() {
+        cachingStore.setWriteBehind(true);
+
+        cachingStore.saveAccessToken(accessToken("t1"));
+        cachingStore.saveAccessToken(accessToken("t2"));
+
+        store.batchError = true;
+        cachingStore.flush();
+        assertNotNull(store.accessTokens.get("t1"));
+        assertNotNull(store.accessTokens.get("t2"));
+    }
+
+    private static AuthzAccessToken accessToken(String token) {
+        SimpleAuthzAccessToken at = new SimpleAuthzAccessToken();
+        at.setToken(token);
+        at.setCreated(System.currentTimeMillis());
+        at.setExpiresIn(3600);
+        return at;
+    }
+
+    private static AuthzRefreshToken refreshToken(String token) {
+        SimpleAuthzRefreshToken rt = new SimpleAuthzRefreshToken();
+        rt.setToken(token);
+        rt.setCreated(System.currentTimeMillis());
+        rt.setExpiresIn(3600);
+        return rt;
+    }
+
+    private static final class MockStore implements AuthzTokenStore {
+        final Map<String, AuthzAccessToken>  accessTokens  = new ConcurrentHashMap<>();
+        final Map<String, AuthzRefreshToken> refreshTokens = new ConcurrentHashMap<>();
+        final AtomicInteger                  loads         = new AtomicInteger();
+        final AtomicInteger                  batchSaves    = new AtomicInteger();
+
+        volatile boolean  batchError;
+        volatile boolean  removeError;
+        volatile Runnable beforeRemove;
+
+        @Override
+        public void saveAccessToken(AuthzAccessToken token) {
+            accessTokens.put(token.getToken(), token);
+        }
+
+        @Override
+        public void saveRefreshToken(AuthzRefreshToken token) {
+            refreshTokens.put(token.getToken(), token);
+        }
+
+        @Override
+        public void saveAccessTokens(Collection<AuthzAccessToken> tokens) {
+            if(batchError) {
+                throw new IllegalStateException("batch error");
+            }
+            batchSaves.incrementAndGet();
+            tokens.forEach(this::saveAccessToken);
+        }
+
+        @Override
+        public AuthzAccessToken loadAccessToken(String accessToken) {
+            loads.incrementAndGet();
+            return accessTokens.get(accessToken);
+        }
+
+        @Override
+        public AuthzRefreshToken loadRefreshToken(String refreshToken) {
+            loads.incrementAndGet();
+            return refreshTokens.get(refreshToken);
+        }
+
+        @Override
+        public void removeAccessToken(String accessToken) {
+            if(removeError) {
+                throw new IllegalStateException("remove error");
+            }
+            if(null != beforeRemove) {
+                beforeRemove.run();
+            }
+            accessTokens.remove(accessToken);
+        }
+
+        @Override
+        public void removeRefreshToken(String refreshToken) {
+            if(removeError) {
+                throw new IllegalStateException("remove error");
+            }
+            if(null != beforeRemove) {
+                beforeRemove.run();
+            }
+            refreshTokens.remove(refreshToken);
+        }
+
+        @Override
+        public void cleanupTokens() {
+
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *
+ *  * Copyright 2013 the original author or authors.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *  
+ */
+package tests.as.store;
+
+import leap.core.annotation.Inject;
+import leap.oauth2.server.store.DefaultJdbcAuthzTokenStore;
+import leap.oauth2.server.token.AuthzTokenStore;
+import leap.oauth2.server.token.SimpleAuthzAccessToken;
+import org.junit.Test;
+import tests.OAuth2TestBase;
+
+public class CleanupTokensTest extends OAuth2TestBase {
+
+    protected @Inject(name = "jdbc") AuthzTokenStore store;
+
+    @Test
+    public void testCleanupExpiredInChunks() {
+        DefaultJdbcAuthzTokenStore jdbcStore = (DefaultJdbcAuthzTokenStore)store;
+
+        long expired = System.currentTimeMillis() - 10000;
+        for(int i=0;i<5;i++) {
+            jdbcStore.saveAccessToken(accessToken("cleanup_expired_" + i, expired, 1));
+        }
+        jdbcStore.saveAccessToken(accessToken("cleanup_valid", System.currentTimeMillis(), 3600));
+
+        jdbcStore.setCleanupChunkSize(2);
+        try {
+            jdbcStore.cleanupTokens();
+        }finally {
+            jdbcStore.setCleanupChunkSize(1000);
+        }
+
+        for(int i=0;i<5;i++) {
+            assertNull(jdbcStore.loadAccessToken("cleanup_expired_" + i));
+        }
+        assertNotNull(jdbcStore.loadAccessToken("cleanup_valid"));
+
+        jdbcStore.removeAccessToken("cleanup_valid");
+    }
+
+    private static SimpleAuthzAccessToken accessToken(String token, long created, int expiresIn) {
+        SimpleAuthzAccessToken at = new SimpleAuthzAccessToken();
+        at.setToken(token);
+        at.setCreated(created);
+        at.setExpiresIn(expiresIn);
+        return at;
+    }
+}
@@ -19,6 +19,9 @@
 package tests.spec;
 
 import leap.core.annotation.Inject;
+import leap.lang.Strings;
+import leap.lang.http.HTTP;
+import leap.lang.http.Headers;
 import leap.lang.json.JSON;
 import leap.lang.meta.MComplexType;
 import leap.lang.meta.MProperty;
@@ -33,6 +36,7 @@ import leap.web.api.spec.swagger.SwaggerConstants;
 import leap.web.api.spec.swagger.SwaggerJsonWriter;
 import leap.web.api.spec.swagger.SwaggerSpecReader;
 import leap.webunit.WebTestBase;
+import leap.webunit.client.THttpResponse;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -130,6 +134,40 @@ public class SwaggerJsonTest extends WebTestBase {
         assertContains(swagger, "/profile/web_api");
     }
 
+    @Test
+    public void testJsonCache() {
+        THttpResponse identity = getSwaggerJson("/api/swagger.json", "identity", null).assertOk();
+        String etag = identity.getHeader(Headers.ETAG);
+        assertNotEmpty(etag);
+        assertEquals("UTF-8", identity.getCharset().toUpperCase());
+        assertContains(identity.getHeader(Headers.VARY), Headers.ACCEPT_ENCODING);
+
+        THttpResponse cached = getSwaggerJson("/api/swagger.json", "identity", null).assertOk();
+        assertEquals(etag, cached.getHeader(Headers.ETAG));
+        assertEquals(identity.getContent(), cached.getContent());
+
+        getSwaggerJson("/api/swagger.json", "identity", etag).assertStatusEquals(HTTP.SC_NOT_MODIFIED);
+
+        //the other variant has another etag.
+        THttpResponse mobile = getSwaggerJson("/api/swagger.json?profile=mobile", "identity", etag).assertOk();
+        assertNotEquals(etag, mobile.getHeader(Headers.ETAG));
+    }
+
+    @Test
+    public void testGzipJsonETag() {
+        String etag = getSwaggerJson("/api/swagger.json", "identity", null).assertOk().getHeader(Headers.ETAG);
+
+        THttpResponse gzip = getSwaggerJson("/api/swagger.json", "gzip", null).assertOk();
+        String gzipEtag = gzip.getHeader(Headers.ETAG);
+        assertNotEmpty(gzipEtag);
+        assertNotEquals(etag, gzipEtag);
+        assertContains(gzip.getHeader(Headers.VARY), Headers.ACCEPT_ENCODING);
+
+        getSwaggerJson("/api/swagger.json", "gzip", etag).assertOk();
+        getSwaggerJson("/api/swagger.json", "gzip", gzipEtag).assertStatusEquals(HTTP.SC_NOT_MODIFIED);
+        getSwaggerJson("/api/swagger.json", "identity", gzipEtag).assertOk();
+    }
+
     @Test
     public void testReadNestedModel() throws IOException {
         String json = Resources.getContent("classpath:swagger/nested_model.json");
@@ -164,6 +202,12 @@ public class SwaggerJsonTest extends WebTestBase {
         return out.toString();
     }
 
+    protected THttpResponse getSwaggerJson(String path, String acceptEncoding, String ifNoneMatch) {
+        return useGet(path).setHeader(Headers.ACCEPT_ENCODING, acceptEncoding)
+                           .setHeader(Headers.IF_NONE_MATCH, Strings.nullToEmpty(ifNoneMatch))
+                           .send();
+    }
+
     protected Map<String, Object> getAsMap(Map<String, Object> map, String key){
         return (Map<String, Object>)map.get(key);
     }
@@ -232,6 +232,13 @@ public interface ApiConfig extends Named,Titled,Described,Extensible {
      */
     Set<ApiRoute> getApiRoutes();
 
+    /**
+     * Returns a number which will be changed after a route was added, used to detect the changes of routes.
+     */
+    default long getRoutesVersion() {
+        return getApiRoutes().size();
+    }
+
     /**
      * Returns all the resource types of route.
      */
@@ -59,6 +59,7 @@ public class DefaultApiConfig extends ExtensibleBase implements ApiConfig, ApiCo
 
     protected Set<ApiRoute> routes    = new LinkedHashSet<>();
     protected Set<ApiRoute> routesImv = Collections.unmodifiableSet(routes);
+    protected volatile long routesVersion;
 
     protected Map<String, MApiPermission> permissions    = new LinkedHashMap<>();
     protected Map<String, MApiPermission> permissionsImv = Collections.unmodifiableMap(permissions);
@@ -193,6 +194,11 @@ public class DefaultApiConfig extends ExtensibleBase implements ApiConfig, ApiCo
         return routesImv;
     }
 
+    @Override
+    public long getRoutesVersion() {
+        return routesVersion;
+    }
+
     @Override
     public Map<String, MApiResponse> getCommonResponses() {
         return commonResponsesImv;
@@ -480,6 +486,7 @@ public class DefaultApiConfig extends ExtensibleBase implements ApiConfig, ApiCo
         }
 
         routes.add(new SimpleApiRoute(route, dynamic, operation));
+        routesVersion++;
 
         if (!containerRoutes.exists(route)) {
             containerRoutes.add(route);
@@ -29,6 +29,7 @@ import leap.web.api.meta.ApiMetadata;
 import leap.web.api.meta.model.MApiModel;
 import leap.web.api.mvc.params.*;
 import leap.web.api.orm.*;
+import leap.web.api.restd.crud.QueryOperation;
 
 import java.util.List;
 import java.util.Map;
@@ -250,11 +251,14 @@ public abstract class ModelController<T> extends ApiController implements ApiIni
 
         QueryListResult result = executor.queryList(options, filters, queryCallback, filterByParams);
 
-        if (result.getCount() == -1) {
-            return ApiResponse.of(result.getList());
-        } else {
-            return ApiResponse.of(result.getList()).setHeader("X-Total-Count", String.valueOf(result.getCount()));
+        ApiResponse<List<T>> response = ApiResponse.of(result.getList());
+        if (result.getCount() != -1) {
+            response.setHeader("X-Total-Count", String.valueOf(result.getCount()));
+        }
+        if (null != result.getNextCursor()) {
+            response.setHeader(QueryOperation.NEXT_CURSOR, result.getNextCursor());
         }
+        return response;
     }
 
     /**
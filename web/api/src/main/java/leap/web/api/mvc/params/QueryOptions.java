@@ -50,6 +50,9 @@ public class QueryOptions extends QueryOptionsBase {
     @QueryParam("total")
     protected boolean total;
 
+    @QueryParam("cursor")
+    protected String cursor;
+
     @QueryParam("orderby")
     @JsonName("orderby")
     protected String orderBy;
@@ -165,6 +168,24 @@ public class QueryOptions extends QueryOptionsBase {
         this.total = total;
     }
 
+    /**
+     * Returns the cursor of keyset pagination, an empty string means the first page.
+     *
+     * <p/>
+     * Returns <code>null</code> if not in keyset pagination mode.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isKeyset() {
+        return null != cursor;
+    }
+
     public String getOrderBy() {
         return orderBy;
     }
@@ -260,6 +281,13 @@ public class QueryOptions extends QueryOptionsBase {
         return getPage(defaultPageSize, null);
     }
 
+    /**
+     * Returns the page size of keyset pagination.
+     */
+    public int getKeysetPageSize(int defaultPageSize, Integer maxPageSize) {
+        return choicePageSize(null != limit ? limit : pageSize, defaultPageSize, maxPageSize);
+    }
+
     public Page getPage(int defaultPageSize, Integer maxPageSize) {
         if (null != limit || null != offset) {
             return Page.limit(choicePageSize(limit, defaultPageSize, maxPageSize), null == offset ? 0 : offset);
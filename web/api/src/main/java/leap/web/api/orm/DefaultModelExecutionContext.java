@@ -86,6 +86,16 @@ public class DefaultModelExecutionContext extends MapAttributeAccessor implement
         context.setHelper(helper);
     }
 
+    @Override
+    public ParallelQueryExecutor getParallelExecutor() {
+        return context.getParallelExecutor();
+    }
+
+    @Override
+    public void setParallelExecutor(ParallelQueryExecutor parallelExecutor) {
+        context.setParallelExecutor(parallelExecutor);
+    }
+
     @Override
     public ModelDynamic getDynamic() {
         return dynamic;
@@ -40,7 +40,8 @@ public class DefaultModelExecutorFactory implements ModelExecutorFactory {
 
     protected @Inject RelationQueryInterceptor[] relationQueryInterceptors;
 
-    protected @Inject RestResourceFactory restResourceFactory;
+    protected @Inject RestResourceFactory   restResourceFactory;
+    protected @Inject ParallelQueryExecutor parallelExecutor;
 
     private ModelCreateExtension   createExtension;
     private ModelUpdateExtension   updateExtension;
@@ -120,6 +121,7 @@ public class DefaultModelExecutorFactory implements ModelExecutorFactory {
     protected <T extends ModelExecutorContext> T handleContext(T context) {
         context.setRestResourceFactory(restResourceFactory);
         context.setHelper(helper);
+        context.setParallelExecutor(parallelExecutor);
         return context;
     }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ import leap.core.value.SimpleRecord;
 import leap.lang.*;
 import leap.lang.collection.SimpleCaseInsensitiveMap;
 import leap.lang.convert.Converts;
+import leap.lang.http.HTTP;
 import leap.lang.jdbc.SimpleWhereBuilder;
 import leap.lang.jdbc.WhereBuilder;
 import leap.lang.logging.Log;
@@ -35,6 +36,7 @@ import leap.orm.event.EntityListeners;
 import leap.orm.mapping.*;
 import leap.orm.mapping.config.QueryConfig;
 import leap.orm.query.CriteriaQuery;
+import leap.orm.query.KeysetResult;
 import leap.orm.query.PageResult;
 import leap.web.Params;
 import leap.web.api.meta.model.MApiModel;
@@ -46,17 +48,24 @@ import leap.web.api.query.*;
 import leap.web.api.remote.RestQueryListResult;
 import leap.web.api.remote.RestResource;
 import leap.web.exception.BadRequestException;
+import leap.web.exception.ServerErrorException;
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DefaultModelQueryExecutor extends ModelExecutorBase implements ModelQueryExecutor {
 
     private static final Log log = LogFactory.get(DefaultModelQueryExecutor.class);
 
-    protected final ModelAndMapping     modelAndMapping;
-    protected final ModelQueryExtension ex;
+    protected final ModelAndMapping       modelAndMapping;
+    protected final ModelQueryExtension   ex;
+    protected final ParallelQueryExecutor parallelExecutor;
 
     protected FindHandler         findHandler;
     protected EntityListeners     listeners;
@@ -73,6 +82,7 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
         super(context);
         this.modelAndMapping = new ModelAndMapping(am, em);
         this.ex = null == ex ? ModelQueryExtension.EMPTY : ex;
+        this.parallelExecutor = context.getParallelExecutor();
     }
 
     @Override
@@ -384,7 +394,11 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
 
             final QueryOptions finalOptions = options;
             return em.withContextListeners(listeners, () -> {
-                long         count = -1;
+                final boolean parallel = isParallel();
+                final long    deadline = parallel ? System.currentTimeMillis() + parallelExecutor.getTimeoutMs() : 0;
+
+                long         count       = -1;
+                Future<Long> countFuture = null;
                 List<Record> list;
 
                 try {
@@ -404,11 +418,36 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
                         maxPageSize = ac.getMaxPageSize();
                     }
 
-                    PageResult page = query.pageResult(finalOptions.getPage(defaultPageSize, maxPageSize));
+                    PageResult page = finalOptions.isKeyset() ? null : query.pageResult(finalOptions.getPage(defaultPageSize, maxPageSize));
+                    String nextCursor = null;
 
                     list = ex.executeQueryList(context, finalOptions, query);
                     if (null == list) {
-                        list = dao.withEvents(() -> page.list());
+                        if (parallel && finalOptions.isTotal()) {
+                            //Prepares the count statement before the keyset query changes the where of query.
+                            //The count runs in a pool thread, outside the transaction and connection of current thread.
+                            Supplier<Long> counter = query.prepareCount();
+                            countFuture = parallelExecutor.submit(counter::get);
+                        }
+
+                        if (finalOptions.isKeyset()) {
+                            //The keyset query changes the where of query, so counts it at first.
+                            if (finalOptions.isTotal() && null == countFuture) {
+                                count = query.count();
+                            }
+
+                            int pageSize = finalOptions.getKeysetPageSize(defaultPageSize, maxPageSize);
+                            KeysetResult<Record> keyset;
+                            try {
+                                keyset = dao.withEvents(() -> query.keysetResult(finalOptions.getCursor(), pageSize));
+                            } catch (IllegalArgumentException e) {
+                                throw new BadRequestException(e.getMessage(), e);
+                            }
+                            list = keyset.list();
+                            nextCursor = keyset.getNextCursor();
+                        } else {
+                            list = dao.withEvents(() -> page.list());
+                        }
                     }
 
                     if (null != ex.handler) {
@@ -436,23 +475,35 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
                                 throw new BadRequestException("The result size " + list.size() + " exceed max expand " + maxExpandPageSize + ", please decrease your page_size");
                             }
 
-                            for (ResolvedExpand expand : resolvedExpands) {
-                                try {
-                                    expand(context, expand, list);
-                                } catch (ExpandException e) {
-                                    expandErrors.add(new ExpandError(expand.getName(), e.getMessage(), e.getCause()));
+                            if (parallel && resolvedExpands.length > 1) {
+                                expandErrors.addAll(expandParallel(context, resolvedExpands, list, deadline));
+                            } else {
+                                for (ResolvedExpand expand : resolvedExpands) {
+                                    try {
+                                        expand(context, expand, list);
+                                    } catch (ExpandException e) {
+                                        expandErrors.add(new ExpandError(expand.getName(), e.getMessage(), e.getCause()));
+                                    }
                                 }
                             }
                         }
                     }
 
-                    if (finalOptions.isTotal()) {
+                    if (null != countFuture) {
+                        try {
+                            count = await(countFuture, deadline);
+                        } catch (TimeoutException e) {
+                            throw new ServerErrorException(HTTP.SC_SERVICE_UNAVAILABLE,
+                                    "Count timed out after " + parallelExecutor.getTimeoutMs() + "ms", e);
+                        }
+                    } else if (finalOptions.isTotal() && count == -1) {
                         count = query.count();
                     }
 
                     Object entity = ex.processQueryListResult(context, page, count, list);
 
                     QueryListResult result = new QueryListResult(list, count, entity, expandErrors);
+                    result.setNextCursor(nextCursor);
 
                     ex.completeQueryList(context, result, null);
 
@@ -460,6 +511,10 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
                 } catch (Throwable e) {
                     ex.completeQueryList(context, null, e);
                     throw e;
+                } finally {
+                    if (null != countFuture) {
+                        countFuture.cancel(true);
+                    }
                 }
             });
         }finally {
@@ -499,6 +554,108 @@ public class DefaultModelQueryExecutor extends ModelExecutorBase implements Mode
         return dao.createCriteriaQuery(em).fromSqlView(sqlView).params(sqlViewParams);
     }
 
+    protected boolean isParallel() {
+        return null != parallelExecutor && parallelExecutor.isEnabled();
+    }
+
+    /**
+     * Executes the expands concurrently.
+     *
+     * <p/>
+     * The first expand runs in current thread, the others run in the {@link ParallelQueryExecutor} with their own copies of
+     * the records, the expanded properties are copied back to the records after done.
+     *
+     * <p/>
+     * The expands in pool threads run outside the transaction and connection of current thread.
+     */
+    protected List<ExpandError> expandParallel(ModelExecutionContext context, ResolvedExpand[] expands, List<Record> records, long deadline) {
+        final List<ExpandError>  expandErrors = new ArrayList<>();
+        final List<List<Record>> copies       = new ArrayList<>(expands.length - 1);
+        final List<Future<?>>    futures      = new ArrayList<>(expands.length - 1);
+
+        final Thread                caller  = Thread.currentThread();
+        final EntityMapping.Dynamic dynamic = null == context.getDynamic() ? null : context.getDynamic().getEntityDynamic();
+
+        try {
+            for (int i = 1; i < expands.length; i++) {
+                final ResolvedExpand expand = expands[i];
+                final List<Record>   copy   = copyRecords(records);
+
+                copies.add(copy);
+                futures.add(parallelExecutor.submit(() -> {
+                    if (null == dynamic || Thread.currentThread() == caller) {
+                        expand(context, expand, copy);
+                    } else {
+                        EntityMapping.withDynamic(dynamic, () -> expand(context, expand, copy));
+                    }
+                    return null;
+                }));
+            }
+
+            try {
+                expand(context, expands[0], records);
+            } catch (ExpandException e) {
+                expandErrors.add(new ExpandError(expands[0].getName(), e.getMessage(), e.getCause()));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                final ResolvedExpand expand = expands[i + 1];
+                try {
+                    await(futures.get(i), deadline);
+                    copyExpandedProperty(copies.get(i), records, expand.rp.getName());
+                } catch (ExpandException e) {
+                    expandErrors.add(new ExpandError(expand.getName(), e.getMessage(), e.getCause()));
+                } catch (TimeoutException e) {
+                    expandErrors.add(new ExpandError(expand.getName(), "Expand timed out after " + parallelExecutor.getTimeoutMs() + "ms", e));
+                }
+            }
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return expandErrors;
+    }
+
+    protected List<Record> copyRecords(List<Record> records) {
+        List<Record> copy = new ArrayList<>(records.size());
+        for (Record record : records) {
+            copy.add(new SimpleRecord(record));
+        }
+        return copy;
+    }
+
+    protected void copyExpandedProperty(List<Record> from, List<Record> to, String name) {
+        for (int i = 0; i < to.size(); i++) {
+            Record record = from.get(i);
+            if (record.containsKey(name)) {
+                to.get(i).put(name, record.get(name));
+            }
+        }
+    }
+
+    /**
+     * Waits the result of parallel task until the deadline, re-throws the runtime exception thrown by the task.
+     */
+    protected <T> T await(Future<T> future, long deadline) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerErrorException(HTTP.SC_SERVICE_UNAVAILABLE, "Interrupted while waiting for the parallel query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof java.lang.Error) {
+                throw (java.lang.Error) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
     protected void expand(ModelExecutionContext context, ResolvedExpand expand, List<Record> records) {
         if (records == null || records.size() == 0) {
             return;
@@ -0,0 +1,173 @@
+/*
+ *
+ *  * Copyright 2019 the original author or authors.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+
+package leap.web.api.orm;
+
+import leap.core.AppContext;
+import leap.core.RequestContext;
+import leap.core.annotation.ConfigProperty;
+import leap.core.annotation.Configurable;
+import leap.lang.Disposable;
+import leap.lang.annotation.Init;
+import leap.lang.logging.Log;
+import leap.lang.logging.LogFactory;
+import leap.orm.event.EntityListeners;
+import leap.orm.mapping.EntityMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded thread pool for the parallel query execution, disabled by default.
+ *
+ * <p/>
+ * The tasks run in pool threads with their own connections, outside the transaction of the caller.
+ */
+@Configurable(prefix = "webapi.parallelQuery")
+public class DefaultParallelQueryExecutor implements ParallelQueryExecutor, Disposable {
+
+    private static final Log log = LogFactory.get(DefaultParallelQueryExecutor.class);
+
+    public static final long DEFAULT_TIMEOUT_MS = 30000;
+    public static final int  DEFAULT_QUEUE_SIZE = 256;
+
+    protected boolean enabled;
+    protected int     threads   = Runtime.getRuntime().availableProcessors() * 2;
+    protected int     queueSize = DEFAULT_QUEUE_SIZE;
+    protected long    timeoutMs = DEFAULT_TIMEOUT_MS;
+
+    private ThreadPoolExecutor executor;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @ConfigProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the max number of threads.
+     */
+    @ConfigProperty
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the max number of waiting tasks, the tasks exceed the queue size runs in the caller thread.
+     */
+    @ConfigProperty
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    @ConfigProperty
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Init
+    protected void init() {
+        if(!enabled) {
+            return;
+        }
+
+        final AtomicInteger counter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                          new ArrayBlockingQueue<>(queueSize),
+                                          (r) -> {
+                                              Thread t = new Thread(r, "parallel-query-" + counter.incrementAndGet());
+                                              t.setDaemon(true);
+                                              return t;
+                                          },
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        log.info("Parallel query enabled, threads {}, queue size {}, timeout {}ms", threads, queueSize, timeoutMs);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) throws IllegalStateException {
+        if(null == executor) {
+            throw new IllegalStateException("Parallel query is not enabled");
+        }
+        return executor.submit(wrap(task));
+    }
+
+    protected <T> Callable<T> wrap(Callable<T> task) {
+        final Thread                caller    = Thread.currentThread();
+        final AppContext            app       = AppContext.tryGetCurrent();
+        final RequestContext        request   = RequestContext.tryGetCurrent();
+        final List<EntityListeners> listeners = copy(EntityMapping.getContextListeners());
+
+        return () -> {
+            if(Thread.currentThread() == caller) {
+                return task.call();
+            }
+
+            AppContext.setCurrent(app);
+            RequestContext.setCurrent(request);
+            if(null != listeners) {
+                listeners.forEach(EntityMapping::addContextListeners);
+            }
+            try {
+                return task.call();
+            }finally {
+                EntityMapping.clearContextListeners();
+                RequestContext.removeCurrent();
+                AppContext.removeCurrent();
+            }
+        };
+    }
+
+    private static List<EntityListeners> copy(List<EntityListeners> list) {
+        return null == list ? null : new ArrayList<>(list);
+    }
+
+    @Override
+    public void dispose() throws Throwable {
+        if(null != executor) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -91,4 +91,14 @@ public interface ModelExecutorContext extends AttributeAccessor {
      * Sets the helper.
      */
     void setHelper(ModelExecutorHelper helper);
+
+    /**
+     * Returns the {@link ParallelQueryExecutor} or null if not exists.
+     */
+    ParallelQueryExecutor getParallelExecutor();
+
+    /**
+     * Sets the parallel executor.
+     */
+    void setParallelExecutor(ParallelQueryExecutor parallelExecutor);
 }
@@ -67,6 +67,9 @@ public interface ModelQueryInterceptor extends ModelFindInterceptor {
         return null;
     }
 
+    /**
+     * The page is <code>null</code> if the query is in keyset pagination mode.
+     */
     default Object processQueryListResult(ModelExecutionContext context, PageResult page, long totalCount, List<Record> records) {
         return null;
     }
@@ -0,0 +1,55 @@
+/*
+ *
+ *  * Copyright 2019 the original author or authors.
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+
+package leap.web.api.orm;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the independent parts of a model query, such as the expands and the total count, concurrently.
+ *
+ * <p/>
+ * The tasks run in pool threads outside the transaction and the connection of the caller,
+ * so they can not see the uncommitted changes of the caller.
+ */
+public interface ParallelQueryExecutor {
+
+    /**
+     * Returns true if the parallel execution is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the max time in milliseconds to wait for all the parallel tasks of a query.
+     */
+    long getTimeoutMs();
+
+    /**
+     * Submits the task, the app context, request context and entity context listeners of current thread
+     * are visible to the task.
+     *
+     * <p/>
+     * The task runs in current thread if the executor is saturated.
+     *
+     * @throws IllegalStateException if the parallel execution is not enabled.
+     */
+    <T> Future<T> submit(Callable<T> task) throws IllegalStateException;
+
+}
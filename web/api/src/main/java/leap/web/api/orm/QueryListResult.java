@@ -31,6 +31,7 @@ public final class QueryListResult {
     public long              count;
     public Object            entity;
     public List<ExpandError> expandErrors;
+    public String            nextCursor;
 
     public QueryListResult() {
 
@@ -85,6 +86,17 @@ public final class QueryListResult {
         this.expandErrors = expandErrors;
     }
 
+    /**
+     * Returns the cursor of next page in keyset pagination, returns <code>null</code> if no more page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public void addExpandError(ExpandError e) {
         if (null == expandErrors) {
             expandErrors = new ArrayList<>();
@@ -38,6 +38,7 @@ public class SimpleModelExecutorContext extends MapAttributeAccessor implements
     protected ActionParams        actionParams;
     protected RestResourceFactory restResourceFactory;
     protected ModelExecutorHelper helper;
+    protected ParallelQueryExecutor parallelExecutor;
 
     public SimpleModelExecutorContext(Api api, Dao dao, MApiModel am, EntityMapping em, ActionParams params) {
         this(api.getConfig(), api.getMetadata(), dao, am, em, params);
@@ -115,4 +116,14 @@ public class SimpleModelExecutorContext extends MapAttributeAccessor implements
     public void setHelper(ModelExecutorHelper helper) {
         this.helper = helper;
     }
+
+    @Override
+    public ParallelQueryExecutor getParallelExecutor() {
+        return parallelExecutor;
+    }
+
+    @Override
+    public void setParallelExecutor(ParallelQueryExecutor parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
 }
@@ -70,6 +70,7 @@ public class SimpleRelationExecutorContext extends SimpleModelExecutorContext im
     public ModelExecutorContext newInverseExecutorContext() {
         SimpleModelExecutorContext c = new SimpleModelExecutorContext(ac, amd, dao, iam, iem);
         c.setRestResourceFactory(restResourceFactory);
+        c.setParallelExecutor(parallelExecutor);
         return c;
     }
 }
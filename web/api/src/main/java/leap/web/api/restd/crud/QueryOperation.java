@@ -47,6 +47,7 @@ public class QueryOperation extends CrudOperationBase implements CrudOperation {
     public static final String QUERY_EXPAND_ERROR = "webapi.errors.query_expand_error";
     public static final String ALLOW_EXPAND_ERROR = "x-allow-expand-err";
     public static final String ERROR_EXPANDS      = "x-err-expands";
+    public static final String NEXT_CURSOR        = "X-Next-Cursor";
 
     @Override
     public void createCrudOperation(ApiConfigurator c, RestdContext context, RestdModel model) {
@@ -152,6 +153,10 @@ public class QueryOperation extends CrudOperationBase implements CrudOperation {
                 response.withHeader(ERROR_EXPANDS, Strings.join(expands, ','));
             }
 
+            if (null != result.getNextCursor()) {
+                response.withHeader(NEXT_CURSOR, result.getNextCursor());
+            }
+
             return response;
         }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.api.spec.swagger;
+
+import leap.web.api.meta.ApiMetadata;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized swagger json of an api.
+ *
+ * <p/>
+ * All the cached json will be discarded if the metadata or the routes of api changed.
+ */
+final class SwaggerJsonCache {
+
+    /**
+     * The max number of cached json, the json will not be cached if exceeds.
+     */
+    static final int MAX_ENTRIES = 64;
+
+    private final Map<String, SwaggerJson> cache = new ConcurrentHashMap<>();
+
+    private volatile ApiMetadata metadata;
+    private volatile long        routesVersion;
+
+    /**
+     * Returns the cached json or <code>null</code> if not cached.
+     */
+    SwaggerJson get(String key, ApiMetadata metadata, long routesVersion) {
+        if(this.metadata != metadata || this.routesVersion != routesVersion) {
+            synchronized (this) {
+                if(this.metadata != metadata || this.routesVersion != routesVersion) {
+                    cache.clear();
+                    this.metadata      = metadata;
+                    this.routesVersion = routesVersion;
+                }
+            }
+            return null;
+        }
+        return cache.get(key);
+    }
+
+    void put(String key, SwaggerJson json) {
+        if(cache.size() < MAX_ENTRIES) {
+            cache.put(key, json);
+        }
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    static final class SwaggerJson {
+        final byte[] content;
+        final byte[] gzipped;
+        final String fingerprint;
+
+        SwaggerJson(byte[] content, String fingerprint) throws IOException {
+            this.content     = content;
+            this.gzipped     = gzip(content);
+            this.fingerprint = fingerprint;
+        }
+
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+            try(GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(content);
+            }
+            return out.toByteArray();
+        }
+    }
+}
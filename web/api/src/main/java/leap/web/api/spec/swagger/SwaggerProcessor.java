@@ -17,7 +17,7 @@ package leap.web.api.spec.swagger;
 
 import leap.core.AppConfig;
 import leap.core.annotation.Inject;
-import leap.lang.New;
+import leap.lang.Charsets;
 import leap.lang.Strings;
 import leap.lang.http.HTTP;
 import leap.lang.http.Headers;
@@ -37,8 +37,10 @@ import leap.web.assets.AssetStrategy;
 import leap.web.route.RouteConfigurator;
 import leap.web.route.Routes;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class SwaggerProcessor implements ApiConfigProcessor,ApiMetadataProcessor {
 	
@@ -63,9 +65,11 @@ public class SwaggerProcessor implements ApiConfigProcessor,ApiMetadataProcessor
         RouteConfigurator route = routes.create()
                 .enableCors()
                 .get(getJsonSpecPath(config, routes), new Handler() {
+                    private final SwaggerJsonCache cache = new SwaggerJsonCache();
+
                     @Override
                     public void handle(Request request, Response response) throws Throwable {
-                        handleJsonSpecRequest(context.getApi(), request, response);
+                        handleJsonSpecRequest(context.getApi(), request, response, cache);
                     }
 
                     @Override
@@ -82,28 +86,59 @@ public class SwaggerProcessor implements ApiConfigProcessor,ApiMetadataProcessor
     }
 
     void handleJsonSpecRequest(Api api, Request req, Response resp) throws Throwable {
+        handleJsonSpecRequest(api, req, resp, null);
+    }
+
+    void handleJsonSpecRequest(Api api, Request req, Response resp, SwaggerJsonCache cache) throws Throwable {
 		SwaggerJsonWriter w = new SwaggerJsonWriter();
 		w.setPropertyNamingStyle(api.getConfig().getPropertyNamingStyle());
 
 		resp.setContentType(w.getContentType());
+		resp.setCharacterEncoding(Charsets.UTF_8_NAME);
 
         String[] parts = req.getParameterValues("parts");
         if(null != parts && parts.length == 1) {
             parts = Strings.split(parts[0], ',');
         }
-        Set<String> partsSet = null == parts ? Collections.emptySet() : New.hashSet(parts);
+        Set<String> partsSet = null == parts ? Collections.emptySet() : new TreeSet<>(Arrays.asList(parts));
 
         ApiSpecContext context = new ApiSpecContextImpl(req, partsSet);
-        String json = toSwaggerJson(w, context, api.getMetadata());
-        String fingerprint = assetStrategy.getFingerprint(json.getBytes());
+        ApiMetadata    md      = api.getMetadata();
+
+        //The json depends on the parts, the scheme, the host and the 'profile' parameter of request.
+        String key = null == cache ? null : req.getServletRequest().getScheme() + "://" +
+                                            context.getHost() + ":" + context.getPort() + context.getContextPath() +
+                                            "|" + partsSet + "|" + Strings.nullToEmpty(req.getParameter("profile"));
+
+        SwaggerJsonCache.SwaggerJson json = null == cache ? null : cache.get(key, md, api.getConfig().getRoutesVersion());
+        if(null == json) {
+            byte[] content = Strings.getBytesUtf8(toSwaggerJson(w, context, md));
+            json = new SwaggerJsonCache.SwaggerJson(content, assetStrategy.getFingerprint(content));
+            if(null != cache) {
+                cache.put(key, json);
+            }
+        }
 
-        resp.setHeader(Headers.ETAG, "\"" + fingerprint + "\"");
+        //The gzip and identity bodies are different representations, so they have different etags.
+        boolean gzip = req.isGzipSupport();
+        String  etag = "\"" + json.fingerprint + (gzip ? "-gzip" : "") + "\"";
+
+        resp.setHeader(Headers.VARY, Headers.ACCEPT_ENCODING);
+        resp.setHeader(Headers.ETAG, etag);
 
         String ifNoneMatch = req.getHeader(Headers.IF_NONE_MATCH);
-        if(!Strings.isEmpty(ifNoneMatch) && ifNoneMatch.equals("\"" + fingerprint + "\"")) {
+        if(!Strings.isEmpty(ifNoneMatch) && ifNoneMatch.equals(etag)) {
             resp.setStatus(HTTP.SC_NOT_MODIFIED);
-        }else {
-            resp.getWriter().write(json);
+            return;
+        }
+
+        if(gzip) {
+            resp.setHeader(Headers.CONTENT_ENCODING, "gzip");
+            resp.setContentLength(json.gzipped.length);
+            resp.getOutputStream().write(json.gzipped);
+        }else{
+            resp.setContentLength(json.content.length);
+            resp.getOutputStream().write(json.content);
         }
 	}
 
@@ -22,7 +22,14 @@ import leap.orm.mapping.EntityMapping;
 import leap.web.api.meta.model.MApiModel;
 import leap.web.api.mvc.params.QueryOptions;
 import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 public class DefaultModelQueryExecutorTest extends ModelExecutorTestBase {
 
@@ -30,10 +37,19 @@ public class DefaultModelQueryExecutorTest extends ModelExecutorTestBase {
      * Creates the {@link DefaultModelQueryExecutor} of the orm model.
      */
     protected DefaultModelQueryExecutor newExecutor(Class<?> ormModel) {
+        return newExecutor(ormModel, null);
+    }
+
+    /**
+     * Creates the {@link DefaultModelQueryExecutor} of the orm model with the given {@link ParallelQueryExecutor}.
+     */
+    protected DefaultModelQueryExecutor newExecutor(Class<?> ormModel, ParallelQueryExecutor parallelExecutor) {
         MApiModel     am = amd.getModel(ormModel);
         EntityMapping em = dao.getOrmContext().getMetadata().getEntityMapping(ormModel);
 
-        ModelExecutorContext      context  = new SimpleModelExecutorContext(ac, amd, dao, am, em);
+        ModelExecutorContext context = new SimpleModelExecutorContext(ac, amd, dao, am, em);
+        context.setParallelExecutor(parallelExecutor);
+
         DefaultModelQueryExecutor executor = new DefaultModelQueryExecutor(context);
 
         return executor;
@@ -160,6 +176,52 @@ public class DefaultModelQueryExecutorTest extends ModelExecutorTestBase {
 
     }
 
+    @Test
+    public void testParallelExpandAndCount() throws Throwable {
+        final Set<String> taskThreads = Collections.synchronizedSet(new HashSet<>());
+
+        DefaultParallelQueryExecutor parallel = new DefaultParallelQueryExecutor() {
+            @Override
+            public <T> Future<T> submit(Callable<T> task) throws IllegalStateException {
+                return super.submit(() -> {
+                    taskThreads.add(Thread.currentThread().getName());
+                    return task.call();
+                });
+            }
+        };
+        parallel.setEnabled(true);
+        parallel.setThreads(2);
+        parallel.init();
+
+        try {
+            DefaultModelQueryExecutor executor = newExecutor(Book.class, parallel);
+
+            QueryOptions options = new QueryOptions();
+            options.setExpand("author,tags");
+            options.setOrderBy("title");
+            options.setTotal(true);
+
+            QueryListResult result = executor.queryList(options);
+            assertEquals(2, result.getCount());
+            assertTrue(result.getExpandErrors().isEmpty());
+
+            List<Record> records = result.getList();
+            assertEquals(2, records.size());
+            assertEquals("Author1", records.get(0).get("author", Map.class).get("name"));
+            assertEquals(2, records.get(0).get("tags", List.class).size());
+            assertEquals("Author2", records.get(1).get("author", Map.class).get("name"));
+            assertEquals(1, records.get(1).get("tags", List.class).size());
+
+            //the count and the second expand run in the pool.
+            assertFalse(taskThreads.isEmpty());
+            for(String thread : taskThreads) {
+                assertTrue(thread.startsWith("parallel-query-"));
+            }
+        }finally {
+            parallel.dispose();
+        }
+    }
+
     @Test
     public void testGroupBy() {
         DefaultModelQueryExecutor executor = newExecutor(Book.class);
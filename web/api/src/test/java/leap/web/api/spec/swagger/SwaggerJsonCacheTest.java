@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2019 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package leap.web.api.spec.swagger;
+
+import leap.junit.TestBase;
+import leap.lang.Strings;
+import leap.lang.codec.Digests;
+import leap.web.api.meta.ApiMetadata;
+import leap.web.api.meta.ApiMetadataBuilder;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class SwaggerJsonCacheTest extends TestBase {
+
+    @Test
+    public void testInvalidation() throws IOException {
+        SwaggerJsonCache cache = new SwaggerJsonCache();
+
+        ApiMetadata md1 = newMetadata();
+        ApiMetadata md2 = newMetadata();
+
+        assertNull(cache.get("k", md1, 1));
+
+        SwaggerJsonCache.SwaggerJson json = newJson("{}");
+        cache.put("k", json);
+        assertSame(json, cache.get("k", md1, 1));
+
+        //routes changed.
+        assertNull(cache.get("k", md1, 2));
+        assertNull(cache.get("k", md1, 2));
+
+        cache.put("k", json);
+        assertSame(json, cache.get("k", md1, 2));
+
+        //metadata changed.
+        assertNull(cache.get("k", md2, 2));
+        assertNull(cache.get("k", md2, 2));
+    }
+
+    @Test
+    public void testMaxEntries() throws IOException {
+        SwaggerJsonCache cache = new SwaggerJsonCache();
+        ApiMetadata      md    = newMetadata();
+
+        assertNull(cache.get("k", md, 1));
+        for(int i = 0; i < SwaggerJsonCache.MAX_ENTRIES + 1; i++) {
+            cache.put("k" + i, newJson("{}"));
+        }
+
+        assertNotNull(cache.get("k0", md, 1));
+        assertNull(cache.get("k" + SwaggerJsonCache.MAX_ENTRIES, md, 1));
+    }
+
+    @Test
+    public void testGzipped() throws IOException {
+        SwaggerJsonCache.SwaggerJson json = newJson("{\"swagger\":\"2.0\"}");
+        assertEquals((byte)0x1f, json.gzipped[0]);
+        assertEquals((byte)0x8b, json.gzipped[1]);
+    }
+
+    private static ApiMetadata newMetadata() {
+        ApiMetadataBuilder m = new ApiMetadataBuilder();
+        m.setName("api");
+        return m.build();
+    }
+
+    private static SwaggerJsonCache.SwaggerJson newJson(String content) throws IOException {
+        byte[] bytes = Strings.getBytesUtf8(content);
+        return new SwaggerJsonCache.SwaggerJson(bytes, Digests.md5Hex(bytes));
+    }
+}
@@ -18,6 +18,8 @@ package leap.web;
 import leap.core.AppException;
 import leap.core.annotation.Inject;
 import leap.core.annotation.M;
+import leap.core.monitor.MetricsRegistry;
+import leap.core.monitor.MonitorProvider;
 import leap.core.security.SecurityContext;
 import leap.core.validation.SimpleErrors;
 import leap.core.validation.Validation;
@@ -96,6 +98,9 @@ public class DefaultAppHandler extends AppHandlerBase implements AppHandler {
     protected @Inject
     @M
     AppListener[]           listeners;
+    protected @Inject
+    @M
+    MonitorProvider         monitorProvider;
 
     protected LocaleResolver localeResolver;
     protected int            maxExecutionCount = 10;
@@ -529,7 +534,19 @@ public class DefaultAppHandler extends AppHandlerBase implements AppHandler {
                 Result result = new Result();
                 request.setResult(result);
 
-                executeAndRenderAction(request, response, ac, result);
+                MetricsRegistry metrics = monitorProvider.getMetricsRegistry();
+                if (metrics.isEnabled()) {
+                    long    start   = System.nanoTime();
+                    boolean success = false;
+                    try {
+                        executeAndRenderAction(request, response, ac, result);
+                        success = true;
+                    } finally {
+                        metrics.record(MetricsRegistry.ROUTE, route.getMethod() + " " + route.getPathTemplate().getTemplate(), start, !success);
+                    }
+                } else {
+                    executeAndRenderAction(request, response, ac, result);
+                }
 
                 return ROUTE_STATE_HANDLED;
             }
@@ -29,9 +29,12 @@ import leap.lang.path.Paths;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public abstract class AbstractCachingAssetSource implements AssetSource,AppConfigAware {
 
@@ -77,6 +80,7 @@ public abstract class AbstractCachingAssetSource implements AssetSource,AppConfi
     protected Scheduler                   reloadScheduler;
     protected boolean                     reloadSchueduled;
     protected Map<Object, AssetResource>  resourceCache       = new ConcurrentHashMap<Object, AssetResource>();
+    protected List<Consumer<Asset>>       reloadListeners     = new CopyOnWriteArrayList<>();
 	
 	@Override
     public void setAppConfig(AppConfig config) {
@@ -86,6 +90,13 @@ public abstract class AbstractCachingAssetSource implements AssetSource,AppConfi
 	public void setReloadScheduler(Scheduler reloadScheduler) {
 		this.reloadScheduler = reloadScheduler;
 	}
+
+	/**
+	 * Adds a listener which will be notified after an asset was reloaded or expired.
+	 */
+	public void addReloadListener(Consumer<Asset> listener) {
+		reloadListeners.add(listener);
+	}
 	
 	@Override
     public void setAsset(String path, Asset asset){
@@ -246,6 +257,12 @@ public abstract class AbstractCachingAssetSource implements AssetSource,AppConfi
         }
 	}
 	
+	protected void notifyReloaded(Asset asset) {
+		for(Consumer<Asset> listener : reloadListeners) {
+			listener.accept(asset);
+		}
+	}
+
 	protected final class ReloadTask implements Runnable {
 		@Override
         public void run() {
@@ -255,8 +272,10 @@ public abstract class AbstractCachingAssetSource implements AssetSource,AppConfi
 				try {
 					if(asset.reload()){
 						log.info("Asset [{}] was reloaded",asset.getPath());
+						notifyReloaded(asset);
 					}else if(asset.isExpired()) {
 					    cache.remove(key);
+					    notifyReloaded(asset);
                     }
 				} catch (Exception e) {
 					log.warn("Error reloading asset [{}]",asset.getPath(),e);
@@ -49,6 +49,14 @@ public interface AssetConfig {
 	 * If the content length less than minimum length, the asset will not be compressed.
 	 */
 	int getGzipMinLength();
+
+	/**
+	 * Returns the max total bytes of the cached compressed asset content.
+	 *
+	 * <p>
+	 * The compressed content will not be cached if zero or negative.
+	 */
+	long getCompressedCacheMaxSize();
 	
 	/**
 	 * Returns the charset to processing asset resources.
@@ -28,6 +28,7 @@ public interface AssetConfigurator {
     long   DEFAULT_RELOAD_INTERVAL   = 2000; //2 seconds
     int    DEFAULT_CACHE_MAX_AGE	 = 365 * 24 * 60 * 60 ; //1 year in seconds
     int    DEFAULT_GZIP_MIN_LENGTH   = 512;  //512 bytes
+    long   DEFAULT_COMPRESSED_CACHE_MAX_SIZE = 16 * 1024 * 1024; //16 MB
 
     /**
      * Disable web assets.
@@ -55,6 +56,14 @@ public interface AssetConfigurator {
      */
     AssetConfigurator setGzipMinLength(int length);
 
+    /**
+     * Sets the max total bytes of the cached compressed asset content, the cache is disabled if zero or negative.
+     *
+     * <p/>
+     * Default is {@link #DEFAULT_COMPRESSED_CACHE_MAX_SIZE}.
+     */
+    AssetConfigurator setCompressedCacheMaxSize(long maxSize);
+
     /**
      * Adds an asset folder.
      *
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.assets;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A thread safe LRU cache of the compressed content of {@link AssetResource}, bounded by the total bytes of content.
+ *
+ * <p/>
+ * The content is keyed by the encoding, server path and fingerprint of resource, so a reloaded resource with new
+ * fingerprint never hits the content of old version.
+ */
+final class CompressedAssetCache {
+
+	private final long maxSize;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	CompressedAssetCache(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns <code>true</code> if the content with the given length can be cached.
+	 */
+	boolean isCacheable(long length) {
+		return length <= maxSize;
+	}
+
+	/**
+	 * Returns the cached content or <code>null</code> if not cached or the resource was expired.
+	 */
+	synchronized byte[] get(String encoding, AssetResource resource) {
+		Key key = new Key(encoding, resource);
+		Entry entry = entries.get(key);
+		if(null == entry) {
+			return null;
+		}
+		if(entry.resource.isExpired()) {
+			remove(key);
+			return null;
+		}
+		return entry.content;
+	}
+
+	synchronized void put(String encoding, AssetResource resource, byte[] content) {
+		if(!isCacheable(content.length)) {
+			return;
+		}
+
+		Entry old = entries.put(new Key(encoding, resource), new Entry(resource, content));
+		if(null != old) {
+			size -= old.content.length;
+		}
+		size += content.length;
+
+		for(Iterator<Entry> it = entries.values().iterator(); size > maxSize && it.hasNext();) {
+			size -= it.next().content.length;
+			it.remove();
+		}
+	}
+
+	/**
+	 * Removes all the cached content of the resources of the given asset.
+	 */
+	synchronized void invalidate(Asset asset) {
+		for(Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+			Entry entry = it.next();
+			if(entry.resource.getAsset() == asset) {
+				size -= entry.content.length;
+				it.remove();
+			}
+		}
+	}
+
+	synchronized void clear() {
+		entries.clear();
+		size = 0;
+	}
+
+	synchronized long size() {
+		return size;
+	}
+
+	private void remove(Key key) {
+		Entry entry = entries.remove(key);
+		if(null != entry) {
+			size -= entry.content.length;
+		}
+	}
+
+	private static final class Key {
+		private final String encoding;
+		private final String path;
+		private final String fingerprint;
+
+		Key(String encoding, AssetResource resource) {
+			this.encoding    = encoding;
+			this.path        = null == resource.getServerPath() ? resource.getPath() : resource.getServerPath();
+			this.fingerprint = resource.getFingerprint();
+		}
+
+		@Override
+		public int hashCode() {
+			int h = encoding.hashCode();
+			h = 31 * h + (null == path ? 0 : path.hashCode());
+			h = 31 * h + (null == fingerprint ? 0 : fingerprint.hashCode());
+			return h;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key)o;
+			return encoding.equals(k.encoding) && eq(path, k.path) && eq(fingerprint, k.fingerprint);
+		}
+
+		private static boolean eq(String s1, String s2) {
+			return null == s1 ? null == s2 : s1.equals(s2);
+		}
+	}
+
+	private static final class Entry {
+		private final AssetResource resource;
+		private final byte[]        content;
+
+		Entry(AssetResource resource, byte[] content) {
+			this.resource = resource;
+			this.content  = content;
+		}
+	}
+}
@@ -46,6 +46,7 @@ public class DefaultAssetConfig implements AssetConfig, AssetConfigurator, AppCo
     protected Charset charset;
     protected boolean gzipEnabled      = true;
     protected int     gzipMinLength    = DEFAULT_GZIP_MIN_LENGTH;
+    protected long    compressedCacheMaxSize = DEFAULT_COMPRESSED_CACHE_MAX_SIZE;
     protected String  pathPrefix       = DEFAULT_PATH_PREFIX;
     protected String  sourceDirectory  = DEFAULT_SOURCE_DIRECTORY;
     protected String  publicDirectory  = DEFAULT_PUBLIC_DIRECTORY;
@@ -108,6 +109,17 @@ public class DefaultAssetConfig implements AssetConfig, AssetConfigurator, AppCo
         return this;
 	}
 
+	@Override
+	public long getCompressedCacheMaxSize() {
+		return compressedCacheMaxSize;
+	}
+
+	@ConfigProperty
+	public AssetConfigurator setCompressedCacheMaxSize(long compressedCacheMaxSize) {
+		this.compressedCacheMaxSize = compressedCacheMaxSize;
+		return this;
+	}
+
 	@Override
     public Charset getCharset() {
 	    return charset;
@@ -15,7 +15,6 @@
  */
 package leap.web.assets;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,6 +38,7 @@ import leap.lang.io.IO;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 import leap.lang.path.Paths;
+import leap.lang.resource.Resource;
 import leap.web.AppHandler;
 import leap.web.Request;
 import leap.web.Response;
@@ -47,11 +47,18 @@ import leap.web.exception.BadRequestException;
 public class DefaultAssetHandler implements AssetHandler,LoadableBean {
 	
 	private static final Log log = LogFactory.get(DefaultAssetHandler.class);
+
+	protected static final String GZIP   = "gzip";
+	protected static final String BROTLI = "br";
+
+	private static final byte[] NO_CONTENT = new byte[0];
 	
     protected @Inject @M AssetConfig   config;
     protected @Inject @M AssetSource   source;
     protected @Inject @M AppHandler    appHandler;
     protected @Inject @M AssetStrategy strategy;
+
+    private CompressedAssetCache compressedCache;
 	
 	@Override
     public boolean matches(RequestBase request) {
@@ -199,12 +206,21 @@ public class DefaultAssetHandler implements AssetHandler,LoadableBean {
 		
 		//Only zip text files
 		if(config.isGzipEnabled() && resource.getAsset().isText() && 
-		   resource.getContentLength() >= config.getGzipMinLength() &&
-		   request.isGzipSupport() ) {
-			writeGzipContent(request, response, resource);
-		}else{
-			writeRawContent(request, response, resource);
+		   resource.getContentLength() >= config.getGzipMinLength()) {
+
+			response.setHeader(Headers.VARY, Headers.ACCEPT_ENCODING);
+
+			if(isBrotliSupport(request) && writePrecompressedContent(request, response, resource, BROTLI)) {
+				return;
+			}
+
+			if(request.isGzipSupport()) {
+				writeGzipContent(request, response, resource);
+				return;
+			}
 		}
+
+		writeRawContent(request, response, resource);
 	}
 	
 	protected void writeRawContent(RequestBase request, 
@@ -229,34 +245,152 @@ public class DefaultAssetHandler implements AssetHandler,LoadableBean {
 									ResponseBase response,
 									AssetResource resource) throws ServletException, IOException {
 
-		try(InputStream is = resource.getInputStream()) {
-			try {
+		byte[] compressed = getCompressedContent(resource, GZIP);
+		if(null == compressed) {
+			try(InputStream is = resource.getInputStream()) {
 				//Compress
-	            byte[] compressed = gzip(is,resource.getContentLength());
-	            
-	            if(log.isDebugEnabled()) {
-	            	log.debug("Gzip assets '{}' : {} -> {}",resource.getServerPath(), resource.getContentLength(), compressed.length);
-	            }
-				
-	            //Set headers
-	            response.setHeader(Headers.CONTENT_ENCODING, "gzip");
-	            response.setContentLength(compressed.length);
-	            
-	            //Response
-	            try(ByteArrayInputStream gzipInputStream = new ByteArrayInputStream(compressed)) {
-	            	IO.copy(gzipInputStream, response.getOutputStream());
-	            }
-				
-            } catch (NestedIOException e) {
-            	log.error("Error writing asset content,{}", e.getMessage(), e);
-            	throw e;
-            }
+				compressed = gzip(is,resource.getContentLength());
+			} catch (NestedIOException e) {
+				log.error("Error writing asset content,{}", e.getMessage(), e);
+				throw e;
+			}
+
+			if(log.isDebugEnabled()) {
+				log.debug("Gzip assets '{}' : {} -> {}",resource.getServerPath(), resource.getContentLength(), compressed.length);
+			}
+
+			if(null != compressedCache) {
+				compressedCache.put(GZIP, resource, compressed);
+			}
+		}
+
+		writeCompressedContent(response, GZIP, compressed);
+	}
+
+	/**
+	 * Writes the precompressed content of the given encoding, returns <code>false</code> if no precompressed content.
+	 */
+	protected boolean writePrecompressedContent(RequestBase request,
+												ResponseBase response,
+												AssetResource resource,
+												String encoding) throws ServletException, IOException {
+
+		byte[] compressed = getCompressedContent(resource, encoding);
+		if(null == compressed || compressed.length == 0) {
+			return false;
+		}
+
+		writeCompressedContent(response, encoding, compressed);
+		return true;
+	}
+
+	/**
+	 * Returns the cached or precompressed content of the given encoding, returns <code>null</code> if not found.
+	 *
+	 * <p/>
+	 * An empty array means the resource has no precompressed content.
+	 */
+	protected byte[] getCompressedContent(AssetResource resource, String encoding) throws IOException {
+		if(null != compressedCache) {
+			byte[] cached = compressedCache.get(encoding, resource);
+			if(null != cached) {
+				return cached;
+			}
+		}
+
+		byte[] compressed = null;
+
+		Resource precompressed = getPrecompressedResource(resource, encoding);
+		if(null != precompressed) {
+			try(InputStream is = precompressed.getInputStream()) {
+				compressed = IO.readByteArray(is);
+			}
+			log.debug("Use precompressed asset '{}' : {} -> {}", resource.getServerPath(), resource.getContentLength(), compressed.length);
+		}
+
+		if(null != compressedCache) {
+			if(null != compressed) {
+				compressedCache.put(encoding, resource, compressed);
+			}else if(!GZIP.equals(encoding)){
+				//remembers the resource has no precompressed content.
+				compressedCache.put(encoding, resource, NO_CONTENT);
+			}
+		}
+
+		return compressed;
+	}
+
+	/**
+	 * Returns the precompressed file beside the source of asset resource, such as 'app.js.gz' or 'app.js.br'.
+	 *
+	 * <p/>
+	 * Returns <code>null</code> if not exists or older than the source.
+	 */
+	protected Resource getPrecompressedResource(AssetResource resource, String encoding) {
+		Resource source;
+		if(resource instanceof SimpleAssetResource) {
+			source = ((SimpleAssetResource) resource).getResource();
+		}else if(resource instanceof ServletAssetResource) {
+			source = ((ServletAssetResource) resource).getResource();
+		}else{
+			return null;
+		}
+
+		if(null == source || Strings.isEmpty(source.getFilename())) {
+			return null;
+		}
+
+		try {
+			Resource precompressed = source.createRelative(source.getFilename() + (GZIP.equals(encoding) ? ".gz" : ".br"));
+			if(null != precompressed && precompressed.exists() && precompressed.lastModified() >= source.lastModified()) {
+				return precompressed;
+			}
+		} catch (IOException e) {
+			log.debug("Error resolving precompressed resource of '{}', {}", source, e.getMessage());
+		}
+		return null;
+	}
+
+	protected boolean isBrotliSupport(RequestBase request) {
+		String encoding = request.getHeader(Headers.ACCEPT_ENCODING);
+		if(null == encoding) {
+			return false;
+		}
+		for(String s : Strings.split(encoding, ',')) {
+			if(s.equals(BROTLI) || s.startsWith(BROTLI + ";")) {
+				return !s.replace(" ", "").endsWith(";q=0");
+			}
+		}
+		return false;
+	}
+
+	protected void writeCompressedContent(ResponseBase response, String encoding, byte[] compressed) throws IOException {
+		try {
+			//Set headers
+			response.setHeader(Headers.CONTENT_ENCODING, encoding);
+			response.setContentLength(compressed.length);
+
+			//Response
+			response.getOutputStream().write(compressed);
+		} catch (NestedIOException e) {
+			log.error("Error writing asset content,{}", e.getMessage(), e);
+			throw e;
 		}
 	}
 
 	@Override
     public boolean load(BeanFactory factory) throws Exception {
-	    return config.isEnabled();
+		if(!config.isEnabled()) {
+			return false;
+		}
+
+		if(config.isGzipEnabled() && config.getCompressedCacheMaxSize() > 0) {
+			compressedCache = new CompressedAssetCache(config.getCompressedCacheMaxSize());
+			if(source instanceof AbstractCachingAssetSource) {
+				((AbstractCachingAssetSource) source).addReloadListener(compressedCache::invalidate);
+			}
+		}
+	    return true;
     }
 	
 	private final static byte[] gzip(InputStream is, long length) throws IOException {
@@ -15,16 +15,22 @@
  */
 package leap.web.download;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
 
+import leap.lang.Randoms;
 import leap.lang.Strings;
 import leap.lang.exception.NestedIOException;
 import leap.lang.http.HTTP;
@@ -39,6 +45,12 @@ import leap.web.Response;
 
 public abstract class AbstractDownload implements Download {
 	private static final Log log = LogFactory.get(AbstractDownload.class);
+
+	private static final int    BUFFER_SIZE            = 8192;
+	private static final String SENDFILE_SUPPORT_ATTR  = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START_ATTR    = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END_ATTR      = "org.apache.tomcat.sendfile.end";
 	
 	protected String   filename;
 	protected String   contentType;
@@ -128,6 +140,12 @@ public abstract class AbstractDownload implements Download {
 			handleNotFound(request, response);
 			return;
 		}
+
+		//Precondition Failed
+		if(checkPreconditionFailed(request, response, resource)) {
+			handlePreconditionFailed(request, response, resource);
+			return;
+		}
 		
 		//Not Modified
 		if(checkNotModified(request, response, resource)) {
@@ -147,9 +165,6 @@ public abstract class AbstractDownload implements Download {
 		
 		//Check Length
 		long length = this.contentLength == -1 ? resource.contentLength() : contentLength;
-		if(length > Integer.MAX_VALUE) {
-			throw new IOException("Resource content too long(beyond Integer.MAX_VALUE): " + filename);
-		}
 
 		//Set headers
 		setHeaders(request, response, resource);
@@ -157,9 +172,24 @@ public abstract class AbstractDownload implements Download {
 		//Write content
 		if(gzip) {
 			writeGzipContent(request, response, resource, length);
-		}else{
-			writeRawContent(request, response, resource, length);			
+			return;
+		}
+
+		if(length >= 0) {
+			response.setHeader(Headers.ACCEPT_RANGES, "bytes");
+
+			List<ByteRange> ranges = resolveRanges(request, resource, length);
+			if(null != ranges) {
+				if(ranges.isEmpty()) {
+					handleRangeNotSatisfiable(request, response, resource, length);
+				}else{
+					writeRangeContent(request, response, resource, length, ranges);
+				}
+				return;
+			}
 		}
+
+		writeRawContent(request, response, resource, length);
 	}
 	
 	protected void handleNotFound(Request request,Response response) throws ServletException,IOException {
@@ -176,6 +206,43 @@ public abstract class AbstractDownload implements Download {
 		
 		setCacheHeaders(request, response, resource);
 	}
+
+	protected void handlePreconditionFailed(Request  request,
+											Response response,
+											Resource resource) throws Throwable {
+
+		log.trace("Precondition failed, returning 412");
+		response.sendError(HTTP.SC_PRECONDITION_FAILED);
+	}
+
+	protected void handleRangeNotSatisfiable(Request  request,
+											 Response response,
+											 Resource resource,
+											 long     contentLength) throws Throwable {
+
+		log.trace("Range not satisfiable, returning 416");
+		response.setHeader(Headers.CONTENT_RANGE, "bytes */" + contentLength);
+		response.sendError(HTTP.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+	}
+
+	//Returns <code>true</code> if the 'If-Match' or 'If-Unmodified-Since' precondition failed
+	protected boolean checkPreconditionFailed(Request  request,
+											  Response response,
+											  Resource resource) throws ServletException,IOException {
+
+		String ifMatch = request.getHeader(Headers.IF_MATCH);
+		if(!Strings.isEmpty(ifMatch)) {
+			return !matchesEtag(ifMatch, false);
+		}
+
+		long ifUnmodifiedSince = getDateHeader(request, Headers.IF_UNMODIFIED_SINCE);
+		if(ifUnmodifiedSince > 0) {
+			long lastModified = lastModified(resource);
+			return lastModified <= 0 || lastModified / 1000 > ifUnmodifiedSince / 1000;
+		}
+
+		return false;
+	}
 	
 	//Returns <code>true</code> if not modified
 	protected boolean checkNotModified(Request  request,
@@ -183,21 +250,48 @@ public abstract class AbstractDownload implements Download {
 									   Resource resource) throws ServletException,IOException {
 
 		//check etag
-		if(null != etag) {
-			String ifNoneMatch = request.getHeader(Headers.IF_NONE_MATCH);
-			if(!Strings.isEmpty(ifNoneMatch)){
-				return ifNoneMatch.equals("\"" + etag + "\"");
-			}
+		String ifNoneMatch = request.getHeader(Headers.IF_NONE_MATCH);
+		if(!Strings.isEmpty(ifNoneMatch)){
+			return matchesEtag(ifNoneMatch, true);
 		}
 
-		//check lastModified
-		long ifModifiedSince = request.getDateHeader(Headers.IF_MODIFIED_SINCE);
-		if (ifModifiedSince > 0 && resource.lastModified() == ifModifiedSince) {
-			return true;
+		//check lastModified, the http date is in seconds.
+		long ifModifiedSince = getDateHeader(request, Headers.IF_MODIFIED_SINCE);
+		if (ifModifiedSince > 0) {
+			long lastModified = lastModified(resource);
+			return lastModified > 0 && lastModified / 1000 <= ifModifiedSince / 1000;
 		}
 
 		return false;
 	}
+
+	/**
+	 * Returns the satisfiable ranges of the 'Range' header, or <code>null</code> if the full content should be returned.
+	 */
+	protected List<ByteRange> resolveRanges(Request request, Resource resource, long contentLength) {
+		String range = request.getHeader(Headers.RANGE);
+		if(Strings.isEmpty(range)) {
+			return null;
+		}
+
+		//The range is ignored if the 'If-Range' validator not matches current content.
+		String ifRange = request.getHeader(Headers.IF_RANGE);
+		if(!Strings.isEmpty(ifRange)) {
+			if(ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+				if(null == etag || !ifRange.equals("\"" + etag + "\"")) {
+					return null;
+				}
+			}else{
+				long date = getDateHeader(request, Headers.IF_RANGE);
+				long lastModified = lastModified(resource);
+				if(date <= 0 || lastModified <= 0 || lastModified / 1000 != date / 1000) {
+					return null;
+				}
+			}
+		}
+
+		return ByteRange.parse(range, contentLength);
+	}
 	
 	protected void setHeaders(Request  request,
 							  Response response,
@@ -216,36 +310,22 @@ public abstract class AbstractDownload implements Download {
 			response.setHeader(Headers.ETAG, "\"" + etag + "\"");
 		}
 
-		try {
-            long lastModified = resource.lastModified();
-            if(lastModified > 0){
-            	response.setDateHeader(Headers.LAST_MODIFIED, lastModified);
-            }
-        } catch (Exception e) {
-            //TODO : handle exception.
-        }
+		long lastModified = lastModified(resource);
+		if(lastModified > 0){
+			response.setDateHeader(Headers.LAST_MODIFIED, lastModified);
+		}
 	}
 	
 	protected void writeGzipContent(Request request, Response response, Resource resource,long contentLength) throws Throwable {
 		try(InputStream is = resource.getInputStream()) {
 			try {
-				
-				//Compress
-	            byte[] compressed = gzip(is,contentLength);
-	            
-	            if(log.isDebugEnabled()) {
-	            	log.debug("Gzip resource '{}' : {} -> {}",resource.getURLString(), contentLength, compressed.length);
-	            }
-				
-	            //Set headers
+	            //Set headers, the compressed content is streamed without content-length.
 	            response.setHeader(Headers.CONTENT_ENCODING, "gzip");
-	            response.setContentLength(compressed.length);
-	            
+
 	            //Response
-	            try(ByteArrayInputStream gzipInputStream = new ByteArrayInputStream(compressed)) {
-	            	IO.copy(gzipInputStream, response.getOutputStream());
+	            try(GZIPOutputStream gzipOutputStream = new ResponseGZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)) {
+	            	IO.copy(is, gzipOutputStream);
 	            }
-				
             } catch (NestedIOException e) {
             	log.error("Error writting resource content,{}", e.getMessage(), e);
             	throw e;
@@ -257,12 +337,20 @@ public abstract class AbstractDownload implements Download {
 		if(gzipped) {
             response.setHeader(Headers.CONTENT_ENCODING, "gzip");
 		}
-		
-		try(InputStream is = getResource(request, response).getInputStream()) {
+
+		if(contentLength >= 0) {
+			setContentLength(response, contentLength);
+
+			if(sendfile(request, resource, 0, contentLength)) {
+				return;
+			}
+
+			writeContent(response.getOutputStream(), resource, 0, contentLength);
+			return;
+		}
+
+		try(InputStream is = resource.getInputStream()) {
 			try {
-				//Set content-length
-				response.setContentLength((int) contentLength);
-				
 				//Response
 	            IO.copy(is, response.getOutputStream());
             } catch (NestedIOException e) {
@@ -271,24 +359,210 @@ public abstract class AbstractDownload implements Download {
             }
 		}		
 	}
+
+	protected void writeRangeContent(Request request, Response response, Resource resource, long contentLength, List<ByteRange> ranges) throws Throwable {
+		if(gzipped) {
+			response.setHeader(Headers.CONTENT_ENCODING, "gzip");
+		}
+
+		response.setStatus(HTTP.SC_PARTIAL_CONTENT);
+
+		if(ranges.size() == 1) {
+			ByteRange range = ranges.get(0);
+
+			response.setHeader(Headers.CONTENT_RANGE, range.toContentRange(contentLength));
+			setContentLength(response, range.length());
+
+			if(!sendfile(request, resource, range.start, range.length())) {
+				writeContent(response.getOutputStream(), resource, range.start, range.length());
+			}
+			return;
+		}
+
+		String boundary    = Randoms.nextStringAlphanumeric(24);
+		String contentType = getContentType(request);
+
+		//The part headers, the ranges are ordered so the stream can be read once.
+		List<byte[]> headers = new ArrayList<>(ranges.size());
+		long total = 0;
+		for(ByteRange range : ranges) {
+			String header = "\r\n--" + boundary + "\r\n" +
+							(null == contentType ? "" : Headers.CONTENT_TYPE + ": " + contentType + "\r\n") +
+							Headers.CONTENT_RANGE + ": " + range.toContentRange(contentLength) + "\r\n\r\n";
+
+			byte[] bytes = Strings.getBytesUtf8(header);
+			headers.add(bytes);
+			total += bytes.length + range.length();
+		}
+		byte[] end = Strings.getBytesUtf8("\r\n--" + boundary + "--\r\n");
+		total += end.length;
+
+		response.setContentType("multipart/byteranges; boundary=" + boundary);
+		setContentLength(response, total);
+
+		OutputStream out = response.getOutputStream();
+		if(resource.isFile()) {
+			try(FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+				WritableByteChannel target = Channels.newChannel(out);
+				for(int i=0;i<ranges.size();i++) {
+					out.write(headers.get(i));
+					transfer(channel, target, ranges.get(i).start, ranges.get(i).length());
+				}
+			}
+		}else{
+			try(InputStream is = resource.getInputStream()) {
+				long position = 0;
+				for(int i=0;i<ranges.size();i++) {
+					ByteRange range = ranges.get(i);
+					out.write(headers.get(i));
+					skip(is, range.start - position);
+					copy(is, out, range.length());
+					position = range.end + 1;
+				}
+			}
+		}
+		out.write(end);
+	}
+
+	/**
+	 * Writes the bytes of resource from the start position, the file resource is transferred by {@link FileChannel}
+	 * without copying through an input stream.
+	 */
+	protected void writeContent(OutputStream out, Resource resource, long start, long count) throws IOException {
+		try {
+			if(resource.isFile()) {
+				try(FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+					transfer(channel, Channels.newChannel(out), start, count);
+				}
+			}else{
+				try(InputStream is = resource.getInputStream()) {
+					skip(is, start);
+					copy(is, out, count);
+				}
+			}
+		} catch (IOException e) {
+			log.error("Error writting resource content,{}", e.getMessage(), e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Lets the servlet container sends the file by zero-copy sendfile if supported (tomcat), returns true if supported.
+	 */
+	protected boolean sendfile(Request request, Resource resource, long start, long count) {
+		if(!resource.isFile() || !Boolean.TRUE.equals(request.getServletRequest().getAttribute(SENDFILE_SUPPORT_ATTR))) {
+			return false;
+		}
+
+		HttpServletRequest req = request.getServletRequest();
+		req.setAttribute(SENDFILE_FILENAME_ATTR, resource.getFile().getAbsolutePath());
+		req.setAttribute(SENDFILE_START_ATTR,    start);
+		req.setAttribute(SENDFILE_END_ATTR,      start + count);
+		return true;
+	}
+
+	protected void setContentLength(Response response, long length) {
+		if(length <= Integer.MAX_VALUE) {
+			response.setContentLength((int)length);
+		}else{
+			response.getServletResponse().setContentLengthLong(length);
+		}
+	}
 	
 	protected abstract Resource getResource(Request request, Response response) throws Throwable;
-	
-	private final static byte[] gzip(InputStream is, long length) throws IOException {
 
-		final ByteArrayOutputStream compressedOutputStream = new ByteArrayOutputStream((int) (length * 0.75));
+	private static long lastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		} catch (Exception e) {
+			return -1;
+		}
+	}
 
-		final OutputStream gzipOutputStream = new GZIPOutputStream(compressedOutputStream);
+	private static long getDateHeader(Request request, String name) {
+		try {
+			return request.getDateHeader(name);
+		} catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
 
-		final byte[] buf = new byte[5000];
-		int len;
+	//Returns true if the etag matches one of the etags in header, weak comparison is used if weak is true.
+	private boolean matchesEtag(String header, boolean weak) {
+		if(header.trim().equals("*")) {
+			return true;
+		}
+		if(null == etag) {
+			return false;
+		}
 
-		while ((len = is.read(buf)) > 0) {
-			gzipOutputStream.write(buf, 0, len);
+		String quoted = "\"" + etag + "\"";
+		for(String value : Strings.split(header, ',')) {
+			if(value.startsWith("W/")) {
+				if(!weak) {
+					continue;
+				}
+				value = value.substring(2);
+			}
+			if(value.equals(quoted)) {
+				return true;
+			}
 		}
+		return false;
+	}
 
-		gzipOutputStream.close();
+	private static void transfer(FileChannel channel, WritableByteChannel target, long position, long count) throws IOException {
+		while(count > 0) {
+			long n = channel.transferTo(position, count, target);
+			if(n <= 0) {
+				throw new IOException("Unexpected end of file at position " + position);
+			}
+			position += n;
+			count    -= n;
+		}
+	}
 
-		return compressedOutputStream.toByteArray();
+	private static void skip(InputStream is, long n) throws IOException {
+		while(n > 0) {
+			long skipped = is.skip(n);
+			if(skipped <= 0) {
+				if(is.read() < 0) {
+					throw new IOException("Unexpected end of stream");
+				}
+				skipped = 1;
+			}
+			n -= skipped;
+		}
+	}
+
+	private static void copy(InputStream is, OutputStream out, long count) throws IOException {
+		byte[] buf = new byte[BUFFER_SIZE];
+		while(count > 0) {
+			int n = is.read(buf, 0, (int)Math.min(buf.length, count));
+			if(n < 0) {
+				throw new IOException("Unexpected end of stream");
+			}
+			out.write(buf, 0, n);
+			count -= n;
+		}
+	}
+
+	/**
+	 * Finishes the gzip content without closing the response stream, and ends the deflater to release its native memory.
+	 */
+	private static final class ResponseGZIPOutputStream extends GZIPOutputStream {
+
+		ResponseGZIPOutputStream(OutputStream out, int size) throws IOException {
+			super(out, size);
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				finish();
+			} finally {
+				def.end();
+			}
+		}
 	}
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.download;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A satisfiable byte range of the 'Range' header, the start and end are inclusive.
+ */
+final class ByteRange implements Comparable<ByteRange> {
+
+	/**
+	 * The max number of ranges in a 'Range' header, the header will be ignored if exceeds.
+	 */
+	static final int MAX_RANGES = 16;
+
+	private static final String BYTES_UNIT = "bytes=";
+
+	/**
+	 * Parses the 'Range' header of the content with the given length.
+	 *
+	 * <p/>
+	 * Returns <code>null</code> if the header is empty, invalid or has too many ranges, so the header should be ignored.
+	 *
+	 * <p/>
+	 * Returns an empty list if no range is satisfiable. The overlapping ranges are coalesced.
+	 */
+	static List<ByteRange> parse(String header, long length) {
+		if(null == header || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+			return null;
+		}
+
+		String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+		if(specs.length > MAX_RANGES) {
+			return null;
+		}
+
+		List<ByteRange> ranges = new ArrayList<>(specs.length);
+		for(String spec : specs) {
+			spec = spec.trim();
+
+			int index = spec.indexOf('-');
+			if(index < 0) {
+				return null;
+			}
+
+			long start;
+			long end;
+			try {
+				if(index == 0) {
+					//suffix range : -n
+					long suffix = Long.parseLong(spec.substring(1));
+					if(suffix < 0) {
+						return null;
+					}
+					if(suffix == 0 || length == 0) {
+						continue;
+					}
+					start = Math.max(0, length - suffix);
+					end   = length - 1;
+				}else{
+					start = Long.parseLong(spec.substring(0, index));
+					end   = index == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(index + 1));
+					if(start < 0 || end < start) {
+						return null;
+					}
+					if(start >= length) {
+						continue;
+					}
+					end = Math.min(end, length - 1);
+				}
+			}catch(NumberFormatException e) {
+				return null;
+			}
+
+			ranges.add(new ByteRange(start, end));
+		}
+
+		return coalesce(ranges);
+	}
+
+	private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+		if(ranges.size() <= 1) {
+			return ranges;
+		}
+
+		Collections.sort(ranges);
+
+		List<ByteRange> coalesced = new ArrayList<>(ranges.size());
+		ByteRange last = ranges.get(0);
+		for(int i=1;i<ranges.size();i++) {
+			ByteRange range = ranges.get(i);
+			if(range.start <= last.end + 1) {
+				last = new ByteRange(last.start, Math.max(last.end, range.end));
+			}else{
+				coalesced.add(last);
+				last = range;
+			}
+		}
+		coalesced.add(last);
+		return coalesced;
+	}
+
+	final long start;
+	final long end;
+
+	ByteRange(long start, long end) {
+		this.start = start;
+		this.end   = end;
+	}
+
+	long length() {
+		return end - start + 1;
+	}
+
+	/**
+	 * Returns the value of 'Content-Range' header.
+	 */
+	String toContentRange(long length) {
+		return "bytes " + start + "-" + end + "/" + length;
+	}
+
+	@Override
+	public int compareTo(ByteRange o) {
+		return Long.compare(start, o.start);
+	}
+
+	@Override
+	public String toString() {
+		return start + "-" + end;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.monitor;
+
+import leap.core.annotation.ConfigProperty;
+import leap.core.annotation.Inject;
+import leap.core.annotation.M;
+import leap.core.annotation.Configurable;
+import leap.core.monitor.MetricsRegistry;
+import leap.core.monitor.MonitorProvider;
+import leap.lang.http.ContentTypes;
+import leap.web.App;
+import leap.web.Endpoint;
+import leap.web.Handler;
+import leap.web.Request;
+import leap.web.Response;
+import leap.web.route.Routes;
+
+/**
+ * Writes the latency metrics (in microseconds) of the monitored methods, routes and sqls as json.
+ *
+ * <p/>
+ * Disabled by default, enables it by the config property <code>webmvc.metrics.enabled</code>,
+ * the metrics must be enabled by <code>app.monitor.metrics-enabled</code> too.
+ */
+@Configurable(prefix = "webmvc.metrics")
+public class MetricsEndpoint implements Endpoint, Handler {
+
+    protected @Inject @M MonitorProvider provider;
+
+    protected boolean enabled;
+    protected String  path = "/_metrics";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @ConfigProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @ConfigProperty
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public void startEndpoint(App app, Routes routes) throws Throwable {
+        if(enabled) {
+            routes.create().get(path, this).apply();
+        }
+    }
+
+    @Override
+    public void handle(Request request, Response response) throws Throwable {
+        MetricsRegistry registry = provider.getMetricsRegistry();
+
+        response.setContentType(ContentTypes.APPLICATION_JSON_UTF8);
+        response.getJsonWriter().map(registry.getMetricsStats());
+    }
+}
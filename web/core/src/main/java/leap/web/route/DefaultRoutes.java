@@ -44,7 +44,8 @@ public class DefaultRoutes implements Routes {
     protected @Inject ActionManager       actionManager;
     protected @Inject RoutesPrinter       routesPrinter;
 
-    protected final List<Route> list = new CopyOnWriteArrayList<>();
+    protected final List<Route> list  = new CopyOnWriteArrayList<>();
+    protected final RouteIndex  index = new RouteIndex();
 
     protected String pathPrefix = "";
 
@@ -135,8 +136,20 @@ public class DefaultRoutes implements Routes {
     @Override
     public synchronized Routes add(Route route) {
         Args.notNull(route, "route");
-        list.add(route);
-        Collections.sort(list, Route.COMPARATOR);
+
+        //binary insertion, the route is inserted after the routes compared equally.
+        int low  = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Route.COMPARATOR.compare(route, list.get(mid)) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        list.add(low, route);
+        index.add(route);
         return this;
     }
 
@@ -146,7 +159,8 @@ public class DefaultRoutes implements Routes {
     }
 
     @Override
-    public boolean remove(Route route) {
+    public synchronized boolean remove(Route route) {
+        index.remove(route);
         return list.remove(route);
     }
 
@@ -171,7 +185,7 @@ public class DefaultRoutes implements Routes {
         }
 
         List<RouteAndOut> matchedRoutes = new ArrayList<>();
-        for (Route route : list) {
+        for (Route route : index.candidates(method, path)) {
             if (!route.isEnabled()) {
                 continue;
             }
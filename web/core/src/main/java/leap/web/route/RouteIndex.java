@@ -0,0 +1,257 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.route;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A tree index of {@link Route} by the literal path segments before the first variable of the path template.
+ *
+ * <p/>
+ * The index only narrows down the candidate routes of a path, the candidates must still be matched by the path templates,
+ * so the priority and ambiguity semantics of path template are not changed.
+ *
+ * <p/>
+ * The routes in a node are bucketed by http method. The candidates are returned in the order of {@link Route#COMPARATOR},
+ * the routes compared equally are ordered by the sequence of adding.
+ *
+ * <p/>
+ * Not thread safe for adding and removing, but thread safe for reading.
+ */
+public class RouteIndex {
+
+    private static final String ANY_METHOD = "*";
+
+    private final Node root = new Node();
+    private final Map<Route, Entry> entries = new IdentityHashMap<>();
+
+    private long seq;
+
+    public void add(Route route) {
+        Node node = root;
+        for (String segment : literalSegments(route.getPathTemplate().getTemplate())) {
+            node = node.children.computeIfAbsent(segment, (k) -> new Node());
+        }
+
+        Entry entry = new Entry(route, seq++, node);
+        entries.put(route, entry);
+        node.add(entry);
+    }
+
+    public boolean remove(Route route) {
+        Entry entry = entries.remove(route);
+        if (null == entry) {
+            return false;
+        }
+        entry.node.remove(entry);
+        return true;
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.buckets = Collections.emptyMap();
+        entries.clear();
+    }
+
+    /**
+     * Returns the candidate routes which may match the given method and path.
+     *
+     * @param method the http method, all the methods if null.
+     */
+    public List<Route> candidates(String method, String path) {
+        List<Entry> found   = new ArrayList<>();
+        int         buckets = 0;
+
+        Node node = root;
+        int  start = path.startsWith("/") ? 1 : 0;
+        for (;;) {
+            buckets += node.collect(method, found);
+
+            if (start >= path.length()) {
+                break;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end == start) {
+                break;
+            }
+
+            node = node.children.get(path.substring(start, end));
+            if (null == node) {
+                break;
+            }
+            start = end + 1;
+        }
+
+        if (buckets > 1) {
+            found.sort(Entry::compareTo);
+        }
+
+        List<Route> routes = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            routes.add(entry.route);
+        }
+        return routes;
+    }
+
+    /**
+     * Returns the literal segments before the first segment contains variable or any char may be encoded in the template.
+     */
+    protected static List<String> literalSegments(String template) {
+        List<String> segments = new ArrayList<>();
+
+        int start = template.startsWith("/") ? 1 : 0;
+        while (start < template.length()) {
+            int end = template.indexOf('/', start);
+            if (end < 0) {
+                end = template.length();
+            }
+
+            if (end == start) {
+                break;
+            }
+
+            String segment = template.substring(start, end);
+            if (!isLiteral(segment)) {
+                break;
+            }
+            segments.add(segment);
+            start = end + 1;
+        }
+
+        return segments;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                continue;
+            }
+            if ("-._~!$&'()*+,;=:@".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final Route route;
+        private final long  seq;
+        private final Node  node;
+
+        Entry(Route route, long seq, Node node) {
+            this.route = route;
+            this.seq   = seq;
+            this.node  = node;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            if (this == o) {
+                return 0;
+            }
+
+            //The Route.COMPARATOR returns 1 for the equal routes.
+            int result = Route.COMPARATOR.compare(route, o.route);
+            if (result > 0 && Route.COMPARATOR.compare(o.route, route) > 0) {
+                return Long.compare(seq, o.seq);
+            }
+            return result;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node>       children = new ConcurrentHashMap<>();
+        private volatile Map<String, Entry[]> buckets  = Collections.emptyMap();
+
+        void add(Entry entry) {
+            Map<String, Entry[]> map     = new HashMap<>(buckets);
+            Entry[]              entries = map.get(entry.route.getMethod());
+
+            if (null == entries) {
+                entries = new Entry[]{entry};
+            } else {
+                int pos = entries.length;
+                while (pos > 0 && entry.compareTo(entries[pos - 1]) < 0) {
+                    pos--;
+                }
+
+                Entry[] copy = new Entry[entries.length + 1];
+                System.arraycopy(entries, 0, copy, 0, pos);
+                copy[pos] = entry;
+                System.arraycopy(entries, pos, copy, pos + 1, entries.length - pos);
+                entries = copy;
+            }
+
+            map.put(entry.route.getMethod(), entries);
+            buckets = map;
+        }
+
+        void remove(Entry entry) {
+            Map<String, Entry[]> map     = new HashMap<>(buckets);
+            Entry[]              entries = map.get(entry.route.getMethod());
+            if (null == entries) {
+                return;
+            }
+
+            List<Entry> list = new ArrayList<>(Arrays.asList(entries));
+            list.remove(entry);
+            if (list.isEmpty()) {
+                map.remove(entry.route.getMethod());
+            } else {
+                map.put(entry.route.getMethod(), list.toArray(new Entry[list.size()]));
+            }
+            buckets = map;
+        }
+
+        /**
+         * Returns the number of buckets collected.
+         */
+        int collect(String method, List<Entry> found) {
+            Map<String, Entry[]> map = buckets;
+            if (map.isEmpty()) {
+                return 0;
+            }
+
+            if (null == method) {
+                for (Entry[] entries : map.values()) {
+                    Collections.addAll(found, entries);
+                }
+                return map.size();
+            }
+
+            int     count   = 0;
+            Entry[] entries = map.get(method);
+            if (null != entries) {
+                Collections.addAll(found, entries);
+                count++;
+            }
+            if (!ANY_METHOD.equals(method)) {
+                Entry[] any = map.get(ANY_METHOD);
+                if (null != any) {
+                    Collections.addAll(found, any);
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
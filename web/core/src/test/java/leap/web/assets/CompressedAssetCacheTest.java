@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.assets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+public class CompressedAssetCacheTest extends Assert {
+
+    @Test
+    public void testFingerprint() {
+        CompressedAssetCache cache = new CompressedAssetCache(100);
+
+        TestResource r1 = new TestResource("/a.js", "1");
+        cache.put("gzip", r1, new byte[10]);
+        assertNotNull(cache.get("gzip", r1));
+        assertNull(cache.get("br", r1));
+        assertNull(cache.get("gzip", new TestResource("/a.js", "2")));
+
+        r1.expire();
+        assertNull(cache.get("gzip", r1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxSize() {
+        CompressedAssetCache cache = new CompressedAssetCache(100);
+
+        TestResource r1 = new TestResource("/a.js", "1");
+        TestResource r2 = new TestResource("/b.js", "1");
+        TestResource r3 = new TestResource("/c.js", "1");
+
+        cache.put("gzip", r1, new byte[40]);
+        cache.put("gzip", r2, new byte[40]);
+        assertNotNull(cache.get("gzip", r1));
+
+        cache.put("gzip", r3, new byte[40]);
+        assertEquals(80, cache.size());
+        assertNotNull(cache.get("gzip", r1));
+        assertNull(cache.get("gzip", r2));
+        assertNotNull(cache.get("gzip", r3));
+
+        cache.put("gzip", r2, new byte[101]);
+        assertNull(cache.get("gzip", r2));
+        assertEquals(80, cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        CompressedAssetCache cache = new CompressedAssetCache(100);
+
+        TestResource r1 = new TestResource("/a.js", "1");
+        TestResource r2 = new TestResource("/b.js", "1");
+        cache.put("gzip", r1, new byte[10]);
+        cache.put("br",   r1, new byte[10]);
+        cache.put("gzip", r2, new byte[10]);
+
+        cache.invalidate(r1.getAsset());
+        assertNull(cache.get("gzip", r1));
+        assertNull(cache.get("br", r1));
+        assertNotNull(cache.get("gzip", r2));
+        assertEquals(10, cache.size());
+    }
+
+    private static final class TestResource extends AbstractAssetResource {
+
+        TestResource(String path, String fingerprint) {
+            this.asset       = new AbstractAsset(path) {
+                @Override
+                public boolean reloadable() {
+                    return false;
+                }
+
+                @Override
+                public boolean reload() {
+                    return false;
+                }
+
+                @Override
+                public boolean isText() {
+                    return true;
+                }
+            };
+            this.serverPath  = path;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public long getContentLength() throws IOException {
+            return 0;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return null;
+        }
+
+        @Override
+        public Reader getReader() throws IOException {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.download;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ByteRangeTest extends Assert {
+
+    @Test
+    public void testIgnoredHeader() {
+        assertNull(ByteRange.parse(null, 100));
+        assertNull(ByteRange.parse("items=0-1", 100));
+        assertNull(ByteRange.parse("bytes=a-b", 100));
+        assertNull(ByteRange.parse("bytes=5-1", 100));
+        assertNull(ByteRange.parse("bytes=1", 100));
+        assertNull(ByteRange.parse("bytes=0-0,2-2,4-4,6-6,8-8,10-10,12-12,14-14,16-16,18-18,20-20,22-22,24-24,26-26,28-28,30-30,32-32", 100));
+    }
+
+    @Test
+    public void testSingleRange() {
+        assertRanges("bytes=0-9",   100, "0-9");
+        assertRanges("bytes=90-",   100, "90-99");
+        assertRanges("bytes=-10",   100, "90-99");
+        assertRanges("bytes=-200",  100, "0-99");
+        assertRanges("bytes=95-200",100, "95-99");
+        assertRanges("BYTES=0-0",   100, "0-0");
+
+        ByteRange range = ByteRange.parse("bytes=10-19", 100).get(0);
+        assertEquals(10, range.length());
+        assertEquals("bytes 10-19/100", range.toContentRange(100));
+    }
+
+    @Test
+    public void testUnsatisfiable() {
+        assertRanges("bytes=100-",  100);
+        assertRanges("bytes=-0",    100);
+        assertRanges("bytes=0-1",   0);
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        assertRanges("bytes=50-59, 0-9",   100, "0-9", "50-59");
+        assertRanges("bytes=0-9,5-19,20-29,40-", 100, "0-29", "40-99");
+        assertRanges("bytes=0-9,200-300",  100, "0-9");
+    }
+
+    private static void assertRanges(String header, long length, String... expected) {
+        List<ByteRange> ranges = ByteRange.parse(header, length);
+        assertNotNull(ranges);
+        assertEquals(expected.length, ranges.size());
+        for(int i=0;i<expected.length;i++) {
+            assertEquals(expected[i], ranges.get(i).toString());
+        }
+    }
+}
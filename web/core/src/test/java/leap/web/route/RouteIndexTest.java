@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.route;
+
+import leap.core.web.path.JerseyPathTemplateFactory;
+import leap.core.web.path.PathTemplateFactory;
+import leap.web.action.RunnableAction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RouteIndexTest extends Assert {
+
+    private final PathTemplateFactory factory = new JerseyPathTemplateFactory();
+
+    @Test
+    public void testLiteralSegments() {
+        assertEquals(Arrays.asList(), RouteIndex.literalSegments("/"));
+        assertEquals(Arrays.asList("users"), RouteIndex.literalSegments("/users/{id}"));
+        assertEquals(Arrays.asList("api", "users"), RouteIndex.literalSegments("/api/users/"));
+        assertEquals(Arrays.asList("files"), RouteIndex.literalSegments("/files/{name}.json"));
+        assertEquals(Arrays.asList("a"), RouteIndex.literalSegments("/a/{path:.*}/b"));
+        assertEquals(Arrays.asList(), RouteIndex.literalSegments("/a%20b/c"));
+    }
+
+    @Test
+    public void testCandidates() {
+        Route users    = route("GET", "/users");
+        Route user     = route("GET", "/users/{id}");
+        Route create   = route("POST", "/users");
+        Route any      = route("*", "/{path:.*}");
+        Route profile  = route("GET", "/users/{id}/profile");
+        Route disabled = route("GET", "/orders");
+
+        DefaultRoutes routes = new DefaultRoutes();
+        routes.add(any);
+        routes.add(profile);
+        routes.add(users);
+        routes.add(user);
+        routes.add(create);
+        routes.add(disabled);
+
+        List<Route> candidates = routes.index.candidates("GET", "/users/1");
+        assertEquals(4, candidates.size());
+        assertFalse(candidates.contains(create));
+        assertFalse(candidates.contains(disabled));
+        assertInListOrder(routes, candidates);
+
+        candidates = routes.index.candidates(null, "/users");
+        assertEquals(5, candidates.size());
+        assertInListOrder(routes, candidates);
+
+        candidates = routes.index.candidates("GET", "/unknown");
+        assertEquals(1, candidates.size());
+        assertSame(any, candidates.get(0));
+
+        routes.remove(any);
+        assertEquals(0, routes.index.candidates("GET", "/unknown").size());
+    }
+
+    private void assertInListOrder(DefaultRoutes routes, List<Route> candidates) {
+        int last = -1;
+        for (Route route : candidates) {
+            int pos = routes.list.indexOf(route);
+            assertTrue(pos > last);
+            last = pos;
+        }
+    }
+
+    private Route route(String method, String path) {
+        RouteBuilder rb = new RouteBuilder();
+        rb.setMethod(method);
+        rb.setPathTemplate(factory.createPathTemplate(path));
+        rb.setAction(new RunnableAction(() -> {}));
+        return rb.build();
+    }
+}
@@ -81,7 +81,7 @@ public class DefaultHtplCompiler implements HtplCompiler {
 
     @Override
     public HtplCompiler startElement(String prefix, String name) {
-		return append("<" + qname(prefix,name) + "");	
+		return append('<').appendQName(prefix, name);
     }
 
 	@Override
@@ -91,7 +91,7 @@ public class DefaultHtplCompiler implements HtplCompiler {
 
 	@Override
     public HtplCompiler closeElement(String prefix, String name) {
-		return append("</" + qname(prefix, name) + ">");
+		return append("</").appendQName(prefix, name).append('>');
     }
 	
 	@Override
@@ -109,7 +109,7 @@ public class DefaultHtplCompiler implements HtplCompiler {
 		compileAttrName(prefix,name,inlineExpressions);
 
 		if(null != quotedCharacter){
-			append(String.valueOf(quotedCharacter));
+			append(quotedCharacter.charValue());
 		}
 		
 		if(inlineExpressions){
@@ -119,7 +119,7 @@ public class DefaultHtplCompiler implements HtplCompiler {
 		}
 		
 		if(null != quotedCharacter){
-			append(String.valueOf(quotedCharacter));
+			append(quotedCharacter.charValue());
 		}
 		
 	    return this;
@@ -141,13 +141,13 @@ public class DefaultHtplCompiler implements HtplCompiler {
 		compileAttrName(prefix,name,inlineExpressions);
 		
 		if(null != quotedCharacter){
-			append(String.valueOf(quotedCharacter));
+			append(quotedCharacter.charValue());
 		}
 		
 		append(new RenderableExpression(value,attrEscaper));
 
 		if(null != quotedCharacter){
-			append(String.valueOf(quotedCharacter));
+			append(quotedCharacter.charValue());
 		}
 		
 		return this;
@@ -221,9 +221,16 @@ public class DefaultHtplCompiler implements HtplCompiler {
 	    return new DefaultHtplCompiler(engine);
     }
 
+	/**
+	 * Returns the compiled renderable, the adjacent static fragments were merged and pre-encoded to utf-8 bytes.
+	 */
 	@Override
     public HtplRenderable compile() {
-	    return new HtplRenderableContainer(nodes);
+		List<HtplRenderable> compiled = new ArrayList<HtplRenderable>(nodes.size());
+		for(HtplRenderable node : nodes) {
+			compiled.add(node instanceof RenderableText ? ((RenderableText) node).toStaticText() : node);
+		}
+	    return new HtplRenderableContainer(compiled);
     }
 
     protected void compileAttrName(String prefix, String name, boolean inlineExpressions){
@@ -232,7 +239,7 @@ public class DefaultHtplCompiler implements HtplCompiler {
 			em.parseAttributeExpression(engine, name, attrParseHandler);
 			append("=");
 		}else{
-			append(" " + qname(prefix, name) + "=");
+			append(' ').appendQName(prefix, name).append('=');
 		}
 	}
 
@@ -240,6 +247,25 @@ public class DefaultHtplCompiler implements HtplCompiler {
 		return Strings.isEmpty(prefix) ? name : prefix + ":" + name;
 	}
 	
+	protected DefaultHtplCompiler appendQName(String prefix,String name){
+		if(!Strings.isEmpty(prefix)) {
+			append(prefix).append(':');
+		}
+		return append(name);
+	}
+
+	protected DefaultHtplCompiler append(char c){
+		HtplRenderable lastNode = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+
+		if(lastNode instanceof RenderableText){
+			((RenderableText) lastNode).append(c);
+		}else{
+			nodes.add(new RenderableText(String.valueOf(c)));
+		}
+
+		return this;
+	}
+
 	protected DefaultHtplCompiler append(CharSequence string){
 		append(string,false);
 		return this;
@@ -303,10 +329,19 @@ public class DefaultHtplCompiler implements HtplCompiler {
 			return this;
 		}
 		
+		public RenderableText append(char c){
+			buf.append(c);
+			return this;
+		}
+
 		public RenderableText append(RenderableText node){
 			buf.append(node.buf);
 			return this;
 		}
+
+		public StaticText toStaticText() {
+			return new StaticText(buf.toString());
+		}
 		
 		@Override
         public void render(HtplTemplate tpl, HtplContext context, HtplWriter writer) throws IOException {
@@ -319,6 +354,29 @@ public class DefaultHtplCompiler implements HtplCompiler {
 		}
 	}
 	
+	/**
+	 * The immutable static text with the pre-encoded utf-8 bytes.
+	 */
+	protected static final class StaticText implements HtplRenderable {
+		private final String text;
+		private final byte[] utf8;
+
+		public StaticText(String text) {
+			this.text = text;
+			this.utf8 = Strings.getBytesUtf8(text);
+		}
+
+		@Override
+        public void render(HtplTemplate tpl, HtplContext context, HtplWriter writer) throws IOException {
+			writer.write(text, utf8);
+        }
+
+		@Override
+        public String toString() {
+			return text;
+		}
+	}
+
 	protected static class ConditionalRenderable implements HtplRenderable {
 		
 		private final Expression     condition;
@@ -30,6 +30,7 @@ public class DefaultHtplConfig implements HtplConfig,PostCreateBean {
 	protected String  prefix;
     protected Boolean reloadEnabled;
     protected int     reloadInterval = HtplConstants.DEFAULT_RELOAD_INTERVAL;
+    protected boolean outputStreamEnabled = true;
 	
 	@Override
 	public String getPrefix() {
@@ -61,6 +62,16 @@ public class DefaultHtplConfig implements HtplConfig,PostCreateBean {
         this.reloadInterval = reloadInterval;
     }
 
+    @Override
+    public boolean isOutputStreamEnabled() {
+        return outputStreamEnabled;
+    }
+
+    @ConfigProperty
+    public void setOutputStreamEnabled(boolean outputStreamEnabled) {
+        this.outputStreamEnabled = outputStreamEnabled;
+    }
+
     @Override
     public void postCreate(BeanFactory factory) throws Throwable {
         if(null == this.reloadEnabled) {
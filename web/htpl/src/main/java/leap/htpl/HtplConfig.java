@@ -39,4 +39,14 @@ public interface HtplConfig {
      * Default is {@link HtplConstants#DEFAULT_RELOAD_INTERVAL}.
      */
     int getReloadInterval();
+
+    /**
+     * Returns true if the template is rendered to the output stream of response directly if the charset is utf-8.
+     *
+     * <p/>
+     * Default is true.
+     */
+    default boolean isOutputStreamEnabled() {
+        return true;
+    }
 }
\ No newline at end of file
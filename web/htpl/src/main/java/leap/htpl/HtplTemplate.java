@@ -17,6 +17,7 @@ package leap.htpl;
 
 import leap.lang.Sourced;
 
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Locale;
 
@@ -66,6 +67,15 @@ public interface HtplTemplate extends Sourced {
 	 * Renders this template and writes the content to the given writer.
 	 */
 	void render(HtplContext context,HtplWriter writer);
+
+	/**
+	 * Renders this template and writes the utf-8 encoded content to the given output stream.
+	 */
+	default void render(HtplContext context,OutputStream out) {
+		OutputStreamHtplWriter writer = new OutputStreamHtplWriter(out);
+		render(context, writer);
+		writer.flush();
+	}
 	
 	/**
 	 * Renders this template as a child included by the parent template.
@@ -18,6 +18,16 @@ package leap.htpl;
 public interface HtplWriter extends Appendable{
 	
 	HtplWriter write(CharSequence s);
+
+	/**
+	 * Writes the static string with the pre-encoded utf-8 bytes of it.
+	 *
+	 * <p/>
+	 * The bytes will be written directly if the writer writes to an utf-8 output stream.
+	 */
+	default HtplWriter write(String s, byte[] utf8) {
+		return write(s);
+	}
 	
 	HtplWriter write(char c);
 	
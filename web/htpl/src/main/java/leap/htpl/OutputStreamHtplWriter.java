@@ -0,0 +1,233 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.htpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import leap.lang.Strings;
+import leap.lang.exception.NestedIOException;
+import leap.lang.html.HTML;
+
+/**
+ * A {@link HtplWriter} writes the utf-8 encoded content to an {@link OutputStream} through a reusable buffer.
+ *
+ * <p/>
+ * The static content pre-encoded at compile time is copied to the buffer directly without encoding.
+ *
+ * <p/>
+ * Not thread safe, the {@link #flush()} must be invoked after rendering.
+ */
+public class OutputStreamHtplWriter implements HtplWriter {
+
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private static final String ATTR_EQQUOTE = "=\"";
+	private static final char   ATTR_QUOTE   = '"';
+	private static final byte   REPLACEMENT  = '?';
+
+	protected final OutputStream out;
+	protected final byte[]       buf;
+
+	private int  count;
+	private char highSurrogate;
+
+	public OutputStreamHtplWriter(OutputStream out) {
+		this(out, DEFAULT_BUFFER_SIZE);
+	}
+
+	public OutputStreamHtplWriter(OutputStream out, int bufferSize) {
+		this.out = out;
+		this.buf = new byte[Math.max(bufferSize, 16)];
+	}
+
+	@Override
+	public Appendable append(CharSequence csq) throws IOException {
+		return write(csq);
+	}
+
+	@Override
+	public Appendable append(CharSequence csq, int start, int end) throws IOException {
+		if(null == csq) {
+			csq = "null";
+		}
+		for(int i=start;i<end;i++) {
+			encode(csq.charAt(i));
+		}
+		return this;
+	}
+
+	@Override
+	public Appendable append(char c) throws IOException {
+		return write(c);
+	}
+
+	@Override
+	public HtplWriter write(CharSequence s) throws NestedIOException {
+		if(null != s){
+			for(int i=0;i<s.length();i++) {
+				encode(s.charAt(i));
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public HtplWriter write(String s, byte[] utf8) throws NestedIOException {
+		if(null == utf8) {
+			return write(s);
+		}
+
+		if(0 != highSurrogate) {
+			writeByte(REPLACEMENT);
+			highSurrogate = 0;
+		}
+
+		if(utf8.length > buf.length - count) {
+			flushBuffer();
+			if(utf8.length >= buf.length) {
+				try {
+					out.write(utf8);
+				} catch (IOException e) {
+					throw new NestedIOException("Error writing bytes : " + e.getMessage(), e);
+				}
+				return this;
+			}
+		}
+
+		System.arraycopy(utf8, 0, buf, count, utf8.length);
+		count += utf8.length;
+		return this;
+	}
+
+	@Override
+	public HtplWriter write(char c) throws NestedIOException {
+		encode(c);
+		return this;
+	}
+
+	@Override
+	public HtplWriter attribute(String localName, String value) {
+		write(localName).write(ATTR_EQQUOTE);
+
+		try {
+			HTML.escapeAndAppend(value, this);
+		} catch (IOException e) {
+			throw new NestedIOException(e);
+		}
+
+		write(ATTR_QUOTE);
+		return this;
+	}
+
+	@Override
+	public HtplWriter startElement(String prefix, String localName) {
+		write('<');
+		if(!Strings.isEmpty(prefix)){
+			write(prefix).write(':');
+		}
+		write(localName);
+		return this;
+	}
+
+	@Override
+	public HtplWriter closeElement() {
+		write("/>");
+		return this;
+	}
+
+	@Override
+	public HtplWriter closeElement(String prefix, String localName) {
+		write("</");
+		if(!Strings.isEmpty(prefix)){
+			write(prefix).write(':');
+		}
+		write(localName).write('>');
+		return this;
+	}
+
+	/**
+	 * Writes the buffered content to the underlying output stream and flushes it.
+	 */
+	public void flush() throws NestedIOException {
+		if(0 != highSurrogate) {
+			writeByte(REPLACEMENT);
+			highSurrogate = 0;
+		}
+		flushBuffer();
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new NestedIOException("Error flushing output stream : " + e.getMessage(), e);
+		}
+	}
+
+	protected void flushBuffer() throws NestedIOException {
+		if(count > 0) {
+			try {
+				out.write(buf, 0, count);
+			} catch (IOException e) {
+				throw new NestedIOException("Error writing bytes : " + e.getMessage(), e);
+			}
+			count = 0;
+		}
+	}
+
+	private void encode(char c) {
+		if(count + 4 > buf.length) {
+			flushBuffer();
+		}
+
+		if(0 != highSurrogate) {
+			char high = highSurrogate;
+			highSurrogate = 0;
+			if(Character.isLowSurrogate(c)) {
+				int cp = Character.toCodePoint(high, c);
+				buf[count++] = (byte)(0xF0 | (cp >> 18));
+				buf[count++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buf[count++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buf[count++] = (byte)(0x80 | (cp & 0x3F));
+				return;
+			}
+			buf[count++] = REPLACEMENT;
+			if(count + 3 > buf.length) {
+				flushBuffer();
+			}
+		}
+
+		if(c < 0x80) {
+			buf[count++] = (byte)c;
+		}else if(c < 0x800) {
+			buf[count++] = (byte)(0xC0 | (c >> 6));
+			buf[count++] = (byte)(0x80 | (c & 0x3F));
+		}else if(Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		}else if(Character.isLowSurrogate(c)) {
+			buf[count++] = REPLACEMENT;
+		}else{
+			buf[count++] = (byte)(0xE0 | (c >> 12));
+			buf[count++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buf[count++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+
+	private void writeByte(byte b) {
+		if(count == buf.length) {
+			flushBuffer();
+		}
+		buf[count++] = b;
+	}
+}
@@ -16,6 +16,8 @@
 package leap.htpl.ast;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.Enumeration;
 
 import leap.htpl.HtplCompiler;
@@ -26,6 +28,7 @@ import leap.htpl.HtplRenderable;
 import leap.htpl.HtplResource;
 import leap.htpl.HtplTemplate;
 import leap.htpl.HtplWriter;
+import leap.htpl.OutputStreamHtplWriter;
 import leap.htpl.exception.HtplCompileException;
 import leap.htpl.exception.HtplParseException;
 import leap.htpl.exception.HtplRenderException;
@@ -231,6 +234,11 @@ public class Include extends Node implements HtplRenderable {
 
 		javax.servlet.http.HttpServletRequest  req  = r.getServletRequest();
 		javax.servlet.http.HttpServletResponse resp = r.response().getServletResponse();
+
+		if(writer instanceof OutputStreamHtplWriter) {
+			//the included resource writes to the htpl writer, the output stream of response already in use.
+			resp = new HtplWriterResponse(resp, (OutputStreamHtplWriter)writer);
+		}
 		
 		try {
 	        req.getRequestDispatcher(sr.getPath()).include(req, resp);
@@ -245,4 +253,48 @@ public class Include extends Node implements HtplRenderable {
         	throw new HtplRenderException("Error including resource '" + resource.getPath() + "', " + e.getMessage(), e);
         }
 	}
-}
\ No newline at end of file
+
+	protected static final class HtplWriterResponse extends javax.servlet.http.HttpServletResponseWrapper {
+		private final OutputStreamHtplWriter out;
+		private final PrintWriter            writer;
+
+		public HtplWriterResponse(javax.servlet.http.HttpServletResponse response, OutputStreamHtplWriter writer) {
+			super(response);
+			this.out    = writer;
+			this.writer = new PrintWriter(new Writer() {
+				@Override
+				public void write(char[] cbuf, int off, int len) throws IOException {
+					for(int i=off;i<off+len;i++) {
+						writer.write(cbuf[i]);
+					}
+				}
+
+				@Override
+				public void write(String str, int off, int len) throws IOException {
+					writer.append(str, off, off + len);
+				}
+
+				@Override
+				public void flush() throws IOException {
+
+				}
+
+				@Override
+				public void close() throws IOException {
+
+				}
+			});
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			return writer;
+		}
+
+		@Override
+		public javax.servlet.ServletOutputStream getOutputStream() throws IOException {
+			out.flush();
+			return super.getOutputStream();
+		}
+	}
+}
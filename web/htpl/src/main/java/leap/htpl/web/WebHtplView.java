@@ -15,9 +15,12 @@
  */
 package leap.htpl.web;
 
+import java.io.IOException;
+
 import leap.htpl.HtplTemplate;
 import leap.htpl.HtplTemplateLazyCreator;
 import leap.lang.Args;
+import leap.lang.Charsets;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 import leap.web.App;
@@ -63,8 +66,36 @@ public class WebHtplView extends AbstractView {
 			context.setRenderLayout(false);
 		}
 		
-		template.render(context, response.getWriter());
+		if(isOutputStreamSupported(response)) {
+			template.render(context, response.getOutputStream());
+		}else{
+			template.render(context, response.getWriter());
+		}
     }
+
+	/**
+	 * Returns true if the template can be rendered to the output stream of response directly.
+	 */
+	protected boolean isOutputStreamSupported(Response response) {
+		if(!template.getEngine().getConfig().isOutputStreamEnabled()) {
+			return false;
+		}
+
+		String charset = response.getServletResponse().getCharacterEncoding();
+		if(null == charset || !Charsets.UTF_8.name().equalsIgnoreCase(charset)) {
+			return false;
+		}
+
+		try {
+			response.getServletResponse().getOutputStream();
+			return true;
+		} catch (IllegalStateException e) {
+			//the writer was already obtained.
+			return false;
+		} catch (IOException e) {
+			return false;
+		}
+	}
 	
 	/*
 	protected void includeJsp(Request request,Response response, ServletResource jsp) throws Exception {
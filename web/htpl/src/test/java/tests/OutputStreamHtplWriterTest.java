@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tests;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import leap.htpl.OutputStreamHtplWriter;
+import leap.junit.TestBase;
+
+import org.junit.Test;
+
+public class OutputStreamHtplWriterTest extends TestBase {
+
+	@Test
+	public void testEncoding() {
+		String s = "a<b>é中😀z";
+
+		assertEquals(s, write(16, s));
+
+		//the surrogate pair written by chars.
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputStreamHtplWriter w = new OutputStreamHtplWriter(out, 16);
+		for(char c : s.toCharArray()) {
+			w.write(c);
+		}
+		w.flush();
+		assertEquals(s, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+		//unpaired surrogate
+		assertEquals("a?b", write(16, "a\ud83db"));
+		assertEquals("a?",  write(16, "a\ude00"));
+	}
+
+	@Test
+	public void testPreEncoded() {
+		String big = repeat("<div>", 10);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputStreamHtplWriter w = new OutputStreamHtplWriter(out, 16);
+		w.write("x中");
+		w.write("<p>", "<p>".getBytes(StandardCharsets.UTF_8));
+		w.write(big, big.getBytes(StandardCharsets.UTF_8));
+		w.attribute(" id", "a\"b");
+		w.flush();
+
+		assertEquals("x中<p>" + big + " id=\"a&quot;b\"", new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private static String write(int bufferSize, String s) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputStreamHtplWriter w = new OutputStreamHtplWriter(out, bufferSize);
+		w.write(s);
+		w.flush();
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static String repeat(String s, int n) {
+		StringBuilder sb = new StringBuilder();
+		for(int i=0;i<n;i++) {
+			sb.append(s);
+		}
+		return sb.toString();
+	}
+}
@@ -18,11 +18,14 @@ package leap.web.security.path;
 import leap.core.annotation.Inject;
 import leap.core.cache.Cache;
 import leap.core.cache.SimpleLRUCache;
+import leap.core.web.path.PathTemplate;
 import leap.lang.Strings;
 import leap.lang.logging.Log;
 import leap.lang.logging.LogFactory;
 import leap.lang.path.PathPattern;
 import leap.web.Request;
+import leap.web.action.ActionContext;
+import leap.web.route.Route;
 import leap.web.security.SecurityConfig;
 import leap.web.security.SecurityContextHolder;
 
@@ -49,12 +52,16 @@ public class DefaultSecuredPathSource implements SecuredPathSource {
     };
 	
 	private static final SecuredPath ANY  = new DefaultSecuredPathBuilder().setPattern(ANY_PATTERN).build();
-	private static final SecuredPath NULL = new DefaultSecuredPathBuilder().setPattern(ANY_PATTERN).build();
 
     protected @Inject SecuredPathResolver[] resolvers;
     protected @Inject SecurityConfig        config;
 
+	/**
+	 * The matched secured paths of routes, the key is method and path template of route.
+	 */
 	protected Cache<String, SecuredPath> cachedPaths = new SimpleLRUCache<>(2048);
+
+	private volatile SecuredPathIndex index;
 	
 	@Override
 	public SecuredPath getSecuredPath(SecurityContextHolder context, Request request) {
@@ -65,32 +72,80 @@ public class DefaultSecuredPathSource implements SecuredPathSource {
             }
         }
 
-		String cacheKey = genCacheKey(request);
-	    securedPath = cachedPaths.get(cacheKey);
-	    if(null != securedPath) {
-	        return securedPath == NULL ? null : securedPath;
-	    }
+		SecuredPathIndex index = index();
+
+		Route  route    = route(request);
+		String cacheKey = null == route ? null : genCacheKey(request, route);
+		if(null != cacheKey) {
+			securedPath = cachedPaths.get(cacheKey);
+			if(null != securedPath) {
+				return securedPath;
+			}
+		}
 
         log.debug("Matching request {} ...", request.getPath());
-	    
-		for(SecuredPath p : config.getSecuredPaths()){
+
+		for(SecuredPath p : index.candidates(request.getPath())){
 			if(matches(p,request)) {
                 log.debug("Matches -> {} {}", p.getRoute()==null?"*":p.getRoute().getMethod(), p.getPattern());
-			    cachedPaths.put(cacheKey, p);
+				if(null != cacheKey && isRouteDetermined(index, p, route)) {
+					cachedPaths.put(cacheKey, p);
+				}
 				return p;
 			}
             log.debug("Not matches -> {}", p.getPattern());
 		}
-		
+
 		if(config.isAuthenticateAnyRequests()) {
-		    cachedPaths.put(request.getPath(), ANY);
 		    return ANY;
 		}
-		
-		cachedPaths.put(request.getPath(), NULL);
+
 		return null;
 	}
 
+	/**
+	 * Returns the index of current secured paths, rebuilds the index if the secured paths changed.
+	 */
+	protected SecuredPathIndex index() {
+		SecuredPaths     paths = config.getSecuredPaths();
+		SecuredPathIndex index = this.index;
+		if(null != index && index.getVersion() == paths.getVersion()) {
+			return index;
+		}
+
+		synchronized (this) {
+			index = this.index;
+			long version = paths.getVersion();
+			if(null == index || index.getVersion() != version) {
+				index = new SecuredPathIndex(paths, version);
+				cachedPaths.clear();
+				this.index = index;
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns true if the secured path is the first matched one of all the requests handled by the route.
+	 */
+	private boolean isRouteDetermined(SecuredPathIndex index, SecuredPath p, Route route) {
+		if(!(p.getPattern() instanceof PathTemplate)) {
+			return false;
+		}
+
+		PathTemplate template = route.getPathTemplate();
+		if(!Strings.equals(((PathTemplate)p.getPattern()).getTemplate(), template.getTemplate())) {
+			return false;
+		}
+
+		return index.isFirstCandidate(p, template);
+	}
+
+	private Route route(Request request) {
+		ActionContext ac = request.getActionContext();
+		return null == ac ? null : ac.getRoute();
+	}
+
 	private boolean matches(SecuredPath p,Request request){
 		return p.matches(request) &&
 					(p.getRoute() == null ||
@@ -98,7 +153,7 @@ public class DefaultSecuredPathSource implements SecuredPathSource {
 						Strings.equalsIgnoreCase(p.getRoute().getMethod(),request.getMethod()));
 	}
 
-	private String genCacheKey(Request request){
-		return request.getMethod()+"$"+request.getPath();
+	private String genCacheKey(Request request, Route route){
+		return request.getMethod()+"$"+route.getPathTemplate().getTemplate();
 	}
 }
\ No newline at end of file
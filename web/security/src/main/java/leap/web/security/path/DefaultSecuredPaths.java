@@ -57,11 +57,18 @@ public class DefaultSecuredPaths implements SecuredPaths {
 
     protected final TreeMap<PathPattern, PathEntry> paths = new TreeMap<>(COMPARATOR);
 
+    protected volatile long version;
+
     @Override
     public boolean isEmpty() {
         return paths.isEmpty();
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public Iterator<SecuredPath> iterator() {
         Iterator it = paths.values().iterator();
@@ -130,6 +137,7 @@ public class DefaultSecuredPaths implements SecuredPaths {
     public SecuredPaths apply(SecuredPath p) {
         Args.notNull(p);
         paths.put(p.getPattern(), new PathEntry(p));
+        version++;
         return this;
     }
 
@@ -142,16 +150,21 @@ public class DefaultSecuredPaths implements SecuredPaths {
     @Override
     public SecuredPath remove(String path) {
         Args.notEmpty(path, "path");
-        return paths.remove(new AntPathPattern(path));
+        SecuredPath removed = paths.remove(new AntPathPattern(path));
+        version++;
+        return removed;
     }
 
     @Override
     public boolean remove(SecuredPath path) {
-        return null != paths.remove(path.getPattern());
+        boolean removed = null != paths.remove(path.getPattern());
+        version++;
+        return removed;
     }
 
     public void apply(SecuredPathConfigurator c, SecuredPath p) {
         paths.put(p.getPattern(), new PathEntry(p, c));
+        version++;
     }
 
     protected static final class PathEntry implements SecuredPath {
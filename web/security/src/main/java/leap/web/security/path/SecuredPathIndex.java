@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.security.path;
+
+import leap.core.web.path.PathTemplate;
+import leap.lang.Strings;
+import leap.lang.path.AntPathPattern;
+import leap.lang.path.PathPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable prefix tree of the {@link SecuredPath}s keyed by the literal segments before the first wildcard or variable
+ * of the path pattern.
+ *
+ * <p/>
+ * The candidates of a path are the secured paths along the walk of the path segments, in the order of {@link SecuredPaths}.
+ * The candidates must be verified by the {@link SecuredPath#matches(leap.core.web.RequestBase)}.
+ */
+final class SecuredPathIndex {
+
+    private final long version;
+    private final Node root = new Node();
+
+    SecuredPathIndex(SecuredPaths paths, long version) {
+        this.version = version;
+
+        int seq = 0;
+        for (SecuredPath p : paths) {
+            Node node = root;
+            for (String segment : literalSegments(p.getPattern())) {
+                node = node.children.computeIfAbsent(segment, (s) -> new Node());
+            }
+            node.entries.add(new Entry(p, seq++));
+        }
+        root.computeMinSeq();
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the candidates may match the path, in the order of {@link SecuredPaths}.
+     */
+    List<SecuredPath> candidates(String path) {
+        List<Entry> entries = new ArrayList<>();
+        int         buckets = 0;
+
+        Node node = root;
+        for (String segment : Strings.split(path, '/')) {
+            if (!node.entries.isEmpty()) {
+                entries.addAll(node.entries);
+                buckets++;
+            }
+            node = node.children.get(segment);
+            if (null == node) {
+                break;
+            }
+        }
+        if (null != node && !node.entries.isEmpty()) {
+            entries.addAll(node.entries);
+            buckets++;
+        }
+
+        if (buckets > 1) {
+            Collections.sort(entries);
+        }
+
+        List<SecuredPath> candidates = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            candidates.add(entry.path);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns true if the given secured path is indexed by the literal segments of the template and
+     * precedes all the other secured paths may match any path of the template.
+     */
+    boolean isFirstCandidate(SecuredPath p, PathTemplate template) {
+        Node node = root;
+        int  seq  = -1;
+
+        for (String segment : literalSegments(template)) {
+            node = node.children.get(segment);
+            if (null == node) {
+                return false;
+            }
+        }
+        for (Entry entry : node.entries) {
+            if (entry.path == p) {
+                seq = entry.seq;
+                break;
+            }
+        }
+        if (seq < 0 || node.minSeq < seq) {
+            return false;
+        }
+
+        node = root;
+        for (String segment : literalSegments(template)) {
+            if (!node.entries.isEmpty() && node.entries.get(0).seq < seq) {
+                return false;
+            }
+            node = node.children.get(segment);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the literal segments before the first segment contains wildcard, variable or any char may be encoded.
+     *
+     * <p/>
+     * Returns an empty list if the pattern is not an {@link AntPathPattern} or {@link PathTemplate}.
+     */
+    static List<String> literalSegments(PathPattern pattern) {
+        String s;
+        if (pattern instanceof PathTemplate) {
+            s = ((PathTemplate) pattern).getTemplate();
+        } else if (pattern instanceof AntPathPattern) {
+            s = pattern.pattern();
+        } else {
+            return Collections.emptyList();
+        }
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : Strings.split(s, '/')) {
+            if (!isLiteral(segment)) {
+                break;
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                continue;
+            }
+            if ("-._~!$&'()+,;=:@".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final SecuredPath path;
+        private final int         seq;
+
+        Entry(SecuredPath path, int seq) {
+            this.path = path;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return Integer.compare(seq, o.seq);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Entry>       entries  = new ArrayList<>(1);
+
+        /**
+         * The min sequence of the entries in this node and all the descendants.
+         */
+        private int minSeq = Integer.MAX_VALUE;
+
+        int computeMinSeq() {
+            int min = entries.isEmpty() ? Integer.MAX_VALUE : entries.get(0).seq;
+            for (Node child : children.values()) {
+                min = Math.min(min, child.computeMinSeq());
+            }
+            return minSeq = min;
+        }
+    }
+}
@@ -67,4 +67,11 @@ public interface SecuredPaths extends Iterable<SecuredPath>,Emptiable {
      */
     boolean remove(SecuredPath path);
 
+    /**
+     * Returns the version of the secured paths, the version changes after applying or removing a secured path.
+     */
+    default long getVersion() {
+        return 0;
+    }
+
 }
\ No newline at end of file
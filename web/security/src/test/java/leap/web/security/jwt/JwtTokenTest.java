@@ -17,12 +17,19 @@ package leap.web.security.jwt;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import leap.core.security.token.TokenExpiredException;
+import leap.core.security.token.TokenVerifyException;
+import leap.core.security.token.jwt.CachingJwtVerifier;
+import leap.core.security.token.jwt.JWT;
+import leap.core.security.token.jwt.JwtVerifier;
 import leap.core.security.token.jwt.MacSigner;
 import leap.core.security.token.jwt.RsaSigner;
 import leap.core.security.token.jwt.RsaVerifier;
 import leap.junit.TestBase;
 import leap.lang.Randoms;
+import leap.lang.Threads;
 import leap.lang.security.RSA;
 import leap.lang.security.RSA.RsaKeyPair;
 
@@ -100,4 +107,92 @@ public class JwtTokenTest extends TestBase {
         assertEquals(claims.get("aaa"),decodedClaims.get("aaa"));
         assertEquals(claims.get("exp"),decodedClaims.get("exp"));
     }
+
+    @Test
+    public void testRS256VerifyWithReusedSignature() {
+        RsaKeyPair kp = RSA.generateKeyPair();
+
+        RsaSigner   signer   = new RsaSigner(kp.getPrivateKey());
+        RsaVerifier verifier = new RsaVerifier(kp.getPublicKey());
+
+        Map<String, Object> claims = new HashMap<String, Object>();
+        claims.put("aaa", "bbb");
+
+        String token = signer.sign(claims);
+        String bad   = token.substring(0, token.lastIndexOf('.') + 1) + JWT.base64UrlEncode("bad");
+
+        for(int i=0;i<3;i++) {
+            assertEquals("bbb", verifier.verify(token).get("aaa"));
+            try {
+                verifier.verify(bad);
+                fail("Should throw TokenVerifyException");
+            }catch(TokenVerifyException e) {
+                assertFalse(e instanceof TokenExpiredException);
+            }
+        }
+    }
+
+    @Test
+    public void testKeyId() {
+        MacSigner signer = new MacSigner(Randoms.nextString(10));
+
+        Map<String, Object> claims = new HashMap<String, Object>();
+        claims.put("aaa", "bbb");
+
+        assertNull(JWT.getKeyId(signer.sign(claims)));
+
+        signer.setKeyId("k1");
+        String token = signer.sign(claims);
+        assertEquals("k1", JWT.getKeyId(token));
+        assertEquals("bbb", signer.verify(token).get("aaa"));
+
+        assertNull(JWT.getKeyId("a.b"));
+        assertNull(JWT.getKeyId("#.b.c"));
+    }
+
+    @Test
+    public void testCachingVerifier() {
+        MacSigner     signer = new MacSigner(Randoms.nextString(10));
+        AtomicInteger count  = new AtomicInteger();
+
+        JwtVerifier        underlying = (token) -> { count.incrementAndGet(); return signer.verify(token); };
+        CachingJwtVerifier verifier   = new CachingJwtVerifier(underlying);
+
+        Map<String, Object> claims = new HashMap<String, Object>();
+        claims.put("aaa", "bbb");
+
+        String token = signer.sign(claims, 100);
+        for(int i=0;i<3;i++) {
+            Map<String, Object> verified = verifier.verify(token);
+            assertEquals("bbb", verified.get("aaa"));
+            verified.put("aaa", "ccc");
+        }
+        assertEquals(1, count.get());
+        assertEquals(2, verifier.getStats().getHits());
+
+        //failed tokens are not cached.
+        String bad = token + "x";
+        for(int i=0;i<2;i++) {
+            try {
+                verifier.verify(bad);
+                fail("Should throw TokenVerifyException");
+            }catch(TokenVerifyException e) {
+
+            }
+        }
+        assertEquals(3, count.get());
+
+        //expired tokens.
+        claims.put(JWT.CLAIM_EXPIRATION_TIME, System.currentTimeMillis() / 1000L + 1);
+        String expiring = signer.sign(claims);
+        verifier.verify(expiring);
+        Threads.sleep(1100);
+        try {
+            verifier.verify(expiring);
+            fail("Should throw TokenExpiredException");
+        }catch(TokenExpiredException e) {
+
+        }
+        assertEquals(4, count.get());
+    }
 }
\ No newline at end of file
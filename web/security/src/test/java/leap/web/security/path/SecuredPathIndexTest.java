@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package leap.web.security.path;
+
+import leap.core.web.path.JerseyPathTemplateFactory;
+import leap.core.web.path.PathTemplate;
+import leap.junit.TestBase;
+import leap.lang.path.AntPathPattern;
+import org.junit.Test;
+
+public class SecuredPathIndexTest extends TestBase {
+
+    private static final JerseyPathTemplateFactory templates = new JerseyPathTemplateFactory();
+
+    @Test
+    public void testCandidatesMatchesLinearScan() {
+        DefaultSecuredPaths paths = new DefaultSecuredPaths();
+        paths.apply(ant("/**/public/**"));
+        paths.apply(ant("/api/**"));
+        paths.apply(ant("/api/users/*"));
+        paths.apply(template("/api/users/{id}"));
+        paths.apply(template("/api/roles"));
+        paths.apply(ant("/static/*.js"));
+        paths.apply(ant("/**"));
+
+        SecuredPathIndex index = new SecuredPathIndex(paths, paths.getVersion());
+
+        String[] tests = new String[]{"/", "/api", "/api/users", "/api/users/1", "/api/roles", "/api/roles/1",
+                                      "/static/a.js", "/static/a.css", "/x/public/y", "/api/public/users/1", "//api//users/1"};
+
+        for (String path : tests) {
+            assertSame(path, firstMatches(paths, path), firstMatches(index.candidates(path), path));
+        }
+    }
+
+    @Test
+    public void testIsFirstCandidate() {
+        DefaultSecuredPaths paths = new DefaultSecuredPaths();
+        PathTemplate user = templates.createPathTemplate("/api/users/{id}");
+        PathTemplate role = templates.createPathTemplate("/api/roles/{id}");
+
+        paths.apply(new DefaultSecuredPathBuilder().setPattern(user).build());
+        paths.apply(new DefaultSecuredPathBuilder().setPattern(role).build());
+        paths.apply(ant("/api/roles/*/**"));
+        paths.apply(ant("/**"));
+
+        SecuredPathIndex index = new SecuredPathIndex(paths, paths.getVersion());
+
+        SecuredPath userPath = firstMatches(paths, "/api/users/1");
+        SecuredPath rolePath = firstMatches(paths, "/api/roles/1");
+        assertSame(user, userPath.getPattern());
+        assertSame(role, rolePath.getPattern());
+
+        boolean roleFirst = false;
+        for (SecuredPath p : paths) {
+            if (p.getPattern() instanceof AntPathPattern) {
+                break;
+            }
+            if (p == rolePath) {
+                roleFirst = true;
+            }
+        }
+        assertTrue(index.isFirstCandidate(userPath, user));
+        assertEquals(roleFirst, index.isFirstCandidate(rolePath, role));
+        assertFalse(index.isFirstCandidate(rolePath, user));
+    }
+
+    @Test
+    public void testVersion() {
+        DefaultSecuredPaths paths = new DefaultSecuredPaths();
+        long v0 = paths.getVersion();
+
+        paths.apply(ant("/a/**"));
+        long v1 = paths.getVersion();
+        assertNotEquals(v0, v1);
+
+        paths.remove("/a/**");
+        assertNotEquals(v1, paths.getVersion());
+    }
+
+    private static SecuredPath firstMatches(Iterable<SecuredPath> paths, String path) {
+        for (SecuredPath p : paths) {
+            if (p.matches(path)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private static SecuredPath ant(String pattern) {
+        return new DefaultSecuredPathBuilder().setPattern(new AntPathPattern(pattern)).build();
+    }
+
+    private static SecuredPath template(String template) {
+        return new DefaultSecuredPathBuilder().setPattern(templates.createPathTemplate(template)).build();
+    }
+}